@@ -0,0 +1,102 @@
+package benchmarks;
+
+import game.Ball;
+import game.GameEnvironment;
+
+import java.lang.management.ManagementFactory;
+
+/**.
+ * AllocationCheck.
+ * Checks that moving the balls doesn't create objects once the jit compiled the code.
+ * The balls of the Ball.moveOneStep benchmark move (walls and blocks that aren't removed), and we count
+ * The bytes the thread allocated in each ball step: steps without a hit and steps with hits are counted apart,
+ * So we see if the ball path allocates or the hit of the block (its listeners).
+ * Usage: java benchmarks.AllocationCheck [-blocks 1000] [-balls 100] [-speed 1200] [-steps 2000]
+ * [-max 0] [-maxhit 0]
+ */
+public class AllocationCheck {
+    /**.
+     * main.
+     * Exits with 1 if a step without a hit allocated more than -max bytes or a step with hits more than -maxhit
+     * Bytes (in average), and with 2 if we can't count allocations.
+     *
+     * @param args the options of the run.
+     */
+    public static void main(String[] args) {
+        int blocks = 1000;
+        int balls = 100;
+        int speed = 1200;
+        int steps = 2000;
+        double max = 0;
+        double maxHit = 0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            if (args[i].equals("-blocks")) {
+                blocks = Integer.parseInt(value);
+            } else if (args[i].equals("-balls")) {
+                balls = Integer.parseInt(value);
+            } else if (args[i].equals("-speed")) {
+                speed = Integer.parseInt(value);
+            } else if (args[i].equals("-steps")) {
+                steps = Integer.parseInt(value);
+            } else if (args[i].equals("-max")) {
+                max = Double.parseDouble(value);
+            } else if (args[i].equals("-maxhit")) {
+                maxHit = Double.parseDouble(value);
+            } else {
+                System.err.println("Unknown option " + args[i]);
+                System.exit(2);
+            }
+        }
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.err.println("This jvm can't count the bytes a thread allocated");
+            System.exit(2);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        BallStepBenchmark benchmark = new BallStepBenchmark();
+        benchmark.setUp(new BenchmarkParams(blocks, balls, speed));
+        Blackhole blackhole = new Blackhole();
+        //The first steps run until the jit compiles the code.
+        for (int i = 0; i < 10 * steps; i++) {
+            benchmark.operation(blackhole);
+        }
+        //Counting can cost a few bytes, we take it off.
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long start = threads.getThreadAllocatedBytes(thread);
+            overhead = Math.min(overhead, threads.getThreadAllocatedBytes(thread) - start);
+        }
+        GameEnvironment environment = benchmark.getEnvironment();
+        long[] bytes = new long[2];
+        long[] counts = new long[2];
+        for (int i = 0; i < steps; i++) {
+            for (Ball ball : benchmark.getBalls()) {
+                double dx = ball.getDx();
+                double dy = ball.getDy();
+                long queries = environment.getQueryCount();
+                long start = threads.getThreadAllocatedBytes(thread);
+                ball.moveOneStep();
+                long allocated = threads.getThreadAllocatedBytes(thread) - start - overhead;
+                //A hit changes the velocity, or ends the step before it moved all the way (another query).
+                int hit = dx != ball.getDx() || dy != ball.getDy() || environment.getQueryCount() - queries > 1 ? 1 : 0;
+                bytes[hit] += allocated;
+                counts[hit]++;
+            }
+        }
+        double perStep = (double) bytes[0] / Math.max(1, counts[0]);
+        double perHit = (double) bytes[1] / Math.max(1, counts[1]);
+        System.out.println(String.format("%d balls, %d blocks: %d steps without a hit %.3f bytes a step"
+                + ", %d steps with hits %.3f bytes a step", balls, blocks, counts[0], perStep, counts[1], perHit));
+        if (blackhole.getSink() == 42) {
+            System.out.println();
+        }
+        if (perStep > max || perHit > maxHit) {
+            System.out.println("FAILED: more than " + max + " bytes a step without a hit or " + maxHit
+                    + " bytes a step with hits");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+}
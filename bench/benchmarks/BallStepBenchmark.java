@@ -0,0 +1,85 @@
+package benchmarks;
+
+import game.Ball;
+import game.Block;
+import game.GameEnvironment;
+import game.Velocity;
+
+import java.awt.Color;
+import java.util.List;
+
+/**.
+ * BallStepBenchmark.
+ * Measures Ball.moveOneStep of all the balls in a closed screen full of blocks.
+ * One operation moves every ball one step.
+ */
+public class BallStepBenchmark implements Benchmark {
+    private Ball[] balls;
+    private GameEnvironment environment;
+    /**.
+     * name.
+     * @return the name of the benchmark.
+     */
+    public String name() {
+        return "Ball.moveOneStep";
+    }
+    /**.
+     * parameters.
+     * @return the parameters this benchmark depends on.
+     */
+    public String[] parameters() {
+        return new String[] {BenchmarkParams.BLOCKS, BenchmarkParams.BALLS, BenchmarkParams.SPEED};
+    }
+    /**.
+     * setUp.
+     * @param params the parameters of the current run.
+     */
+    public void setUp(BenchmarkParams params) {
+        GameEnvironment environment = new GameEnvironment();
+        this.environment = environment;
+        for (Block wall : BenchmarkLevel.createWalls()) {
+            environment.addCollidable(wall);
+        }
+        for (Block block : BenchmarkLevel.createBlocks(params.getBlocks())) {
+            environment.addCollidable(block);
+        }
+        BenchmarkLevel level = new BenchmarkLevel(params);
+        List<Velocity> velocities = level.initialBallVelocities();
+        this.balls = new Ball[params.getBalls()];
+        for (int i = 0; i < this.balls.length; i++) {
+            Ball ball = new Ball(BenchmarkLevel.GUIWIDTH / 2, BenchmarkLevel.GUIHEIGHT - 2 * BenchmarkLevel.SCREENMARGIN
+                    , 5, Color.white);
+            ball.setGameEnvironment(environment);
+            //The velocity of one frame of 60 frames per second.
+            Velocity v = velocities.get(i);
+            ball.setVelocity(v.getDx() / 60, v.getDy() / 60);
+            this.balls[i] = ball;
+        }
+    }
+    /**.
+     * operation.
+     * @param blackhole consumes the places of the balls.
+     */
+    public void operation(Blackhole blackhole) {
+        for (Ball ball : this.balls) {
+            ball.moveOneStep();
+        }
+        if (this.balls.length > 0) {
+            blackhole.consume(this.balls[0].getX());
+        }
+    }
+    /**.
+     * getBalls.
+     * @return the balls of the benchmark.
+     */
+    Ball[] getBalls() {
+        return this.balls;
+    }
+    /**.
+     * getEnvironment.
+     * @return the environment of the balls.
+     */
+    GameEnvironment getEnvironment() {
+        return this.environment;
+    }
+}
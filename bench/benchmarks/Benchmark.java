@@ -0,0 +1,33 @@
+package benchmarks;
+
+/**.
+ * Benchmark.
+ * One measured operation, like a method annotated with Benchmark in JMH.
+ * The runner calls setUp once for each combination of parameters and then calls operation again and again.
+ */
+public interface Benchmark {
+    /**.
+     * name.
+     * @return the name of the benchmark as it is shown in the results.
+     */
+    String name();
+    /**.
+     * parameters.
+     * @return the parameters this benchmark depends on (from BenchmarkParams.BLOCKS, BALLS and SPEED).
+     */
+    String[] parameters();
+    /**.
+     * setUp.
+     * Prepare the state of the benchmark. It isn't measured.
+     *
+     * @param params the parameters of the current run.
+     */
+    void setUp(BenchmarkParams params);
+    /**.
+     * operation.
+     * The measured operation.
+     *
+     * @param blackhole we give it the results so the jit can't remove the work.
+     */
+    void operation(Blackhole blackhole);
+}
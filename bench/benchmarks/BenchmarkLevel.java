@@ -0,0 +1,158 @@
+package benchmarks;
+
+import game.Block;
+import game.Sprite;
+import game.Velocity;
+import geometry.Point;
+import geometry.Rectangle;
+import levels.Background;
+import levels.LevelInformation;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**.
+ * BenchmarkLevel.
+ * A level made for measuring: any number of blocks in a grid at the top of the screen and any number of balls.
+ * The blocks are never destroyed and the paddle is as wide as the screen, so the level never ends
+ * And every frame does about the same work.
+ */
+public class BenchmarkLevel implements LevelInformation {
+    //The screen sizes like in the game.
+    static final int GUIWIDTH = 800;
+    static final int GUIHEIGHT = 600;
+    static final int SCREENMARGIN = 25;
+    //The area of the blocks.
+    static final int BLOCKSTOP = 60;
+    static final int BLOCKSHEIGHT = 300;
+    //The number of balls, the speed of the balls and the blocks of the level.
+    private int balls;
+    private double speed;
+    private List<Block> blocks;
+    //Creates the same directions of balls every time.
+    private long seed;
+    /**.
+     * Creates new instance of BenchmarkLevel.
+     * The constructor of our class.
+     *
+     * @param params the parameters of the benchmark.
+     */
+    public BenchmarkLevel(BenchmarkParams params) {
+        this.balls = params.getBalls();
+        this.speed = params.getSpeed();
+        this.blocks = createBlocks(params.getBlocks());
+        this.seed = 1234;
+    }
+    /**.
+     * createBlocks.
+     * Creating a grid of blocks that fills the blocks area.
+     * We choose the number of columns so the blocks are about square.
+     *
+     * @param number the number of blocks.
+     * @return the blocks.
+     */
+    static List<Block> createBlocks(int number) {
+        List<Block> list = new ArrayList<Block>();
+        if (number <= 0) {
+            return list;
+        }
+        double width = GUIWIDTH - 2 * SCREENMARGIN;
+        int columns = (int) Math.ceil(Math.sqrt(number * width / BLOCKSHEIGHT));
+        int rows = (number + columns - 1) / columns;
+        double blockWidth = width / columns;
+        double blockHeight = (double) BLOCKSHEIGHT / rows;
+        for (int i = 0; i < number; i++) {
+            Point upperLeft = new Point(SCREENMARGIN + (i % columns) * blockWidth
+                    , BLOCKSTOP + (i / columns) * blockHeight);
+            Block block = new Block(new Rectangle(upperLeft, blockWidth, blockHeight), Color.blue);
+            //Blocks with 0 hit points are never removed (like the screen blocks).
+            block.setCountHits(0);
+            list.add(block);
+        }
+        return list;
+    }
+    /**.
+     * createWalls.
+     * Creating the blocks of the screen margins, so balls stay in the screen without a game.
+     *
+     * @return the blocks of the four sides of the screen.
+     */
+    static List<Block> createWalls() {
+        List<Block> walls = new ArrayList<Block>();
+        walls.add(new Block(new Rectangle(new Point(0, 0), GUIWIDTH, SCREENMARGIN), Color.gray));
+        walls.add(new Block(new Rectangle(new Point(0, 0), SCREENMARGIN, GUIHEIGHT), Color.gray));
+        walls.add(new Block(new Rectangle(new Point(GUIWIDTH - SCREENMARGIN, 0), SCREENMARGIN, GUIHEIGHT)
+                , Color.gray));
+        walls.add(new Block(new Rectangle(new Point(0, GUIHEIGHT - SCREENMARGIN), GUIWIDTH, SCREENMARGIN)
+                , Color.gray));
+        for (Block wall : walls) {
+            wall.setCountHits(0);
+        }
+        return walls;
+    }
+    /**.
+     * numberOfBalls.
+     * @return the number of balls in this level.
+     */
+    public int numberOfBalls() {
+        return this.balls;
+    }
+    /**.
+     * initialBallVelocities.
+     * The balls go up in random directions (but the same ones every time).
+     *
+     * @return list with the initial velocity of each ball.
+     */
+    public List<Velocity> initialBallVelocities() {
+        Random random = new Random(this.seed);
+        List<Velocity> velocities = new ArrayList<Velocity>();
+        for (int i = 0; i < this.balls; i++) {
+            velocities.add(Velocity.fromAngleAndSpeed(135 + random.nextDouble() * 90, this.speed));
+        }
+        return velocities;
+    }
+    /**.
+     * paddleSpeed.
+     * @return the speed of the paddle (nobody moves it).
+     */
+    public int paddleSpeed() {
+        return 0;
+    }
+    /**.
+     * paddleWidth.
+     * @return the width of the paddle, all the screen so we never lose balls.
+     */
+    public int paddleWidth() {
+        return GUIWIDTH - 2 * SCREENMARGIN;
+    }
+    /**.
+     * levelName.
+     * @return the name of the level.
+     */
+    public String levelName() {
+        return "Benchmark";
+    }
+    /**.
+     * getBackground.
+     * @return an empty background.
+     */
+    public Sprite getBackground() {
+        return new Background();
+    }
+    /**.
+     * blocks.
+     * @return the blocks of the level.
+     */
+    public List<Block> blocks() {
+        return this.blocks;
+    }
+    /**.
+     * numberOfBlocksToRemove.
+     * @return the number of blocks we need to remove.
+     */
+    public int numberOfBlocksToRemove() {
+        return this.blocks.size();
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+/**.
+ * BenchmarkParams.
+ * The values of the parameters of one run of a benchmark.
+ */
+public class BenchmarkParams {
+    //The names of the parameters.
+    public static final String BLOCKS = "blocks";
+    public static final String BALLS = "balls";
+    public static final String SPEED = "speed";
+    //The number of blocks in the level.
+    private int blocks;
+    //The number of balls in the level.
+    private int balls;
+    //The speed of the balls in pixels per second.
+    private double speed;
+    /**.
+     * Creates new instance of BenchmarkParams.
+     * The constructor of our class.
+     *
+     * @param blocks the number of blocks in the level.
+     * @param balls the number of balls in the level.
+     * @param speed the speed of the balls in pixels per second.
+     */
+    public BenchmarkParams(int blocks, int balls, double speed) {
+        this.blocks = blocks;
+        this.balls = balls;
+        this.speed = speed;
+    }
+    /**.
+     * getBlocks.
+     * @return the number of blocks in the level.
+     */
+    public int getBlocks() {
+        return this.blocks;
+    }
+    /**.
+     * getBalls.
+     * @return the number of balls in the level.
+     */
+    public int getBalls() {
+        return this.balls;
+    }
+    /**.
+     * getSpeed.
+     * @return the speed of the balls in pixels per second.
+     */
+    public double getSpeed() {
+        return this.speed;
+    }
+    /**.
+     * valueOf.
+     * @param name the name of the parameter.
+     * @return the value of the parameter as text.
+     */
+    public String valueOf(String name) {
+        if (BLOCKS.equals(name)) {
+            return String.valueOf(this.blocks);
+        } else if (BALLS.equals(name)) {
+            return String.valueOf(this.balls);
+        } else if (SPEED.equals(name)) {
+            return String.valueOf((int) this.speed);
+        }
+        return "";
+    }
+}
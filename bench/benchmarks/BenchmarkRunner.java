@@ -0,0 +1,81 @@
+package benchmarks;
+
+/**.
+ * BenchmarkRunner.
+ * Runs one benchmark with one combination of parameters, like JMH in average time mode.
+ * First we run warmup iterations so the jit compiles the code, and then we measure iterations.
+ * In each iteration we call the operation in batches until the iteration time passed.
+ */
+public class BenchmarkRunner {
+    //The number of warmup and measured iterations.
+    private int warmupIterations;
+    private int iterations;
+    //The time of one iteration in nanoseconds.
+    private long iterationNanos;
+    //Consumes the results of all the benchmarks.
+    private Blackhole blackhole;
+    /**.
+     * Creates new instance of BenchmarkRunner.
+     * The constructor of our class.
+     *
+     * @param warmupIterations the number of warmup iterations.
+     * @param iterations the number of measured iterations.
+     * @param iterationMillis the time of one iteration in milliseconds.
+     */
+    public BenchmarkRunner(int warmupIterations, int iterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1000000L;
+        this.blackhole = new Blackhole();
+    }
+    /**.
+     * run.
+     * @param benchmark the benchmark.
+     * @param params the parameters of the run.
+     * @return the average time of one operation in each measured iteration (nanoseconds).
+     */
+    public double[] run(Benchmark benchmark, BenchmarkParams params) {
+        benchmark.setUp(params);
+        for (int i = 0; i < this.warmupIterations; i++) {
+            iteration(benchmark);
+        }
+        double[] results = new double[this.iterations];
+        for (int i = 0; i < this.iterations; i++) {
+            results[i] = iteration(benchmark);
+        }
+        return results;
+    }
+    /**.
+     * iteration.
+     * Calling the operation until the iteration time passed.
+     * We read the clock only between batches so reading it costs almost nothing.
+     *
+     * @param benchmark the benchmark.
+     * @return the average time of one operation (nanoseconds).
+     */
+    private double iteration(Benchmark benchmark) {
+        long operations = 0;
+        int batch = 1;
+        long start = System.nanoTime();
+        long elapsed = 0;
+        while (elapsed < this.iterationNanos) {
+            for (int i = 0; i < batch; i++) {
+                benchmark.operation(this.blackhole);
+            }
+            operations += batch;
+            elapsed = System.nanoTime() - start;
+            //Bigger batches until one batch takes about a millisecond.
+            if (elapsed < (operations / batch) * 1000000L && batch < (1 << 20)) {
+                batch *= 2;
+            }
+        }
+        return (double) elapsed / operations;
+    }
+    /**.
+     * getBlackhole.
+     * @return the blackhole that consumed all the results.
+     */
+    public Blackhole getBlackhole() {
+        return this.blackhole;
+    }
+}
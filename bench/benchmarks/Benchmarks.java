@@ -0,0 +1,138 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**.
+ * Benchmarks.
+ * Runs the benchmarks of the physics and collision code and prints a table of the results.
+ * Usage: java benchmarks.Benchmarks [-blocks 12,100,1000,10000] [-balls 1,10,100] [-speed 300,1200]
+ * [-warmup 3] [-iterations 5] [-time 500] [-filter name]
+ */
+public class Benchmarks {
+    /**.
+     * main.
+     * @param args the options of the run.
+     */
+    public static void main(String[] args) {
+        int[] blocks = {12, 100, 1000, 10000};
+        int[] balls = {1, 10, 100};
+        int[] speeds = {300, 1200};
+        int warmup = 3;
+        int iterations = 5;
+        long time = 500;
+        String filter = "";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            if (args[i].equals("-blocks")) {
+                blocks = parseList(value);
+            } else if (args[i].equals("-balls")) {
+                balls = parseList(value);
+            } else if (args[i].equals("-speed")) {
+                speeds = parseList(value);
+            } else if (args[i].equals("-warmup")) {
+                warmup = Integer.parseInt(value);
+            } else if (args[i].equals("-iterations")) {
+                iterations = Integer.parseInt(value);
+            } else if (args[i].equals("-time")) {
+                time = Long.parseLong(value);
+            } else if (args[i].equals("-filter")) {
+                filter = value;
+            } else {
+                System.err.println("Unknown option " + args[i]);
+                return;
+            }
+        }
+        Benchmark[] benchmarks = {new LineIntersectionBenchmark(), new RectangleIntersectionBenchmark()
+                , new ClosestCollisionBenchmark(), new BallStepBenchmark(), new NotifyAllTimePassedBenchmark()
+                , new DoOneFrameBenchmark()};
+        BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, time);
+        System.out.println(String.format("%-40s %8s %6s %6s %5s %14s %12s  %s"
+                , "Benchmark", "(blocks)", "(balls)", "(speed)", "Cnt", "Score", "Error", "Units"));
+        for (Benchmark benchmark : benchmarks) {
+            if (!benchmark.name().contains(filter)) {
+                continue;
+            }
+            for (BenchmarkParams params : combinations(benchmark, blocks, balls, speeds)) {
+                double[] results = runner.run(benchmark, params);
+                print(benchmark, params, results);
+            }
+        }
+        //Using the blackhole so nothing we calculated is useless.
+        if (runner.getBlackhole().getSink() == 42) {
+            System.out.println();
+        }
+    }
+    /**.
+     * combinations.
+     * We go over only the parameters the benchmark depends on.
+     *
+     * @param benchmark the benchmark.
+     * @param blocks the values of the blocks parameter.
+     * @param balls the values of the balls parameter.
+     * @param speeds the values of the speed parameter.
+     * @return all the combinations of the parameters.
+     */
+    private static List<BenchmarkParams> combinations(Benchmark benchmark, int[] blocks, int[] balls, int[] speeds) {
+        List<String> used = new ArrayList<String>();
+        for (String parameter : benchmark.parameters()) {
+            used.add(parameter);
+        }
+        int[] blocksValues = used.contains(BenchmarkParams.BLOCKS) ? blocks : new int[] {0};
+        int[] ballsValues = used.contains(BenchmarkParams.BALLS) ? balls : new int[] {0};
+        int[] speedValues = used.contains(BenchmarkParams.SPEED) ? speeds : new int[] {0};
+        List<BenchmarkParams> list = new ArrayList<BenchmarkParams>();
+        for (int numBlocks : blocksValues) {
+            for (int numBalls : ballsValues) {
+                for (int speed : speedValues) {
+                    list.add(new BenchmarkParams(numBlocks, numBalls, speed));
+                }
+            }
+        }
+        return list;
+    }
+    /**.
+     * print.
+     * Printing the mean of the iterations and the error (3 standard deviations, or 0 with one iteration).
+     *
+     * @param benchmark the benchmark.
+     * @param params the parameters of the run.
+     * @param results the time of one operation in each iteration.
+     */
+    private static void print(Benchmark benchmark, BenchmarkParams params, double[] results) {
+        double mean = 0;
+        for (double result : results) {
+            mean += result;
+        }
+        mean /= results.length;
+        double variance = 0;
+        for (double result : results) {
+            variance += (result - mean) * (result - mean);
+        }
+        double error = results.length > 1 ? 3 * Math.sqrt(variance / (results.length - 1)) : 0;
+        List<String> used = new ArrayList<String>();
+        for (String parameter : benchmark.parameters()) {
+            used.add(parameter);
+        }
+        String[] values = new String[3];
+        String[] names = {BenchmarkParams.BLOCKS, BenchmarkParams.BALLS, BenchmarkParams.SPEED};
+        for (int i = 0; i < names.length; i++) {
+            values[i] = used.contains(names[i]) ? params.valueOf(names[i]) : "N/A";
+        }
+        System.out.println(String.format("%-40s %8s %6s %6s %5d %14.3f +- %10.3f  ns/op", benchmark.name()
+                , values[0], values[1], values[2], results.length, mean, error));
+    }
+    /**.
+     * parseList.
+     * @param value numbers seperated by commas.
+     * @return the numbers.
+     */
+    private static int[] parseList(String value) {
+        String[] parts = value.split(",");
+        int[] numbers = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            numbers[i] = Integer.parseInt(parts[i].trim());
+        }
+        return numbers;
+    }
+}
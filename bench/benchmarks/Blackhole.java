@@ -0,0 +1,54 @@
+package benchmarks;
+
+/**.
+ * Blackhole.
+ * Consumes the results of the measured operations.
+ * If nothing used the results the jit could remove the work we want to measure.
+ */
+public class Blackhole {
+    //We mix every value into this one and read it only at the end, so the values must be calculated.
+    private long sink;
+    //An object no result is, we compare the results to it (like JMH) so we don't hash or keep them.
+    //It is volatile so the jit can't know it and skip the comparison (and the work that made the result).
+    private volatile Object trap;
+    /**.
+     * Creates new instance of Blackhole.
+     * The constructor of our class, its trap is an object only it has.
+     */
+    public Blackhole() {
+        this.trap = new Object();
+    }
+    /**.
+     * consume.
+     * Comparing the result to the trap, it costs a read and a comparison (hashing it would cost more than
+     * The operations we measure).
+     *
+     * @param o a result of an operation.
+     */
+    public void consume(Object o) {
+        if (o == this.trap) {
+            this.sink++;
+        }
+    }
+    /**.
+     * consume.
+     * @param value a result of an operation.
+     */
+    public void consume(double value) {
+        this.sink = this.sink * 31 + Double.doubleToRawLongBits(value);
+    }
+    /**.
+     * consume.
+     * @param value a result of an operation.
+     */
+    public void consume(boolean value) {
+        this.sink = this.sink * 31 + (value ? 1 : 0);
+    }
+    /**.
+     * getSink.
+     * @return everything we consumed mixed together.
+     */
+    public long getSink() {
+        return this.sink;
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import game.Block;
+import game.GameEnvironment;
+import geometry.Line;
+
+import java.util.Random;
+
+/**.
+ * ClosestCollisionBenchmark.
+ * Measures GameEnvironment.getClosestCollision with trajectories as long as a ball moves in one frame.
+ */
+public class ClosestCollisionBenchmark implements Benchmark {
+    //The number of trajectories we go over (a power of 2).
+    static final int TRAJECTORIES = 1024;
+    private GameEnvironment environment;
+    private Line[] trajectories;
+    private int next;
+    /**.
+     * name.
+     * @return the name of the benchmark.
+     */
+    public String name() {
+        return "GameEnvironment.getClosestCollision";
+    }
+    /**.
+     * parameters.
+     * @return the parameters this benchmark depends on.
+     */
+    public String[] parameters() {
+        return new String[] {BenchmarkParams.BLOCKS, BenchmarkParams.SPEED};
+    }
+    /**.
+     * setUp.
+     * @param params the parameters of the current run.
+     */
+    public void setUp(BenchmarkParams params) {
+        this.environment = new GameEnvironment();
+        for (Block wall : BenchmarkLevel.createWalls()) {
+            this.environment.addCollidable(wall);
+        }
+        for (Block block : BenchmarkLevel.createBlocks(params.getBlocks())) {
+            this.environment.addCollidable(block);
+        }
+        //The distance a ball moves in one frame of 60 frames per second.
+        double length = params.getSpeed() / 60;
+        Random random = new Random(42);
+        this.trajectories = new Line[TRAJECTORIES];
+        for (int i = 0; i < TRAJECTORIES; i++) {
+            double x = BenchmarkLevel.SCREENMARGIN + random.nextDouble()
+                    * (BenchmarkLevel.GUIWIDTH - 2 * BenchmarkLevel.SCREENMARGIN);
+            double y = BenchmarkLevel.SCREENMARGIN + random.nextDouble()
+                    * (BenchmarkLevel.GUIHEIGHT - 2 * BenchmarkLevel.SCREENMARGIN);
+            double angle = random.nextDouble() * 2 * Math.PI;
+            this.trajectories[i] = new Line(x, y, x + length * Math.cos(angle), y + length * Math.sin(angle));
+        }
+        this.next = 0;
+    }
+    /**.
+     * operation.
+     * @param blackhole consumes the collision we found.
+     */
+    public void operation(Blackhole blackhole) {
+        Line trajectory = this.trajectories[this.next];
+        this.next = (this.next + 1) & (TRAJECTORIES - 1);
+        blackhole.consume(this.environment.getClosestCollision(trajectory));
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import biuoop.DrawSurface;
+import game.GameLevel;
+import listeners.Counter;
+
+/**.
+ * DoOneFrameBenchmark.
+ * Measures a whole GameLevel.doOneFrame (drawing to a surface that draws nothing and the logic).
+ */
+public class DoOneFrameBenchmark implements Benchmark {
+    private GameLevel gameLevel;
+    private DrawSurface surface;
+    /**.
+     * name.
+     * @return the name of the benchmark.
+     */
+    public String name() {
+        return "GameLevel.doOneFrame";
+    }
+    /**.
+     * parameters.
+     * @return the parameters this benchmark depends on.
+     */
+    public String[] parameters() {
+        return new String[] {BenchmarkParams.BLOCKS, BenchmarkParams.BALLS, BenchmarkParams.SPEED};
+    }
+    /**.
+     * setUp.
+     * Creating the level and starting a turn without the countdown and the animation runner.
+     *
+     * @param params the parameters of the current run.
+     */
+    public void setUp(BenchmarkParams params) {
+        this.surface = NullDrawSurface.create(BenchmarkLevel.GUIWIDTH, BenchmarkLevel.GUIHEIGHT);
+        this.gameLevel = new GameLevel(new BenchmarkLevel(params), new NullKeyboard(), null
+                , new Counter(1), new Counter(0));
+        this.gameLevel.initialize();
+        this.gameLevel.startTurn();
+    }
+    /**.
+     * operation.
+     * @param blackhole consumes if the level should stop.
+     */
+    public void operation(Blackhole blackhole) {
+        this.gameLevel.doOneFrame(this.surface, 1.0 / 60);
+        blackhole.consume(this.gameLevel.shouldStop());
+    }
+}
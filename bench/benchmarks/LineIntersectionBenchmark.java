@@ -0,0 +1,63 @@
+package benchmarks;
+
+import geometry.Line;
+
+import java.util.Random;
+
+/**.
+ * LineIntersectionBenchmark.
+ * Measures Line.intersectionWith on random pairs of segments in the screen.
+ */
+public class LineIntersectionBenchmark implements Benchmark {
+    //The number of pairs we go over (a power of 2).
+    static final int PAIRS = 1024;
+    private Line[] first;
+    private Line[] second;
+    private int next;
+    /**.
+     * name.
+     * @return the name of the benchmark.
+     */
+    public String name() {
+        return "Line.intersectionWith";
+    }
+    /**.
+     * parameters.
+     * @return no parameters.
+     */
+    public String[] parameters() {
+        return new String[0];
+    }
+    /**.
+     * setUp.
+     * @param params the parameters of the current run.
+     */
+    public void setUp(BenchmarkParams params) {
+        Random random = new Random(42);
+        this.first = new Line[PAIRS];
+        this.second = new Line[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            this.first[i] = randomLine(random);
+            this.second[i] = randomLine(random);
+        }
+        this.next = 0;
+    }
+    /**.
+     * randomLine.
+     * @param random the random generator.
+     * @return a random segment in the screen.
+     */
+    static Line randomLine(Random random) {
+        return new Line(random.nextDouble() * BenchmarkLevel.GUIWIDTH, random.nextDouble() * BenchmarkLevel.GUIHEIGHT
+                , random.nextDouble() * BenchmarkLevel.GUIWIDTH, random.nextDouble() * BenchmarkLevel.GUIHEIGHT);
+    }
+    /**.
+     * operation.
+     * @param blackhole consumes the intersection point.
+     */
+    public void operation(Blackhole blackhole) {
+        int i = this.next;
+        this.next = (this.next + 1) & (PAIRS - 1);
+        blackhole.consume(this.first[i].intersectionWith(this.second[i]));
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import game.Ball;
+import game.Block;
+import game.GameEnvironment;
+import game.SpriteCollection;
+import game.Velocity;
+
+import java.awt.Color;
+import java.util.List;
+
+/**.
+ * NotifyAllTimePassedBenchmark.
+ * Measures SpriteCollection.notifyAllTimePassed on the blocks and balls of a level (one frame of logic).
+ */
+public class NotifyAllTimePassedBenchmark implements Benchmark {
+    private SpriteCollection sprites;
+    /**.
+     * name.
+     * @return the name of the benchmark.
+     */
+    public String name() {
+        return "SpriteCollection.notifyAllTimePassed";
+    }
+    /**.
+     * parameters.
+     * @return the parameters this benchmark depends on.
+     */
+    public String[] parameters() {
+        return new String[] {BenchmarkParams.BLOCKS, BenchmarkParams.BALLS, BenchmarkParams.SPEED};
+    }
+    /**.
+     * setUp.
+     * @param params the parameters of the current run.
+     */
+    public void setUp(BenchmarkParams params) {
+        GameEnvironment environment = new GameEnvironment();
+        this.sprites = new SpriteCollection();
+        for (Block wall : BenchmarkLevel.createWalls()) {
+            environment.addCollidable(wall);
+            this.sprites.addSprite(wall);
+        }
+        for (Block block : BenchmarkLevel.createBlocks(params.getBlocks())) {
+            environment.addCollidable(block);
+            this.sprites.addSprite(block);
+        }
+        List<Velocity> velocities = new BenchmarkLevel(params).initialBallVelocities();
+        for (int i = 0; i < params.getBalls(); i++) {
+            Ball ball = new Ball(BenchmarkLevel.GUIWIDTH / 2, BenchmarkLevel.GUIHEIGHT - 2 * BenchmarkLevel.SCREENMARGIN
+                    , 5, Color.white);
+            ball.setGameEnvironment(environment);
+            ball.setVelocity(velocities.get(i));
+            this.sprites.addSprite(ball);
+        }
+    }
+    /**.
+     * operation.
+     * @param blackhole consumes the sprite collection.
+     */
+    public void operation(Blackhole blackhole) {
+        this.sprites.notifyAllTimePassed(1.0 / 60);
+        blackhole.consume(this.sprites);
+    }
+}
@@ -0,0 +1,18 @@
+package benchmarks;
+
+import biuoop.KeyboardSensor;
+
+/**.
+ * NullKeyboard.
+ * A keyboard sensor where no key is ever pressed.
+ */
+public class NullKeyboard implements KeyboardSensor {
+    /**.
+     * isPressed.
+     * @param key the key we check.
+     * @return always false.
+     */
+    public boolean isPressed(String key) {
+        return false;
+    }
+}
@@ -0,0 +1,133 @@
+package benchmarks;
+
+import io.LevelListener;
+import io.LevelSpecificationReader;
+import levels.LevelInformation;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**.
+ * ParserThroughput.
+ * Measures how fast the level definitions reader goes over a big file.
+ * We generate a file of many levels (about 100 MB by default) and read it a few times,
+ * The levels are given to a listener that counts them, so they aren't kept in the memory.
+ * Usage: java benchmarks.ParserThroughput [-mb 100] [-runs 3] [-file path] [-seed 1]
+ * (with -file we read that file instead of generating one).
+ */
+public class ParserThroughput {
+    //The symbols of the blocks and the spacer of the standard block definitions.
+    private static final String SYMBOLS = "Gbyrgp";
+    private static final char SPACER = '-';
+    //The rows of each generated level and the blocks in each row.
+    private static final int ROWS = 12;
+    private static final int COLUMNS = 15;
+    /**.
+     * main.
+     * @param args the options of the run.
+     * @throws IOException if we can't write or read the file.
+     */
+    public static void main(String[] args) throws IOException {
+        long megabytes = 100;
+        int runs = 3;
+        long seed = 1;
+        String path = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            if (args[i].equals("-mb")) {
+                megabytes = Long.parseLong(value);
+            } else if (args[i].equals("-runs")) {
+                runs = Integer.parseInt(value);
+            } else if (args[i].equals("-file")) {
+                path = value;
+            } else if (args[i].equals("-seed")) {
+                seed = Long.parseLong(value);
+            } else {
+                System.err.println("Unknown option " + args[i]);
+                return;
+            }
+        }
+        File file;
+        if (path == null) {
+            file = File.createTempFile("levels", ".txt");
+            file.deleteOnExit();
+            long start = System.nanoTime();
+            generate(file, megabytes * 1024 * 1024, seed);
+            System.out.println(String.format("Generated %s (%.1f MB) in %.2fs", file, file.length() / 1048576.0
+                    , (System.nanoTime() - start) / 1e9));
+        } else {
+            file = new File(path);
+        }
+        for (int run = 1; run <= runs; run++) {
+            final long[] counts = new long[2];
+            long start = System.nanoTime();
+            Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.US_ASCII);
+            new LevelSpecificationReader().fromReader(reader, new LevelListener() {
+                @Override
+                public void levelRead(LevelInformation level) {
+                    counts[0]++;
+                    counts[1] += level.blocks().size();
+                }
+            });
+            reader.close();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(String.format("Run %d: %d levels, %d blocks in %.2fs = %.1f MB/s, %.0f blocks/s"
+                    , run, counts[0], counts[1], seconds, file.length() / 1048576.0 / seconds, counts[1] / seconds));
+        }
+    }
+    /**.
+     * generate.
+     * Writing levels with random rows of blocks and spaces until the file has the given size.
+     *
+     * @param file the file we write.
+     * @param bytes the size of the file.
+     * @param seed the seed of the random rows.
+     * @throws IOException if we can't write the file.
+     */
+    private static void generate(File file, long bytes, long seed) throws IOException {
+        Random random = new Random(seed);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file)
+                , StandardCharsets.US_ASCII), 1 << 16);
+        long written = 0;
+        StringBuilder level = new StringBuilder();
+        for (int n = 0; written < bytes; n++) {
+            level.setLength(0);
+            level.append("# Generated level ").append(n).append('\n');
+            level.append("START_LEVEL\n");
+            level.append("level_name:Generated ").append(n).append('\n');
+            level.append("ball_velocities:-45,500 45,500\n");
+            level.append("background:color(RGB(").append(random.nextInt(256)).append(',')
+                    .append(random.nextInt(256)).append(',').append(random.nextInt(256)).append("))\n");
+            level.append("paddle_speed:650\npaddle_width:160\n");
+            level.append("block_definitions:definitions/standard_block_definitions.txt\n");
+            level.append("blocks_start_x:25\nblocks_start_y:80\nrow_height:25\n");
+            int blocks = 0;
+            StringBuilder rows = new StringBuilder();
+            for (int r = 0; r < ROWS; r++) {
+                for (int c = 0; c < COLUMNS; c++) {
+                    if (random.nextInt(4) == 0) {
+                        rows.append(SPACER);
+                    } else {
+                        rows.append(SYMBOLS.charAt(random.nextInt(SYMBOLS.length())));
+                        blocks++;
+                    }
+                }
+                rows.append('\n');
+            }
+            level.append("num_blocks:").append(blocks).append('\n');
+            level.append("START_BLOCKS\n").append(rows).append("END_BLOCKS\nEND_LEVEL\n\n");
+            writer.append(level);
+            written += level.length();
+        }
+        writer.close();
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import geometry.Line;
+import geometry.Point;
+import geometry.Rectangle;
+
+import java.util.Random;
+
+/**.
+ * RectangleIntersectionBenchmark.
+ * Measures Rectangle.intersectionPoints on random segments and block sized rectangles.
+ */
+public class RectangleIntersectionBenchmark implements Benchmark {
+    //The number of pairs we go over (a power of 2).
+    static final int PAIRS = 1024;
+    private Rectangle[] rectangles;
+    private Line[] lines;
+    private int next;
+    /**.
+     * name.
+     * @return the name of the benchmark.
+     */
+    public String name() {
+        return "Rectangle.intersectionPoints";
+    }
+    /**.
+     * parameters.
+     * @return no parameters.
+     */
+    public String[] parameters() {
+        return new String[0];
+    }
+    /**.
+     * setUp.
+     * @param params the parameters of the current run.
+     */
+    public void setUp(BenchmarkParams params) {
+        Random random = new Random(42);
+        this.rectangles = new Rectangle[PAIRS];
+        this.lines = new Line[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            Point upperLeft = new Point(random.nextDouble() * BenchmarkLevel.GUIWIDTH
+                    , random.nextDouble() * BenchmarkLevel.GUIHEIGHT);
+            this.rectangles[i] = new Rectangle(upperLeft, 20 + random.nextDouble() * 100
+                    , 10 + random.nextDouble() * 50);
+            this.lines[i] = LineIntersectionBenchmark.randomLine(random);
+        }
+        this.next = 0;
+    }
+    /**.
+     * operation.
+     * @param blackhole consumes the intersection points.
+     */
+    public void operation(Blackhole blackhole) {
+        int i = this.next;
+        this.next = (this.next + 1) & (PAIRS - 1);
+        blackhole.consume(this.rectangles[i].intersectionPoints(this.lines[i]));
+    }
+}
@@ -0,0 +1,106 @@
+package benchmarks;
+
+import io.HighScoresTable;
+import io.ScoreInfo;
+import io.ScoreLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**.
+ * ScoreLogThroughput.
+ * Measures how fast the score log is written and read back into the top scores.
+ * We append many random scores (2 millions by default, in batches so the disk syncs don't take all the time),
+ * Read the log a few times, cut its last record like a crash would and read it again,
+ * And at the end compact it into a snapshot and read that.
+ * Usage: java benchmarks.ScoreLogThroughput [-scores 2000000] [-batch 10000] [-runs 3] [-top 5] [-seed 1]
+ */
+public class ScoreLogThroughput {
+    /**.
+     * main.
+     * @param args the options of the run.
+     * @throws IOException if we can't write or read the files.
+     */
+    public static void main(String[] args) throws IOException {
+        int scores = 2000000;
+        int batch = 10000;
+        int runs = 3;
+        int top = HighScoresTable.DEFAULTSIZE;
+        long seed = 1;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            if (args[i].equals("-scores")) {
+                scores = Integer.parseInt(value);
+            } else if (args[i].equals("-batch")) {
+                batch = Integer.parseInt(value);
+            } else if (args[i].equals("-runs")) {
+                runs = Integer.parseInt(value);
+            } else if (args[i].equals("-top")) {
+                top = Integer.parseInt(value);
+            } else if (args[i].equals("-seed")) {
+                seed = Long.parseLong(value);
+            } else {
+                System.err.println("Unknown option " + args[i]);
+                return;
+            }
+        }
+        File base = File.createTempFile("highscores", "");
+        File log = new File(base.getPath() + ".log");
+        File snapshot = new File(base.getPath() + ".snapshot");
+        base.deleteOnExit();
+        log.deleteOnExit();
+        snapshot.deleteOnExit();
+        //Not compacting while we write, so the log has all the scores.
+        ScoreLog scoreLog = new ScoreLog(base, top, Integer.MAX_VALUE);
+        Random random = new Random(seed);
+        List<ScoreInfo> scoreList = new ArrayList<ScoreInfo>();
+        long start = System.nanoTime();
+        for (int n = 0; n < scores; n++) {
+            scoreList.add(new ScoreInfo("Player " + random.nextInt(100000), random.nextInt(1000000)));
+            if (scoreList.size() == batch || n == scores - 1) {
+                scoreLog.append(scoreList);
+                scoreList.clear();
+            }
+        }
+        System.out.println(String.format("Appended %d scores (%.1f MB) in %.2fs", scores, log.length() / 1048576.0
+                , (System.nanoTime() - start) / 1e9));
+        for (int run = 1; run <= runs; run++) {
+            read("Run " + run, new ScoreLog(base, top, Integer.MAX_VALUE), top, log);
+        }
+        //A crash in the middle of the last record.
+        RandomAccessFile file = new RandomAccessFile(log, "rw");
+        file.setLength(file.length() - 3);
+        file.close();
+        read("Cut log", new ScoreLog(base, top, Integer.MAX_VALUE), top, log);
+        start = System.nanoTime();
+        scoreLog = new ScoreLog(base, top, Integer.MAX_VALUE);
+        scoreLog.compact();
+        System.out.println(String.format("Compacted in %.2fs", (System.nanoTime() - start) / 1e9));
+        read("Snapshot", scoreLog, top, log);
+    }
+    /**.
+     * read.
+     * Reading the log into a table and printing the time and the best score.
+     *
+     * @param name the name of the read.
+     * @param scoreLog the score log.
+     * @param top the size of the table.
+     * @param log the log file.
+     * @throws IOException if we can't read the files.
+     */
+    private static void read(String name, ScoreLog scoreLog, int top, File log) throws IOException {
+        HighScoresTable table = new HighScoresTable(top);
+        long start = System.nanoTime();
+        scoreLog.load(table);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        List<ScoreInfo> best = table.getHighScores();
+        System.out.println(String.format("%s: %d log records in %.2fs = %.0f records/s, %.1f MB/s, best %s"
+                , name, scoreLog.getLogRecords(), seconds, scoreLog.getLogRecords() / seconds
+                , log.length() / 1048576.0 / seconds
+                , best.isEmpty() ? "none" : best.get(0).getName() + " " + best.get(0).getScore()));
+    }
+}
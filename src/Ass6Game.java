@@ -1,15 +1,20 @@
 import biuoop.GUI;
 import animation.AnimationRunner;
 import game.GameFlow;
+import io.CompiledLevelsReader;
+import io.LevelSet;
 import io.LevelSetsReader;
 import io.LevelSpecificationReader;
 import levels.LevelInformation;
+import replay.InputRecorder;
+import stats.FrameStats;
+import stats.StatsDumper;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Ass6Game.
@@ -60,18 +65,34 @@ public class Ass6Game {
         try {
             //Reading the level.
             LevelSpecificationReader li = new LevelSpecificationReader();
-            GameFlow gameFlow = new GameFlow(new AnimationRunner(guiGame), guiGame.getKeyboardSensor()
+            AnimationRunner runner = new AnimationRunner(guiGame);
+            //Frame timings, only with -Dstats=true (-Dstats.overlay=true shows them and -Dstats.file writes them).
+            FrameStats stats = FrameStats.fromSystemProperties();
+            if (stats != null) {
+                runner.setStats(stats);
+                String statsFile = System.getProperty("stats.file");
+                if (statsFile != null) {
+                    new StatsDumper(stats, statsFile, 1000 * Long.getLong("stats.period", 5)).start();
+                }
+            }
+            GameFlow gameFlow = new GameFlow(runner, guiGame.getKeyboardSensor()
                     , guiGame.getDialogManager());
-            //Input stream to get in the resources folder.
-            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream("level_sets.txt");
-            InputStreamReader reader = new InputStreamReader(is);
+            //Recording the games to a replay file, only with -Drecord=file.
+            gameFlow.setRecorder(InputRecorder.fromSystemProperties());
+            //The compiled levels (make levels), unless we edit the level definitions (-Dlevels.text=true).
+            URL compiled = ClassLoader.getSystemClassLoader().getResource("level_sets.bin");
+            List<LevelSet> levelSets;
+            if (compiled != null && !Boolean.getBoolean("levels.text")) {
+                levelSets = CompiledLevelsReader.read(compiled);
+            } else {
+                //Input stream to get in the resources folder.
+                InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream("level_sets.txt");
+                InputStreamReader reader = new InputStreamReader(is);
+                //Only the keys and names of the level sets, their levels are read when they are selected.
+                levelSets = LevelSetsReader.getLevelSets(reader);
+            }
             //Running the game.
-            Map<String, String> map = LevelSetsReader.getLevelSetMap(reader);
-            //Reset the reader to read again the file.
-            is = ClassLoader.getSystemClassLoader().getResourceAsStream("level_sets.txt");
-            reader = new InputStreamReader(is);
-            List<List<LevelInformation>> levelSets = LevelSetsReader.getLevels(reader);
-           gameFlow.createMenu(levelSets, map);
+           gameFlow.createMenu(levelSets);
 
 
             guiGame.close();
@@ -2,17 +2,30 @@ package animation;
 import biuoop.GUI;
 import biuoop.DrawSurface;
 import biuoop.Sleeper;
+import stats.FrameStats;
 /**
  * The AnimationRunner takes an Animation object and runs it.
  * Now, we implement the task-specific information in the Animation object.
  * And run it using the loop in the AnimationRunner class.
  * (Note that now the AnimationRunner has framesPerSecond as a member
  * Which should be set in the constructor. You should use a frame rate of 60 frames per second.)
+ * A stepped animation runs with a fixed timestep: the logic runs stepsPerSecond steps each second
+ * However many frames we draw, and frames are drawn between the steps.
  */
 public class AnimationRunner {
+    //Nanoseconds in one second.
+    static final long NANOS = 1000000000L;
+    //The maximum steps we run before drawing a frame, if we are later than that we give up the rest.
+    static final int MAXSTEPSPERFRAME = 5;
     private GUI gui;
     private int framesPerSecond;
+    //The number of logic steps in one second.
+    private int stepsPerSecond;
     private Sleeper sleeper;
+    //The time the last run ended, so an animation that ran inside another one (like pause) isn't caught up.
+    private long lastRunEnd;
+    //The timings of the frames, null if they are disabled.
+    private FrameStats stats;
     /**.
      * Creates new instance of AnimationRunner.
      * The constructor of our class.
@@ -21,11 +34,49 @@ public class AnimationRunner {
      * @param gui a gui.
      */
     public AnimationRunner(GUI gui) {
-        this.gui = gui;
         //You should use a frame rate of 60 frames per second.
-        this.framesPerSecond = 60;
+        this(gui, 60, 60);
+    }
+    /**.
+     * Creates new instance of AnimationRunner.
+     * The constructor of our class.
+     *
+     * @param gui a gui.
+     * @param stepsPerSecond the number of logic steps in one second.
+     * @param framesPerSecond the number of frames we draw in one second.
+     */
+    public AnimationRunner(GUI gui, int stepsPerSecond, int framesPerSecond) {
+        if (stepsPerSecond <= 0 || framesPerSecond <= 0) {
+            throw new IllegalArgumentException("The rates must be positive.");
+        }
+        this.gui = gui;
+        this.stepsPerSecond = stepsPerSecond;
+        this.framesPerSecond = framesPerSecond;
         //Instalizing the sleeper
         this.sleeper = new Sleeper();
+        this.lastRunEnd = 0;
+        this.stats = null;
+    }
+    /**.
+     * setStats.
+     * @param frameStats the timings of the frames, null to disable them.
+     */
+    public void setStats(FrameStats frameStats) {
+        this.stats = frameStats;
+    }
+    /**.
+     * getStepsPerSecond.
+     * @return the number of logic steps in one second.
+     */
+    public int getStepsPerSecond() {
+        return this.stepsPerSecond;
+    }
+    /**.
+     * getStats.
+     * @return the timings of the frames, null if they are disabled.
+     */
+    public FrameStats getStats() {
+        return this.stats;
     }
     /**.
      * run.
@@ -34,21 +85,86 @@ public class AnimationRunner {
      * @param animation the animation we want to run.
      */
     public void run(Animation animation) {
-        //Mil = 10^(-3)
-        int millisecondsPerFrame = 1000 / this.framesPerSecond;;
+        if (animation instanceof SteppedAnimation) {
+            runSteps((SteppedAnimation) animation);
+        } else {
+            runFrames(animation);
+        }
+        this.lastRunEnd = System.nanoTime();
+    }
+    /**.
+     * runFrames.
+     * Runs an animation frame after frame.
+     *
+     * @param animation the animation we want to run.
+     */
+    private void runFrames(Animation animation) {
+        long nanosPerFrame = NANOS / this.framesPerSecond;
         while (!animation.shouldStop()) {
-            long startTime = System.currentTimeMillis(); // timing
+            long startTime = System.nanoTime(); // timing
             DrawSurface d = this.gui.getDrawSurface();
             //Putting the drawsurface and dt value.
             animation.doOneFrame(d, (double) 1 / this.framesPerSecond);
             this.gui.show(d);
-            long usedTime = System.currentTimeMillis() - startTime;
-            long milliSecondLeftToSleep = millisecondsPerFrame - usedTime;
-            if (milliSecondLeftToSleep > 0) {
-                this.sleeper.sleepFor(milliSecondLeftToSleep);
+            sleepUntil(startTime + nanosPerFrame);
+        }
+    }
+    /**.
+     * runSteps.
+     * Runs an animation with a fixed timestep.
+     * We add the time that passed to an accumulator and run a step for each dt in it,
+     * Then we draw the frame between the last two steps by the part of dt that is left.
+     * So a late frame runs more steps instead of slowing the game.
+     *
+     * @param animation the animation we want to run.
+     */
+    private void runSteps(SteppedAnimation animation) {
+        long nanosPerStep = NANOS / this.stepsPerSecond;
+        long nanosPerFrame = NANOS / this.framesPerSecond;
+        double dt = (double) 1 / this.stepsPerSecond;
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        while (!animation.shouldStop()) {
+            long startTime = System.nanoTime();
+            //Another animation ran inside this one, we don't count its time.
+            if (this.lastRunEnd > previous) {
+                previous = this.lastRunEnd;
+            }
+            accumulator += startTime - previous;
+            previous = startTime;
+            //Too late to catch up, the game will slow down a little instead of getting stuck.
+            if (accumulator > MAXSTEPSPERFRAME * nanosPerStep) {
+                accumulator = MAXSTEPSPERFRAME * nanosPerStep;
+            }
+            while (accumulator >= nanosPerStep && !animation.shouldStop()) {
+                animation.doOneStep(dt);
+                accumulator -= nanosPerStep;
+            }
+            DrawSurface d = this.gui.getDrawSurface();
+            animation.render(d, (double) accumulator / nanosPerStep);
+            if (this.stats != null) {
+                long showTime = System.nanoTime();
+                this.gui.show(d);
+                long end = System.nanoTime();
+                this.stats.add(FrameStats.SHOW, end - showTime);
+                this.stats.add(FrameStats.FRAME, end - startTime);
+                this.stats.endFrame();
+            } else {
+                this.gui.show(d);
             }
+            sleepUntil(startTime + nanosPerFrame);
+        }
+    }
+    /**.
+     * sleepUntil.
+     * Sleeping until the given time (the sleeper sleeps whole milliseconds).
+     *
+     * @param time the time we wake up (of System.nanoTime).
+     */
+    private void sleepUntil(long time) {
+        long milliSecondLeftToSleep = (time - System.nanoTime()) / 1000000;
+        if (milliSecondLeftToSleep > 0) {
+            this.sleeper.sleepFor(milliSecondLeftToSleep);
         }
     }
-
-
 }
@@ -0,0 +1,26 @@
+package animation;
+import biuoop.DrawSurface;
+/**
+ * SteppedAnimation.
+ * An animation whose logic runs in steps of a fixed dt, apart from drawing it.
+ * The animation runner runs as many steps as the time that passed needs and draws once a frame,
+ * So the speed of the game doesn't depend on the frame rate.
+ */
+public interface SteppedAnimation extends Animation {
+    /**
+     * doOneStep.
+     * In charge of the logic of one step, without drawing anything.
+     *
+     * @param dt the amount of seconds of one step (always the same).
+     */
+    void doOneStep(double dt);
+    /**
+     * render.
+     * Drawing the animation between the last two steps.
+     *
+     * @param d a drawsurface.
+     * @param alpha the part of a step that passed since the last step (between 0 and 1).
+     * 0 draws the state before the last step and 1 draws the state after it.
+     */
+    void render(DrawSurface d, double alpha);
+}
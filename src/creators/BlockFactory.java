@@ -1,6 +1,7 @@
 package creators;
 
 import game.Block;
+import game.BlockType;
 import geometry.Point;
 import geometry.Rectangle;
 
@@ -12,6 +13,7 @@ import java.util.TreeMap;
 /**
  * BlockFactory.
  * Creating blocks with the same background, height and width but in different positions.
+ * All the blocks of the factory share one BlockType, so a block doesn't copy the fill maps.
  */
 public class BlockFactory implements BlockCreator {
     private int height;
@@ -23,6 +25,8 @@ public class BlockFactory implements BlockCreator {
     //Maps of background by count hits.
     private Map<Integer, Color> colors;
     private Map<Integer, Image> images;
+    //The type of the blocks, created by the first block after the values were set.
+    private BlockType type;
     /**.
      * Creates new instance of BlockFactory
      * The constructor of our class.
@@ -90,6 +94,7 @@ public class BlockFactory implements BlockCreator {
     public void setDefaultColor(Color c) {
         if (c != null) {
             this.color = c;
+            this.type = null;
         }
     }
     /**.
@@ -100,6 +105,7 @@ public class BlockFactory implements BlockCreator {
     public void setDefaultImage(Image img) {
         if (img != null) {
             this.image = img;
+            this.type = null;
         }
     }
     /**.
@@ -109,6 +115,7 @@ public class BlockFactory implements BlockCreator {
      */
     public void setStroke(Color c) {
         this.stroke = c;
+        this.type = null;
     }
     /**.
      * setColors.
@@ -117,6 +124,7 @@ public class BlockFactory implements BlockCreator {
      */
     public void setColors(Map<Integer, Color> colorMap) {
             this.colors.putAll(colorMap);
+            this.type = null;
     }
     /**.
      * setColors.
@@ -125,6 +133,7 @@ public class BlockFactory implements BlockCreator {
      */
     public void setImages(Map<Integer, Image> imageMap) {
         this.images.putAll(imageMap);
+        this.type = null;
     }
     /**.
      * create.
@@ -135,27 +144,18 @@ public class BlockFactory implements BlockCreator {
      * @return the block we just created.
      */
     public Block create(int xpos, int ypos) {
-        Block block = null;
-        //Color background.
-        if (this.image == null) {
-            block = new Block(new Rectangle(new Point(xpos, ypos), this.width, this.height), this.color);
-        }
-        //Image background.
-        if (this.color == null) {
-            block = new Block(new Rectangle(new Point(xpos, ypos), this.width, this.height), this.image);
-        }
-        if (!this.colors.isEmpty()) {
-                block.setColorMap(this.colors);
-        }
-        if (!this.images.isEmpty()) {
-            block.setImageMap(this.images);
-
-        }
-
-        if (this.stroke != null) {
-            block.setStrokeColor(this.stroke);
+        return new Block(new Rectangle(new Point(xpos, ypos), this.width, this.height), type());
+    }
+    /**.
+     * type.
+     * @return the type of the blocks of the factory (created the first time).
+     */
+    private synchronized BlockType type() {
+        if (this.type == null) {
+            //A color block has no default image and an image block has no default color.
+            Color fill = this.image == null ? this.color : null;
+            this.type = new BlockType(fill, this.image, this.stroke, this.colors, this.images, this.hitPoints);
         }
-        block.setCountHits(this.hitPoints);
-        return block;
+        return this.type;
     }
 }
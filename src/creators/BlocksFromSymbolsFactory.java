@@ -1,24 +1,38 @@
 package creators;
 import game.Block;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
 
 /**.
  * The block definition files define a mapping from symbols to spaces and blocks.
  * These symbols are then used in the level specification files to define the blocks that need to be created.
  * You will thus need a mechanism (object) with a method that will get a symbol and create the desired block.
+ * Each symbol is one char, the symbols of the usual chars are kept in arrays by the char
+ * So finding the symbol of each char of a blocks line doesn't search or create strings.
+ * After freeze() the factory can't be changed, so many levels (and threads) can share it.
  */
 public class BlocksFromSymbolsFactory {
-    private Map<String, Integer> spacerWidths;
-    private Map<String, BlockCreator> blockCreators;
+    //The chars we keep in the arrays, other chars are kept in maps.
+    private static final int TABLESIZE = 128;
+    //The spacer widths (-1 is not a spacer) and block creators by their symbol.
+    private int[] spacerWidths;
+    private BlockCreator[] blockCreators;
+    private Map<Character, Integer> otherSpacerWidths;
+    private Map<Character, BlockCreator> otherBlockCreators;
+    //Determines if the factory can't be changed anymore.
+    private volatile boolean frozen;
     /**.
      * Creates new instance of BlocksFromSymbolsFactory.
      * The constructor of our class.
      */
     public BlocksFromSymbolsFactory() {
-        //Initializing the maps.
-        this.spacerWidths = new TreeMap<String, Integer>();
-        this.blockCreators = new TreeMap<String, BlockCreator>();
+        //Initializing the tables.
+        this.spacerWidths = new int[TABLESIZE];
+        Arrays.fill(this.spacerWidths, -1);
+        this.blockCreators = new BlockCreator[TABLESIZE];
+        this.otherSpacerWidths = new HashMap<Character, Integer>();
+        this.otherBlockCreators = new HashMap<Character, BlockCreator>();
     }
     /**.
      * addSpacer.
@@ -28,7 +42,22 @@ public class BlocksFromSymbolsFactory {
      * @param spacerWidth the width of the spacer.
      */
     public void addSpacer(String spacer, int spacerWidth) {
-        this.spacerWidths.put(spacer, spacerWidth);
+        addSpacer(spacer.charAt(0), spacerWidth);
+    }
+    /**.
+     * addSpacer.
+     * Adding spacer to the spacers table.
+     *
+     * @param spacer the symbol of the spacer.
+     * @param spacerWidth the width of the spacer.
+     */
+    public void addSpacer(char spacer, int spacerWidth) {
+        checkNotFrozen();
+        if (spacer < TABLESIZE) {
+            this.spacerWidths[spacer] = spacerWidth;
+        } else {
+            this.otherSpacerWidths.put(spacer, spacerWidth);
+        }
     }
     /**.
      * addBlockCreator.
@@ -38,7 +67,45 @@ public class BlocksFromSymbolsFactory {
      * @param creator a block creator.
      */
     public void addBlockCreator(String key, BlockCreator creator) {
-        this.blockCreators.put(key, creator);
+        addBlockCreator(key.charAt(0), creator);
+    }
+    /**.
+     * addBlockCreator.
+     * Adding blcok creator to the block creator table by the symbol of the block.
+     *
+     * @param key the symbol of the block.
+     * @param creator a block creator.
+     */
+    public void addBlockCreator(char key, BlockCreator creator) {
+        checkNotFrozen();
+        if (key < TABLESIZE) {
+            this.blockCreators[key] = creator;
+        } else {
+            this.otherBlockCreators.put(key, creator);
+        }
+    }
+    /**.
+     * freeze.
+     * After this the factory can't be changed (adding a block or spacer throws an exception).
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+    /**.
+     * isFrozen.
+     * @return true if the factory can't be changed, false otherwise.
+     */
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+    /**.
+     * checkNotFrozen.
+     * Throws an exception if the factory can't be changed.
+     */
+    private void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("The block definitions are shared and can't be changed.");
+        }
     }
     /**.
      * isSpaceSymbol.
@@ -47,13 +114,19 @@ public class BlocksFromSymbolsFactory {
      * @return true if 's' is a valid space symbol.
      */
     public boolean isSpaceSymbol(String s) {
-        //Moving on all the keys in space widths.
-        for (String key : spacerWidths.keySet()) {
-            if (key.equals(s)) {
-                return true;
-            }
+        return s.length() == 1 && isSpaceSymbol(s.charAt(0));
+    }
+    /**.
+     * isSpaceSymbol.
+     *
+     * @param c a char.
+     * @return true if 'c' is a valid space symbol.
+     */
+    public boolean isSpaceSymbol(char c) {
+        if (c < TABLESIZE) {
+            return this.spacerWidths[c] >= 0;
         }
-        return false;
+        return this.otherSpacerWidths.containsKey(c);
     }
     /**.
      * isSpaceSymbol.
@@ -62,13 +135,19 @@ public class BlocksFromSymbolsFactory {
      * @return true if 's' is a valid block symbol.
      */
     public boolean isBlockSymbol(String s) {
-        //Moving on all the keys in block creators.
-        for (String key : blockCreators.keySet()) {
-            if (key.equals(s)) {
-                return true;
-            }
+        return s.length() == 1 && isBlockSymbol(s.charAt(0));
+    }
+    /**.
+     * isBlockSymbol.
+     *
+     * @param c a char.
+     * @return true if 'c' is a valid block symbol.
+     */
+    public boolean isBlockSymbol(char c) {
+        if (c < TABLESIZE) {
+            return this.blockCreators[c] != null;
         }
-        return false;
+        return this.otherBlockCreators.containsKey(c);
     }
     /**.
      * getSpaceWidth.
@@ -77,7 +156,19 @@ public class BlocksFromSymbolsFactory {
      * @return the width in pixels associated with the given spacer-symbol.
      */
     public int getSpaceWidth(String s) {
-        return this.spacerWidths.get(s);
+        return getSpaceWidth(s.charAt(0));
+    }
+    /**.
+     * getSpaceWidth.
+     *
+     * @param c a spacer-symbol.
+     * @return the width in pixels associated with the given spacer-symbol.
+     */
+    public int getSpaceWidth(char c) {
+        if (c < TABLESIZE) {
+            return this.spacerWidths[c];
+        }
+        return this.otherSpacerWidths.get(c);
     }
 
     /**.
@@ -90,7 +181,22 @@ public class BlocksFromSymbolsFactory {
      * The block will be located at position (xpos, ypos).
      */
     public Block getBlock(String s, int x, int y) {
-        return this.blockCreators.get(s).create(x, y);
+        return getBlock(s.charAt(0), x, y);
+    }
+    /**.
+     * getBlock.
+     *
+     * @param c the symbol of the block.
+     * @param x the x position of the block.
+     * @param y the y position of the block.
+     * @return block according to the definitions associated with symbol c.
+     * The block will be located at position (xpos, ypos).
+     */
+    public Block getBlock(char c, int x, int y) {
+        if (c < TABLESIZE) {
+            return this.blockCreators[c].create(x, y);
+        }
+        return this.otherBlockCreators.get(c).create(x, y);
     }
 
-}
\ No newline at end of file
+}
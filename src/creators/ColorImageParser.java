@@ -1,17 +1,26 @@
 package creators;
 
-import javax.imageio.ImageIO;
-import java.awt.Color;
 import java.awt.Image;
-import java.io.IOException;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.WeakHashMap;
 
 /**.
  * ColorImageParser.
  * Parse color from string.
+ * The images are shared: the same path gives the same image, read only once.
+ * We also remember the path of each image we gave, so the levels can be written back to a file.
  */
 public class ColorImageParser {
+    //The bytes of images we keep (about 8 backgrounds of the screen size).
+    private static final long CACHEBYTES = 16L * 1024 * 1024;
+    //The width and height of the pages of the block images.
+    private static final int PAGESIZE = 256;
+    //The images by their path.
+    private static final ImageCache IMAGES = new ImageCache(CACHEBYTES);
+    //The block images packed together.
+    private static final TextureAtlas BLOCKIMAGES = new TextureAtlas(PAGESIZE);
+    //The paths of the images we gave (the images are compared by identity).
+    private static final Map<Image, String> PATHS = new WeakHashMap<Image, String>();
     /**.
      * colorFromString.
      * Parse color definition.
@@ -20,41 +29,20 @@ public class ColorImageParser {
      * @return  the specified color.
      */
     public static java.awt.Color colorFromString(String s) {
-        //RGB
-       // if(!s.contains(","))
-        //Color name.
-        if (!s.contains(",")) {
-            Map<String, Color> colorNames = new TreeMap<String, Color>();
-            colorNames.put("black", Color.black);
-            colorNames.put("blue", Color.blue);
-            colorNames.put("cyan", Color.cyan);
-            colorNames.put("gray", Color.gray);
-            colorNames.put("lightGray", Color.lightGray);
-            colorNames.put("green", Color.green);
-            colorNames.put("orange", Color.orange);
-            colorNames.put("pink", Color.pink);
-            colorNames.put("red", Color.red);
-            colorNames.put("white", Color.white);
-            colorNames.put("yellow", Color.yellow);
-
-            return colorNames.get(s);
-        } else { //RGB
-            int [] rgb = new int[3];
-            int indexStart = s.indexOf('(') + 1;
-            int indexEnd = s.indexOf(',', indexStart);
-            for (int i = 0; i < rgb.length; i++) {
-                rgb[i] = Integer.parseInt(s.substring(indexStart, indexEnd));
-                indexStart = indexEnd + 1;
-                if (i != 1) {
-                    indexEnd = s.indexOf(",", indexStart);
-                } else { //The end is end of the string and we after the last ,
-                    indexEnd = s.length() - 1;
-                }
-            }
-            //Return color from rgb
-            return new Color(rgb[0], rgb[1], rgb[2]);
-
-        }
+        //Color name, RGB(x,y,z) or hex.
+        return ColorRegistry.parse(s);
+    }
+    /**.
+     * colorFromString.
+     * Parse color definition in part of a string (without creating the substring).
+     *
+     * @param s a string that has a color in it.
+     * @param start the index of the first char of the color.
+     * @param end the index after the last char of the color.
+     * @return  the specified color.
+     */
+    public static java.awt.Color colorFromString(CharSequence s, int start, int end) {
+        return ColorRegistry.parse(s, start, end);
     }
 
     /**.
@@ -65,13 +53,55 @@ public class ColorImageParser {
      * @return  the image in the file or null if has problems.
      */
     public static Image imageFromText(String path) {
-        Image img = null;
-        try {
-            //Return the image.
-            return ImageIO.read(ClassLoader.getSystemClassLoader().getResourceAsStream(path));
-        } catch (IOException e) { //Problems reading the file.
-            return null;
+        return remember(IMAGES.get(path), path);
+    }
+    /**.
+     * blockImageFromText.
+     * Return image of a block by string of file path, the small images are packed in the texture atlas.
+     *
+     * @param path a string that represents an image directory.
+     * @return  the image in the file or null if has problems.
+     */
+    public static Image blockImageFromText(String path) {
+        return remember(BLOCKIMAGES.get(path), path);
+    }
+    /**.
+     * pathOf.
+     * @param image an image we gave.
+     * @return the path the image was read from, null if we didn't give this image.
+     */
+    public static String pathOf(Image image) {
+        synchronized (PATHS) {
+            return PATHS.get(image);
         }
     }
+    /**.
+     * remember.
+     * @param image an image (or null).
+     * @param path the path it was read from.
+     * @return the image.
+     */
+    private static Image remember(Image image, String path) {
+        if (image != null) {
+            synchronized (PATHS) {
+                PATHS.put(image, path);
+            }
+        }
+        return image;
+    }
+    /**.
+     * getImageCache.
+     * @return the cache of the images.
+     */
+    public static ImageCache getImageCache() {
+        return IMAGES;
+    }
+    /**.
+     * getBlockImages.
+     * @return the texture atlas of the block images.
+     */
+    public static TextureAtlas getBlockImages() {
+        return BLOCKIMAGES;
+    }
 
 }
@@ -0,0 +1,242 @@
+package creators;
+
+import java.awt.Color;
+
+/**.
+ * ColorRegistry.
+ * Parses colors of the definition files and keeps one Color object for each color we met.
+ * A color can be written by its name (like red), as RGB(x,y,z) or in hex (like #ff8000).
+ * Parsing goes over the string once and doesn't create objects, except the first time we meet a color.
+ * The same color always gives the same object, also when it is written in another way (RGB(255,0,0) is red).
+ */
+public class ColorRegistry {
+    //The names of the colors we know and their colors.
+    private static final String[] NAMES = {"black", "blue", "cyan", "gray", "lightGray", "green", "orange", "pink"
+            , "red", "white", "yellow"};
+    private static final Color[] NAMED = {Color.black, Color.blue, Color.cyan, Color.gray, Color.lightGray
+            , Color.green, Color.orange, Color.pink, Color.red, Color.white, Color.yellow};
+    //The colors we met by their rgb value, in a hash table with open addressing (a null value is an empty place).
+    private static int[] keys = new int[64];
+    private static Color[] values = new Color[64];
+    private static int count = 0;
+
+    static {
+        for (int i = 0; i < NAMED.length; i++) {
+            put(NAMED[i]);
+        }
+    }
+    /**.
+     * parse.
+     * @param s a string that represents a color.
+     * @return the color, or null if the string isn't a color.
+     */
+    public static Color parse(CharSequence s) {
+        return parse(s, 0, s.length());
+    }
+    /**.
+     * parse.
+     * Parse the color in part of the string.
+     *
+     * @param s a string that has a color in it.
+     * @param start the index of the first char of the color.
+     * @param end the index after the last char of the color.
+     * @return the color, or null if that part isn't a color.
+     */
+    public static Color parse(CharSequence s, int start, int end) {
+        //RGB(x,y,z)
+        if (startsWith(s, start, end, "RGB(") && end - start > 4 && s.charAt(end - 1) == ')') {
+            return rgbColor(s, start + 4, end - 1);
+        }
+        //Hex.
+        if (end - start == 7 && s.charAt(start) == '#') {
+            return hexColor(s, start + 1, end);
+        }
+        if (end - start == 8 && startsWith(s, start, end, "0x")) {
+            return hexColor(s, start + 2, end);
+        }
+        int name = nameIndex(s, start, end);
+        if (name < 0) {
+            return null;
+        }
+        return NAMED[name];
+    }
+    /**.
+     * isName.
+     * @param s a string that has a color in it.
+     * @param start the index of the first char of the color.
+     * @param end the index after the last char of the color.
+     * @return true if that part of the string is the name of a color we know, false otherwise.
+     */
+    public static boolean isName(CharSequence s, int start, int end) {
+        return nameIndex(s, start, end) >= 0;
+    }
+    /**.
+     * isHex.
+     * @param s a string that has a color in it.
+     * @param start the index of the first char of the color.
+     * @param end the index after the last char of the color.
+     * @return true if that part of the string is a color in hex, false otherwise.
+     */
+    public static boolean isHex(CharSequence s, int start, int end) {
+        if (end - start == 7 && s.charAt(start) == '#') {
+            return hexColor(s, start + 1, end) != null;
+        }
+        return end - start == 8 && startsWith(s, start, end, "0x") && hexColor(s, start + 2, end) != null;
+    }
+    /**.
+     * intern.
+     * @param rgb the red, green and blue of a color (like in Color.getRGB without the alpha).
+     * @return the one Color object of that color.
+     */
+    public static synchronized Color intern(int rgb) {
+        rgb &= 0xffffff;
+        int mask = keys.length - 1;
+        for (int i = hash(rgb) & mask;; i = (i + 1) & mask) {
+            if (values[i] == null) {
+                return put(new Color(rgb));
+            }
+            if (keys[i] == rgb) {
+                return values[i];
+            }
+        }
+    }
+    /**.
+     * size.
+     * @return the number of different colors we met.
+     */
+    public static synchronized int size() {
+        return count;
+    }
+    /**.
+     * put.
+     * Adding the color to the table, the table grows when it is half full.
+     *
+     * @param color a color that isn't in the table.
+     * @return the color.
+     */
+    private static Color put(Color color) {
+        if (2 * (count + 1) > keys.length) {
+            int[] oldKeys = keys;
+            Color[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new Color[oldKeys.length * 2];
+            count = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldValues[i]);
+                }
+            }
+        }
+        int rgb = color.getRGB() & 0xffffff;
+        int mask = keys.length - 1;
+        int i = hash(rgb) & mask;
+        while (values[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = rgb;
+        values[i] = color;
+        count++;
+        return color;
+    }
+    /**.
+     * hash.
+     * @param rgb the rgb of a color.
+     * @return the mixed bits of the rgb, so close colors are in different places of the table.
+     */
+    private static int hash(int rgb) {
+        int h = rgb * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    /**.
+     * rgbColor.
+     * Parse x,y,z (three numbers between 0 and 255).
+     *
+     * @param s a string that has the numbers in it.
+     * @param start the index of the first number.
+     * @param end the index after the last number.
+     * @return the color, or null if they aren't three numbers in the range.
+     */
+    private static Color rgbColor(CharSequence s, int start, int end) {
+        int rgb = 0;
+        int i = start;
+        for (int part = 0; part < 3; part++) {
+            int value = 0;
+            int digits = 0;
+            while (i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+                value = value * 10 + s.charAt(i) - '0';
+                digits++;
+                i++;
+                if (value > 255) {
+                    return null;
+                }
+            }
+            if (digits == 0) {
+                return null;
+            }
+            rgb = (rgb << 8) | value;
+            //A comma between the numbers, and the end after the last one.
+            if (part < 2) {
+                if (i >= end || s.charAt(i) != ',') {
+                    return null;
+                }
+                i++;
+            }
+        }
+        if (i != end) {
+            return null;
+        }
+        return intern(rgb);
+    }
+    /**.
+     * hexColor.
+     * @param s a string that has the hex digits in it.
+     * @param start the index of the first digit.
+     * @param end the index after the last digit.
+     * @return the color, or null if they aren't hex digits.
+     */
+    private static Color hexColor(CharSequence s, int start, int end) {
+        int rgb = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(s.charAt(i), 16);
+            if (digit < 0) {
+                return null;
+            }
+            rgb = (rgb << 4) | digit;
+        }
+        return intern(rgb);
+    }
+    /**.
+     * nameIndex.
+     * @param s a string that has a color name in it.
+     * @param start the index of the first char of the name.
+     * @param end the index after the last char of the name.
+     * @return the index of the name in NAMES, -1 if we don't know it.
+     */
+    private static int nameIndex(CharSequence s, int start, int end) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].length() == end - start && startsWith(s, start, end, NAMES[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    /**.
+     * startsWith.
+     * @param s a string.
+     * @param start the index the part of the string starts.
+     * @param end the index after the end of the part.
+     * @param prefix the start we check.
+     * @return true if that part of the string starts with the prefix, false otherwise.
+     */
+    private static boolean startsWith(CharSequence s, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (s.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
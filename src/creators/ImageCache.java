@@ -0,0 +1,175 @@
+package creators;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**.
+ * ImageCache.
+ * Keeps the images we already read from the resources by their path, so an image that many blocks
+ * Or levels use is read and decoded only once.
+ * The images are converted to the format of the screen so drawing them doesn't need to convert them again.
+ * The cache is bounded by the bytes of its images, when it is full the image that wasn't used for the
+ * Longest time is removed.
+ */
+public class ImageCache {
+    //The images by their path, from the least recently used.
+    private LinkedHashMap<String, BufferedImage> images;
+    //The bytes the cache can hold and the bytes it holds now.
+    private long maxBytes;
+    private long bytes;
+    //The number of times we found the image and the times we had to read it.
+    private int hits;
+    private int misses;
+    /**.
+     * Creates new instance of ImageCache.
+     * The constructor of our class.
+     *
+     * @param maxBytes the bytes of images the cache can hold.
+     */
+    public ImageCache(long maxBytes) {
+        this.images = new LinkedHashMap<String, BufferedImage>(16, 0.75f, true);
+        this.maxBytes = maxBytes;
+        this.bytes = 0;
+    }
+    /**.
+     * get.
+     * Return the image of the path, reading it only if it isn't in the cache.
+     *
+     * @param path the path of the image in the resources.
+     * @return the image or null if has problems.
+     */
+    public synchronized BufferedImage get(String path) {
+        BufferedImage image = this.images.get(path);
+        if (image != null) {
+            this.hits++;
+            return image;
+        }
+        this.misses++;
+        image = load(path);
+        if (image == null) {
+            return null;
+        }
+        this.images.put(path, image);
+        this.bytes += bytesOf(image);
+        trim();
+        return image;
+    }
+    /**.
+     * trim.
+     * Removing the least recently used images until the cache isn't over its bound.
+     * The last image we added stays even if it is bigger than the bound.
+     */
+    private void trim() {
+        Iterator<Map.Entry<String, BufferedImage>> iterator = this.images.entrySet().iterator();
+        while (this.bytes > this.maxBytes && this.images.size() > 1) {
+            this.bytes -= bytesOf(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+    /**.
+     * getHits.
+     * @return the number of times the image was already in the cache.
+     */
+    public synchronized int getHits() {
+        return this.hits;
+    }
+    /**.
+     * getMisses.
+     * @return the number of times the image had to be read.
+     */
+    public synchronized int getMisses() {
+        return this.misses;
+    }
+    /**.
+     * getBytes.
+     * @return the bytes of the images in the cache now.
+     */
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+    /**.
+     * load.
+     * Reading the image of the path from the resources and converting it to the format of the screen.
+     *
+     * @param path the path of the image in the resources.
+     * @return the image or null if has problems.
+     */
+    public static BufferedImage load(String path) {
+        InputStream stream = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+        //Not found.
+        if (stream == null) {
+            return null;
+        }
+        try {
+            BufferedImage image = ImageIO.read(stream);
+            stream.close();
+            if (image == null) {
+                return null;
+            }
+            return compatible(image);
+        } catch (IOException e) { //Problems reading the file.
+            return null;
+        }
+    }
+    /**.
+     * createImage.
+     * Creating an empty image in the format of the screen (or in int RGB format if there is no screen).
+     *
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @param transparency the transparency of the image (like Transparency.OPAQUE).
+     * @return the new image.
+     */
+    public static BufferedImage createImage(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return configuration.createCompatibleImage(width, height, transparency);
+        }
+        if (transparency == Transparency.OPAQUE) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+    /**.
+     * compatible.
+     * @param image an image.
+     * @return the image in the format of the screen (the image itself if it is already in that format).
+     */
+    private static BufferedImage compatible(BufferedImage image) {
+        int transparency = image.getTransparency();
+        if (GraphicsEnvironment.isHeadless()) {
+            int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            if (image.getType() == type) {
+                return image;
+            }
+        } else if (GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().getColorModel(transparency).equals(image.getColorModel())) {
+            return image;
+        }
+        BufferedImage copy = createImage(image.getWidth(), image.getHeight(), transparency);
+        Graphics2D g = copy.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+    /**.
+     * bytesOf.
+     * @param image an image.
+     * @return the bytes the pixels of the image take.
+     */
+    private static long bytesOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+}
@@ -0,0 +1,111 @@
+package creators;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**.
+ * TextureAtlas.
+ * Packs the small block images into big pages, so all of them are in a few surfaces instead of one per image.
+ * Each image gets a region of a page (an image that shares the pixels of the page), and blocks draw it like
+ * Any other image.
+ * The images are placed in shelves: rows of images from left to right, a new shelf starts under the highest
+ * Image of the last one when a row is full.
+ * Images with transparency or bigger than a quarter of a page aren't packed and are returned as they are.
+ */
+public class TextureAtlas {
+    //The width and height of each page.
+    private int pageSize;
+    //The pages, we add images only to the last one.
+    private List<BufferedImage> pages;
+    //Where the next image goes in the last page and the height of the current shelf.
+    private int x;
+    private int y;
+    private int shelfHeight;
+    //The regions by the path of their image.
+    private Map<String, BufferedImage> regions;
+    /**.
+     * Creates new instance of TextureAtlas.
+     * The constructor of our class.
+     *
+     * @param pageSize the width and height of each page.
+     */
+    public TextureAtlas(int pageSize) {
+        this.pageSize = pageSize;
+        this.pages = new ArrayList<BufferedImage>();
+        this.regions = new HashMap<String, BufferedImage>();
+    }
+    /**.
+     * get.
+     * Return the region of the image of the path, reading and packing the image the first time.
+     *
+     * @param path the path of the image in the resources.
+     * @return the region of the image in the atlas (or the image itself if it isn't packed), null if has problems.
+     */
+    public synchronized BufferedImage get(String path) {
+        BufferedImage region = this.regions.get(path);
+        if (region != null) {
+            return region;
+        }
+        BufferedImage image = ImageCache.load(path);
+        if (image == null) {
+            return null;
+        }
+        region = pack(image);
+        this.regions.put(path, region);
+        return region;
+    }
+    /**.
+     * pack.
+     * Copying the image to the place of the next image in the pages.
+     *
+     * @param image the image we pack.
+     * @return the region of the image, or the image itself if we don't pack it.
+     */
+    private BufferedImage pack(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (image.getTransparency() != Transparency.OPAQUE || width > this.pageSize / 2 || height > this.pageSize / 2) {
+            return image;
+        }
+        //No room in this shelf, starting a new one.
+        if (this.pages.isEmpty() || this.x + width > this.pageSize) {
+            this.x = 0;
+            this.y += this.shelfHeight;
+            this.shelfHeight = 0;
+        }
+        //No room in this page, starting a new one.
+        if (this.pages.isEmpty() || this.y + height > this.pageSize) {
+            this.pages.add(ImageCache.createImage(this.pageSize, this.pageSize, Transparency.OPAQUE));
+            this.x = 0;
+            this.y = 0;
+            this.shelfHeight = 0;
+        }
+        BufferedImage page = this.pages.get(this.pages.size() - 1);
+        Graphics2D g = page.createGraphics();
+        g.drawImage(image, this.x, this.y, null);
+        g.dispose();
+        BufferedImage region = page.getSubimage(this.x, this.y, width, height);
+        this.x += width;
+        this.shelfHeight = Math.max(this.shelfHeight, height);
+        return region;
+    }
+    /**.
+     * getPageCount.
+     * @return the number of pages of the atlas.
+     */
+    public synchronized int getPageCount() {
+        return this.pages.size();
+    }
+    /**.
+     * getRegionCount.
+     * @return the number of images in the atlas (also the ones that aren't packed).
+     */
+    public synchronized int getRegionCount() {
+        return this.regions.size();
+    }
+}
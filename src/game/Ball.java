@@ -1,5 +1,4 @@
 package game;
-import geometry.Line;
 import geometry.Point;
 import geometry.Rectangle;
 
@@ -11,16 +10,23 @@ import java.awt.Color;
  * The class represents Ball.
  * Each point has radius,center and color
  * In addition we added some properties like velocity of the Ball in the window, the window height and weight
+ * The center and the velocity are kept in doubles and changed in place, so moving a ball doesn't create objects.
  */
-public class Ball implements Sprite {
+public class Ball implements Interpolated {
+    //The maximum number of hits the ball can do in one step.
+    static final int MAXHITS = 4;
+    //How far before the hit point the ball stops (on the way it came from).
+    static final double BACKOFF = 0.01;
     //The center point of the ball.
-    private Point center;
+    private double x;
+    private double y;
     //The radius of the ball.
     private int radius;
     //The color of the ball.
     private java.awt.Color color;
     //The velocity of the ball.
-    private Velocity velocity;
+    private double dx;
+    private double dy;
     //The height of our window
     private int guiHeight;
     //The width of our window
@@ -29,8 +35,22 @@ public class Ball implements Sprite {
     private Point startPoint;
     //The game environment
     private GameEnvironment environment;
-    //Determines if first frame.
-    private boolean firstFrame;
+    //The center point of the ball before the last step (to draw the ball between steps).
+    private double previousX;
+    private double previousY;
+    //The closest collision of each query of the environment.
+    private CollisionRecord collision;
+    //Determines if the ball was removed from the game.
+    private boolean removed;
+    //Plans the steps of the balls on many threads, null if the ball finds its collisions itself.
+    private BallPlanner planner;
+    //The trajectory of the planned query and if it hits (the collision is in the record).
+    private boolean planned;
+    private double planX0;
+    private double planY0;
+    private double planX1;
+    private double planY1;
+    private boolean planHit;
     // constructors
     /**.
      * Creates new instance of Ball.
@@ -40,18 +60,7 @@ public class Ball implements Sprite {
      * @param color - the color of our ball.
      */
     public Ball(Point center, int r, java.awt.Color color) {
-        //Defining all the private variables
-        this.center = center;
-        this.radius = r;
-        this.color = color;
-
-        //Instalizing the other private variables with a value to prevent crash.
-        this.velocity = new Velocity(0, 0);
-        this.guiHeight = 0;
-        this.guiWidth = 0;
-        this.startPoint = new Point(0, 0);
-        this.environment = new GameEnvironment();
-        this.firstFrame = true;
+        this(center.getX(), center.getY(), r, color);
     }
     /**.
      * Creates new instance of Ball.
@@ -63,17 +72,33 @@ public class Ball implements Sprite {
      * @param  color - the color of our ball.
      */
     public Ball(int x, int y, int r, java.awt.Color color) {
-        //Create new point with the x,y cordinates
-        this.center = new Point(x, y);
+        this((double) x, (double) y, r, color);
+    }
+    /**.
+     * Creates new instance of Ball.
+     * The constructor the others call.
+     * @param  x -the x cordinate of the center of the ball
+     * @param  y -the y cordinate of the center of the ball
+     * @param  r -the radius of our ball.
+     * @param  color - the color of our ball.
+     */
+    private Ball(double x, double y, int r, java.awt.Color color) {
+        //Defining all the private variables
+        this.x = x;
+        this.y = y;
         this.radius = r;
         this.color = color;
         //Instalizing the other private variables with a value to prevent crash.
-        this.velocity = new Velocity(0, 0);
+        this.dx = 0;
+        this.dy = 0;
         this.guiHeight = 0;
         this.guiWidth = 0;
         this.startPoint = new Point(0, 0);
         this.environment = new GameEnvironment();
-        this.firstFrame = true;
+        this.previousX = x;
+        this.previousY = y;
+        this.collision = new CollisionRecord();
+        this.removed = false;
     }
     // accessors
     /**.
@@ -81,7 +106,7 @@ public class Ball implements Sprite {
      * @return the x value of the ball's center x cordinate.
      */
     public int getX() {
-        return (int) this.center.getX();
+        return (int) this.x;
     }
     /**.
      * getY.
@@ -89,7 +114,7 @@ public class Ball implements Sprite {
      */
 
     public int getY() {
-        return (int) this.center.getY();
+        return (int) this.y;
     }
     /**.
      * getSize.
@@ -113,13 +138,34 @@ public class Ball implements Sprite {
      * @param  surface our Drawsurface
      */
     public void drawOn(DrawSurface surface) {
+        drawAt(surface, this.getX(), this.getY());
+    }
+    /**.
+     * drawOn.
+     * draw the ball between its center before the last step and its center now.
+     * @param  surface our Drawsurface
+     * @param alpha 0 for the center before the last step, 1 for the center now.
+     */
+    public void drawOn(DrawSurface surface, double alpha) {
+        double drawX = this.previousX + alpha * (this.x - this.previousX);
+        double drawY = this.previousY + alpha * (this.y - this.previousY);
+        drawAt(surface, (int) drawX, (int) drawY);
+    }
+    /**.
+     * drawAt.
+     * draw the ball with its center at the given place.
+     * @param  surface our Drawsurface
+     * @param x the x cordinate of the center.
+     * @param y the y cordinate of the center.
+     */
+    private void drawAt(DrawSurface surface, int x, int y) {
         surface.setColor(Color.black);
         //Drawing the frame of the ball.
-        surface.drawCircle(this.getX(), this.getY(), this.getSize());
+        surface.drawCircle(x, y, this.getSize());
         //Setting the color of the ball.
         surface.setColor(this.getColor());
         //Drawing the ball.
-        surface.fillCircle(this.getX(), this.getY(), this.getSize());
+        surface.fillCircle(x, y, this.getSize());
     }
     /**
      * timePassed.
@@ -132,12 +178,8 @@ public class Ball implements Sprite {
      * For example, in case we set 60 frames per second the dt value will be 1/60
      */
     public void timePassed(double dt) {
-
-        if (this.firstFrame) {
-            this.setVelocity(dt * this.velocity.getDx(), dt * this.velocity.getDy());
-            this.firstFrame = false;
-        }
-        this.moveOneStep();
+        //The velocity is in pixels per second.
+        this.moveOneStep(dt);
     }
     /**
      * addToGame.
@@ -147,6 +189,7 @@ public class Ball implements Sprite {
     public void addToGame(GameLevel g) {
         //Ball is a sprite.
         g.addSprite(this);
+        this.removed = false;
     }
     /**
      * removeFromGame.
@@ -155,7 +198,15 @@ public class Ball implements Sprite {
      * @param g the game we want to delete the ball from.
      */
     public void removeFromGame(GameLevel g) {
-        g.removeSprite(this);
+        g.removeBall(this);
+        this.removed = true;
+    }
+    /**.
+     * disable.
+     * The ball stops moving (the rest of its step too), it is removed from the game later by removeFromGame.
+     */
+    void disable() {
+        this.removed = true;
     }
 //*******************************************************************
     //Setting functions
@@ -190,16 +241,18 @@ public class Ball implements Sprite {
      * @param v the new velocity we want the ball to be.
      */
     public void setVelocity(Velocity v) {
-        this.velocity = v;
+        this.dx = v.getDx();
+        this.dy = v.getDy();
     }
     /**.
      * setVelocity.
      * Setting the velocity of the window by getting dx and dy.
-     * @param dx the distance the ball will move on x axis.
-     * @param dy the distance the ball will move on y axis.
+     * @param newDx the distance the ball will move on x axis.
+     * @param newDy the distance the ball will move on y axis.
      */
-    public void setVelocity(double dx, double dy) {
-        this.velocity = new Velocity(dx, dy);
+    public void setVelocity(double newDx, double newDy) {
+        this.dx = newDx;
+        this.dy = newDy;
     }
     /**.
      * SetGameEnvironment.
@@ -209,12 +262,34 @@ public class Ball implements Sprite {
     public void setGameEnvironment(GameEnvironment gameEnvironment) {
         this.environment = gameEnvironment;
     }
+    /**.
+     * setPlanner.
+     * @param ballPlanner plans the steps of the balls of the game on many threads, null to move the ball alone.
+     */
+    public void setPlanner(BallPlanner ballPlanner) {
+        this.planner = ballPlanner;
+        this.planned = false;
+    }
     /**.
      * getVelocity.
-     * @return the velocity on the ball.
+     * @return a new velocity with the velocity of the ball.
      */
     public Velocity getVelocity() {
-        return this.velocity;
+        return new Velocity(this.dx, this.dy);
+    }
+    /**.
+     * getDx.
+     * @return the dx of the velocity of the ball.
+     */
+    public double getDx() {
+        return this.dx;
+    }
+    /**.
+     * getDy.
+     * @return the dy of the velocity of the ball.
+     */
+    public double getDy() {
+        return this.dy;
     }
     /**.
      * moveOneStep.
@@ -228,56 +303,137 @@ public class Ball implements Sprite {
      * (2.2.2)move the ball to "almost" the hit point, but just slightly before it.
      * (2.2.3)notify the hit object (using its hit() method) that a collision occurred.
      * (2.2.4)update the velocity to the new velocity returned by the hit() method.
+     * (2.2.5)go back to (1) with the rest of the way the ball didn't move yet in this step.
+     * So a fast ball can hit some objects in one step instead of passing through them.
+     * Here the velocity is the way the ball moves in one step.
      */
     public void moveOneStep() {
-        //The velocity of the ball.
-        Velocity v = this.getVelocity();
-        //The center the ball will be.
-        Point newCenter = null;
-        //the trajectory is "how the ball will move without any obstacles"
-        Line trajectory = new Line(this.center, v.applyToPoint(this.center));
-        //No collision so the ball won't hit anything
-        if (this.environment.getClosestCollision(trajectory) == null) {
-            newCenter = v.applyToPoint(this.center);
-        } else {         //The ball will hit a collideable.
-            //The closest collidalbe the ball is about to hit.
-            Point close = this.environment.getClosestCollision(trajectory).collisionPoint();
+        moveOneStep(1);
+    }
+    /**.
+     * moveOneStep.
+     * Moving the ball like moveOneStep() by the velocity times dt.
+     *
+     * @param dt the amount of seconds the ball moves (the velocity is in pixels per second).
+     */
+    public void moveOneStep(double dt) {
+        this.previousX = this.x;
+        this.previousY = this.y;
+        if (this.planner != null) {
+            this.planner.plan(dt);
+        }
+        //The part of the velocity the ball still has to move in this step.
+        double remained = dt;
+        for (int i = 0; i < MAXHITS; i++) {
+            //Where the ball will be without any obstacles.
+            double endX = this.x + remained * this.dx;
+            double endY = this.y + remained * this.dy;
+            //Checking the trajectory only once (the planner may have checked it already).
+            boolean hits;
+            if (usePlan(endX, endY)) {
+                //The planned query wasn't counted, we count it once when it is used.
+                this.environment.addQueries(1);
+                hits = this.planHit;
+            } else {
+                hits = this.environment.findClosestCollision(this.x, this.y, endX, endY, this.collision);
+            }
+            //No collision so the ball won't hit anything
+            if (!hits) {
+                this.x = endX;
+                this.y = endY;
+                return;
+            }
+            //The closest point the ball is about to hit.
+            double closeX = this.collision.getX();
+            double closeY = this.collision.getY();
             //The collideable object the ball is about to hit.
-            Collidable hit = this.environment.getClosestCollision(trajectory).collisionObject();
+            Collidable hit = this.collision.getCollidable();
+            //The part of the trajectory left after the hit.
+            double length = Point.distance(this.x, this.y, endX, endY);
+            if (length > 0) {
+                remained *= 1 - Math.min(1, Point.distance(this.x, this.y, closeX, closeY) / length);
+            }
             //Moving the ball to a almost the margin of a block.
-            newCenter = chooseNewCenter(hit.getCollisionRectangle(), close);
+            backOff(hit.getCollisionRectangle(), closeX, closeY);
             //Updating the velocity by our hit method.
-            this.velocity = hit.hit(this, close, this.velocity);
+            hit.hit(this, closeX, closeY);
+            //The ball was removed by the hit or moved all the way.
+            if (this.removed || remained <= 0) {
+                return;
+            }
         }
-        //Updating the center point.
-        this.center = newCenter;
+    }
+    /**.
+     * plan.
+     * Finding the first collision of the next step, called by the planner (on another thread).
+     *
+     * @param dt the amount of seconds the ball moves in the step.
+     */
+    void plan(double dt) {
+        this.planX0 = this.x;
+        this.planY0 = this.y;
+        this.planX1 = this.x + dt * this.dx;
+        this.planY1 = this.y + dt * this.dy;
+        this.planHit = this.environment.query(this.planX0, this.planY0, this.planX1, this.planY1, this.collision);
+        this.planned = true;
+    }
+    /**.
+     * usePlan.
+     * A plan is used once, if it is of this trajectory and the planner says it is still right.
+     *
+     * @param endX the x cordinate of the end of the trajectory.
+     * @param endY the y cordinate of the end of the trajectory.
+     * @return true if the planned collision is in the record.
+     */
+    private boolean usePlan(double endX, double endY) {
+        if (!this.planned) {
+            return false;
+        }
+        this.planned = false;
+        return this.x == this.planX0 && this.y == this.planY0 && endX == this.planX1 && endY == this.planY1
+                && this.planner.isValid(this.planHit ? this.collision.getCollidable() : null);
+    }
+    /**.
+     * backOff.
+     * The ball stops slightly before the hit point on the way it came from.
+     * If this point is in the rectangle (for example moving on its rib) we will use chooseNewCenter.
+     * @param re the rectangle we hit.
+     * @param closeX the x cordinate of the hit point.
+     * @param closeY the y cordinate of the hit point.
+     */
+    private void backOff(Rectangle re, double closeX, double closeY) {
+        double speed = Velocity.speed(this.dx, this.dy);
+        if (speed > 0) {
+            double backX = closeX - BACKOFF * this.dx / speed;
+            double backY = closeY - BACKOFF * this.dy / speed;
+            if (!re.containsPoint(backX, backY)) {
+                this.x = backX;
+                this.y = backY;
+                return;
+            }
+        }
+        chooseNewCenter(re, closeX, closeY);
     }
     /**.
      * chooseNewCenter.
      * There are many options to close points to rectangle but we need a point that isn't in the ractangle
      * We will check all the options of close points and choose the point that isn't in the rectangle.
+     * If all of them are in the rectangle the center stays where it is.
      * @param re the rectangle we check.
-     * @param close the point we want to close.
-     * @return where the center of the ball will be after the close.
+     * @param closeX the x cordinate of the point we want to close.
+     * @param closeY the y cordinate of the point we want to close.
      */
-    private Point chooseNewCenter(Rectangle re, Point close) {
-        //Options of close points.
-        Point option1 = new Point(close.getX() - 0.01, close.getY() - 0.01);
-        Point option2 = new Point(close.getX() - 0.01, close.getY() + 0.01);
-        Point option3 = new Point(close.getX() + 0.01, close.getY() - 0.01);
-        Point option4 = new Point(close.getX() + 0.01, close.getY() + 0.01);
-
-        Point [] points = {option1, option2, option3, option4};
-      for (int i = 0; i < points.length; i++) {
-          //The point that isn't in the rectnagle.
-          if (!re.ractangleContainsPoint(points[i])) {
-              return points[i];
-          }
-      }
-      return  null;
+    private void chooseNewCenter(Rectangle re, double closeX, double closeY) {
+        //Options of close points: (-, -), (-, +), (+, -), (+, +).
+        for (int i = 0; i < 4; i++) {
+            double optionX = i < 2 ? closeX - 0.01 : closeX + 0.01;
+            double optionY = i % 2 == 0 ? closeY - 0.01 : closeY + 0.01;
+            //The point that isn't in the rectnagle.
+            if (!re.containsPoint(optionX, optionY)) {
+                this.x = optionX;
+                this.y = optionY;
+                return;
+            }
+        }
     }
-
-
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package game;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**.
+ * BallPlanner.
+ * Plans the steps of all the balls at once on a fork/join pool: each ball finds the first collision of its step
+ * While nothing changes the game environment (the game thread waits for the planning).
+ * Then the balls move one after another in their order like before, and each ball uses its plan only
+ * If it is still right: nothing was added or moved in the environment since the planning, and the block it hits
+ * Wasn't removed by a ball that moved before it (removing blocks can only take away collisions).
+ * Otherwise the ball finds the collision again, so the game is the same as when the balls are moved one by one.
+ * The hits themselves (listeners, removing blocks, the score) are done by the balls on the game thread.
+ */
+public class BallPlanner {
+    //Fewer balls than that are moved one by one (planning them isn't worth it).
+    private static final int MINBALLS = 8;
+    //The number of balls each task plans.
+    private static final int CHUNK = 16;
+    //The pool all the planners use.
+    private static ForkJoinPool pool;
+    //The environment and the balls of the game level.
+    private GameEnvironment environment;
+    private List<Ball> balls;
+    //The number of threads the balls are planned on.
+    private int threads;
+    //Determines if the balls were planned in this frame, and the version of the environment then.
+    private boolean planned;
+    private long version;
+    /**.
+     * Creates new instance of BallPlanner.
+     * The constructor of our class.
+     *
+     * @param environment the game environment the balls move in.
+     * @param balls the balls of the game level (the list is read in every frame).
+     * @param threads the number of threads to plan on.
+     */
+    public BallPlanner(GameEnvironment environment, List<Ball> balls, int threads) {
+        this.environment = environment;
+        this.balls = balls;
+        this.threads = threads;
+        this.planned = false;
+    }
+    /**.
+     * pool.
+     * All the game levels use the same pool, created the first time it is needed.
+     * A pool with another number of threads replaces it, the old pool is shut down (its tasks finish first).
+     *
+     * @param threads the number of threads of the pool.
+     * @return the pool.
+     */
+    private static synchronized ForkJoinPool pool(int threads) {
+        if (pool == null || pool.getParallelism() != threads) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(threads);
+        }
+        return pool;
+    }
+    /**.
+     * nextFrame.
+     * Called before the sprites move, the balls are planned when the first of them moves
+     * (after the paddle moved).
+     */
+    public void nextFrame() {
+        this.planned = false;
+    }
+    /**.
+     * plan.
+     * Planning the steps of all the balls if they weren't planned in this frame.
+     *
+     * @param dt the amount of seconds the balls move in this step.
+     */
+    void plan(double dt) {
+        if (this.planned) {
+            return;
+        }
+        this.planned = true;
+        int n = this.balls.size();
+        if (n < MINBALLS) {
+            return;
+        }
+        this.version = this.environment.getVersion();
+        pool(this.threads).invoke(task(0, n, dt));
+    }
+    /**.
+     * task.
+     * @param from the index of the first ball the task plans.
+     * @param to the index after the last ball the task plans.
+     * @param dt the amount of seconds the balls move in this step.
+     * @return a task that plans the balls, split in two until each part has CHUNK balls.
+     */
+    private ForkJoinTask<Void> task(final int from, final int to, final double dt) {
+        return new RecursiveAction() {
+            @Override
+            protected void compute() {
+                if (to - from <= CHUNK) {
+                    for (int i = from; i < to; i++) {
+                        BallPlanner.this.balls.get(i).plan(dt);
+                    }
+                    return;
+                }
+                int middle = (from + to) >>> 1;
+                invokeAll(task(from, middle, dt), task(middle, to, dt));
+            }
+        };
+    }
+    /**.
+     * isValid.
+     * @param hit the collidable a plan hits, null if it doesn't hit anything.
+     * @return true if the plan is still right for a ball that moves now.
+     */
+    boolean isValid(Collidable hit) {
+        return this.environment.getVersion() == this.version && (hit == null || this.environment.isHittable(hit));
+    }
+}
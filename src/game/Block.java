@@ -3,34 +3,27 @@ package game;
 import biuoop.DrawSurface;
 import listeners.HitListener;
 import listeners.HitNotifier;
+import listeners.ListenerRegistry;
 import geometry.Point;
 import geometry.Rectangle;
 
 import java.awt.Color;
 import java.awt.Image;
 
-import java.util.List;
-import java.util.ArrayList;
 import java.util.Map;
-import java.util.TreeMap;
 /**
  * Block
  * The block is represented by rectengle and color of it.
  * The block is going to be something we collide into, so let's start there.
  */
 public class Block implements Collidable, Sprite, HitNotifier {
-    private  List<HitListener> hitListeners;
+    private  ListenerRegistry<HitListener> hitListeners;
     private Rectangle rectBlock;
-    private Color color;
-    //The color of the stroke.
-    private Color strokeColor;
-    private Image image;
+    //The fill and stroke, shared with the other blocks of the same type.
+    private BlockType type;
     //Each block should be initialized with a positive number of hit-points.
     // The hit point will be indicated visually on the block
     private int countHits;
-    //Maps of background by count hits.
-    private Map<Integer, Color> colors;
-    private Map<Integer, Image> images;
 
         /**.
      * Creates new instance of Block
@@ -39,19 +32,8 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param color the color of the block.
      */
     public Block(Rectangle block, Color color) {
-        this.rectBlock = block;
-        this.color = color;
         //This constructor has color so it will be the block's background.
-        this.image = null;
-        //Instalizing the hit listeners list.
-        this.hitListeners = new ArrayList<HitListener>();
-        //Usually the count hits will be 1 and we change it in another options.
-        this.countHits = 1;
-        //No defined yet stroke color.
-        this.strokeColor = null;
-        //Initializing the maps.
-        this.colors = new TreeMap<Integer, Color>();
-        this.images = new TreeMap<Integer, Image>();
+        this(block, new BlockType(color, null));
     }
 
     /**.
@@ -61,19 +43,21 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param image the background image of the block.
      */
     public Block(Rectangle block, Image image) {
-        this.rectBlock = block;
         //This constructor has image so it will be the block's background.
-        this.color = null;
-        this.image = image;
+        this(block, new BlockType(null, image));
+    }
+    /**.
+     * Creates new instance of Block
+     * The constructor of our class Block.
+     * @param  block the rectangle that represents block.
+     * @param type the fill and stroke of the block, it starts with the hit points of the type.
+     */
+    public Block(Rectangle block, BlockType type) {
+        this.rectBlock = block;
+        this.type = type;
         //Instalizing the hit listeners list.
-        this.hitListeners = new ArrayList<HitListener>();
-        //Usually the count hits will be 1 and we change it in another options.
-        this.countHits = 1;
-        //No defined yet stroke color.
-        this.strokeColor = null;
-        //Initializing the maps.
-        this.colors = new TreeMap<Integer, Color>();
-        this.images = new TreeMap<Integer, Image>();
+        this.hitListeners = new ListenerRegistry<HitListener>(HitListener.class);
+        this.countHits = type.getHitPoints();
     }
     /**.
      * setColorMap.
@@ -83,7 +67,7 @@ public class Block implements Collidable, Sprite, HitNotifier {
      */
     public void setColorMap(Map<Integer, Color> colorMap) {
         if (colorMap != null) {
-            this.colors.putAll(colorMap);
+            this.type = this.type.withColors(colorMap);
         }
     }
     /**.
@@ -94,7 +78,7 @@ public class Block implements Collidable, Sprite, HitNotifier {
      */
     public void setImageMap(Map<Integer, Image> imageMap) {
         if (imageMap != null) {
-            this.images.putAll(imageMap);
+            this.type = this.type.withImages(imageMap);
         }
     }
     /**.
@@ -104,7 +88,7 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param c the color of the stroke.
      */
     public void setStrokeColor(Color c) {
-        this.strokeColor = c;
+        this.type = this.type.withStroke(c);
     }
     /**.
      * getWidth.
@@ -146,6 +130,23 @@ public class Block implements Collidable, Sprite, HitNotifier {
     public void addHitListener(HitListener hl) {
         this.hitListeners.add(hl);
     }
+    /**
+     * addHitListener
+     * Add hl as a listener to hit events, listeners with a higher priority are notified first.
+     *
+     * @param hl an HitListener.
+     * @param priority the priority of the listener (like ListenerRegistry.NORMAL).
+     */
+    public void addHitListener(HitListener hl, int priority) {
+        this.hitListeners.add(hl, priority);
+    }
+    /**.
+     * getHitListeners.
+     * @return the listeners of the block.
+     */
+    ListenerRegistry<HitListener> getHitListeners() {
+        return this.hitListeners;
+    }
     /**
      * removeHitListener
      * Remove hl from the list of listeners to hit events.
@@ -163,8 +164,8 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param hitter the ball hitted the block.
      */
     private void notifyHit(Ball hitter) {
-        // Make a copy of the hitListeners before iterating over them.
-        List<HitListener> listeners = new ArrayList<HitListener>(this.hitListeners);
+        // Adding or removing a listener makes a new array, so the listeners can do it while we go over this one.
+        HitListener[] listeners = this.hitListeners.getListeners();
         // Notify all listeners about a hit event:
         for (HitListener hl : listeners) {
             hl.hitEvent(this, hitter);
@@ -182,36 +183,71 @@ public class Block implements Collidable, Sprite, HitNotifier {
      */
     public  Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
         //Current velocity variables.
-        Velocity v = currentVelocity;
         double dx = currentVelocity.getDx();
         double dy = currentVelocity.getDy();
-        //Check if the ball collided on the left rib of the block.
-        boolean leftSide = collisionPoint.getX() == this.rectBlock.getUpperLeft().getX();
-       //Check if the ball collided on the right rib of the block.
-        boolean rightSide = collisionPoint.getX() == this.rectBlock.getUpperRight().getX();
-       //Check if the ball collided on the top rib of the block.
-        boolean top = collisionPoint.getY() == this.rectBlock.getUpperLeft().getY();
-       //Check if the ball collided on the bottom rib of the block.
-        boolean down = collisionPoint.getY() == this.rectBlock.getLowerRight().getY();
         //The ball collided on the left or right rib so it changes his x direction.
-        if (leftSide || rightSide) {
+        if (isSide(collisionPoint.getX())) {
             dx = -dx;
-            //v = new Velocity(dx, dy);
         }
        //The ball collided on the top or bottom rib so it changes his y direction.
-        if (top || down) {
+        if (isTopOrBottom(collisionPoint.getY())) {
+            dy = -dy;
+        }
+        hitPoints(hitter);
+        //Return the new velocity.
+        return new Velocity(dx, dy);
+    }
+    /**.
+     * hit.
+     * Like hit(hitter, collisionPoint, currentVelocity), setting the new velocity on the ball.
+     *
+     * @param hitter the ball hitted the block.
+     * @param x the x cordinate of the point that the ball collided with the block.
+     * @param y the y cordinate of the point that the ball collided with the block.
+     */
+    public void hit(Ball hitter, double x, double y) {
+        double dx = hitter.getDx();
+        double dy = hitter.getDy();
+        if (isSide(x)) {
+            dx = -dx;
+        }
+        if (isTopOrBottom(y)) {
             dy = -dy;
-           // v = new Velocity(dx, dy);
         }
+        hitPoints(hitter);
+        hitter.setVelocity(dx, dy);
+    }
+    /**.
+     * isSide.
+     * @param x the x cordinate of the collision point.
+     * @return true if the ball collided on the left or the right rib of the block.
+     */
+    private boolean isSide(double x) {
+        return x == this.rectBlock.getLeft() || x == this.rectBlock.getRight();
+    }
+    /**.
+     * isTopOrBottom.
+     * @param y the y cordinate of the collision point.
+     * @return true if the ball collided on the top or the bottom rib of the block.
+     */
+    private boolean isTopOrBottom(double y) {
+        return y == this.rectBlock.getTop() || y == this.rectBlock.getBottom();
+    }
+    /**.
+     * hitPoints.
+     * Notifying the listeners about the hit and then decreasing the hit points.
+     *
+     * @param hitter the ball hitted the block.
+     */
+    private void hitPoints(Ball hitter) {
         // update the Collidable interface accordingly.
         this.notifyHit(hitter);
 
         //Each time the ball hits the block the counter of hits will be decreased.
-        if (this.countHits > 0) {
-            this.countHits--;
+        int points = getHitPoints();
+        if (points > 0) {
+            setCountHits(points - 1);
         }
-        //Return the new velocity.
-        return new Velocity(dx, dy);
     }
 
     //Interface sprite
@@ -223,17 +259,11 @@ public class Block implements Collidable, Sprite, HitNotifier {
      */
     public void drawOn(DrawSurface d) {
         Rectangle rectangle = this.getCollisionRectangle();
-        Color colorBlock = null;
-        Image imageBlock = null;
-        //Get the color from the map if exists from the map.
-        if (this.colors.containsKey(this.countHits)) {
-            colorBlock = this.colors.get(this.countHits);
-        } else if (this.images.containsKey(this.countHits)) { //Get the image from the map if exists from the map.
-            imageBlock = this.images.get(this.countHits);
-        } else { //Not from the map
-             colorBlock = this.color;
-             imageBlock = this.image;
-        }
+        //The fill of the hit points if the type has one, otherwise the default fill.
+        int points = getHitPoints();
+        Color colorBlock = this.type.colorOf(points);
+        Image imageBlock = this.type.imageOf(points);
+        Color strokeColor = this.type.getStroke();
 
         //Default values.
         if (colorBlock != null) {
@@ -268,7 +298,7 @@ public class Block implements Collidable, Sprite, HitNotifier {
      */
     public void addToGame(GameLevel g) {
         //Block is a Sprite and Collideable.
-        g.addSprite(this);
+        g.addSprite(this, SpriteCollection.BLOCKS);
         g.addCollidable(this);
     }
     /**
@@ -283,6 +313,15 @@ public class Block implements Collidable, Sprite, HitNotifier {
         //Removing it from the sprites collection.
         gameLevel.removeSprite(this);
     }
+    /**.
+     * disable.
+     * The block isn't hit from now on, it is removed from the game later (by removeFromGame).
+     *
+     * @param gameLevel the gameLevel the block is in.
+     */
+    void disable(GameLevel gameLevel) {
+        gameLevel.disableCollidable(this);
+    }
     /**
      * getHitPoints.
      * @return the hit points remained to hit the block.
@@ -290,33 +329,42 @@ public class Block implements Collidable, Sprite, HitNotifier {
     public int getHitPoints() {
         return this.countHits;
     }
+    /**.
+     * getType.
+     * @return the fill and stroke of the block.
+     */
+    public BlockType getType() {
+        return this.type;
+    }
+    /**.
+     * getColor.
+     * @return the fill color of the block, null if it is filled by an image.
+     */
+    public Color getColor() {
+        return this.type.getColor();
+    }
+    /**.
+     * getImage.
+     * @return the fill image of the block, null if it is filled by a color.
+     */
+    public Image getImage() {
+        return this.type.getImage();
+    }
+    /**.
+     * getStrokeColor.
+     * @return the color of the stroke, null if there is no stroke.
+     */
+    public Color getStrokeColor() {
+        return this.type.getStroke();
+    }
     /**
      * copy.
      * Copy the block.
      * @return block same as our block.
      */
     public Block copy() {
-        Block block = null;
-        //Has image.
-        if (this.color == null) {
-            block = new Block(this.rectBlock, this.image);
-        }
-        //Has color
-        if (this.image == null) {
-            block = new Block(this.rectBlock, this.color);
-        }
-        //Has colors.
-        if (!this.colors.isEmpty()) {
-            block.setColorMap(this.colors);
-        }
-        //Has images.
-        if (!this.images.isEmpty()) {
-            block.setImageMap(this.images);
-        }
-        //Has stroke color.
-        if (this.strokeColor != null) {
-            block.setStrokeColor(this.strokeColor);
-        }
+        //The copy shares the type.
+        Block block = new Block(this.rectBlock, this.type);
         block.setCountHits(this.getHitPoints());
 
         return block;
@@ -0,0 +1,471 @@
+package game;
+
+import biuoop.DrawSurface;
+import geometry.BoxIntersection;
+import geometry.Point;
+import geometry.Rectangle;
+import listeners.HitListener;
+import listeners.HitNotifier;
+import listeners.ListenerRegistry;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**.
+ * BlockField.
+ * Many blocks kept in arrays instead of one object for each block: x, y, width, height, hit points
+ * And the index of the type (the fill and stroke) of each block.
+ * The field is one Sprite (it draws all its blocks) and one Collidable in the game environment.
+ * The blocks don't move, so they are placed once in a grid of cells (the indexes of the blocks of all the cells
+ * Are in one array), and a trajectory checks only the blocks of the cells it crosses.
+ * When a block is hit we create a Block for it (a FieldBlock) so the hit listeners get a block like always,
+ * The listeners of the field are added to it.
+ */
+public class BlockField implements CollidableGroup, Sprite, HitNotifier {
+    //Each block is placed in the grid a bit bigger than it is (like in the game environment).
+    private static final double MARGIN = 1;
+    //The blocks.
+    private double[] xs;
+    private double[] ys;
+    private double[] widths;
+    private double[] heights;
+    private int[] hitPoints;
+    private int[] typeIndexes;
+    private boolean[] removed;
+    private int remaining;
+    //The types of the blocks and the size of their biggest image (an image can be bigger than its block).
+    private BlockType[] types;
+    private int imageWidth;
+    private int imageHeight;
+    //The grid: its place, its size and the blocks of each cell (cell c has cellBlocks[cellStart[c]..cellStart[c+1]]).
+    private double left;
+    private double top;
+    private int columns;
+    private int rows;
+    private int[] cellStart;
+    private int[] cellBlocks;
+    //The area of all the blocks.
+    private Rectangle bounds;
+    //The listeners of all the blocks.
+    private ListenerRegistry<HitListener> hitListeners;
+    //The blocks we created for the blocks that were hit, by their index.
+    private Map<Integer, FieldBlock> hitBlocks;
+    //The blocks to draw in an area (a block can be in many cells).
+    private BitSet areaBlocks;
+    /**.
+     * Creates new instance of BlockField.
+     * The constructor of our class, taking the place, hit points and type of each block.
+     *
+     * @param blocks the blocks, their order is the order of the hits in the same distance.
+     */
+    public BlockField(List<Block> blocks) {
+        int n = blocks.size();
+        this.xs = new double[n];
+        this.ys = new double[n];
+        this.widths = new double[n];
+        this.heights = new double[n];
+        this.hitPoints = new int[n];
+        this.typeIndexes = new int[n];
+        this.removed = new boolean[n];
+        this.remaining = n;
+        Map<BlockType, Integer> indexes = new IdentityHashMap<BlockType, Integer>();
+        List<BlockType> typeList = new ArrayList<BlockType>();
+        double right = 0;
+        double bottom = 0;
+        this.left = n > 0 ? Double.POSITIVE_INFINITY : 0;
+        this.top = n > 0 ? Double.POSITIVE_INFINITY : 0;
+        for (int i = 0; i < n; i++) {
+            Block block = blocks.get(i);
+            Rectangle rect = block.getCollisionRectangle();
+            this.xs[i] = rect.getLeft();
+            this.ys[i] = rect.getTop();
+            this.widths[i] = rect.getWidth();
+            this.heights[i] = rect.getHeight();
+            this.hitPoints[i] = block.getHitPoints();
+            Integer type = indexes.get(block.getType());
+            if (type == null) {
+                type = typeList.size();
+                typeList.add(block.getType());
+                indexes.put(block.getType(), type);
+            }
+            this.typeIndexes[i] = type;
+            this.left = Math.min(this.left, rect.getLeft());
+            this.top = Math.min(this.top, rect.getTop());
+            right = Math.max(right, rect.getRight());
+            bottom = Math.max(bottom, rect.getBottom());
+        }
+        this.types = typeList.toArray(new BlockType[typeList.size()]);
+        for (BlockType type : this.types) {
+            addImageSize(type.getImage());
+            for (Image image : type.getImageMap().values()) {
+                addImageSize(image);
+            }
+        }
+        this.bounds = new Rectangle(new Point(this.left, this.top), right - this.left, bottom - this.top);
+        //The grid starts a margin before the blocks.
+        this.left -= MARGIN;
+        this.top -= MARGIN;
+        this.columns = Math.max(1, (int) Math.ceil((right + MARGIN - this.left) / GameEnvironment.CELLSIZE));
+        this.rows = Math.max(1, (int) Math.ceil((bottom + MARGIN - this.top) / GameEnvironment.CELLSIZE));
+        placeBlocks();
+        this.hitListeners = new ListenerRegistry<HitListener>(HitListener.class);
+        this.hitBlocks = new HashMap<Integer, FieldBlock>();
+        this.areaBlocks = new BitSet(n);
+    }
+    /**.
+     * addImageSize.
+     * @param image an image of a type, or null.
+     */
+    private void addImageSize(Image image) {
+        if (image != null) {
+            this.imageWidth = Math.max(this.imageWidth, image.getWidth(null));
+            this.imageHeight = Math.max(this.imageHeight, image.getHeight(null));
+        }
+    }
+    /**.
+     * placeBlocks.
+     * Counting the blocks of each cell and then writing their indexes, so all the cells are in one array.
+     */
+    private void placeBlocks() {
+        int cellCount = this.columns * this.rows;
+        this.cellStart = new int[cellCount + 1];
+        for (int i = 0; i < this.xs.length; i++) {
+            for (int r = row(this.ys[i] - MARGIN); r <= row(this.ys[i] + this.heights[i] + MARGIN); r++) {
+                for (int c = column(this.xs[i] - MARGIN); c <= column(this.xs[i] + this.widths[i] + MARGIN); c++) {
+                    this.cellStart[r * this.columns + c + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < cellCount; c++) {
+            this.cellStart[c + 1] += this.cellStart[c];
+        }
+        this.cellBlocks = new int[this.cellStart[cellCount]];
+        int[] next = new int[cellCount];
+        System.arraycopy(this.cellStart, 0, next, 0, cellCount);
+        for (int i = 0; i < this.xs.length; i++) {
+            for (int r = row(this.ys[i] - MARGIN); r <= row(this.ys[i] + this.heights[i] + MARGIN); r++) {
+                for (int c = column(this.xs[i] - MARGIN); c <= column(this.xs[i] + this.widths[i] + MARGIN); c++) {
+                    this.cellBlocks[next[r * this.columns + c]++] = i;
+                }
+            }
+        }
+    }
+    /**.
+     * closestCollision.
+     * Checking the blocks of the cells the trajectory crosses, walking on them from its start like the game
+     * Environment does, and stopping when the next cell is farther than the closest block we found.
+     *
+     * @param x0 the x cordinate of the start of the trajectory.
+     * @param y0 the y cordinate of the start of the trajectory.
+     * @param x1 the x cordinate of the end of the trajectory.
+     * @param y1 the y cordinate of the end of the trajectory.
+     * @param intersection used to check the blocks, after the call it has the time and point of the hit.
+     * @param walk used to walk on the cells of the field.
+     * @return the block the trajectory hits first, null if it doesn't hit any.
+     */
+    public Collidable closestCollision(double x0, double y0, double x1, double y1, BoxIntersection intersection
+            , CellWalk walk) {
+        if (this.remaining == 0 || !walk.start(x0, y0, x1, y1, this.left, this.top
+                , this.left + this.columns * GameEnvironment.CELLSIZE, this.top + this.rows * GameEnvironment.CELLSIZE
+                , this.columns, this.rows)) {
+            return null;
+        }
+        int closest = -1;
+        double closestTime = Double.POSITIVE_INFINITY;
+        //The part of the trajectory that is as long as the margin.
+        double marginTime = MARGIN / Math.max(Math.abs(x1 - x0), Math.abs(y1 - y0));
+        do {
+            //All the next cells are farther than the block we found.
+            if (walk.getTime() > closestTime + marginTime) {
+                break;
+            }
+            int cell = walk.getCell();
+            for (int k = this.cellStart[cell]; k < this.cellStart[cell + 1]; k++) {
+                int i = this.cellBlocks[k];
+                if (this.removed[i] || !intersection.find(x0, y0, x1, y1, this.xs[i], this.ys[i]
+                        , this.xs[i] + this.widths[i], this.ys[i] + this.heights[i])) {
+                    continue;
+                }
+                double time = intersection.getTime();
+                //Closer, or in the same distance and before in the field (a block can be in many cells).
+                if (time < closestTime || (time == closestTime && i < closest)) {
+                    closestTime = time;
+                    closest = i;
+                }
+            }
+        } while (walk.next());
+        if (closest < 0) {
+            return null;
+        }
+        //Finding the closest again so the intersection has its point.
+        intersection.find(x0, y0, x1, y1, this.xs[closest], this.ys[closest]
+                , this.xs[closest] + this.widths[closest], this.ys[closest] + this.heights[closest]);
+        return block(closest);
+    }
+    /**.
+     * block.
+     * @param index the index of a block.
+     * @return the Block of the block (created the first time it is needed).
+     * Synchronized because the balls can be planned on many threads (see BallPlanner).
+     */
+    private synchronized FieldBlock block(int index) {
+        FieldBlock block = this.hitBlocks.get(index);
+        if (block == null) {
+            block = new FieldBlock(this, index);
+            block.getHitListeners().addAll(this.hitListeners);
+            this.hitBlocks.put(index, block);
+        }
+        return block;
+    }
+    /**.
+     * indexOf.
+     * @param block a block the listeners got.
+     * @return the index of the block in the field, -1 if it isn't a block of the field.
+     */
+    public int indexOf(Block block) {
+        if (block instanceof FieldBlock && ((FieldBlock) block).getField() == this) {
+            return ((FieldBlock) block).getIndex();
+        }
+        return -1;
+    }
+    /**.
+     * remove.
+     * Removing a block from the field.
+     *
+     * @param index the index of the block.
+     */
+    void remove(int index) {
+        if (!this.removed[index]) {
+            this.removed[index] = true;
+            this.remaining--;
+            this.hitBlocks.remove(index);
+        }
+    }
+    /**.
+     * isRemoved.
+     * @param index the index of a block.
+     * @return true if the block was removed from the field.
+     */
+    boolean isRemoved(int index) {
+        return this.removed[index];
+    }
+    /**.
+     * getRectangle.
+     * @param index the index of a block.
+     * @return a new rectangle of the block.
+     */
+    Rectangle getRectangle(int index) {
+        return new Rectangle(new Point(this.xs[index], this.ys[index]), this.widths[index], this.heights[index]);
+    }
+    /**.
+     * getType.
+     * @param index the index of a block.
+     * @return the type of the block.
+     */
+    BlockType getType(int index) {
+        return this.types[this.typeIndexes[index]];
+    }
+    /**.
+     * getHitPoints.
+     * @param index the index of a block.
+     * @return the hit points of the block.
+     */
+    int getHitPoints(int index) {
+        return this.hitPoints[index];
+    }
+    /**.
+     * setHitPoints.
+     * @param index the index of a block.
+     * @param points the new hit points of the block.
+     */
+    void setHitPoints(int index, int points) {
+        this.hitPoints[index] = points;
+    }
+    /**.
+     * getHitPoints.
+     * @return the hit points of all the blocks (removed blocks too) in their order.
+     */
+    public int[] getHitPoints() {
+        return this.hitPoints.clone();
+    }
+    /**.
+     * size.
+     * @return the number of blocks that weren't removed.
+     */
+    public int size() {
+        return this.remaining;
+    }
+    /**.
+     * getCollisionRectangle.
+     * @return the area of all the blocks.
+     */
+    public Rectangle getCollisionRectangle() {
+        return this.bounds;
+    }
+    /**.
+     * hit.
+     * The environment gives the blocks of the field and not the field, so the field itself isn't hit.
+     *
+     * @param hitter the ball.
+     * @param collisionPoint where the collision accured.
+     * @param currentVelocity the velocity of the ball.
+     * @return the same velocity.
+     */
+    public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+        return currentVelocity;
+    }
+    /**.
+     * hit.
+     * The field itself isn't hit, the velocity of the ball stays the same.
+     *
+     * @param hitter the ball.
+     * @param x the x cordinate of the collision point.
+     * @param y the y cordinate of the collision point.
+     */
+    public void hit(Ball hitter, double x, double y) {
+        return;
+    }
+    /**.
+     * drawOn.
+     * Drawing all the blocks that weren't removed.
+     *
+     * @param d the draw surface.
+     */
+    public void drawOn(DrawSurface d) {
+        for (int i = 0; i < this.xs.length; i++) {
+            if (!this.removed[i]) {
+                drawBlock(d, i);
+            }
+        }
+    }
+    /**.
+     * drawOn.
+     * Drawing only the blocks that are drawn in the area, in the same order as drawing all of them.
+     * The blocks are taken from the cells of the area (and the cells before it by the size of the biggest image).
+     *
+     * @param d the draw surface.
+     * @param area the area: x0, y0, x1, y1 (without x1, y1).
+     */
+    void drawOn(DrawSurface d, int[] area) {
+        if (this.remaining == 0) {
+            return;
+        }
+        int maxRow = row(area[3]);
+        int maxColumn = column(area[2]);
+        for (int r = row(area[1] - this.imageHeight - MARGIN); r <= maxRow; r++) {
+            for (int c = column(area[0] - this.imageWidth - MARGIN); c <= maxColumn; c++) {
+                int cell = r * this.columns + c;
+                for (int k = this.cellStart[cell]; k < this.cellStart[cell + 1]; k++) {
+                    this.areaBlocks.set(this.cellBlocks[k]);
+                }
+            }
+        }
+        for (int i = this.areaBlocks.nextSetBit(0); i >= 0; i = this.areaBlocks.nextSetBit(i + 1)) {
+            if (!this.removed[i] && StaticLayer.overlaps((int) this.xs[i], (int) this.ys[i], (int) this.widths[i]
+                    , (int) this.heights[i], getType(i).imageOf(this.hitPoints[i]), area)) {
+                drawBlock(d, i);
+            }
+        }
+        this.areaBlocks.clear();
+    }
+    /**.
+     * drawBlock.
+     * Drawing a block like Block.drawOn: the fill of its hit points and the stroke.
+     *
+     * @param d the draw surface.
+     * @param i the index of the block.
+     */
+    private void drawBlock(DrawSurface d, int i) {
+        BlockType type = this.types[this.typeIndexes[i]];
+        int x = (int) this.xs[i];
+        int y = (int) this.ys[i];
+        Color color = type.colorOf(this.hitPoints[i]);
+        Image image = type.imageOf(this.hitPoints[i]);
+        if (color != null) {
+            d.setColor(color);
+            d.fillRectangle(x, y, (int) this.widths[i], (int) this.heights[i]);
+        }
+        if (image != null) {
+            d.drawImage(x, y, image);
+        }
+        if (type.getStroke() != null) {
+            d.setColor(type.getStroke());
+            d.drawRectangle(x, y, (int) this.widths[i], (int) this.heights[i]);
+        }
+    }
+    /**.
+     * timePassed.
+     * The blocks don't move.
+     *
+     * @param dt do nothing on this class.
+     */
+    public void timePassed(double dt) {
+        return;
+    }
+    /**.
+     * addToGame.
+     * Adding the field as one sprite and one collidable.
+     *
+     * @param g the game we want to add the field to.
+     */
+    public void addToGame(GameLevel g) {
+        g.addSprite(this, SpriteCollection.BLOCKS);
+        g.addCollidable(this);
+    }
+    /**.
+     * addHitListener.
+     * Adding a listener to all the blocks of the field.
+     *
+     * @param hl an HitListener.
+     */
+    public void addHitListener(HitListener hl) {
+        addHitListener(hl, ListenerRegistry.NORMAL);
+    }
+    /**.
+     * addHitListener.
+     * Adding a listener to all the blocks of the field, listeners with a higher priority are notified first.
+     *
+     * @param hl an HitListener.
+     * @param priority the priority of the listener (like ListenerRegistry.NORMAL).
+     */
+    public void addHitListener(HitListener hl, int priority) {
+        this.hitListeners.add(hl, priority);
+        for (FieldBlock block : this.hitBlocks.values()) {
+            block.addHitListener(hl, priority);
+        }
+    }
+    /**.
+     * removeHitListener.
+     * Removing a listener from all the blocks of the field.
+     *
+     * @param hl an HitListener.
+     */
+    public void removeHitListener(HitListener hl) {
+        this.hitListeners.remove(hl);
+        for (FieldBlock block : this.hitBlocks.values()) {
+            block.removeHitListener(hl);
+        }
+    }
+    /**.
+     * column.
+     * @param x a x cordinate.
+     * @return the column of the grid of this x cordinate (the closest column if it is out of the grid).
+     */
+    private int column(double x) {
+        return Math.max(0, Math.min(this.columns - 1, (int) Math.floor((x - this.left) / GameEnvironment.CELLSIZE)));
+    }
+    /**.
+     * row.
+     * @param y a y cordinate.
+     * @return the row of the grid of this y cordinate (the closest row if it is out of the grid).
+     */
+    private int row(double y) {
+        return Math.max(0, Math.min(this.rows - 1, (int) Math.floor((y - this.top) / GameEnvironment.CELLSIZE)));
+    }
+}
@@ -0,0 +1,213 @@
+package game;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**.
+ * BlockType.
+ * The values that many blocks share: the fill, the stroke, the fill by hit points and the hit points
+ * A new block starts with. A block keeps only its place, its hit points and its listeners.
+ * The fill by hit points is in arrays indexed by the hit points, so drawing a block doesn't search a map.
+ * A BlockType can't be changed, the with... methods return a new type.
+ */
+public class BlockType {
+    //An empty fill by hit points.
+    private static final Color[] NOCOLORS = new Color[0];
+    private static final Image[] NOIMAGES = new Image[0];
+    //The fill and stroke of the block (null if there is none).
+    private Color color;
+    private Image image;
+    private Color stroke;
+    //The fill by hit points, null where there is none.
+    private Color[] colors;
+    private Image[] images;
+    //The hit points a new block of this type starts with.
+    private int hitPoints;
+    /**.
+     * Creates new instance of BlockType.
+     * The constructor of our class, a type with one fill and no stroke.
+     *
+     * @param color the fill color (null if there is none).
+     * @param image the fill image (null if there is none).
+     */
+    public BlockType(Color color, Image image) {
+        this(color, image, null, NOCOLORS, NOIMAGES, 1);
+    }
+    /**.
+     * Creates new instance of BlockType.
+     * The constructor of our class.
+     *
+     * @param color the fill color (null if there is none).
+     * @param image the fill image (null if there is none).
+     * @param stroke the stroke color (null if there is none).
+     * @param colorMap the fill colors by hit points.
+     * @param imageMap the fill images by hit points.
+     * @param hitPoints the hit points a new block starts with.
+     */
+    public BlockType(Color color, Image image, Color stroke, Map<Integer, Color> colorMap
+            , Map<Integer, Image> imageMap, int hitPoints) {
+        this(color, image, stroke, toArray(colorMap, NOCOLORS), toArray(imageMap, NOIMAGES), hitPoints);
+    }
+    /**.
+     * Creates new instance of BlockType.
+     * The constructor of our class, the arrays are kept as they are.
+     *
+     * @param color the fill color (null if there is none).
+     * @param image the fill image (null if there is none).
+     * @param stroke the stroke color (null if there is none).
+     * @param colors the fill colors by hit points.
+     * @param images the fill images by hit points.
+     * @param hitPoints the hit points a new block starts with.
+     */
+    private BlockType(Color color, Image image, Color stroke, Color[] colors, Image[] images, int hitPoints) {
+        this.color = color;
+        this.image = image;
+        this.stroke = stroke;
+        this.colors = colors;
+        this.images = images;
+        this.hitPoints = hitPoints;
+    }
+    /**.
+     * toArray.
+     * @param map values by hit points.
+     * @param empty an empty array of the values.
+     * @param <T> the type of the values.
+     * @return an array with the value of each hit points at its index (null where there is none).
+     */
+    private static <T> T[] toArray(Map<Integer, T> map, T[] empty) {
+        if (map == null || map.isEmpty()) {
+            return empty;
+        }
+        int length = 0;
+        for (Integer points : map.keySet()) {
+            if (points < 0) {
+                throw new IllegalArgumentException("A fill of negative hit points " + points);
+            }
+            length = Math.max(length, points + 1);
+        }
+        T[] array = Arrays.copyOf(empty, length);
+        for (Map.Entry<Integer, T> e : map.entrySet()) {
+            array[e.getKey()] = e.getValue();
+        }
+        return array;
+    }
+    /**.
+     * toMap.
+     * @param array values by hit points (null where there is none).
+     * @param <T> the type of the values.
+     * @return the values by hit points.
+     */
+    private static <T> Map<Integer, T> toMap(T[] array) {
+        Map<Integer, T> map = new TreeMap<Integer, T>();
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] != null) {
+                map.put(i, array[i]);
+            }
+        }
+        return map;
+    }
+    /**.
+     * colorOf.
+     * @param points hit points.
+     * @return the fill color of a block with these hit points (null if it is filled by an image).
+     */
+    public Color colorOf(int points) {
+        if (points >= 0 && points < this.colors.length && this.colors[points] != null) {
+            return this.colors[points];
+        }
+        //A fill image of these hit points hides the default fill.
+        if (points >= 0 && points < this.images.length && this.images[points] != null) {
+            return null;
+        }
+        return this.color;
+    }
+    /**.
+     * imageOf.
+     * @param points hit points.
+     * @return the fill image of a block with these hit points (null if it is filled by a color).
+     */
+    public Image imageOf(int points) {
+        if (points >= 0 && points < this.colors.length && this.colors[points] != null) {
+            return null;
+        }
+        if (points >= 0 && points < this.images.length && this.images[points] != null) {
+            return this.images[points];
+        }
+        return this.image;
+    }
+    /**.
+     * getColor.
+     * @return the default fill color (null if there is none).
+     */
+    public Color getColor() {
+        return this.color;
+    }
+    /**.
+     * getImage.
+     * @return the default fill image (null if there is none).
+     */
+    public Image getImage() {
+        return this.image;
+    }
+    /**.
+     * getStroke.
+     * @return the stroke color (null if there is none).
+     */
+    public Color getStroke() {
+        return this.stroke;
+    }
+    /**.
+     * getHitPoints.
+     * @return the hit points a new block of this type starts with.
+     */
+    public int getHitPoints() {
+        return this.hitPoints;
+    }
+    /**.
+     * getColorMap.
+     * @return a new map of the fill colors by hit points.
+     */
+    public Map<Integer, Color> getColorMap() {
+        return toMap(this.colors);
+    }
+    /**.
+     * getImageMap.
+     * @return a new map of the fill images by hit points.
+     */
+    public Map<Integer, Image> getImageMap() {
+        return toMap(this.images);
+    }
+    /**.
+     * withStroke.
+     * @param c a stroke color.
+     * @return a type like this one with the stroke.
+     */
+    public BlockType withStroke(Color c) {
+        return new BlockType(this.color, this.image, c, this.colors, this.images, this.hitPoints);
+    }
+    /**.
+     * withColors.
+     * @param colorMap fill colors by hit points.
+     * @return a type like this one with the colors added to its fill by hit points.
+     */
+    public BlockType withColors(Map<Integer, Color> colorMap) {
+        Map<Integer, Color> map = toMap(this.colors);
+        map.putAll(colorMap);
+        return new BlockType(this.color, this.image, this.stroke, toArray(map, NOCOLORS), this.images
+                , this.hitPoints);
+    }
+    /**.
+     * withImages.
+     * @param imageMap fill images by hit points.
+     * @return a type like this one with the images added to its fill by hit points.
+     */
+    public BlockType withImages(Map<Integer, Image> imageMap) {
+        Map<Integer, Image> map = toMap(this.images);
+        map.putAll(imageMap);
+        return new BlockType(this.color, this.image, this.stroke, this.colors, toArray(map, NOIMAGES)
+                , this.hitPoints);
+    }
+}
@@ -0,0 +1,165 @@
+package game;
+
+/**.
+ * CellWalk.
+ * Walks on the cells of a uniform grid that a trajectory crosses, from its start to its end (a DDA walk).
+ * We first clip the trajectory to the area of the grid, then each step moves to the next column or the next row,
+ * Whichever border the trajectory crosses first, so a trajectory crosses O(columns + rows) cells and not
+ * All the cells of the box around it.
+ * The walk keeps its state in fields, so an instance can be used again and again without creating objects.
+ * Each query needs its own walk (the balls give theirs in their CollisionRecord).
+ */
+public class CellWalk {
+    //The grid: the number of columns and rows and the place of its first cell.
+    private int columns;
+    private int rows;
+    private double left;
+    private double top;
+    //The cell we are in and the cell the clipped trajectory ends in.
+    private int column;
+    private int row;
+    private int lastColumn;
+    private int lastRow;
+    //The direction we move on the columns and rows.
+    private int stepColumn;
+    private int stepRow;
+    //The t (0 at the start, 1 at the end) where we cross the next column border and the next row border.
+    private double nextColumnTime;
+    private double nextRowTime;
+    //The t passed when we cross a whole cell.
+    private double deltaColumnTime;
+    private double deltaRowTime;
+    //The t where we entered the current cell and the t where the clipped trajectory ends.
+    private double time;
+    private double maxTime;
+    //The number of cells we can still visit, we can't cross more cells than columns + rows + 1.
+    private int remaining;
+    /**.
+     * start.
+     * Clipping the trajectory to the grid area (Liang-Barsky) and moving to the cell where it starts.
+     *
+     * @param x0 the x cordinate of the start of the trajectory.
+     * @param y0 the y cordinate of the start of the trajectory.
+     * @param x1 the x cordinate of the end of the trajectory.
+     * @param y1 the y cordinate of the end of the trajectory.
+     * @param gridLeft the smallest x cordinate of the grid.
+     * @param gridTop the smallest y cordinate of the grid.
+     * @param gridRight the biggest x cordinate of the grid.
+     * @param gridBottom the biggest y cordinate of the grid.
+     * @param gridColumns the number of columns of the grid.
+     * @param gridRows the number of rows of the grid.
+     * @return true if the trajectory crosses the grid area, false if all of it is out of the grid.
+     */
+    public boolean start(double x0, double y0, double x1, double y1, double gridLeft, double gridTop
+            , double gridRight, double gridBottom, int gridColumns, int gridRows) {
+        this.columns = gridColumns;
+        this.rows = gridRows;
+        this.left = gridLeft;
+        this.top = gridTop;
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double minT = 0;
+        double maxT = 1;
+        for (int side = 0; side < 4; side++) {
+            //The change of the distance from the border when t grows, and the distance of the start from it.
+            double p = side == 0 ? -dx : (side == 1 ? dx : (side == 2 ? -dy : dy));
+            double q = side == 0 ? x0 - gridLeft : (side == 1 ? gridRight - x0
+                    : (side == 2 ? y0 - gridTop : gridBottom - y0));
+            if (p == 0) {
+                //Parallel to the border and out of the grid.
+                if (q < 0) {
+                    return false;
+                }
+            } else if (p < 0) {
+                //Getting in the grid.
+                minT = Math.max(minT, q / p);
+            } else {
+                //Getting out of the grid.
+                maxT = Math.min(maxT, q / p);
+            }
+        }
+        //All the trajectory is out of the grid.
+        if (minT > maxT) {
+            return false;
+        }
+        //The cell where the clipped trajectory starts and the cell where it ends.
+        this.column = column(x0 + minT * dx);
+        this.row = row(y0 + minT * dy);
+        this.lastColumn = column(x0 + maxT * dx);
+        this.lastRow = row(y0 + maxT * dy);
+        this.stepColumn = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        this.stepRow = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+        this.nextColumnTime = Double.POSITIVE_INFINITY;
+        this.nextRowTime = Double.POSITIVE_INFINITY;
+        if (dx > 0) {
+            this.nextColumnTime = (gridLeft + (this.column + 1) * (double) GameEnvironment.CELLSIZE - x0) / dx;
+        } else if (dx < 0) {
+            this.nextColumnTime = (gridLeft + this.column * (double) GameEnvironment.CELLSIZE - x0) / dx;
+        }
+        if (dy > 0) {
+            this.nextRowTime = (gridTop + (this.row + 1) * (double) GameEnvironment.CELLSIZE - y0) / dy;
+        } else if (dy < 0) {
+            this.nextRowTime = (gridTop + this.row * (double) GameEnvironment.CELLSIZE - y0) / dy;
+        }
+        this.deltaColumnTime = dx != 0 ? GameEnvironment.CELLSIZE / Math.abs(dx) : Double.POSITIVE_INFINITY;
+        this.deltaRowTime = dy != 0 ? GameEnvironment.CELLSIZE / Math.abs(dy) : Double.POSITIVE_INFINITY;
+        this.time = minT;
+        this.maxTime = maxT;
+        this.remaining = gridColumns + gridRows + 1;
+        return true;
+    }
+    /**.
+     * next.
+     * Moving to the next cell the trajectory crosses.
+     *
+     * @return true if we moved to the next cell, false if the trajectory ends in the current cell.
+     */
+    public boolean next() {
+        this.remaining--;
+        if (this.remaining <= 0 || (this.column == this.lastColumn && this.row == this.lastRow)
+                || Math.min(this.nextColumnTime, this.nextRowTime) > this.maxTime) {
+            return false;
+        }
+        if (this.nextColumnTime < this.nextRowTime) {
+            this.column += this.stepColumn;
+            this.time = this.nextColumnTime;
+            this.nextColumnTime += this.deltaColumnTime;
+        } else {
+            this.row += this.stepRow;
+            this.time = this.nextRowTime;
+            this.nextRowTime += this.deltaRowTime;
+        }
+        //Out of the grid because of rounding.
+        return this.column >= 0 && this.column < this.columns && this.row >= 0 && this.row < this.rows;
+    }
+    /**.
+     * getCell.
+     * @return the index of the current cell (row after row).
+     */
+    public int getCell() {
+        return this.row * this.columns + this.column;
+    }
+    /**.
+     * getTime.
+     * @return the t where the trajectory entered the current cell (0 at its start, 1 at its end).
+     */
+    public double getTime() {
+        return this.time;
+    }
+    /**.
+     * column.
+     * @param x a x cordinate.
+     * @return the column of the grid of this x cordinate (the closest column if it is out of the grid).
+     */
+    private int column(double x) {
+        return Math.max(0, Math.min(this.columns - 1, (int) Math.floor((x - this.left) / GameEnvironment.CELLSIZE)));
+    }
+    /**.
+     * row.
+     * @param y a y cordinate.
+     * @return the row of the grid of this y cordinate (the closest row if it is out of the grid).
+     */
+    private int row(double y) {
+        return Math.max(0, Math.min(this.rows - 1, (int) Math.floor((y - this.top) / GameEnvironment.CELLSIZE)));
+    }
+}
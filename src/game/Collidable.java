@@ -25,5 +25,16 @@ public interface Collidable {
      * @return  new velocity expected after the hit (based on the force the object inflicted on us).
      */
     Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity);
+    /**.
+     * hit.
+     * Notify the object that the ball collided with it at (x, y) with the velocity of the ball.
+     * Like hit(hitter, collisionPoint, currentVelocity) but the new velocity is set on the ball,
+     * So a ball can hit without creating any object.
+     *
+     * @param hitter the ball hitted the collideable.
+     * @param x the x cordinate of the collision point.
+     * @param y the y cordinate of the collision point.
+     */
+    void hit(Ball hitter, double x, double y);
 }
 
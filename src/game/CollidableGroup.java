@@ -0,0 +1,27 @@
+package game;
+
+import geometry.BoxIntersection;
+
+/**
+ * CollidableGroup.
+ * Many collidables that are kept in the game environment as one (like all the blocks of a BlockField).
+ * The environment doesn't check the rectangle of the group, it asks the group which of its members
+ * A trajectory hits first, and that member is the one the ball hits.
+ */
+public interface CollidableGroup extends Collidable {
+    /**.
+     * closestCollision.
+     * Finding the member the trajectory from (x0, y0) to (x1, y1) hits first.
+     * If two members are hit in the same distance the one with the lower index wins.
+     *
+     * @param x0 the x cordinate of the start of the trajectory.
+     * @param y0 the y cordinate of the start of the trajectory.
+     * @param x1 the x cordinate of the end of the trajectory.
+     * @param y1 the y cordinate of the end of the trajectory.
+     * @param intersection used to check the members, after the call it has the time and point of the hit.
+     * @param walk used to walk on the cells the trajectory crosses if the group keeps its members in a grid.
+     * @return the member the trajectory hits first, null if it doesn't hit any.
+     */
+    Collidable closestCollision(double x0, double y0, double x1, double y1, BoxIntersection intersection
+            , CellWalk walk);
+}
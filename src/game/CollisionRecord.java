@@ -0,0 +1,100 @@
+package game;
+
+import geometry.BoxIntersection;
+
+/**.
+ * CollisionRecord.
+ * The closest collision of a query of the game environment, kept in fields instead of a new CollisionInfo.
+ * Each ball has its own record and gives it to every query, so moving a ball doesn't create objects
+ * And the state of a query is in the record and not in the environment.
+ */
+public class CollisionRecord {
+    //Finds the intersections of the trajectory with the rectangles.
+    private BoxIntersection intersection;
+    //Walks on the cells of the grids the trajectory crosses.
+    private CellWalk walk;
+    //The closest collidable, the order it was added to the environment and the time and point of the hit.
+    private Collidable collidable;
+    private int order;
+    private double time;
+    private double x;
+    private double y;
+    /**.
+     * Creates new instance of CollisionRecord.
+     * The constructor of our class, without a collision.
+     */
+    public CollisionRecord() {
+        this.intersection = new BoxIntersection();
+        this.walk = new CellWalk();
+        clear();
+    }
+    /**.
+     * clear.
+     * Starting a new query, nothing found yet.
+     */
+    void clear() {
+        this.collidable = null;
+        this.order = 0;
+        this.time = Double.POSITIVE_INFINITY;
+    }
+    /**.
+     * getIntersection.
+     * @return the intersection the query uses, after it finds a hit it has the time and point of the hit.
+     */
+    BoxIntersection getIntersection() {
+        return this.intersection;
+    }
+    /**.
+     * getWalk.
+     * @return the walk the query uses on the cells of the grid (and the groups on their own grids).
+     */
+    CellWalk getWalk() {
+        return this.walk;
+    }
+    /**.
+     * offer.
+     * Keeping the hit the intersection found if it is closer than the closest one,
+     * Or in the same distance and added before.
+     *
+     * @param c the collidable that was hit.
+     * @param collidableOrder the order the collidable was added to the environment.
+     */
+    void offer(Collidable c, int collidableOrder) {
+        double t = this.intersection.getTime();
+        if (t < this.time || (t == this.time && collidableOrder < this.order)) {
+            this.time = t;
+            this.x = this.intersection.getX();
+            this.y = this.intersection.getY();
+            this.collidable = c;
+            this.order = collidableOrder;
+        }
+    }
+    /**.
+     * getCollidable.
+     * @return the collidable the trajectory hits first, null if it doesn't hit any.
+     */
+    public Collidable getCollidable() {
+        return this.collidable;
+    }
+    /**.
+     * getTime.
+     * @return the part of the trajectory before the hit (0 at the start and 1 at the end).
+     */
+    public double getTime() {
+        return this.time;
+    }
+    /**.
+     * getX.
+     * @return the x cordinate of the hit point.
+     */
+    public double getX() {
+        return this.x;
+    }
+    /**.
+     * getY.
+     * @return the y cordinate of the hit point.
+     */
+    public double getY() {
+        return this.y;
+    }
+}
@@ -0,0 +1,67 @@
+package game;
+
+/**.
+ * FieldBlock.
+ * A block of a BlockField, created only when it is hit so the listeners get a block.
+ * Its hit points are kept in the arrays of the field, and removing it removes it from the field.
+ */
+class FieldBlock extends Block {
+    //The field and the index of the block in it.
+    private BlockField field;
+    private int index;
+    /**.
+     * Creates new instance of FieldBlock.
+     * The constructor of our class.
+     *
+     * @param field the field of the block.
+     * @param index the index of the block in the field.
+     */
+    FieldBlock(BlockField field, int index) {
+        super(field.getRectangle(index), field.getType(index));
+        this.field = field;
+        this.index = index;
+    }
+    /**.
+     * getField.
+     * @return the field of the block.
+     */
+    BlockField getField() {
+        return this.field;
+    }
+    /**.
+     * getIndex.
+     * @return the index of the block in the field.
+     */
+    int getIndex() {
+        return this.index;
+    }
+    @Override
+    public int getHitPoints() {
+        return this.field.getHitPoints(this.index);
+    }
+    @Override
+    public void setCountHits(int counter) {
+        this.field.setHitPoints(this.index, counter);
+    }
+    @Override
+    public void addToGame(GameLevel g) {
+        //The field is in the game, not its blocks.
+        return;
+    }
+    @Override
+    public void removeFromGame(GameLevel gameLevel) {
+        this.field.remove(this.index);
+    }
+    /**.
+     * isRemoved.
+     * @return true if the block was removed from the field.
+     */
+    boolean isRemoved() {
+        return this.field.isRemoved(this.index);
+    }
+    @Override
+    void disable(GameLevel gameLevel) {
+        //Removing a block of the field only marks it, so it is removed right away.
+        this.field.remove(this.index);
+    }
+}
@@ -1,25 +1,82 @@
 package game;
+import geometry.BoxIntersection;
 import geometry.Line;
 import geometry.Point;
+import geometry.Rectangle;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 /**
  * GameEnvironment.
  * collection of such things. The ball will know the game environment.
  * And will use it to check for collisions and direct its movement.
+ * The collidables are kept in a uniform grid of cells by their collision rectangles.
+ * So when we look for a collision we check only the collidables in the cells the trajectory crosses.
+ * Each entry knows its index in its cells, so removing a collidable moves the last entry of each cell
+ * To its place instead of searching and shifting the cell.
+ * A CollidableGroup (like a BlockField) isn't placed in the grid, each query asks it for its closest member.
  */
 
 public class GameEnvironment {
-    //The collideable objects list.
-    private List<Collidable> collidables;
+    //The size (in pixels) of each cell in the grid.
+    static final int CELLSIZE = 50;
+    //Each rectangle is placed in the grid a bit bigger than it is.
+    //So points on the border between cells (and rounding errors) won't make us miss it.
+    private static final double MARGIN = 1;
+    //The size of the area the grid covers.
+    private double width;
+    private double height;
+    //The number of columns and rows in the grid.
+    private int columns;
+    private int rows;
+    //The cells of the grid (row after row).
+    private List<List<GridEntry>> cells;
+    //The collidables that aren't inside the grid, we check them in every query.
+    private List<GridEntry> outside;
+    //The groups of collidables, each one finds its own collisions.
+    private List<GridEntry> groups;
+    //The entry of each collidable.
+    private Map<Collidable, GridEntry> entries;
+    //The order the next collidable will get.
+    private int nextOrder;
+    //The closest collision of getClosestCollision, the balls give their own records.
+    private CollisionRecord record;
+    //The number of queries since the environment was created.
+    private long queries;
+    //Changes each time a collidable is added, removed or really moved (not when it is disabled).
+    private long version;
     /**.
      * Creates new instance of GameEnvironment.
      * The constructor of our class GameEnvironment.
-     * Instalize the list of collidalbe objects.
+     * Instalize the grid to cover the game screen.
      */
     public GameEnvironment() {
-        this.collidables = new ArrayList<Collidable>();
+        this(GameLevel.GUIWIDTH, GameLevel.GUIHEIGHT);
+    }
+    /**.
+     * Creates new instance of GameEnvironment.
+     * The constructor of our class GameEnvironment.
+     * Instalize the grid to cover the area from (0, 0) to (width, height).
+     *
+     * @param width the width of the area of the grid.
+     * @param height the height of the area of the grid.
+     */
+    public GameEnvironment(double width, double height) {
+        this.width = width;
+        this.height = height;
+        this.columns = Math.max(1, (int) Math.ceil(width / CELLSIZE));
+        this.rows = Math.max(1, (int) Math.ceil(height / CELLSIZE));
+        this.cells = new ArrayList<List<GridEntry>>(this.columns * this.rows);
+        for (int i = 0; i < this.columns * this.rows; i++) {
+            this.cells.add(new ArrayList<GridEntry>());
+        }
+        this.outside = new ArrayList<GridEntry>();
+        this.groups = new ArrayList<GridEntry>();
+        this.entries = new HashMap<Collidable, GridEntry>();
+        this.nextOrder = 0;
+        this.record = new CollisionRecord();
     }
     /**.
      * addCollidable
@@ -27,7 +84,15 @@ public class GameEnvironment {
      * @param  c the collideable we want to add.
      */
     public void addCollidable(Collidable c) {
-        this.collidables.add(c);
+        this.version++;
+        GridEntry entry = new GridEntry(c, this.nextOrder);
+        this.nextOrder++;
+        this.entries.put(c, entry);
+        if (c instanceof CollidableGroup) {
+            this.groups.add(entry);
+            return;
+        }
+        place(entry);
     }
 
     /**.
@@ -36,51 +101,295 @@ public class GameEnvironment {
      * @param  c the collideable we want to remove.
      */
     public void removeCollidable(Collidable c) {
-        this.collidables.remove(c);
+        this.version++;
+        GridEntry entry = this.entries.remove(c);
+        //Not in the environment.
+        if (entry == null) {
+            return;
+        }
+        if (entry.getCollidable() instanceof CollidableGroup) {
+            this.groups.remove(entry);
+            return;
+        }
+        unplace(entry);
+    }
+    /**.
+     * disableCollidable.
+     * The collidable isn't hit from now on, but it is taken out of the grid only by removeCollidable.
+     * So it can be removed in the middle of a step without changing the lists of the grid.
+     * @param  c the collideable we want to remove.
+     */
+    public void disableCollidable(Collidable c) {
+        GridEntry entry = this.entries.get(c);
+        if (entry != null) {
+            entry.disable();
+        }
+    }
+    /**.
+     * updateCollidable.
+     * Should be called after the collision rectangle of a collidable changed (for example the paddle moved).
+     * We move it only if it is now in other cells.
+     * The version changes only if the rectangle really changed (a paddle at the border of the screen doesn't move),
+     * A trajectory that missed the old rectangle can hit the new one even in the same cells.
+     *
+     * @param c the collidable that moved.
+     */
+    public void updateCollidable(Collidable c) {
+        GridEntry entry = this.entries.get(c);
+        //Not in the environment, or a group (it isn't in the grid).
+        if (entry == null || entry.getCollidable() instanceof CollidableGroup) {
+            return;
+        }
+        Rectangle rect = entry.getRectangle();
+        //Didn't move.
+        if (entry.sameBounds(rect)) {
+            return;
+        }
+        this.version++;
+        //Still in the same cells.
+        if (!entry.isOutside() && isInside(rect) && entry.sameCells(column(rect.getLeft() - MARGIN)
+                , row(rect.getTop() - MARGIN), column(rect.getRight() + MARGIN), row(rect.getBottom() + MARGIN))) {
+            entry.setBounds(rect);
+            return;
+        }
+        unplace(entry);
+        place(entry);
+    }
+    /**.
+     * place.
+     * Adding the entry to all the cells its rectangle is in (or to the outside list).
+     *
+     * @param entry the entry we place.
+     */
+    private void place(GridEntry entry) {
+        Rectangle rect = entry.getRectangle();
+        entry.setBounds(rect);
+        if (!isInside(rect)) {
+            entry.setOutside(true);
+            entry.setOutsideIndex(this.outside.size());
+            this.outside.add(entry);
+            return;
+        }
+        entry.setOutside(false);
+        entry.setCells(column(rect.getLeft() - MARGIN), row(rect.getTop() - MARGIN)
+                , column(rect.getRight() + MARGIN), row(rect.getBottom() + MARGIN));
+        for (int r = entry.getMinRow(); r <= entry.getMaxRow(); r++) {
+            for (int col = entry.getMinColumn(); col <= entry.getMaxColumn(); col++) {
+                List<GridEntry> cell = this.cells.get(r * this.columns + col);
+                entry.setIndex(r, col, cell.size());
+                cell.add(entry);
+            }
+        }
+    }
+    /**.
+     * unplace.
+     * Removing the entry from all the cells it is in (or from the outside list).
+     *
+     * @param entry the entry we remove.
+     */
+    private void unplace(GridEntry entry) {
+        if (entry.isOutside()) {
+            int index = entry.getOutsideIndex();
+            GridEntry last = this.outside.remove(this.outside.size() - 1);
+            if (last != entry) {
+                this.outside.set(index, last);
+                last.setOutsideIndex(index);
+            }
+            return;
+        }
+        for (int r = entry.getMinRow(); r <= entry.getMaxRow(); r++) {
+            for (int col = entry.getMinColumn(); col <= entry.getMaxColumn(); col++) {
+                //Moving the last entry of the cell to the place of the removed one.
+                List<GridEntry> cell = this.cells.get(r * this.columns + col);
+                int index = entry.getIndex(r, col);
+                GridEntry last = cell.remove(cell.size() - 1);
+                if (last != entry) {
+                    cell.set(index, last);
+                    last.setIndex(r, col, index);
+                }
+            }
+        }
     }
     /**.
      * getClosestCollision.
-     * Add the given collidable to the environment.
-     * Assume an object moving from line.start() to line.end().
-     * If this object will not collide with any of the collidables
-     * in this collection, return null. Else, return the information
-     * about the closest collision that is going to occur.
+     * Finding the collidable an object moving from line.start() to line.end() hits first.
+     * We walk on the cells of the grid the trajectory crosses from its start, and check only the collidables
+     * In them (and the ones outside the grid and the groups), we stop when the next cell is
+     * farther than the closest collision we already found.
+     * If two collisions are in the same distance the collidable that was added first wins.
      *
      * @param  trajectory the trajectory of the ball.
      * @return null If this object will not collide with any of the collidables in this collection.
        else, return the information about the closest collision that is going to occur.
      */
     public CollisionInfo getClosestCollision(Line trajectory) {
-        List<CollisionInfo> collisions = new ArrayList<CollisionInfo>();
-        //The closest collision about to occur.
-        CollisionInfo closest = null;
-        //Moving on all the collideables.
-        for (int i = 0; i < this.collidables.size(); i++) {
+        if (!findClosestCollision(trajectory.start().getX(), trajectory.start().getY(), trajectory.end().getX()
+                , trajectory.end().getY(), this.record)) {
+            return null;
+        }
+        return new CollisionInfo(this.record.getCollidable(), new Point(this.record.getX(), this.record.getY()));
+    }
+    /**.
+     * findClosestCollision.
+     * Finding the closest collision like getClosestCollision, without creating any object.
+     * The query keeps what it finds in the record, so the record of each ball can be used at the same time.
+     *
+     * @param x0 the x cordinate of the start of the trajectory.
+     * @param y0 the y cordinate of the start of the trajectory.
+     * @param x1 the x cordinate of the end of the trajectory.
+     * @param y1 the y cordinate of the end of the trajectory.
+     * @param closest gets the closest collision (its collidable is null if there is none).
+     * @return true if the trajectory hits a collidable, false otherwise.
+     */
+    public boolean findClosestCollision(double x0, double y0, double x1, double y1, CollisionRecord closest) {
+        this.queries++;
+        return query(x0, y0, x1, y1, closest);
+    }
+    /**.
+     * query.
+     * Like findClosestCollision without counting the query.
+     * It doesn't change the environment, so many threads can query at once while nothing adds, removes,
+     * Moves or disables collidables.
+     *
+     * @param x0 the x cordinate of the start of the trajectory.
+     * @param y0 the y cordinate of the start of the trajectory.
+     * @param x1 the x cordinate of the end of the trajectory.
+     * @param y1 the y cordinate of the end of the trajectory.
+     * @param closest gets the closest collision (its collidable is null if there is none).
+     * @return true if the trajectory hits a collidable, false otherwise.
+     */
+    boolean query(double x0, double y0, double x1, double y1, CollisionRecord closest) {
+        //Nothing found yet.
+        closest.clear();
+        //The collidables outside the grid can be anywhere.
+        checkEntries(this.outside, x0, y0, x1, y1, closest);
+        checkGroups(x0, y0, x1, y1, closest);
+        //Walking on the cells the trajectory crosses inside the grid.
+        CellWalk walk = closest.getWalk();
+        if (!walk.start(x0, y0, x1, y1, 0, 0, this.width, this.height, this.columns, this.rows)) {
+            return closest.getCollidable() != null;
+        }
+        //The part of the trajectory that is as long as the margin.
+        double marginT = MARGIN / Math.max(Math.abs(x1 - x0), Math.abs(y1 - y0));
+        do {
+            //All the next cells are farther than the collision we found.
+            if (walk.getTime() > closest.getTime() + marginT) {
+                break;
+            }
+            checkEntries(this.cells.get(walk.getCell()), x0, y0, x1, y1, closest);
+        } while (walk.next());
+        return closest.getCollidable() != null;
+    }
+    /**.
+     * checkEntries.
+     * Checking the collision of the trajectory with each collidable of the list.
+     * Updating the closest collision if one of them is closer.
+     * We use the slab method so checking a collidable doesn't create any object.
+     *
+     * @param list a list of entries.
+     * @param x0 the x cordinate of the start of the trajectory.
+     * @param y0 the y cordinate of the start of the trajectory.
+     * @param x1 the x cordinate of the end of the trajectory.
+     * @param y1 the y cordinate of the end of the trajectory.
+     * @param closest the closest collision found so far.
+     */
+    private static void checkEntries(List<GridEntry> list, double x0, double y0, double x1, double y1
+            , CollisionRecord closest) {
+        BoxIntersection intersection = closest.getIntersection();
+        for (int i = 0; i < list.size(); i++) {
+            GridEntry entry = list.get(i);
+            if (entry.isDisabled()) {
+                continue;
+            }
+            Rectangle rect = entry.getRectangle();
             //Get the closest intersection point to the rectangle of the collideable.
-            Point closestPoint = trajectory.closestIntersectionToStartOfLine(
-                    this.collidables.get(i).getCollisionRectangle());
-
-            if (closestPoint != null) {
-                //Add this as a new optional collision.
-                collisions.add(new CollisionInfo(this.collidables.get(i), closestPoint));
+            if (intersection.find(x0, y0, x1, y1, rect.getLeft(), rect.getTop(), rect.getRight(), rect.getBottom())) {
+                //Closer, or in the same distance and added before (a big collidable can be in many cells).
+                closest.offer(entry.getCollidable(), entry.getOrder());
             }
         }
-        //Now we will check which collidable is closest to the ball.
-        double minDistance = Double.POSITIVE_INFINITY;
-        //The index of collideable.
-        int indexClosest = 0;
-        for (int i = 0; i < collisions.size(); i++) {
-            //This collision is closer to the ball than the others.
-            if (collisions.get(i).collisionPoint().distance(trajectory.start()) < minDistance) {
-                //Updating the min value.
-                minDistance = collisions.get(i).collisionPoint().distance(trajectory.start());
-                indexClosest = i;
+    }
+    /**.
+     * checkGroups.
+     * Asking each group for the member the trajectory hits first.
+     * Updating the closest collision if it is closer.
+     *
+     * @param x0 the x cordinate of the start of the trajectory.
+     * @param y0 the y cordinate of the start of the trajectory.
+     * @param x1 the x cordinate of the end of the trajectory.
+     * @param y1 the y cordinate of the end of the trajectory.
+     * @param closest the closest collision found so far.
+     */
+    private void checkGroups(double x0, double y0, double x1, double y1, CollisionRecord closest) {
+        for (int i = 0; i < this.groups.size(); i++) {
+            GridEntry entry = this.groups.get(i);
+            if (entry.isDisabled()) {
+                continue;
+            }
+            Collidable member = ((CollidableGroup) entry.getCollidable()).closestCollision(x0, y0, x1, y1
+                    , closest.getIntersection(), closest.getWalk());
+            if (member != null) {
+                closest.offer(member, entry.getOrder());
             }
         }
-        //No collisions.
-        if (collisions.size() == 0) {
-            return null;
+    }
+    /**.
+     * isInside.
+     * @param rect a rectangle.
+     * @return true if the rectangle is all inside the area of the grid, false otherwise.
+     */
+    private boolean isInside(Rectangle rect) {
+        return rect.getLeft() >= 0 && rect.getTop() >= 0 && rect.getRight() <= this.width
+                && rect.getBottom() <= this.height;
+    }
+    /**.
+     * column.
+     * @param x a x cordinate.
+     * @return the column of the grid of this x cordinate (the closest column if it is out of the grid).
+     */
+    private int column(double x) {
+        return Math.max(0, Math.min(this.columns - 1, (int) Math.floor(x / CELLSIZE)));
+    }
+    /**.
+     * row.
+     * @param y a y cordinate.
+     * @return the row of the grid of this y cordinate (the closest row if it is out of the grid).
+     */
+    private int row(double y) {
+        return Math.max(0, Math.min(this.rows - 1, (int) Math.floor(y / CELLSIZE)));
+    }
+    /**.
+     * getQueryCount.
+     * @return the number of collision queries since the environment was created.
+     */
+    public long getQueryCount() {
+        return this.queries;
+    }
+    /**.
+     * addQueries.
+     * @param n the number of queries that were done without counting them (planned on other threads and used).
+     */
+    void addQueries(long n) {
+        this.queries += n;
+    }
+    /**.
+     * getVersion.
+     * @return a number that changes each time a collidable is added, removed or moved.
+     */
+    long getVersion() {
+        return this.version;
+    }
+    /**.
+     * isHittable.
+     * @param c a collidable a query found.
+     * @return true if it is still in the environment and wasn't disabled (or removed from its group).
+     */
+    boolean isHittable(Collidable c) {
+        GridEntry entry = this.entries.get(c);
+        if (entry != null) {
+            return !entry.isDisabled();
         }
-        return collisions.get(indexClosest);
+        //A block of a field, the field is in the environment.
+        return c instanceof FieldBlock && !((FieldBlock) c).isRemoved();
     }
 }
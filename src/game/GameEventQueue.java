@@ -0,0 +1,216 @@
+package game;
+
+import listeners.Counter;
+import listeners.GameEventListener;
+import listeners.HitListener;
+import listeners.ListenerRegistry;
+
+import java.util.Arrays;
+
+/**.
+ * GameEventQueue.
+ * The events of a frame: hits, removed blocks and balls and changes of counters (like the score).
+ * The listeners of the blocks add events while the balls move, and the game level applies them all
+ * At the end of the frame, so moving the balls doesn't change the sprites, the collidables or the counters.
+ * A removed block isn't hit anymore and a removed ball stops right away (only flags, no lists change),
+ * So the game is the same as when the listeners changed the game level in the middle of the step.
+ * The events are kept in arrays that are used again in every frame, so adding one doesn't create objects.
+ */
+public class GameEventQueue implements HitListener {
+    //The types of the events.
+    public static final int HIT = 0;
+    public static final int BLOCKREMOVED = 1;
+    public static final int BALLREMOVED = 2;
+    public static final int COUNT = 3;
+    //The number of events the arrays have room for at first.
+    private static final int CAPACITY = 64;
+    //The game level the events are applied to.
+    private GameLevel gameLevel;
+    //The events: the type, the block, ball or counter, the ball of a hit, and the hit points before a hit
+    //Or the number added to a counter.
+    private int[] types;
+    private Object[] targets;
+    private Ball[] hitters;
+    private int[] values;
+    private int size;
+    //The listeners that get the events of each frame.
+    private ListenerRegistry<GameEventListener> listeners;
+    /**.
+     * Creates new instance of GameEventQueue.
+     * The constructor of our class, without events.
+     *
+     * @param gameLevel the game level the events are applied to.
+     */
+    public GameEventQueue(GameLevel gameLevel) {
+        this.gameLevel = gameLevel;
+        this.types = new int[CAPACITY];
+        this.targets = new Object[CAPACITY];
+        this.hitters = new Ball[CAPACITY];
+        this.values = new int[CAPACITY];
+        this.size = 0;
+        this.listeners = new ListenerRegistry<GameEventListener>(GameEventListener.class);
+    }
+    /**.
+     * addListener.
+     * @param l a listener that gets the events after they are applied, at the end of each frame.
+     */
+    public void addListener(GameEventListener l) {
+        this.listeners.add(l);
+    }
+    /**.
+     * removeListener.
+     * @param l a listener.
+     */
+    public void removeListener(GameEventListener l) {
+        this.listeners.remove(l);
+    }
+    /**.
+     * hitEvent.
+     * Adding a hit with the hit points of the block before it.
+     *
+     * @param beingHit the block that was hit.
+     * @param hitter the ball that hit it.
+     */
+    public void hitEvent(Block beingHit, Ball hitter) {
+        add(HIT, beingHit, hitter, beingHit.getHitPoints());
+    }
+    /**.
+     * removeBlock.
+     * The block isn't hit from now on, and it is removed from the game at the end of the frame.
+     *
+     * @param block the block.
+     */
+    public void removeBlock(Block block) {
+        block.disable(this.gameLevel);
+        add(BLOCKREMOVED, block, null, 0);
+    }
+    /**.
+     * removeBall.
+     * The ball stops moving now, and it is removed from the game at the end of the frame.
+     *
+     * @param ball the ball.
+     */
+    public void removeBall(Ball ball) {
+        ball.disable();
+        add(BALLREMOVED, ball, null, 0);
+    }
+    /**.
+     * count.
+     * Adding a number to a counter at the end of the frame.
+     *
+     * @param counter the counter.
+     * @param number the number we add (negative to decrease it).
+     */
+    public void count(Counter counter, int number) {
+        add(COUNT, counter, null, number);
+    }
+    /**.
+     * add.
+     * Adding an event, the arrays grow when they are full.
+     *
+     * @param type the type of the event.
+     * @param target the block, ball or counter.
+     * @param hitter the ball of a hit, null for other events.
+     * @param value the hit points before a hit or the number added to a counter.
+     */
+    private void add(int type, Object target, Ball hitter, int value) {
+        if (this.size == this.types.length) {
+            int capacity = 2 * this.size;
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.targets = Arrays.copyOf(this.targets, capacity);
+            this.hitters = Arrays.copyOf(this.hitters, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        this.types[this.size] = type;
+        this.targets[this.size] = target;
+        this.hitters[this.size] = hitter;
+        this.values[this.size] = value;
+        this.size++;
+    }
+    /**.
+     * flush.
+     * Applying the events in the order they were added, then giving them to the listeners and clearing them.
+     */
+    public void flush() {
+        if (this.size == 0) {
+            return;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.types[i] == BLOCKREMOVED) {
+                ((Block) this.targets[i]).removeFromGame(this.gameLevel);
+            } else if (this.types[i] == BALLREMOVED) {
+                ((Ball) this.targets[i]).removeFromGame(this.gameLevel);
+            } else if (this.types[i] == COUNT) {
+                ((Counter) this.targets[i]).increase(this.values[i]);
+            }
+        }
+        for (GameEventListener l : this.listeners.getListeners()) {
+            l.eventsOccurred(this);
+        }
+        //Not keeping the removed blocks and balls until the arrays are used again.
+        Arrays.fill(this.targets, 0, this.size, null);
+        Arrays.fill(this.hitters, 0, this.size, null);
+        this.size = 0;
+    }
+    /**.
+     * size.
+     * @return the number of events in the frame.
+     */
+    public int size() {
+        return this.size;
+    }
+    /**.
+     * count.
+     * @param type a type of events.
+     * @return the number of events of the type in the frame.
+     */
+    public int count(int type) {
+        int n = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (this.types[i] == type) {
+                n++;
+            }
+        }
+        return n;
+    }
+    /**.
+     * getType.
+     * @param i the index of an event.
+     * @return the type of the event.
+     */
+    public int getType(int i) {
+        return this.types[i];
+    }
+    /**.
+     * getBlock.
+     * @param i the index of an event.
+     * @return the block of a hit or a removed block, null for other events.
+     */
+    public Block getBlock(int i) {
+        return this.targets[i] instanceof Block ? (Block) this.targets[i] : null;
+    }
+    /**.
+     * getBall.
+     * @param i the index of an event.
+     * @return the ball of a hit or a removed ball, null for other events.
+     */
+    public Ball getBall(int i) {
+        return this.types[i] == BALLREMOVED ? (Ball) this.targets[i] : this.hitters[i];
+    }
+    /**.
+     * getCounter.
+     * @param i the index of an event.
+     * @return the counter of a count event, null for other events.
+     */
+    public Counter getCounter(int i) {
+        return this.targets[i] instanceof Counter ? (Counter) this.targets[i] : null;
+    }
+    /**.
+     * getValue.
+     * @param i the index of an event.
+     * @return the hit points of the block before a hit, or the number added to a counter.
+     */
+    public int getValue(int i) {
+        return this.values[i];
+    }
+}
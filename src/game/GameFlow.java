@@ -7,18 +7,22 @@ import animation.HighScoresAnimation;
 import biuoop.DialogManager;
 import biuoop.KeyboardSensor;
 import io.HighScoresTable;
+import io.LevelSet;
 import io.ScoreInfo;
+import io.ScoreLog;
 import levels.LevelInformation;
+import listeners.AtomicCounter;
 import listeners.Counter;
+import listeners.StripedCounter;
 import menu.Menu;
 import menu.MenuAnimation;
 import menu.Task;
+import replay.InputLog;
+import replay.InputRecorder;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**.
  * GameFlow.
@@ -26,6 +30,10 @@ import java.util.Map;
  */
 public class GameFlow {
     static final int STARTLIVES = 7;
+    //Determines if the levels of a level set are read on a worker thread.
+    private static final boolean PREFETCH = !"false".equals(System.getProperty("prefetch"));
+    //Determines if the high scores are kept in a log (-Dhighscores.log=false saves the whole table every time).
+    private static final boolean SCORELOG = !"false".equals(System.getProperty("highscores.log"));
     private KeyboardSensor keyboardSensor;
     private AnimationRunner animationRunner;
     private DialogManager dialogManager;
@@ -35,6 +43,10 @@ public class GameFlow {
     private Counter scores;
     //An highscore table.
     private HighScoresTable highScoresTable;
+    //The log of the high scores, null if we save the whole table.
+    private ScoreLog scoreLog;
+    //Records the games, null if we don't record.
+    private InputRecorder recorder;
     /**.
      * Creates new instance of GameFlow.
      * The constructor of our class.
@@ -48,10 +60,19 @@ public class GameFlow {
         this.keyboardSensor = ks;
         this.dialogManager = dialogManager;
         //Instalizing the counters.
-        this.remainedLives = new Counter(STARTLIVES);
-        this.scores = new Counter(0);
+        this.remainedLives = new AtomicCounter(STARTLIVES);
+        this.scores = new StripedCounter(0);
         //Instalizing the high score table to be with default size.
         this.highScoresTable = new HighScoresTable(HighScoresTable.DEFAULTSIZE);
+        this.scoreLog = SCORELOG ? new ScoreLog(new File("highscores"), HighScoresTable.DEFAULTSIZE) : null;
+        this.recorder = null;
+    }
+    /**.
+     * setRecorder.
+     * @param inputRecorder records the games, null if we don't record.
+     */
+    public void setRecorder(InputRecorder inputRecorder) {
+        this.recorder = inputRecorder;
     }
     /**.
      * loadHighScores.
@@ -60,10 +81,16 @@ public class GameFlow {
      *  And we create a new table and immediately save it to a file.
      *  In the next time we run the game on the same computer, a file will exist.
      *  And so the table will be read from that file.
+     *  With the score log the table is read from highscores.snapshot and highscores.log,
+     *  And an old highscores file is copied to the log the first time.
      */
     private void loadHighScores() {
         //The file of scores.
         File f = new File("highscores");
+        if (this.scoreLog != null) {
+            loadScoreLog(f);
+            return;
+        }
         //   HighScoresTable s = HighScoresTable.loadFromFile(f);
         try {
             //Loading the table of scores.
@@ -77,6 +104,27 @@ public class GameFlow {
             }
         }
     }
+    /**.
+     * loadScoreLog.
+     * Loading the high scores from the score log.
+     *
+     * @param f the old file of scores.
+     */
+    private void loadScoreLog(File f) {
+        try {
+            if (!this.scoreLog.exists() && f.exists()) {
+                try {
+                    this.highScoresTable.load(f);
+                } catch (Exception e) { //Not a table, we start without scores.
+                    this.highScoresTable.clear();
+                }
+                this.scoreLog.append(this.highScoresTable.getHighScores());
+            }
+            this.scoreLog.load(this.highScoresTable);
+        } catch (IOException e) {
+            throw new RuntimeException("Problem with reading the score log");
+        }
+    }
     /**.
      * showHighScores.
      * Showing the high scores.
@@ -101,7 +149,11 @@ public class GameFlow {
             this.highScoresTable.add(new ScoreInfo(name, this.scores.getValue()));
             File f = new File("highscores");
             try { //Saving the scores after adding the score.
-                this.highScoresTable.save(f);
+                if (this.scoreLog != null) {
+                    this.scoreLog.append(new ScoreInfo(name, this.scores.getValue()));
+                } else {
+                    this.highScoresTable.save(f);
+                }
             } catch (IOException e) {
                 throw new RuntimeException("Problems with saving the file");
             }
@@ -114,32 +166,91 @@ public class GameFlow {
      * @param levels levels;
      */
     public void runLevels(List<LevelInformation> levels) {
-        for (LevelInformation levelInfo : levels) {
-
-            GameLevel level = new GameLevel(levelInfo, this.keyboardSensor, this.animationRunner, this.remainedLives
-                    , scores);
-            level.initialize();
-            //The level has more blocks and lives.
-            while (!level.noMoreBlocks() && this.remainedLives.getValue() != 0) {
-                level.playOneTurn();
+        runLevels(levels, "", "");
+    }
+    /**.
+     * runLevels.
+     * Running list of levels of a level set.
+     *
+     * @param levels levels;
+     * @param levelSetKey the key of the level set (to record the game).
+     * @param levelSetName the name of the level set (to record the game).
+     */
+    public void runLevels(List<LevelInformation> levels, String levelSetKey, String levelSetName) {
+        for (int i = 0; i < levels.size(); i++) {
+            if (!playLevel(levels.get(i), i, levelSetKey, levelSetName)) {
+                return;
             }
-            //No more lives
-            if (this.remainedLives.getValue() == 0) {
-                //Adding the high score before the losing animation.
-                insertHighScore();
-                this.animationRunner.run(new KeyPressStoppableAnimation(this.keyboardSensor
-                        , KeyboardSensor.SPACE_KEY, new LoseScreen(scores.getValue())));
-                break;
+        }
+        win();
+    }
+    /**.
+     * runLevels.
+     * Running the levels of a level set, each level is read when we get to it (if it wasn't read already).
+     * With prefetch the levels are read on a worker thread, so the next level is read while we play.
+     *
+     * @param levelSet the level set.
+     * @param prefetch true to read the levels on a worker thread.
+     */
+    public void runLevels(LevelSet levelSet, boolean prefetch) {
+        if (prefetch) {
+            levelSet.prefetch();
+        }
+        LevelInformation levelInfo = levelSet.getLevel(0);
+        for (int i = 0; levelInfo != null; i++) {
+            if (!playLevel(levelInfo, i, levelSet.getKey(), levelSet.getName())) {
+                return;
             }
+            levelInfo = levelSet.getLevel(i + 1);
+        }
+        win();
+    }
+    /**.
+     * playLevel.
+     * Playing a level until its blocks or the lives are over.
+     *
+     * @param levelInfo the level.
+     * @param index the index of the level in its level set.
+     * @param levelSetKey the key of the level set (to record the game).
+     * @param levelSetName the name of the level set (to record the game).
+     * @return true if we can move to the next level, false if the game is lost.
+     */
+    private boolean playLevel(LevelInformation levelInfo, int index, String levelSetKey, String levelSetName) {
+        KeyboardSensor keyboard = this.keyboardSensor;
+        if (this.recorder != null) {
+            keyboard = this.recorder.startLevel(this.keyboardSensor, new InputLog(levelSetKey, levelSetName, index
+                    , levelInfo.levelName(), this.animationRunner.getStepsPerSecond()
+                    , this.remainedLives.getValue(), this.scores.getValue()));
         }
-        //Won the game
-        if (this.remainedLives.getValue() != 0) {
-            //Adding the high score before the winning animation.
+        GameLevel level = new GameLevel(levelInfo, keyboard, this.animationRunner, this.remainedLives
+                , scores);
+        level.initialize();
+        //The level has more blocks and lives.
+        while (!level.noMoreBlocks() && this.remainedLives.getValue() != 0) {
+            level.playOneTurn();
+        }
+        if (this.recorder != null) {
+            this.recorder.endLevel(this.scores.getValue(), this.remainedLives.getValue(), level.getHitPoints());
+        }
+        //No more lives
+        if (this.remainedLives.getValue() == 0) {
+            //Adding the high score before the losing animation.
             insertHighScore();
             this.animationRunner.run(new KeyPressStoppableAnimation(this.keyboardSensor
-                    , KeyboardSensor.SPACE_KEY, new WinScreen(scores.getValue())));
+                    , KeyboardSensor.SPACE_KEY, new LoseScreen(scores.getValue())));
+            return false;
         }
-
+        return true;
+    }
+    /**.
+     * win.
+     * Won the game.
+     */
+    private void win() {
+        //Adding the high score before the winning animation.
+        insertHighScore();
+        this.animationRunner.run(new KeyPressStoppableAnimation(this.keyboardSensor
+                , KeyboardSensor.SPACE_KEY, new WinScreen(scores.getValue())));
     }
 
     /**.
@@ -147,13 +258,14 @@ public class GameFlow {
      * Creating and running the game by menu selections.
      * Instead of doing infinitie while loop like in the example in the instructions i did it recursive.
      *
-     * @param levelSets list of list of level informaton (list of level sets).
-     * @param information map that contains the key to be in the level set and value of the name of the level set.
+     * The levels of a level set are read only when it is selected.
+     *
+     * @param levelSets the level sets (with their keys and names).
      */
-    public void createMenu(List<List<LevelInformation>> levelSets, Map<String, String> information) {
+    public void createMenu(List<LevelSet> levelSets) {
         //Our animation runner.
         AnimationRunner runner = this.animationRunner;
-        Menu<Task<Void>> subMenu = createSubMenu(levelSets, information);
+        Menu<Task<Void>> subMenu = createSubMenu(levelSets);
         //Implementing anonymmous classes of each class becasue they are short classes.
         /**.
          * highScores.
@@ -164,7 +276,7 @@ public class GameFlow {
             public Void run() {
                showHighScores();
                //Back to menu.
-              createMenu(levelSets, information);
+              createMenu(levelSets);
                return null;
             }
         };
@@ -210,24 +322,14 @@ public class GameFlow {
      * createSubMenu.
      * Creating and the submenu by his selections.
      *
-     * @param levelSets list of list of level informaton (list of level sets).
-     * @param information map that contains the key to be in the level set and value of the name of the level set.
+     * @param levelSets the level sets (with their keys and names).
      * @return the submenu.
      */
-    public Menu<Task<Void>> createSubMenu(List<List<LevelInformation>> levelSets, Map<String, String> information)  {
-        //Our animation runner.
-        AnimationRunner runner = this.animationRunner;
-        //List of the level sets information list.
-        List<String> keys = new ArrayList<String>(information.keySet());
+    public Menu<Task<Void>> createSubMenu(List<LevelSet> levelSets)  {
         //Adding the selections to our menu.
         Menu<Task<Void>> subMenu = new MenuAnimation<Task<Void>>("Level sets", this.keyboardSensor);
         //Implementing anonymmous classes of each class becasue they are short classes.
-        //Creating final array of indexes to use them in the annonymous class.
-        final int [] size = new int[levelSets.size()];
-        for (int i = 0; i < size.length; i++) {
-            size[i] = i;
-        }
-        for (int index : size) {
+        for (LevelSet set : levelSets) {
             //Creating task for each level set.
             Task<Void> levelSet = new Task<Void>() {
                 @Override
@@ -237,15 +339,16 @@ public class GameFlow {
                     //Reset the scores.
                     scores.decrease(scores.getValue());
                     //Running the levels.
-                    runLevels(levelSets.get(index));
+                    //Running the levels, the next level is read while we play (unless -Dprefetch=false).
+                    runLevels(set, PREFETCH);
                     //At the end of the game showing high scores.
                     showHighScores();
                     //Back to menu.
-                    createMenu(levelSets, information);
+                    createMenu(levelSets);
                     return null;
                 }
             };
-            subMenu.addSelection(keys.get(index), information.get(keys.get(index)), levelSet);
+            subMenu.addSelection(set.getKey(), set.getName(), levelSet);
         }
         return subMenu;
     }
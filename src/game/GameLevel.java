@@ -1,25 +1,33 @@
 package game;
 import animation.AnimationRunner;
 import animation.KeyPressStoppableAnimation;
-import animation.Animation;
+import animation.SteppedAnimation;
 import animation.PauseScreen;
 import animation.CountdownAnimation;
 import biuoop.DrawSurface;
 import biuoop.KeyboardSensor;
 import levels.LevelInformation;
+import listeners.AtomicCounter;
 import listeners.Counter;
 import listeners.BallRemover;
 import listeners.BlockRemover;
 import listeners.ScoreTrackingListener;
+import listeners.ThresholdListener;
+import replay.SteppedKeyboard;
+import stats.FrameStats;
+import stats.StatsOverlay;
 import geometry.Line;
 import geometry.Rectangle;
 import geometry.Point;
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 /**.
  * GameLevel
  * GameLevel class that will hold the sprites and the collidables, and will be in charge of the animation.
  */
-public class GameLevel implements Animation {
+public class GameLevel implements SteppedAnimation {
     //Final variables of the screen size.
     static final  int GUIWIDTH = 800;
     static final int GUIHEIGHT = 600;
@@ -33,15 +41,25 @@ public class GameLevel implements Animation {
     //Paddle sizes
     static final int PADDLEWIDTH = 60;
     static final int PADDLEHEIGHT = 20;
+    //Levels with at least this many blocks keep them in a BlockField (-Dblocks.field=n).
+    static final int FIELDBLOCKS = Integer.getInteger("blocks.field", 2000);
+    //Determines if the background and the blocks are drawn once to an image (-Dstatic.layer=false draws them
+    //Every frame).
+    static final boolean STATICLAYER = !"false".equals(System.getProperty("static.layer"));
+    //The number of threads the steps of the balls are planned on (-Dphysics.threads=n), 1 moves them one by one.
+    static final int PHYSICSTHREADS = Integer.getInteger("physics.threads", 1);
     //The sprite collection and game environment.
     private SpriteCollection sprites;
     private GameEnvironment environment;
     //Our keyboard sensor
     private KeyboardSensor keyboard;
     //The counter of remaining blocks.
-    private Counter remainedBlocks;
+    private AtomicCounter remainedBlocks;
     //The counter of remaining balls.
-    private Counter remainedBalls;
+    private AtomicCounter remainedBalls;
+    //Determines if the counters of the blocks or the balls reached 0 since the last check of the turn end.
+    private volatile boolean blocksReachedZero;
+    private volatile boolean ballsReachedZero;
     //The counter of scores.
     private Counter scores;
     //The counter of lives.
@@ -51,6 +69,22 @@ public class GameLevel implements Animation {
     private boolean running;
     //Level information
     private LevelInformation levelInformation;
+    //The paddle of the current turn.
+    private Paddle paddle;
+    //The balls that are in the game.
+    private List<Ball> balls;
+    //The blocks of the level (without the screen blocks) in the order of the level information.
+    private List<Block> blocks;
+    //The blocks of the level when there are many of them, null if they are in the blocks list.
+    private BlockField field;
+    //The background and the blocks drawn to an image, null if they are drawn every frame.
+    private StaticLayer staticLayer;
+    //The timings of the frames, null if they are disabled.
+    private FrameStats stats;
+    //The events of the current frame, applied when the sprites finished moving.
+    private GameEventQueue events;
+    //Plans the steps of the balls on many threads, null if they move one by one.
+    private BallPlanner planner;
     /**.
      * Creates new instance of GameLevel.
      * The constructor of our class GameLevel.
@@ -65,18 +99,46 @@ public class GameLevel implements Animation {
     public GameLevel(LevelInformation levelInformation, KeyboardSensor keyboardSensor, AnimationRunner runner
             , Counter remainedLives, Counter scores) {
         this.sprites = new SpriteCollection();
+        //The layer draws its sprites on an image, so we use it only if we can draw every method on an image.
+        if (STATICLAYER && ImageDrawSurface.isSupported()) {
+            this.staticLayer = new StaticLayer();
+            this.sprites.addSprite(this.staticLayer, SpriteCollection.BACKGROUND);
+        }
         this.environment = new GameEnvironment();
+        this.events = new GameEventQueue(this);
+        this.balls = new ArrayList<Ball>();
+        this.blocks = new ArrayList<Block>();
+        if (PHYSICSTHREADS > 1) {
+            this.planner = new BallPlanner(this.environment, this.balls, PHYSICSTHREADS);
+        }
         this.keyboard = keyboardSensor;
         this.runner = runner;
+        this.stats = runner == null ? null : runner.getStats();
+        if (this.stats != null) {
+            this.events.addListener(this.stats);
+        }
         //Instalizing the count to be the number of the blocks.
         int count = 0;
         for (int i = MAXLINEOFBLOCKS; i >= 8; i--) {
             count += i;
         }
         //Instalizing the counters.
-        this.remainedBlocks = new Counter(levelInformation.numberOfBlocksToRemove());
+        this.remainedBlocks = new AtomicCounter(levelInformation.numberOfBlocksToRemove());
         //Setting the counters.
-        this.remainedBalls = new Counter(0);
+        this.remainedBalls = new AtomicCounter(0);
+        //The turn ends when one of them reaches 0, we are told instead of checking them every frame.
+        ThresholdListener reachedZero = new ThresholdListener() {
+            public void thresholdReached(Counter counter, int threshold) {
+                if (counter == GameLevel.this.remainedBlocks) {
+                    GameLevel.this.blocksReachedZero = true;
+                } else {
+                    GameLevel.this.ballsReachedZero = true;
+                }
+            }
+        };
+        this.remainedBlocks.addThresholdListener(0, reachedZero);
+        this.remainedBalls.addThresholdListener(0, reachedZero);
+        this.blocksReachedZero = this.remainedBlocks.getValue() == 0;
         this.scores = scores;
         this.remainedLives = remainedLives;
         this.running = true;
@@ -100,6 +162,22 @@ public class GameLevel implements Animation {
     public void removeCollidable(Collidable c) {
         this.environment.removeCollidable(c);
     }
+    /**.
+     * disableCollidable.
+     * The collidable isn't hit from now on, it is removed from the game environment by removeCollidable.
+     * @param  c the collideable we want to remove.
+     */
+    void disableCollidable(Collidable c) {
+        this.environment.disableCollidable(c);
+    }
+    /**.
+     * updateCollidable.
+     * Tell the game environment that the collision rectangle of the collidable changed.
+     * @param  c the collideable that moved.
+     */
+    public void updateCollidable(Collidable c) {
+        this.environment.updateCollidable(c);
+    }
     /**.
      * addSprite.
      * Add the given Sprite to the game by adding it into a sprite collection.
@@ -108,6 +186,20 @@ public class GameLevel implements Animation {
     public void addSprite(Sprite s) {
         this.sprites.addSprite(s);
     }
+    /**.
+     * addSprite.
+     * Add the given Sprite to the given layer of the sprite collection.
+     * The background and the blocks go to the static layer (if we have one).
+     * @param  s the Sprite we want to add.
+     * @param  layer the layer the sprite is drawn in (see SpriteCollection).
+     */
+    public void addSprite(Sprite s, int layer) {
+        if (this.staticLayer != null && StaticLayer.isStatic(layer)) {
+            this.staticLayer.addSprite(s, layer);
+            return;
+        }
+        this.sprites.addSprite(s, layer);
+    }
 
     /**.
      * removeSprite.
@@ -116,6 +208,9 @@ public class GameLevel implements Animation {
      */
     public void removeSprite(Sprite s) {
         this.sprites.removeSprite(s);
+        if (this.staticLayer != null) {
+            this.staticLayer.removeSprite(s);
+        }
     }
 
     /**.
@@ -143,18 +238,34 @@ public class GameLevel implements Animation {
         //Adding the level name to the screen.
         LevelIndicator levelIndicator = new LevelIndicator(this.levelInformation.levelName());
         levelIndicator.addToGame(this);
+        //Showing the frame timings.
+        if (this.stats != null && this.stats.isOverlay()) {
+            new StatsOverlay(this.stats).addToGame(this);
+        }
     }
     /**.
      * initializeBlocks
      * Initialize the game blocks.
      */
     private void initializeBlocks() {
+        if (this.levelInformation.blocks().size() >= FIELDBLOCKS) {
+            //Many blocks: one field with arrays instead of an object for each block (it doesn't change our blocks).
+            this.field = new BlockField(this.levelInformation.blocks());
+            this.field.addToGame(this);
+            this.field.addHitListener(this.events);
+            this.field.addHitListener(new BlockRemover(this, this.remainedBlocks));
+            this.field.addHitListener(new ScoreTrackingListener(this.events, this.scores));
+            return;
+        }
         for (Block block: this.levelInformation.blocks()) {
             //Adding copy block because we dont won't to harm after losing because block is refference.
             Block copy = block.copy();
             copy.addToGame(this);
+            //The hits of the blocks are events too (for the listeners of the events).
+            copy.addHitListener(this.events);
             copy.addHitListener(new BlockRemover(this, this.remainedBlocks));
-            copy.addHitListener(new ScoreTrackingListener(this.scores));
+            copy.addHitListener(new ScoreTrackingListener(this.events, this.scores));
+            this.blocks.add(copy);
 
         }
     }
@@ -178,10 +289,12 @@ public class GameLevel implements Animation {
                     , (int) paddlePosition.getY() - 5, 5, Color.white);
             Ball b = (Ball) ball;
             b.setGameEnvironment(this.environment);
+            b.setPlanner(this.planner);
             //Instalize the ball velocity.
             b.setVelocity(levelInformation.initialBallVelocities().get(i));
             //Add the ball to the game.
             b.addToGame(this);
+            this.balls.add(b);
         }
 
     }
@@ -242,27 +355,124 @@ public class GameLevel implements Animation {
         // the logic from the previous playOneTurn method goes here.
         // the `return` or `break` statements should be replaced with
         // this.running = false;
+        if (this.stats != null) {
+            long start = System.nanoTime();
+            checkPause();
+            long drawStart = System.nanoTime();
+            checkTurnEnd();
+            this.sprites.drawAllOn(d);
+            this.stats.add(FrameStats.INPUT, drawStart - start);
+            this.stats.add(FrameStats.DRAW, System.nanoTime() - drawStart);
+            timedTimePassed(dt);
+            return;
+        }
+        checkPause();
+        checkTurnEnd();
+        //Drawing the sprites objects.
+        this.sprites.drawAllOn(d);
+        //Moving the sprites we can move.
+        timePassed(dt);
+    }
+    /**.
+     * timePassed.
+     * Moving the sprites and then applying the events of the frame (removing blocks and balls, the score).
+     *
+     * @param dt the amount of seconds passed since the last step.
+     */
+    private void timePassed(double dt) {
+        if (this.planner != null) {
+            this.planner.nextFrame();
+        }
+        this.sprites.notifyAllTimePassed(dt);
+        this.events.flush();
+    }
+    /**.
+     * checkPause.
+     * Pausing the game when "p" is pressed.
+     */
+    private void checkPause() {
         if (this.keyboard.isPressed("p")) {
             this.runner.run(new KeyPressStoppableAnimation(this.keyboard, KeyboardSensor.SPACE_KEY, new PauseScreen()));
         }
-        //No more blocks at the screen
-        if (this.remainedBlocks.getValue() == 0) {
-            //Destroying all blocks is worth another 100 points.
-            this.scores.increase(100);
-            //Clear the GUI resources and close the window.
-            this.running = false;
+    }
+    /**.
+     * timedTimePassed.
+     * Moving the sprites and adding the time it took and the collision queries to the stats.
+     *
+     * @param dt the amount of seconds passed since the last step.
+     */
+    private void timedTimePassed(double dt) {
+        long queries = this.environment.getQueryCount();
+        long start = System.nanoTime();
+        timePassed(dt);
+        this.stats.add(FrameStats.UPDATE, System.nanoTime() - start);
+        this.stats.add(FrameStats.QUERIES, this.environment.getQueryCount() - queries);
+    }
+    /**.
+     * doOneStep.
+     * The logic of one frame without drawing anything, so the game can run without a screen.
+     *
+     * @param dt the amount of seconds passed since the last step.
+     */
+    public void doOneStep(double dt) {
+        checkTurnEnd();
+        //The keys are read once for the step, so a step can be recorded and replayed.
+        if (this.keyboard instanceof SteppedKeyboard) {
+            ((SteppedKeyboard) this.keyboard).nextStep();
         }
-        //No more balls at the screen
-        if (this.remainedBalls.getValue() == 0) {
-            //No more balls so we lose live.
-            this.remainedLives.decrease(1);
-            //Remove the paddle
-            this.running = false;
+        if (this.stats != null) {
+            timedTimePassed(dt);
+            return;
         }
-        //Drawing the sprites objects.
-        this.sprites.drawAllOn(d);
         //Moving the sprites we can move.
-        this.sprites.notifyAllTimePassed(dt);
+        timePassed(dt);
+    }
+    /**.
+     * render.
+     * Drawing the game between the last two steps.
+     * The keys of the window are checked once a frame, so pausing is here.
+     *
+     * @param d a drawsurface.
+     * @param alpha the part of a step that passed since the last step.
+     */
+    public void render(DrawSurface d, double alpha) {
+        if (this.stats != null) {
+            long start = System.nanoTime();
+            checkPause();
+            long drawStart = System.nanoTime();
+            this.sprites.drawAllOn(d, alpha);
+            this.stats.add(FrameStats.INPUT, drawStart - start);
+            this.stats.add(FrameStats.DRAW, System.nanoTime() - drawStart);
+            return;
+        }
+        checkPause();
+        this.sprites.drawAllOn(d, alpha);
+    }
+    /**.
+     * checkTurnEnd.
+     * Stopping the turn when there are no more blocks or no more balls.
+     */
+    private void checkTurnEnd() {
+        //No more blocks at the screen (if it didn't go past 0 since the counter told us).
+        if (this.blocksReachedZero) {
+            this.blocksReachedZero = false;
+            if (this.remainedBlocks.getValue() == 0) {
+                //Destroying all blocks is worth another 100 points.
+                this.scores.increase(100);
+                //Clear the GUI resources and close the window.
+                this.running = false;
+            }
+        }
+        //No more balls at the screen
+        if (this.ballsReachedZero) {
+            this.ballsReachedZero = false;
+            if (this.remainedBalls.getValue() == 0) {
+                //No more balls so we lose live.
+                this.remainedLives.decrease(1);
+                //Remove the paddle
+                this.running = false;
+            }
+        }
     }
     /**
      * shouldStop.
@@ -279,27 +489,103 @@ public class GameLevel implements Animation {
      * We will use the object Sleeper and draw all the sprites.
      */
     public void playOneTurn() {
+        startTurn();
+        //Running the countdown
+        this.runner.run(new CountdownAnimation(2, 3, this.sprites)); // countdown before turn starts.
+        this.running = true;
+        // use our runner to run the current animation -- which is one turn of
+        // the game.
+        this.runner.run(this);
+        endTurn();
+    }
+    /**.
+     * startTurn.
+     * Prepare a new turn: create the paddle and the balls and add them to the game.
+     * After it the game can be run frame after frame by doOneFrame.
+     */
+    public void startTurn() {
         //We create rectangle in order to identify where the ball, paddle and other blocks will be.
         Rectangle screen = gameRectangle();
         //Create the paddle
         Point paddlePosition = new Line(screen.getLowerLeft(), screen.getLowerRight()).middle();
         paddlePosition.setX(paddlePosition.getX() - this.levelInformation.paddleWidth() / 2);
-        Paddle paddle = new Paddle(new Rectangle(paddlePosition
+        this.paddle = new Paddle(new Rectangle(paddlePosition
                 , this.levelInformation.paddleWidth(), PADDLEHEIGHT), this.keyboard, Color.orange);
         //Setting the speed of the paddle.
-        paddle.setSpeed(this.levelInformation.paddleSpeed());
-        paddle.addToGame(this);
+        this.paddle.setSpeed(this.levelInformation.paddleSpeed());
+        this.paddle.addToGame(this);
         //Creating back the balls.
         createBalls(levelInformation.numberOfBalls());
-       // this.remainedBalls.increase(levelInformation.numberOfBalls());
-        //Running the countdown
-        this.runner.run(new CountdownAnimation(2, 3, this.sprites)); // countdown before turn starts.
+        //A level without balls ends the turn right away.
+        this.ballsReachedZero = this.remainedBalls.getValue() == 0;
         this.running = true;
-        // use our runner to run the current animation -- which is one turn of
-        // the game.
-        this.runner.run(this);
+    }
+    /**.
+     * endTurn.
+     * Finish the turn after it stopped.
+     */
+    public void endTurn() {
         //Removing the paddle because we want to restart his position.
-        paddle.removeFromGame(this);
+        this.paddle.removeFromGame(this);
+    }
+    /**.
+     * removeBall.
+     * Removing a ball from the game.
+     *
+     * @param b the ball we want to remove.
+     */
+    void removeBall(Ball b) {
+        this.removeSprite(b);
+        this.balls.remove(b);
+    }
+    /**.
+     * getEvents.
+     * @return the events of the current frame.
+     */
+    public GameEventQueue getEvents() {
+        return this.events;
+    }
+    /**.
+     * getBalls.
+     * @return the balls that are in the game.
+     */
+    public List<Ball> getBalls() {
+        return Collections.unmodifiableList(this.balls);
+    }
+    /**.
+     * getBlocks.
+     * @return the blocks of the level (also the removed ones) in the order of the level information.
+     */
+    public List<Block> getBlocks() {
+        return Collections.unmodifiableList(this.blocks);
+    }
+    /**.
+     * getBlockField.
+     * @return the field of the blocks of the level, null if the blocks are in getBlocks().
+     */
+    public BlockField getBlockField() {
+        return this.field;
+    }
+    /**.
+     * getPaddle.
+     * @return the paddle of the current turn.
+     */
+    public Paddle getPaddle() {
+        return this.paddle;
+    }
+    /**.
+     * getHitPoints.
+     * @return the hit points of each block of the level now (0 for removed blocks).
+     */
+    public int[] getHitPoints() {
+        if (this.field != null) {
+            return this.field.getHitPoints();
+        }
+        int[] hitPoints = new int[this.blocks.size()];
+        for (int i = 0; i < hitPoints.length; i++) {
+            hitPoints[i] = this.blocks.get(i).getHitPoints();
+        }
+        return hitPoints;
     }
     /**.
      * noMoreBlocks.
@@ -0,0 +1,209 @@
+package game;
+
+import geometry.Rectangle;
+
+/**.
+ * GridEntry.
+ * The place of one collidable in the grid of the game environment.
+ * We save the cells it is in so we can move or remove it without searching all the grid.
+ * We also save its index in each of those cells (or in the outside list) so removing it from a cell
+ * Doesn't need to search the cell.
+ */
+class GridEntry {
+    //The collidable this entry is of.
+    private Collidable collidable;
+    //The order the collidable was added to the environment (to break ties like the list did).
+    private int order;
+    //The range of cells the collidable is in.
+    private int minColumn;
+    private int minRow;
+    private int maxColumn;
+    private int maxRow;
+    //Determines if the collidable isn't inside the grid bounds.
+    private boolean outside;
+    //The index of the entry in each of its cells (row after row), or in the outside list.
+    private int[] indexes;
+    private int outsideIndex;
+    //Determines if the collidable isn't hit anymore (it is removed from the grid later).
+    private boolean disabled;
+    //The bounds of the collision rectangle when the entry was placed or last updated.
+    private double left;
+    private double top;
+    private double right;
+    private double bottom;
+    /**.
+     * Creates new instance of GridEntry.
+     * The constructor of our class.
+     *
+     * @param collidable the collidable this entry is of.
+     * @param order the order the collidable was added to the environment.
+     */
+    GridEntry(Collidable collidable, int order) {
+        this.collidable = collidable;
+        this.order = order;
+        this.outside = false;
+        this.indexes = new int[1];
+        this.outsideIndex = -1;
+        this.disabled = false;
+    }
+    /**.
+     * getCollidable.
+     * @return the collidable of this entry.
+     */
+    Collidable getCollidable() {
+        return this.collidable;
+    }
+    /**.
+     * getOrder.
+     * @return the order the collidable was added to the environment.
+     */
+    int getOrder() {
+        return this.order;
+    }
+    /**.
+     * isDisabled.
+     * @return true if the collidable isn't hit anymore.
+     */
+    boolean isDisabled() {
+        return this.disabled;
+    }
+    /**.
+     * disable.
+     * The collidable isn't hit anymore, it stays in its cells until it is removed.
+     */
+    void disable() {
+        this.disabled = true;
+    }
+    /**.
+     * getRectangle.
+     * @return the current collision rectangle of the collidable.
+     */
+    Rectangle getRectangle() {
+        return this.collidable.getCollisionRectangle();
+    }
+    /**.
+     * setBounds.
+     * Keeping the bounds of the rectangle, so we know later if the collidable really moved.
+     *
+     * @param rect the current collision rectangle of the collidable.
+     */
+    void setBounds(Rectangle rect) {
+        this.left = rect.getLeft();
+        this.top = rect.getTop();
+        this.right = rect.getRight();
+        this.bottom = rect.getBottom();
+    }
+    /**.
+     * sameBounds.
+     * @param rect the current collision rectangle of the collidable.
+     * @return true if it has the bounds we kept, false otherwise.
+     */
+    boolean sameBounds(Rectangle rect) {
+        return this.left == rect.getLeft() && this.top == rect.getTop() && this.right == rect.getRight()
+                && this.bottom == rect.getBottom();
+    }
+    /**.
+     * setCells.
+     * Setting the range of cells the collidable is in.
+     *
+     * @param minCol the first column.
+     * @param minR the first row.
+     * @param maxCol the last column.
+     * @param maxR the last row.
+     */
+    void setCells(int minCol, int minR, int maxCol, int maxR) {
+        this.minColumn = minCol;
+        this.minRow = minR;
+        this.maxColumn = maxCol;
+        this.maxRow = maxR;
+        int count = (maxCol - minCol + 1) * (maxR - minR + 1);
+        if (this.indexes.length < count) {
+            this.indexes = new int[count];
+        }
+    }
+    /**.
+     * sameCells.
+     * @param minCol the first column.
+     * @param minR the first row.
+     * @param maxCol the last column.
+     * @param maxR the last row.
+     * @return true if the entry is already in exactly those cells, false otherwise.
+     */
+    boolean sameCells(int minCol, int minR, int maxCol, int maxR) {
+        return this.minColumn == minCol && this.minRow == minR && this.maxColumn == maxCol && this.maxRow == maxR;
+    }
+    /**.
+     * getMinColumn.
+     * @return the first column the collidable is in.
+     */
+    int getMinColumn() {
+        return this.minColumn;
+    }
+    /**.
+     * getMinRow.
+     * @return the first row the collidable is in.
+     */
+    int getMinRow() {
+        return this.minRow;
+    }
+    /**.
+     * getMaxColumn.
+     * @return the last column the collidable is in.
+     */
+    int getMaxColumn() {
+        return this.maxColumn;
+    }
+    /**.
+     * getMaxRow.
+     * @return the last row the collidable is in.
+     */
+    int getMaxRow() {
+        return this.maxRow;
+    }
+    /**.
+     * getIndex.
+     * @param r a row the collidable is in.
+     * @param col a column the collidable is in.
+     * @return the index of the entry in the list of that cell.
+     */
+    int getIndex(int r, int col) {
+        return this.indexes[(r - this.minRow) * (this.maxColumn - this.minColumn + 1) + col - this.minColumn];
+    }
+    /**.
+     * setIndex.
+     * @param r a row the collidable is in.
+     * @param col a column the collidable is in.
+     * @param i the index of the entry in the list of that cell.
+     */
+    void setIndex(int r, int col, int i) {
+        this.indexes[(r - this.minRow) * (this.maxColumn - this.minColumn + 1) + col - this.minColumn] = i;
+    }
+    /**.
+     * getOutsideIndex.
+     * @return the index of the entry in the outside list.
+     */
+    int getOutsideIndex() {
+        return this.outsideIndex;
+    }
+    /**.
+     * setOutsideIndex.
+     * @param i the index of the entry in the outside list.
+     */
+    void setOutsideIndex(int i) {
+        this.outsideIndex = i;
+    }
+    /**.
+     * isOutside.
+     * @return true if the collidable isn't inside the grid bounds, false otherwise.
+     */
+    boolean isOutside() {
+        return this.outside;
+    }
+    /**.
+     * setOutside.
+     * @param isOutside true if the collidable isn't inside the grid bounds.
+     */
+    void setOutside(boolean isOutside) {
+        this.outside = isOutside;
+    }
+}
@@ -0,0 +1,137 @@
+package game;
+
+import biuoop.DrawSurface;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Polygon;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**.
+ * ImageDrawSurface.
+ * Creates a DrawSurface that draws on an image, so sprites can be drawn once and the image drawn every frame.
+ * We use a proxy so it works with every version of DrawSurface, isSupported tells if we draw all its methods.
+ */
+public class ImageDrawSurface implements InvocationHandler {
+    //The methods of DrawSurface we draw on an image.
+    private static final Set<String> METHODS = new HashSet<String>(Arrays.asList("getWidth", "getHeight"
+            , "setColor", "fillRectangle", "drawRectangle", "drawLine", "fillOval", "drawOval", "fillCircle"
+            , "drawCircle", "fillPolygon", "drawPolygon", "drawImage", "drawText"));
+    //The font of the text (its size is given in each call).
+    private static final String FONT = "Arial";
+    /**.
+     * isSupported.
+     * Checked once before we draw on images, so a DrawSurface with methods we don't know isn't drawn on images.
+     *
+     * @return true if we draw every method of DrawSurface on an image, false otherwise.
+     */
+    public static boolean isSupported() {
+        for (Method method : DrawSurface.class.getMethods()) {
+            if (!METHODS.contains(method.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    /**.
+     * create.
+     * @param image the image we draw on.
+     * @param graphics the graphics of the image.
+     * @return a new DrawSurface that draws on the image.
+     */
+    public static DrawSurface create(BufferedImage image, Graphics2D graphics) {
+        return (DrawSurface) Proxy.newProxyInstance(DrawSurface.class.getClassLoader()
+                , new Class<?>[] {DrawSurface.class}, new ImageDrawSurface(image, graphics));
+    }
+    //The image we draw on and its graphics.
+    private BufferedImage image;
+    private Graphics2D graphics;
+    //The font of the last text we drew.
+    private Font font;
+    /**.
+     * Creates new instance of ImageDrawSurface.
+     * The constructor of our class.
+     *
+     * @param image the image we draw on.
+     * @param graphics the graphics of the image.
+     */
+    private ImageDrawSurface(BufferedImage image, Graphics2D graphics) {
+        this.image = image;
+        this.graphics = graphics;
+    }
+    /**.
+     * invoke.
+     * Doing each drawing with the graphics of the image.
+     *
+     * @param proxy the surface.
+     * @param method the method that was called.
+     * @param args the arguments of the call.
+     * @return the result of the call.
+     */
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        Graphics2D g = this.graphics;
+        if (name.equals("getWidth")) {
+            return this.image.getWidth();
+        } else if (name.equals("getHeight")) {
+            return this.image.getHeight();
+        } else if (name.equals("setColor")) {
+            g.setColor((Color) args[0]);
+        } else if (name.equals("fillRectangle")) {
+            g.fillRect(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3));
+        } else if (name.equals("drawRectangle")) {
+            g.drawRect(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3));
+        } else if (name.equals("drawLine")) {
+            g.drawLine(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3));
+        } else if (name.equals("fillOval")) {
+            g.fillOval(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3));
+        } else if (name.equals("drawOval")) {
+            g.drawOval(arg(args, 0), arg(args, 1), arg(args, 2), arg(args, 3));
+        } else if (name.equals("fillCircle")) {
+            //The x, y of the center and the radius.
+            int r = arg(args, 2);
+            g.fillOval(arg(args, 0) - r, arg(args, 1) - r, 2 * r, 2 * r);
+        } else if (name.equals("drawCircle")) {
+            int r = arg(args, 2);
+            g.drawOval(arg(args, 0) - r, arg(args, 1) - r, 2 * r, 2 * r);
+        } else if (name.equals("fillPolygon")) {
+            g.fillPolygon((Polygon) args[0]);
+        } else if (name.equals("drawPolygon")) {
+            g.drawPolygon((Polygon) args[0]);
+        } else if (name.equals("drawImage")) {
+            g.drawImage((Image) args[2], arg(args, 0), arg(args, 1), null);
+        } else if (name.equals("drawText")) {
+            //The x, y of the start of the baseline, the text and the size of the font.
+            int size = arg(args, 3);
+            if (this.font == null || this.font.getSize() != size) {
+                this.font = new Font(FONT, Font.PLAIN, size);
+            }
+            g.setFont(this.font);
+            g.drawString((String) args[2], arg(args, 0), arg(args, 1));
+        } else if (name.equals("hashCode")) {
+            return System.identityHashCode(proxy);
+        } else if (name.equals("equals")) {
+            return proxy == args[0];
+        } else if (name.equals("toString")) {
+            return "ImageDrawSurface";
+        }
+        return null;
+    }
+    /**.
+     * arg.
+     * @param args the arguments of a call.
+     * @param i the index of an int argument.
+     * @return the argument.
+     */
+    private static int arg(Object[] args, int i) {
+        return (Integer) args[i];
+    }
+}
@@ -0,0 +1,17 @@
+package game;
+import biuoop.DrawSurface;
+/**.
+ * Interpolated.
+ * A sprite that can be drawn between its place before the last step and its place after it,
+ * So it moves smoothly when we draw frames at another rate than the steps.
+ */
+public interface Interpolated extends Sprite {
+    /**.
+     * drawOn.
+     * Draw the sprite between its last two places.
+     *
+     * @param d the drawsurface we will draw the sprite on.
+     * @param alpha 0 for the place before the last step, 1 for the place after it.
+     */
+    void drawOn(DrawSurface d, double alpha);
+}
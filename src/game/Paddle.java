@@ -11,17 +11,21 @@ import geometry.Rectangle;
  * It should implement the Sprite and the Collidable interfaces.
  * It should also know how to move to the left and to the right.
  */
-public class Paddle implements Sprite, Collidable {
+public class Paddle implements Interpolated, Collidable {
     //The key pressed
     private biuoop.KeyboardSensor keyboard;
     //The rectangle represents paddle.
     private Rectangle rectangle;
     //The color of the paddle.
     private java.awt.Color color;
-    //The speed of the paddle - the steps he move left and right.
+    //The speed of the paddle in pixels per second.
     private int speed;
-    //Determines if first frame.
-    private boolean firstFrame;
+    //The pixels the paddle moves left or right in one move (the speed times the seconds of a step).
+    private double stepSize;
+    //The x cordinate of the paddle before the last step (to draw the paddle between steps).
+    private double previousX;
+    //The game the paddle is in (null if it isn't in a game).
+    private GameLevel gameLevel;
     /**.
      * Creates new instance of Paddle.
      * The constructor of our class Paddle.
@@ -35,8 +39,9 @@ public class Paddle implements Sprite, Collidable {
         this.color = color;
         //Setting a value to speed.
         this.speed = 5;
-        //Setting first frame to be true
-        this.firstFrame = true;
+        this.stepSize = this.speed;
+        this.previousX = rectangle.getUpperLeft().getX();
+        this.gameLevel = null;
     }
     /**.
      * setSpeed.
@@ -46,6 +51,7 @@ public class Paddle implements Sprite, Collidable {
      */
     public void setSpeed(int speedPaddle) {
         this.speed = speedPaddle;
+        this.stepSize = speedPaddle;
     }
     /**.
      * moveLeft.
@@ -54,14 +60,14 @@ public class Paddle implements Sprite, Collidable {
      */
     public void moveLeft() {
         //Where the new rectangle should be
-        double newX = this.rectangle.getUpperLeft().getX() - this.speed;
+        double newX = this.rectangle.getUpperLeft().getX() - this.stepSize;
         //Check if it is passing the margins of the screen.
         if (newX <= GameLevel.SCREENMARGIN) {
             newX = GameLevel.SCREENMARGIN;
         }
         this.rectangle = new Rectangle(new Point(newX, this.rectangle.getUpperLeft().getY())
                 , this.rectangle.getWidth(), this.rectangle.getHeight());
-
+        moved();
     }
     /**.
      * moveRight.
@@ -70,8 +76,8 @@ public class Paddle implements Sprite, Collidable {
      */
     public void moveRight() {
         //Where the new rectangle should be
-        double newX = this.rectangle.getUpperLeft().getX() + this.speed;
-        double newRightX = this.rectangle.getUpperRight().getX() + this.speed;
+        double newX = this.rectangle.getUpperLeft().getX() + this.stepSize;
+        double newRightX = this.rectangle.getUpperRight().getX() + this.stepSize;
 
         if (newRightX >= GameLevel.GUIWIDTH - GameLevel.SCREENMARGIN) {
             newX = GameLevel.GUIWIDTH - GameLevel.SCREENMARGIN - this.rectangle.getWidth();
@@ -79,6 +85,16 @@ public class Paddle implements Sprite, Collidable {
         //Check if it is passing the margins of the screen.
         this.rectangle = new Rectangle(new Point(newX, this.rectangle.getUpperLeft().getY())
                 , this.rectangle.getWidth(), this.rectangle.getHeight());
+        moved();
+    }
+    /**.
+     * moved.
+     * Telling the game that the paddle's collision rectangle changed.
+     */
+    private void moved() {
+        if (this.gameLevel != null) {
+            this.gameLevel.updateCollidable(this);
+        }
     }
     // Sprite
     /**.
@@ -91,12 +107,9 @@ public class Paddle implements Sprite, Collidable {
      * For example, in case we set 60 frames per second the dt value will be 1/60
      */
     public void timePassed(double dt) {
-        //updating speed by dt
-        if (this.firstFrame) {
-            double updated = (double) dt * this.speed;
-            this.speed = (int) updated;
-            this.firstFrame = false;
-        }
+        //The speed is in pixels per second so in this step we move speed * dt.
+        this.stepSize = dt * this.speed;
+        this.previousX = this.rectangle.getUpperLeft().getX();
         //Left key pressed
         if (this.keyboard.isPressed(KeyboardSensor.LEFT_KEY)) {
             moveLeft();
@@ -115,6 +128,18 @@ public class Paddle implements Sprite, Collidable {
     public void drawOn(DrawSurface d) {
         this.getCollisionRectangle().drawRectangle(this.color, d);
     }
+    /**.
+     * drawOn.
+     * Draw the paddle between its place before the last step and its place now.
+     * @param d the drawsurfce.
+     * @param alpha 0 for the place before the last step, 1 for the place now.
+     */
+    public void drawOn(DrawSurface d, double alpha) {
+        Point upperLeft = this.rectangle.getUpperLeft();
+        double x = this.previousX + alpha * (upperLeft.getX() - this.previousX);
+        new Rectangle(new Point(x, upperLeft.getY()), this.rectangle.getWidth(), this.rectangle.getHeight())
+                .drawRectangle(this.color, d);
+    }
 
     // Collidable
     /**.
@@ -143,48 +168,81 @@ public class Paddle implements Sprite, Collidable {
      */
     public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
         //Case of hitting under the paddle it means go to "death" region.
-        if (collisionPoint.getY() == this.getCollisionRectangle().getLowerLeft().getY()) {
+        if (isBottom(collisionPoint.getY())) {
             return new Velocity(currentVelocity.getDx(), -currentVelocity.getDy());
         }
         //Check which region the collision point was.
-        int region = getRegion(collisionPoint);
+        return Velocity.fromAngleAndSpeed(angleOf(getRegion(collisionPoint.getX())), currentVelocity.getSpeed());
+    }
+    /**.
+     * hit.
+     * Like hit(hitter, collisionPoint, currentVelocity), setting the new velocity on the ball.
+     *
+     * @param hitter the ball hitted the paddle.
+     * @param x the x cordinate of the point that the ball collided with the paddle.
+     * @param y the y cordinate of the point that the ball collided with the paddle.
+     */
+    public void hit(Ball hitter, double x, double y) {
+        if (isBottom(y)) {
+            hitter.setVelocity(hitter.getDx(), -hitter.getDy());
+            return;
+        }
+        double angle = angleOf(getRegion(x));
+        double ballSpeed = Velocity.speed(hitter.getDx(), hitter.getDy());
+        hitter.setVelocity(Velocity.dxOf(angle, ballSpeed), Velocity.dyOf(angle, ballSpeed));
+    }
+    /**.
+     * isBottom.
+     * @param y the y cordinate of the collision point.
+     * @return true if the ball hit under the paddle.
+     */
+    private boolean isBottom(double y) {
+        return y == this.rectangle.getBottom();
+    }
+    /**.
+     * angleOf.
+     * @param region the region that the hit point was.
+     * @return the angle the ball moves in after hitting the region.
+     */
+    private static double angleOf(int region) {
         //region 5 is 60 degreees
         //Because of the moveonestep function we count it as 120 (180-120=60).
         if (region == 5) {
-            return Velocity.fromAngleAndSpeed(120, currentVelocity.getSpeed());
+            return 120;
         }
         //region 4 is 30 degreees
         //Because of the moveonestep function we count it as 120 (180-150=30).
         if (region == 4) {
-            return Velocity.fromAngleAndSpeed(150, currentVelocity.getSpeed());
+            return 150;
         }
         //region 3 is 0 degreees
         //Because of the moveonestep function we count it as 180 (180-0=180).
         if (region == 3) {
-            return Velocity.fromAngleAndSpeed(180, currentVelocity.getSpeed());
+            return 180;
         }
         //region 2 is 330 degreees = -30
         //Because of the moveonestep function we count it as 120 (180-210=-30).
         if (region == 2) {
-            return Velocity.fromAngleAndSpeed(210, currentVelocity.getSpeed());
+            return 210;
         }
 
         //region 1 is 300 degreees
         //Because of the moveonestep function we count it as -120 (180--120=300).
-        return Velocity.fromAngleAndSpeed(-120, currentVelocity.getSpeed());
+        return -120;
     }
     /**.
      * getRegion.
      * The paddle is divided to 5 regions.
      * We determine the region by parts of 1 (0.2 is first, 0.4 second...).
-     * @param collisionPoint the point that the ball collided with the paddle.
+     * @param x the x cordinate of the point that the ball collided with the paddle.
      * @return the region that the hit point was.
      */
-    private int getRegion(Point collisionPoint) {
+    private int getRegion(double x) {
         //The length of the paddle.
-        double lengthPaddle = Math.abs(this.rectangle.getUpperLeft().getX() - this.rectangle.getUpperRight().getX());
+        double lengthPaddle = Math.abs(this.rectangle.getUpperLeft().getX()
+                - (this.rectangle.getUpperLeft().getX() + this.rectangle.getWidth()));
         //The distance of x- cordinates between the collision point and the start of the paddle.
-        double lengthFromStart = Math.abs(this.rectangle.getUpperLeft().getX() - collisionPoint.getX());
+        double lengthFromStart = Math.abs(this.rectangle.getUpperLeft().getX() - x);
         //The dose between the length.
         double dose = lengthFromStart / lengthPaddle;
         //region 1
@@ -215,6 +273,7 @@ public class Paddle implements Sprite, Collidable {
     public void addToGame(GameLevel g) {
         g.addCollidable(this);
         g.addSprite(this);
+        this.gameLevel = g;
 
     }
 
@@ -229,5 +288,6 @@ public class Paddle implements Sprite, Collidable {
         gameLevel.removeCollidable(this);
         //Removing it from the sprites collection.
         gameLevel.removeSprite(this);
+        this.gameLevel = null;
     }
-}
\ No newline at end of file
+}
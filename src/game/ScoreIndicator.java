@@ -58,6 +58,6 @@ public class ScoreIndicator implements Sprite {
      * @param g the game we want to add the sprite to.
      */
     public void addToGame(GameLevel g) {
-        g.addSprite(this);
+        g.addSprite(this, SpriteCollection.INDICATORS);
     }
 }
@@ -2,30 +2,78 @@ package game;
 import biuoop.DrawSurface;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 /**.
  * SpriteCollection
  * Currently, the GameEnvironment holds a list of Collidable objects.
  * Similarly, a SpriteCollection will hold a collection of sprites.
+ * The sprites are kept in layers, a layer is drawn after the layers with smaller numbers.
+ * The sprites of a layer are drawn and updated in the order they were added, removing a sprite keeps that order.
+ * Sprites that are added while we go over the collection are added when we finish.
+ * Removing a sprite only marks its entry, each layer with marked entries is compacted once before we go over
+ * The collection again, so removing doesn't depend on the number of sprites.
  */
 public class SpriteCollection {
-    //The list of sprites.
-    private List<Sprite> sprites;
+    //The layers, from the first drawn to the last.
+    public static final int BACKGROUND = 0;
+    public static final int BLOCKS = 1;
+    public static final int SPRITES = 2;
+    public static final int INDICATORS = 3;
+    //The number of layers.
+    private static final int LAYERS = 4;
+    //The entries of each layer.
+    private List<List<SpriteEntry>> layers;
+    //The entry of each sprite.
+    private Map<Sprite, SpriteEntry> entries;
+    //The sprites that were added while we went over the collection.
+    private List<SpriteEntry> added;
+    //The number of marked entries in each layer, they are taken out before we go over the collection again.
+    private int[] removed;
+    //Determines if we are going over the collection now.
+    private boolean busy;
     /**.
      * Creates new instance of SpriteCollection.
      * The constructor of our class SpriteCollection.
-     * Instalize the list of Sprite objects.
+     * Instalize the layers of Sprite objects.
      */
     public SpriteCollection() {
-        this.sprites = new ArrayList<Sprite>();
+        this.layers = new ArrayList<List<SpriteEntry>>(LAYERS);
+        for (int i = 0; i < LAYERS; i++) {
+            this.layers.add(new ArrayList<SpriteEntry>());
+        }
+        this.entries = new HashMap<Sprite, SpriteEntry>();
+        this.added = new ArrayList<SpriteEntry>();
+        this.removed = new int[LAYERS];
+        this.busy = false;
     }
     /**.
      * addSprite
-     * Add the given Sprite to the environment.
+     * Add the given Sprite to the environment (to the SPRITES layer).
      * @param  s the Sprite we wnat to add.
      */
     public void addSprite(Sprite s) {
-        this.sprites.add(s);
+        addSprite(s, SPRITES);
+    }
+    /**.
+     * addSprite
+     * Add the given Sprite to the given layer.
+     * A sprite that is already in the collection isn't added again.
+     * @param  s the Sprite we wnat to add.
+     * @param  layer the layer the sprite is drawn in (BACKGROUND, BLOCKS, SPRITES or INDICATORS).
+     */
+    public void addSprite(Sprite s, int layer) {
+        if (this.entries.containsKey(s)) {
+            return;
+        }
+        SpriteEntry entry = new SpriteEntry(s, layer);
+        this.entries.put(s, entry);
+        if (this.busy) {
+            this.added.add(entry);
+        } else {
+            insert(entry);
+        }
     }
 
     /**.
@@ -34,7 +82,68 @@ public class SpriteCollection {
      * @param  s the Sprite we want to remove.
      */
     public void removeSprite(Sprite s) {
-        this.sprites.remove(s);
+        SpriteEntry entry = this.entries.remove(s);
+        //Not in the collection.
+        if (entry == null) {
+            return;
+        }
+        //We don't call the sprite anymore, and take it out before we go over the collection again.
+        entry.setRemoved(true);
+        this.removed[entry.getLayer()]++;
+    }
+    /**.
+     * insert.
+     * Adding the entry to the end of its layer.
+     *
+     * @param entry the entry we add.
+     */
+    private void insert(SpriteEntry entry) {
+        this.layers.get(entry.getLayer()).add(entry);
+    }
+    /**.
+     * compact.
+     * Taking the marked entries out of the layer in one pass, the other entries keep their order.
+     *
+     * @param l the layer.
+     */
+    private void compact(int l) {
+        List<SpriteEntry> layer = this.layers.get(l);
+        int size = 0;
+        for (int i = 0; i < layer.size(); i++) {
+            SpriteEntry entry = layer.get(i);
+            if (!entry.isRemoved()) {
+                layer.set(size, entry);
+                size++;
+            }
+        }
+        layer.subList(size, layer.size()).clear();
+        this.removed[l] = 0;
+    }
+    /**.
+     * start.
+     * Called before we go over the collection.
+     * Taking out the sprites that were removed since the last time, once for each layer.
+     */
+    private void start() {
+        for (int l = 0; l < LAYERS; l++) {
+            if (this.removed[l] > 0) {
+                compact(l);
+            }
+        }
+        this.busy = true;
+    }
+    /**.
+     * finish.
+     * Called when we finish going over the collection.
+     * Adding the sprites that were added meanwhile.
+     */
+    private void finish() {
+        this.busy = false;
+        //A sprite can be added and removed in the same time, it is taken out in the next start.
+        for (int i = 0; i < this.added.size(); i++) {
+            insert(this.added.get(i));
+        }
+        this.added.clear();
     }
     /**.
      * notifyAllTimePassed.
@@ -46,9 +155,17 @@ public class SpriteCollection {
      * For example, in case we set 60 frames per second the dt value will be 1/60
      */
     public void notifyAllTimePassed(double dt) {
-        for (int i = 0; i < this.sprites.size(); i++) {
-            this.sprites.get(i).timePassed(dt);
+        start();
+        for (int l = 0; l < LAYERS; l++) {
+            List<SpriteEntry> layer = this.layers.get(l);
+            for (int i = 0; i < layer.size(); i++) {
+                SpriteEntry entry = layer.get(i);
+                if (!entry.isRemoved()) {
+                    entry.getSprite().timePassed(dt);
+                }
+            }
         }
+        finish();
     }
     /**.
      * notifyAllTimePassed
@@ -56,8 +173,41 @@ public class SpriteCollection {
      * @param d a drawsurface.
      */
     public void drawAllOn(DrawSurface d) {
-        for (int i = 0; i < this.sprites.size(); i++) {
-            this.sprites.get(i).drawOn(d);
+        start();
+        for (int l = 0; l < LAYERS; l++) {
+            List<SpriteEntry> layer = this.layers.get(l);
+            for (int i = 0; i < layer.size(); i++) {
+                SpriteEntry entry = layer.get(i);
+                if (!entry.isRemoved()) {
+                    entry.getSprite().drawOn(d);
+                }
+            }
+        }
+        finish();
+    }
+    /**.
+     * drawAllOn
+     * call drawOn on all sprites, the sprites that can be drawn between steps are drawn by alpha.
+     * @param d a drawsurface.
+     * @param alpha the part of a step that passed since the last step.
+     */
+    public void drawAllOn(DrawSurface d, double alpha) {
+        start();
+        for (int l = 0; l < LAYERS; l++) {
+            List<SpriteEntry> layer = this.layers.get(l);
+            for (int i = 0; i < layer.size(); i++) {
+                SpriteEntry entry = layer.get(i);
+                if (entry.isRemoved()) {
+                    continue;
+                }
+                Sprite s = entry.getSprite();
+                if (s instanceof Interpolated) {
+                    ((Interpolated) s).drawOn(d, alpha);
+                } else {
+                    s.drawOn(d);
+                }
+            }
         }
+        finish();
     }
 }
@@ -0,0 +1,55 @@
+package game;
+
+/**.
+ * SpriteEntry.
+ * The place of one sprite in the sprite collection.
+ * We save the layer of the sprite and mark the entry when it is removed, so removing it doesn't search the list.
+ */
+class SpriteEntry {
+    //The sprite this entry is of.
+    private Sprite sprite;
+    //The layer the sprite is drawn in.
+    private int layer;
+    //Determines if the sprite was removed (it is taken out of its layer before the next walk).
+    private boolean removed;
+    /**.
+     * Creates new instance of SpriteEntry.
+     * The constructor of our class.
+     *
+     * @param sprite the sprite this entry is of.
+     * @param layer the layer the sprite is drawn in.
+     */
+    SpriteEntry(Sprite sprite, int layer) {
+        this.sprite = sprite;
+        this.layer = layer;
+        this.removed = false;
+    }
+    /**.
+     * getSprite.
+     * @return the sprite of this entry.
+     */
+    Sprite getSprite() {
+        return this.sprite;
+    }
+    /**.
+     * getLayer.
+     * @return the layer the sprite is drawn in.
+     */
+    int getLayer() {
+        return this.layer;
+    }
+    /**.
+     * isRemoved.
+     * @return true if the sprite was removed and waits to be taken out of its layer, false otherwise.
+     */
+    boolean isRemoved() {
+        return this.removed;
+    }
+    /**.
+     * setRemoved.
+     * @param isRemoved true if the sprite was removed.
+     */
+    void setRemoved(boolean isRemoved) {
+        this.removed = isRemoved;
+    }
+}
@@ -0,0 +1,291 @@
+package game;
+
+import biuoop.DrawSurface;
+import creators.ImageCache;
+import listeners.HitListener;
+import listeners.HitNotifier;
+import listeners.ListenerRegistry;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**.
+ * StaticLayer.
+ * The sprites of the background and the blocks layers drawn once to an image, so a frame draws the image
+ * And then only the sprites that move.
+ * A block that was hit is drawn again only if its fill changed or it was removed, and only in its area:
+ * We clear the area and draw the background and the blocks in it again (clipped to the area).
+ * The sprites of the layer don't move, their timePassed isn't called.
+ * Every sprite is drawn on the image with ImageDrawSurface, the game level uses the layer only if it is supported.
+ */
+public class StaticLayer implements Sprite, HitListener {
+    //The most hit blocks we keep until the next frame, after that we draw the whole image again.
+    private static final int MAXHITS = 256;
+    //The color of the screen before anything is drawn on it.
+    private static final Color CLEAR = Color.WHITE;
+    //The sprites of the background and of the blocks layers, in the order they were added.
+    private Set<Sprite> background;
+    private Set<Sprite> blocks;
+    //The image, its graphics and a draw surface that draws on it (created in the first frame).
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private DrawSurface surface;
+    //Determines if we draw the whole image again in the next frame.
+    private boolean full;
+    //The blocks that were hit since the last frame and their hit points before the hit.
+    private List<Block> hitBlocks;
+    private int[] hitPoints;
+    //The areas we draw again in the next frame: x0, y0, x1, y1 (without x1, y1).
+    private List<int[]> areas;
+    /**.
+     * Creates new instance of StaticLayer.
+     * The constructor of our class, the layer is empty.
+     */
+    public StaticLayer() {
+        this.background = new LinkedHashSet<Sprite>();
+        this.blocks = new LinkedHashSet<Sprite>();
+        this.full = true;
+        this.hitBlocks = new ArrayList<Block>();
+        this.hitPoints = new int[MAXHITS];
+        this.areas = new ArrayList<int[]>();
+    }
+    /**.
+     * isStatic.
+     * @param layer a layer of SpriteCollection.
+     * @return true if the sprites of the layer are kept in the static layer.
+     */
+    public static boolean isStatic(int layer) {
+        return layer == SpriteCollection.BACKGROUND || layer == SpriteCollection.BLOCKS;
+    }
+    /**.
+     * addSprite.
+     * Adding a sprite of the background or the blocks layer, we listen to its hits if it is a block.
+     *
+     * @param s the sprite.
+     * @param layer SpriteCollection.BACKGROUND or SpriteCollection.BLOCKS.
+     */
+    public void addSprite(Sprite s, int layer) {
+        Set<Sprite> sprites = layer == SpriteCollection.BACKGROUND ? this.background : this.blocks;
+        if (!sprites.add(s)) {
+            return;
+        }
+        if (s instanceof HitNotifier) {
+            //We keep the block before the other listeners remove it.
+            ((HitNotifier) s).addHitListener(this, ListenerRegistry.FIRST);
+        }
+        changed(s);
+    }
+    /**.
+     * removeSprite.
+     * @param s the sprite we remove, nothing happens if it isn't in the layer.
+     */
+    public void removeSprite(Sprite s) {
+        if (!this.background.remove(s) && !this.blocks.remove(s)) {
+            return;
+        }
+        if (s instanceof HitNotifier) {
+            ((HitNotifier) s).removeHitListener(this);
+        }
+        changed(s);
+    }
+    /**.
+     * changed.
+     * Drawing the area of a block again in the next frame, any other sprite draws the whole image again.
+     *
+     * @param s the sprite that was added or removed.
+     */
+    private void changed(Sprite s) {
+        if (s instanceof Block) {
+            Block block = (Block) s;
+            addArea(block, block.getHitPoints(), block.getHitPoints());
+        } else {
+            this.full = true;
+        }
+    }
+    /**.
+     * hitEvent.
+     * Keeping the block and its hit points, the block changes after the listeners are called.
+     *
+     * @param beingHit the block that was hit.
+     * @param hitter the ball that hit it.
+     */
+    public void hitEvent(Block beingHit, Ball hitter) {
+        if (this.full) {
+            return;
+        }
+        if (this.hitBlocks.size() == MAXHITS) {
+            //Many hits without a frame (a game without a screen), the next frame draws everything.
+            this.full = true;
+            this.hitBlocks.clear();
+            this.areas.clear();
+            return;
+        }
+        this.hitPoints[this.hitBlocks.size()] = beingHit.getHitPoints();
+        this.hitBlocks.add(beingHit);
+    }
+    /**.
+     * timePassed.
+     * The sprites of the layer don't move.
+     *
+     * @param dt do nothing on this class.
+     */
+    public void timePassed(double dt) {
+        return;
+    }
+    /**.
+     * addToGame.
+     * The game level creates its static layer and draws it before its other sprites, so we don't add it.
+     *
+     * @param g the game.
+     */
+    public void addToGame(GameLevel g) {
+        return;
+    }
+    /**.
+     * drawOn.
+     * Drawing what changed on the image and then the image on the surface.
+     *
+     * @param d the draw surface.
+     */
+    public void drawOn(DrawSurface d) {
+        update(d);
+        d.drawImage(0, 0, this.image);
+    }
+    /**.
+     * update.
+     * Drawing the areas of the blocks that changed on the image (or the whole image).
+     *
+     * @param d the draw surface, the image has its size.
+     */
+    private void update(DrawSurface d) {
+        if (this.image == null) {
+            this.image = ImageCache.createImage(d.getWidth(), d.getHeight(), Transparency.OPAQUE);
+            this.graphics = this.image.createGraphics();
+            this.surface = ImageDrawSurface.create(this.image, this.graphics);
+            this.full = true;
+        }
+        if (this.full) {
+            this.hitBlocks.clear();
+            this.areas.clear();
+            this.full = false;
+            draw(new int[] {0, 0, this.image.getWidth(), this.image.getHeight()});
+            return;
+        }
+        for (int i = 0; i < this.hitBlocks.size(); i++) {
+            Block block = this.hitBlocks.get(i);
+            BlockType type = block.getType();
+            int points = block.getHitPoints();
+            if (isRemovedFieldBlock(block) || type.colorOf(points) != type.colorOf(this.hitPoints[i])
+                    || type.imageOf(points) != type.imageOf(this.hitPoints[i])) {
+                addArea(block, this.hitPoints[i], points);
+            }
+        }
+        this.hitBlocks.clear();
+        for (int[] area : this.areas) {
+            draw(area);
+        }
+        this.areas.clear();
+    }
+    /**.
+     * isRemovedFieldBlock.
+     * The blocks of a field are removed from the field and not from the layer, so we check the field.
+     *
+     * @param block a block that was hit.
+     * @return true if it is a block of a field that was removed.
+     */
+    private static boolean isRemovedFieldBlock(Block block) {
+        return block instanceof FieldBlock
+                && ((FieldBlock) block).getField().isRemoved(((FieldBlock) block).getIndex());
+    }
+    /**.
+     * addArea.
+     * Adding the area a block was drawn in or will be drawn in (its image can be bigger than it).
+     *
+     * @param block the block.
+     * @param before the hit points it was drawn with.
+     * @param after the hit points it will be drawn with.
+     */
+    private void addArea(Block block, int before, int after) {
+        if (this.full) {
+            return;
+        }
+        int x = (int) block.getCollisionRectangle().getLeft();
+        int y = (int) block.getCollisionRectangle().getTop();
+        //The stroke is drawn one pixel after the width and the height.
+        int width = (int) block.getCollisionRectangle().getWidth() + 1;
+        int height = (int) block.getCollisionRectangle().getHeight() + 1;
+        Image[] images = {block.getType().imageOf(before), block.getType().imageOf(after)};
+        for (Image i : images) {
+            if (i != null) {
+                width = Math.max(width, i.getWidth(null));
+                height = Math.max(height, i.getHeight(null));
+            }
+        }
+        this.areas.add(new int[] {x, y, x + width, y + height});
+    }
+    /**.
+     * overlaps.
+     * @param x the x of a block.
+     * @param y the y of a block.
+     * @param width the width of the block.
+     * @param height the height of the block.
+     * @param image the image the block is drawn with, or null.
+     * @param area an area: x0, y0, x1, y1 (without x1, y1).
+     * @return true if drawing the block draws in the area.
+     */
+    static boolean overlaps(int x, int y, int width, int height, Image image, int[] area) {
+        int right = x + width + 1;
+        int bottom = y + height + 1;
+        if (image != null) {
+            right = Math.max(right, x + image.getWidth(null));
+            bottom = Math.max(bottom, y + image.getHeight(null));
+        }
+        return x < area[2] && y < area[3] && right > area[0] && bottom > area[1];
+    }
+    /**.
+     * draw.
+     * Clearing the area of the image and drawing the sprites in it again.
+     *
+     * @param area the area: x0, y0, x1, y1 (without x1, y1).
+     */
+    private void draw(int[] area) {
+        this.graphics.setClip(area[0], area[1], area[2] - area[0], area[3] - area[1]);
+        this.graphics.setColor(CLEAR);
+        this.graphics.fillRect(area[0], area[1], area[2] - area[0], area[3] - area[1]);
+        for (Sprite s : this.background) {
+            draw(s, area);
+        }
+        for (Sprite s : this.blocks) {
+            draw(s, area);
+        }
+        this.graphics.setClip(null);
+    }
+    /**.
+     * draw.
+     * Drawing a sprite on the image, a block only if it is in the area and a field only its blocks in the area.
+     *
+     * @param s the sprite.
+     * @param area the area: x0, y0, x1, y1 (without x1, y1).
+     */
+    private void draw(Sprite s, int[] area) {
+        if (s instanceof BlockField) {
+            ((BlockField) s).drawOn(this.surface, area);
+        } else if (s instanceof Block) {
+            Block block = (Block) s;
+            if (overlaps((int) block.getCollisionRectangle().getLeft(), (int) block.getCollisionRectangle().getTop()
+                    , (int) block.getCollisionRectangle().getWidth(), (int) block.getCollisionRectangle().getHeight()
+                    , block.getType().imageOf(block.getHitPoints()), area)) {
+                block.drawOn(this.surface);
+            }
+        } else {
+            s.drawOn(this.surface);
+        }
+    }
+}
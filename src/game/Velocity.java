@@ -53,7 +53,16 @@ public class Velocity {
      * @return the speed value of our velocity.
      */
     public double getSpeed() {
-        return Math.sqrt(Math.pow(this.dx, 2) + Math.pow(this.dy, 2));
+        return speed(this.dx, this.dy);
+    }
+    /**.
+     * speed.
+     * @param dx the change in x.
+     * @param dy the change in y.
+     * @return the speed of a velocity with this dx and dy.
+     */
+    public static double speed(double dx, double dy) {
+        return Math.sqrt(Math.pow(dx, 2) + Math.pow(dy, 2));
     }
 
     /**.
@@ -77,9 +86,25 @@ public class Velocity {
     public static Velocity fromAngleAndSpeed(double angle, double speed) {
         // As in the example if angle=90 and speed=2 dx=2 so sin90=1
         // In java math method calculate sin and cos by radians so we will cast the angles to radians.
-        double dx = speed * Math.sin(Math.toRadians(angle));
-        double dy = speed * Math.cos(Math.toRadians(angle));
-        return new Velocity(dx, dy);
+        return new Velocity(dxOf(angle, speed), dyOf(angle, speed));
+    }
+    /**.
+     * dxOf.
+     * @param angle the direction of speed vector.
+     * @param speed the size of the speed vector.
+     * @return the dx of the velocity with that speed and angle (like fromAngleAndSpeed).
+     */
+    public static double dxOf(double angle, double speed) {
+        return speed * Math.sin(Math.toRadians(angle));
+    }
+    /**.
+     * dyOf.
+     * @param angle the direction of speed vector.
+     * @param speed the size of the speed vector.
+     * @return the dy of the velocity with that speed and angle (like fromAngleAndSpeed).
+     */
+    public static double dyOf(double angle, double speed) {
+        return speed * Math.cos(Math.toRadians(angle));
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
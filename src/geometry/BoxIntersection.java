@@ -0,0 +1,180 @@
+package geometry;
+
+/**.
+ * BoxIntersection.
+ * Finds where a line segment meets the border of a box whose ribs align to the axes (like our rectangles).
+ * We use the slab method: for each axis we find the range of t (0 at the start of the segment, 1 at its end)
+ * Where the segment is between the two ribs of that axis, and the segment is in the box where the ranges meet.
+ * Everything is calculated with doubles and saved in this object, so an instance can be used again and again
+ * Without creating new objects.
+ */
+public class BoxIntersection {
+    //The ribs of the box. NONE means there is no intersection.
+    public static final int NONE = 0;
+    public static final int LEFT = 1;
+    public static final int RIGHT = 2;
+    public static final int TOP = 3;
+    public static final int BOTTOM = 4;
+    //The t of the intersection on the segment.
+    private double time;
+    //The rib of the intersection.
+    private int face;
+    //The cordinates of the intersection point.
+    private double x;
+    private double y;
+    /**.
+     * Creates new instance of BoxIntersection.
+     * The constructor of our class.
+     */
+    public BoxIntersection() {
+        this.face = NONE;
+    }
+    /**.
+     * find.
+     * Finds the closest intersection point to the start of the segment with the border of the box.
+     * If the segment starts inside the box it is the point where the segment gets out of it.
+     * The cordinate of the rib of the intersection is exactly the rib's cordinate.
+     *
+     * @param x0 the x cordinate of the start of the segment.
+     * @param y0 the y cordinate of the start of the segment.
+     * @param x1 the x cordinate of the end of the segment.
+     * @param y1 the y cordinate of the end of the segment.
+     * @param left the smallest x cordinate of the box.
+     * @param top the smallest y cordinate of the box.
+     * @param right the biggest x cordinate of the box.
+     * @param bottom the biggest y cordinate of the box.
+     * @return true if the segment meets the border of the box, false otherwise.
+     */
+    public boolean find(double x0, double y0, double x1, double y1
+            , double left, double top, double right, double bottom) {
+        this.face = NONE;
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        //The range of t between the left and right ribs and the ribs we get in and out from.
+        double nearX = Double.NEGATIVE_INFINITY;
+        double farX = Double.POSITIVE_INFINITY;
+        int nearFaceX = NONE;
+        int farFaceX = NONE;
+        if (dx == 0) {
+            //Parallel to the left and right ribs and not between them.
+            if (x0 < left || x0 > right) {
+                return false;
+            }
+        } else if (dx > 0) {
+            nearX = (left - x0) / dx;
+            farX = (right - x0) / dx;
+            nearFaceX = LEFT;
+            farFaceX = RIGHT;
+        } else {
+            nearX = (right - x0) / dx;
+            farX = (left - x0) / dx;
+            nearFaceX = RIGHT;
+            farFaceX = LEFT;
+        }
+        //The range of t between the top and bottom ribs and the ribs we get in and out from.
+        double nearY = Double.NEGATIVE_INFINITY;
+        double farY = Double.POSITIVE_INFINITY;
+        int nearFaceY = NONE;
+        int farFaceY = NONE;
+        if (dy == 0) {
+            //Parallel to the top and bottom ribs and not between them.
+            if (y0 < top || y0 > bottom) {
+                return false;
+            }
+        } else if (dy > 0) {
+            nearY = (top - y0) / dy;
+            farY = (bottom - y0) / dy;
+            nearFaceY = TOP;
+            farFaceY = BOTTOM;
+        } else {
+            nearY = (bottom - y0) / dy;
+            farY = (top - y0) / dy;
+            nearFaceY = BOTTOM;
+            farFaceY = TOP;
+        }
+        //Where the segment gets in and out of the box.
+        double near = Math.max(nearX, nearY);
+        double far = Math.min(farX, farY);
+        //The ranges don't meet, or the box is before the start or after the end.
+        if (near > far || far < 0 || near > 1) {
+            return false;
+        }
+        if (near >= 0) {
+            //Getting in the box.
+            this.time = near;
+            this.face = nearX >= nearY ? nearFaceX : nearFaceY;
+            setPoint(x0, y0, dx, dy, nearX >= nearY ? nearFaceX : NONE, nearY >= nearX ? nearFaceY : NONE
+                    , left, top, right, bottom);
+            return true;
+        }
+        //The segment starts inside the box, so the border point is where it gets out.
+        //If it ends inside the box too it doesn't meet the border.
+        if (far > 1) {
+            return false;
+        }
+        this.time = far;
+        this.face = farX <= farY ? farFaceX : farFaceY;
+        setPoint(x0, y0, dx, dy, farX <= farY ? farFaceX : NONE, farY <= farX ? farFaceY : NONE
+                , left, top, right, bottom);
+        return true;
+    }
+    /**.
+     * setPoint.
+     * Setting the intersection point by the time we found.
+     * The cordinate of the rib we met is set to the rib itself (in a corner we meet two ribs).
+     *
+     * @param x0 the x cordinate of the start of the segment.
+     * @param y0 the y cordinate of the start of the segment.
+     * @param dx the change in x along the segment.
+     * @param dy the change in y along the segment.
+     * @param faceX the left or right rib we met (NONE if we didn't).
+     * @param faceY the top or bottom rib we met (NONE if we didn't).
+     * @param left the smallest x cordinate of the box.
+     * @param top the smallest y cordinate of the box.
+     * @param right the biggest x cordinate of the box.
+     * @param bottom the biggest y cordinate of the box.
+     */
+    private void setPoint(double x0, double y0, double dx, double dy, int faceX, int faceY
+            , double left, double top, double right, double bottom) {
+        this.x = x0 + this.time * dx;
+        this.y = y0 + this.time * dy;
+        if (faceX == LEFT) {
+            this.x = left;
+        } else if (faceX == RIGHT) {
+            this.x = right;
+        }
+        if (faceY == TOP) {
+            this.y = top;
+        } else if (faceY == BOTTOM) {
+            this.y = bottom;
+        }
+    }
+    /**.
+     * getTime.
+     * @return the t of the intersection (0 at the start of the segment and 1 at its end).
+     */
+    public double getTime() {
+        return this.time;
+    }
+    /**.
+     * getFace.
+     * @return the rib of the intersection (NONE if there is no intersection).
+     */
+    public int getFace() {
+        return this.face;
+    }
+    /**.
+     * getX.
+     * @return the x cordinate of the intersection point.
+     */
+    public double getX() {
+        return this.x;
+    }
+    /**.
+     * getY.
+     * @return the y cordinate of the intersection point.
+     */
+    public double getY() {
+        return this.y;
+    }
+}
@@ -4,7 +4,6 @@ import game.GameLevel;
 import game.Sprite;
 
 import java.awt.Color;
-import java.util.List;
 
 /**
  * The class represents Line.
@@ -15,6 +14,8 @@ public class Line implements Sprite {
     private Point startPoint , endPoint;
     //The color of the line.
     private Color color;
+    //The intersection closestIntersectionToStartOfLine(rect) uses (created in its first call).
+    private BoxIntersection intersection;
     /**.
      * Creates new instance of Point.
      * The constructor of our class Line.
@@ -95,24 +96,26 @@ public class Line implements Sprite {
      * We will use max and min functions to check if the x and y cordinates between min and max cordinates
        of the points.
      * @param  line - the line we work on.
-     * @param  point - the point we check if on the specific line
+     * @param  slope - the slope of the line (we already calculated it).
+     * @param  x - the x cordinate of the point we check if on the specific line
+     * @param  y - the y cordinate of the point we check if on the specific line
      * @return true if the point on the line, false otherwise.
      */
-    private boolean isOnLine(Line line, Point point) {
+    private static boolean isOnLine(Line line, double slope, double x, double y) {
         //The line aligns to x axis
         boolean alignX = false;
         //Case of line align to x axis
-        if (line.getSlope() == Double.POSITIVE_INFINITY) {
-            alignX = point.getX() == line.start().getX();
+        if (slope == Double.POSITIVE_INFINITY) {
+            alignX = x == line.start().getX();
         }
         //Checks if the point x cordinates bigger or equals the minimum x cordinates between start and end points.
-        if (alignX || point.getX() >= Math.min(line.start().getX() , line.end().getX())) {
+        if (alignX || x >= Math.min(line.start().getX() , line.end().getX())) {
         //Checks if the point x cordinates smaller or equals the maximum x cordinates between start and end points.
-            if (alignX || point.getX() <= Math.max(line.start().getX(), line.end().getX())) {
+            if (alignX || x <= Math.max(line.start().getX(), line.end().getX())) {
         //Checks if the point y cordinates bigger or equals the minimum y cordinates between start and end points.
-                if (point.getY() >= Math.min(line.start().getY(), line.end().getY())) {
+                if (y >= Math.min(line.start().getY(), line.end().getY())) {
         //Checks if the point y cordinates smaller or equals the maximum y cordinates between start and end points.
-                    if (point.getY() <= Math.max(line.start().getY(), line.end().getY())) {
+                    if (y <= Math.max(line.start().getY(), line.end().getY())) {
                         return true;
                     }
                 }
@@ -165,67 +168,50 @@ public class Line implements Sprite {
      * @return the intersection point if the lines intersect,and null otherwise.
      */
     public Point intersectionWith(Line other) {
-        //If the lines arent intersections return null
-        if (this.getSlope() == other.getSlope()) {
+        //Calculating the slopes only once.
+        double slope = this.getSlope();
+        double otherSlope = other.getSlope();
+        //If the lines arent intersections return null (also the same line or both in the case of x=n).
+        if (slope == otherSlope) {
             return null;
         }
-        //Both lines are in the case of x=n
-        if (this.getSlope() == Double.POSITIVE_INFINITY && other.getSlope() == Double.POSITIVE_INFINITY) {
-            //The lines can be the same or dont meet anyway we return null.
-            return  null;
-        }
-        //Same line return null
-        if (this.getSlope() == other.getSlope()
-                && this.intersectionYaxis().getY() == other.intersectionYaxis().getY()) {
-            return null;
-        }
-
-        //The point of intersection
-        Point intersection;
         double newX, newY;
         //Case of the current line in form x=n
-        if (this.getSlope() == Double.POSITIVE_INFINITY) {
+        if (slope == Double.POSITIVE_INFINITY) {
             //X is the same in any point so it cuts the line in that x
             newX = this.start().getX();
             //Y value exuals to mx+n - m is the slope
-            newY = this.start().getX() * other.getSlope() + other.intersectionYaxis().getY();
-            } else if (other.getSlope() == Double.POSITIVE_INFINITY) {
+            newY = this.start().getX() * otherSlope + other.intersectionYaxis(otherSlope);
+            } else if (otherSlope == Double.POSITIVE_INFINITY) {
                  //Case of the other line in form x=n and the other is in case mx+n
                 //X is the same in any point so it cuts the line in that x
                 newX = other.start().getX();
                 //Y value exuals to mx+n - m is the slope and the other is in case mx+n
-                newY = other.start().getX() * this.getSlope() + this.intersectionYaxis().getY();
+                newY = other.start().getX() * slope + this.intersectionYaxis(slope);
             } else {
+                double intersectionY = this.intersectionYaxis(slope);
                 //Simple algebra to disolate x
-                newX = (other.intersectionYaxis().getY() - this.intersectionYaxis().getY())
-                        / (this.getSlope() - other.getSlope());
+                newX = (other.intersectionYaxis(otherSlope) - intersectionY) / (slope - otherSlope);
                 //Placing x in the equation of the line
-                newY = this.getSlope() * newX + this.intersectionYaxis().getY();
+                newY = slope * newX + intersectionY;
 
             }
-        //Seting the point cordinates
-        intersection = new Point(newX, newY);
-
         //The intersection point is on the specific lines not only the equation
-        if (isOnLine(this, intersection) && isOnLine(other, intersection)) {
-            return intersection;
+        if (isOnLine(this, slope, newX, newY) && isOnLine(other, otherSlope, newX, newY)) {
+            return new Point(newX, newY);
         }
         //Any other case.
         return null;
     }
     /**.
      *intersectionYaxis.
-     * Calculate the point meets with y value of the line.
+     * Calculate the y value where the line meets the y axis.
      * We will desolate y value by desolate b from the equation y=ax+b.
-     * @return the intersection point with y axis if the slope is infinity null.
+     * @param slope the slope of the line (not infinity).
+     * @return the y value of the intersection point with y axis.
      */
-    private Point intersectionYaxis() {
-        if (this.getSlope() != Double.POSITIVE_INFINITY) {
-            double yValue = this.startPoint.getY() - this.getSlope() * this.startPoint.getX();
-            return new Point(0, yValue);
-        }
-        //Case of infinity slope
-        return null;
+    private double intersectionYaxis(double slope) {
+        return this.startPoint.getY() - slope * this.startPoint.getX();
     }
     /**.
      *equals.
@@ -244,29 +230,33 @@ public class Line implements Sprite {
     /**.
      * closestIntersectionToStartOfLine.
      * Checks the closest intersection point between the start point of the line and the rectangle.
-     * We will check the minimum distance between the intersection points and the start point
+     * We use the slab method of BoxIntersection so we don't create the ribs of the rectangle as lines.
+     * The line keeps one BoxIntersection for all its calls, only the point we return is created.
      * @param rect the rectangle.
      * @return the closest intersection point to the start of the line. If this line does not intersect with
        the rectangle, return null.
      */
    public Point closestIntersectionToStartOfLine(Rectangle rect) {
-       //The intersections between the line and rectangle.
-       List<Point> intersections = rect.intersectionPoints(this);
-      // System.out.println("intersections:"+intersections.size());
-       //Each distance smaller than this.
-        double minDistance = Double.POSITIVE_INFINITY;
-        //The closest intersection point. null in case of no intersections.
-        Point closestIntersection = null;
-        for (int i = 0; i < intersections.size(); i++) {
-            //The distance between the start point and this intersection point;
-            double distance =  this.start().distance(intersections.get(i));
-            //Updating if there is closer point
-            if (distance < minDistance) {
-                minDistance = distance;
-                closestIntersection = intersections.get(i);
-            }
-        }
-        return closestIntersection;
+       if (this.intersection == null) {
+           this.intersection = new BoxIntersection();
+       }
+       if (!closestIntersectionToStartOfLine(rect, this.intersection)) {
+           //No intersections.
+           return null;
+       }
+       return new Point(this.intersection.getX(), this.intersection.getY());
+    }
+    /**.
+     * closestIntersectionToStartOfLine.
+     * Like closestIntersectionToStartOfLine(rect), keeping the intersection in the given object.
+     * So a caller that checks many rectangles doesn't create any object.
+     * @param rect the rectangle.
+     * @param closest gets the closest intersection to the start of the line (its point and its rib).
+     * @return true if the line intersects with the rectangle, false otherwise.
+     */
+   public boolean closestIntersectionToStartOfLine(Rectangle rect, BoxIntersection closest) {
+       return closest.find(this.startPoint.getX(), this.startPoint.getY(), this.endPoint.getX()
+               , this.endPoint.getY(), rect.getLeft(), rect.getTop(), rect.getRight(), rect.getBottom());
     }
     /**.
      * drawLine.
@@ -24,10 +24,22 @@ public class Point {
      * @return the distance of this point to the other point.
      */
     public double distance(Point other) {
+        return distance(this.x, this.y, other.getX(), other.getY());
+    }
+    /**.
+     * distance.
+     * Calculates distance between two points without creating them.
+     * @param x0 the x cordinate of the first point.
+     * @param y0 the y cordinate of the first point.
+     * @param x1 the x cordinate of the second point.
+     * @param y1 the y cordinate of the second point.
+     * @return the distance between the points.
+     */
+    public static double distance(double x0, double y0, double x1, double y1) {
         //dx=x1-x2
-        double dX = this.x - other.getX();
+        double dX = x0 - x1;
         //dy=y1-y2
-        double dY = this.y - other.getY();
+        double dY = y0 - y1;
         //distance=[x1-x2)^2+(y1-y2)^2
         return Math.sqrt(Math.pow(dX , 2) + Math.pow(dY , 2));
     }
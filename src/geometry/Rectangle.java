@@ -48,8 +48,10 @@ public class Rectangle {
         java.util.List<Point> lst = new java.util.ArrayList<Point>();
         //Checking intersection between the line and the ribs of the rectangle.
         for (int i = 0; i < rectangleLines.length; i++) {
-            if (rectangleLines[i].isIntersecting(line)) {
-                lst.add(rectangleLines[i].intersectionWith(line));
+            //Calculating the intersection only once.
+            Point intersection = rectangleLines[i].intersectionWith(line);
+            if (intersection != null) {
+                lst.add(intersection);
             }
         }
         return lst;
@@ -70,6 +72,36 @@ public class Rectangle {
         return this.height;
     }
 
+    /**.
+     * getLeft.
+     * @return the smallest x cordinate of the rectangle.
+     */
+    public double getLeft() {
+        return Math.min(this.upperLeft.getX(), this.upperLeft.getX() + this.width);
+    }
+    /**.
+     * getRight.
+     * @return the biggest x cordinate of the rectangle.
+     */
+    public double getRight() {
+        return Math.max(this.upperLeft.getX(), this.upperLeft.getX() + this.width);
+    }
+    /**.
+     * getTop.
+     * We represent the it as it on gui (the axes are upside down).
+     * @return the smallest y cordinate of the rectangle.
+     */
+    public double getTop() {
+        return Math.min(this.upperLeft.getY(), this.upperLeft.getY() + this.height);
+    }
+    /**.
+     * getBottom.
+     * We represent the it as it on gui (the axes are upside down).
+     * @return the biggest y cordinate of the rectangle.
+     */
+    public double getBottom() {
+        return Math.max(this.upperLeft.getY(), this.upperLeft.getY() + this.height);
+    }
     /**.
      * getUpperLeft.
      * @return the upper-left point of the rectangle.
@@ -139,21 +171,21 @@ public class Rectangle {
      * @return true if the point in the rectangle, false otherwise.
      */
     public boolean ractangleContainsPoint(Point p) {
-        //The maximum x between the edges of the ractangle.
-        double maxX = Math.max(this.getUpperLeft().getX(), this.getLowerRight().getX());
-        //The minimum x between the edges of the ractangle.
-        double minX = Math.min(this.getUpperLeft().getX(), this.getLowerRight().getX());
+        return containsPoint(p.getX(), p.getY());
+    }
+    /**.
+     * containsPoint.
+     * Checks if the point of the cordinates is in the rectangle (without creating it).
+     * @param x the x cordinate of the point.
+     * @param y the y cordinate of the point.
+     * @return true if the point in the rectangle, false otherwise.
+     */
+    public boolean containsPoint(double x, double y) {
         //Checks if x between the edges x coordinates of the rectangle.
-        boolean xIn = p.getX() >= minX && p.getX() <= maxX;
-        //The maximum y between the edges of the ractangle.
-        double maxY = Math.max(this.getUpperLeft().getY(), this.getLowerRight().getY());
-        //The maximum y between the edges of the ractangle.
-        double minY = Math.min(this.getUpperLeft().getY(), this.getLowerRight().getY());
+        boolean xIn = x >= getLeft() && x <= getRight();
         //Checks if y between the edges y coordinates of the rectangle.
-        boolean yIn = p.getY() >= minY && p.getY() <= maxY;
-
-        return  xIn && yIn;
-
+        boolean yIn = y >= getTop() && y <= getBottom();
+        return xIn && yIn;
     }
     /**.
      * getMiddleRectangle.
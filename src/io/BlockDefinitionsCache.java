@@ -0,0 +1,76 @@
+package io;
+
+import creators.BlocksFromSymbolsFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**.
+ * BlockDefinitionsCache.
+ * Keeps the block definitions we already read by the path of their file in the resources,
+ * So all the levels that use the same file share one BlocksFromSymbolsFactory.
+ * The factories are frozen (they can't be changed) so sharing them is safe, and the cache can be used
+ * By many threads: each path is read once, and different paths can be read at the same time.
+ * In dev mode (-Ddev=true) we check the time the file was changed and read it again if it is newer.
+ */
+public class BlockDefinitionsCache {
+    //The cache of the game.
+    private static final BlockDefinitionsCache SHARED = new BlockDefinitionsCache(Boolean.getBoolean("dev"));
+    //The entries by the path of the file.
+    private ConcurrentMap<String, BlockDefinitionsEntry> entries;
+    //Determines if we check the time the files were changed.
+    private boolean devMode;
+    //The number of times we read a file.
+    private AtomicInteger reads;
+    /**.
+     * Creates new instance of BlockDefinitionsCache.
+     * The constructor of our class.
+     *
+     * @param devMode true to read a file again when it changes.
+     */
+    public BlockDefinitionsCache(boolean devMode) {
+        this.entries = new ConcurrentHashMap<String, BlockDefinitionsEntry>();
+        this.devMode = devMode;
+        this.reads = new AtomicInteger();
+    }
+    /**.
+     * getShared.
+     * @return the cache the game uses.
+     */
+    public static BlockDefinitionsCache getShared() {
+        return SHARED;
+    }
+    /**.
+     * get.
+     * @param path the path of a block definitions file in the resources.
+     * @return the frozen factory of the blocks and spacers of the file, null if there is no such file.
+     * @throws DefinitionException if there is a problem in the file.
+     */
+    public BlocksFromSymbolsFactory get(String path) {
+        BlockDefinitionsEntry entry = this.entries.get(path);
+        if (entry == null) {
+            BlockDefinitionsEntry created = new BlockDefinitionsEntry(path, this.devMode, this.reads);
+            entry = this.entries.putIfAbsent(path, created);
+            //We are the first to ask for this path.
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        return entry.get();
+    }
+    /**.
+     * clear.
+     * Removing all the files from the cache, they will be read again.
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+    /**.
+     * getReads.
+     * @return the number of times the cache read a file.
+     */
+    public int getReads() {
+        return this.reads.get();
+    }
+}
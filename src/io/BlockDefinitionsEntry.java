@@ -0,0 +1,99 @@
+package io;
+
+import creators.BlocksFromSymbolsFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**.
+ * BlockDefinitionsEntry.
+ * The block definitions of one file in the BlockDefinitionsCache and the time the file was changed when we read it.
+ * Only one thread reads the file, the others wait for its factory.
+ */
+class BlockDefinitionsEntry {
+    //The path of the file in the resources.
+    private String path;
+    //Determines if we check the time the file was changed.
+    private boolean devMode;
+    //Counts the times files were read.
+    private AtomicInteger reads;
+    //The factory we read and the time the file was changed then.
+    private BlocksFromSymbolsFactory factory;
+    private long modified;
+    /**.
+     * Creates new instance of BlockDefinitionsEntry.
+     * The constructor of our class.
+     *
+     * @param path the path of the file in the resources.
+     * @param devMode true to read the file again when it changes.
+     * @param reads counts the times files were read.
+     */
+    BlockDefinitionsEntry(String path, boolean devMode, AtomicInteger reads) {
+        this.path = path;
+        this.devMode = devMode;
+        this.reads = reads;
+    }
+    /**.
+     * get.
+     * Reading the file the first time (and again if it changed in dev mode).
+     *
+     * @return the frozen factory of the file, null if there is no such file.
+     */
+    synchronized BlocksFromSymbolsFactory get() {
+        if (this.factory != null && !this.devMode) {
+            return this.factory;
+        }
+        URL url = ClassLoader.getSystemClassLoader().getResource(this.path);
+        if (url == null) {
+            return null;
+        }
+        long time = this.devMode ? lastModified(url) : 0;
+        if (this.factory == null || time != this.modified) {
+            this.factory = read(url);
+            this.modified = time;
+        }
+        return this.factory;
+    }
+    /**.
+     * read.
+     * @param url the url of the file.
+     * @return the frozen factory of the file.
+     */
+    private BlocksFromSymbolsFactory read(URL url) {
+        try {
+            InputStream is = url.openStream();
+            try {
+                BlocksFromSymbolsFactory read = BlocksDefinitionReader.fromReader(new InputStreamReader(is));
+                read.freeze();
+                this.reads.incrementAndGet();
+                return read;
+            } finally {
+                is.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Problems reading the file");
+        }
+    }
+    /**.
+     * lastModified.
+     * @param url the url of a file.
+     * @return the time the file was changed (0 if we don't know).
+     */
+    private static long lastModified(URL url) {
+        try {
+            if (url.getProtocol().equals("file")) {
+                return new File(url.toURI()).lastModified();
+            }
+            return url.openConnection().getLastModified();
+        } catch (IOException e) {
+            return 0;
+        } catch (URISyntaxException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package io;
+
+import creators.BlockFactory;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**.
+ * BlockSpecification.
+ * The values of one bdef, sdef or default line of a block definitions file.
+ * A value that isn't in the line is -1 or null, and is taken from the default line.
+ */
+class BlockSpecification {
+    //The symbol of the block or spacer (0 if there is no symbol).
+    private char symbol;
+    //The size and hit points of the block.
+    private int height;
+    private int width;
+    private int hitPoints;
+    //The fill of the block and its stroke.
+    private Color color;
+    private Image image;
+    private Color stroke;
+    //The fill by hit points.
+    private Map<Integer, Color> colors;
+    private Map<Integer, Image> images;
+    /**.
+     * Creates new instance of BlockSpecification.
+     * The constructor of our class, all the values aren't set.
+     */
+    BlockSpecification() {
+        this.symbol = 0;
+        this.height = -1;
+        this.width = -1;
+        this.hitPoints = -1;
+        this.colors = new TreeMap<Integer, Color>();
+        this.images = new TreeMap<Integer, Image>();
+    }
+    /**.
+     * inherit.
+     * Taking the values that aren't in this line from the default line.
+     *
+     * @param defaults the values of the default line.
+     */
+    void inherit(BlockSpecification defaults) {
+        if (this.height < 0) {
+            this.height = defaults.height;
+        }
+        if (this.width < 0) {
+            this.width = defaults.width;
+        }
+        if (this.hitPoints < 0) {
+            this.hitPoints = defaults.hitPoints;
+        }
+        //The default fill is used only if the line has no fill of its own.
+        if (this.color == null && this.image == null) {
+            this.color = defaults.color;
+            this.image = defaults.image;
+        }
+        if (this.stroke == null) {
+            this.stroke = defaults.stroke;
+        }
+        if (this.colors.isEmpty()) {
+            this.colors.putAll(defaults.colors);
+        }
+        if (this.images.isEmpty()) {
+            this.images.putAll(defaults.images);
+        }
+    }
+    /**.
+     * missing.
+     * @param block true for a bdef line, false for a sdef line.
+     * @return the name of a value the block or spacer must have and doesn't, null if it has them all.
+     */
+    String missing(boolean block) {
+        if (this.symbol == 0) {
+            return "symbol";
+        }
+        if (this.width <= 0) {
+            return "width";
+        }
+        if (!block) {
+            return null;
+        }
+        if (this.height <= 0) {
+            return "height";
+        }
+        if (this.hitPoints <= 0) {
+            return "hit_points";
+        }
+        return null;
+    }
+    /**.
+     * createFactory.
+     * @return a factory of the blocks of this line.
+     */
+    BlockFactory createFactory() {
+        BlockFactory blockFactory = new BlockFactory(this.height, this.width, this.hitPoints);
+        //Setting the image and color.
+        blockFactory.setDefaultColor(this.color);
+        blockFactory.setDefaultImage(this.image);
+        //Setting the maps.
+        blockFactory.setColors(this.colors);
+        blockFactory.setImages(this.images);
+        //Has stroke.
+        if (this.stroke != null) {
+            blockFactory.setStroke(this.stroke);
+        }
+        return blockFactory;
+    }
+    /**.
+     * getSymbol.
+     * @return the symbol of the block or spacer.
+     */
+    char getSymbol() {
+        return this.symbol;
+    }
+    /**.
+     * getWidth.
+     * @return the width of the block or spacer.
+     */
+    int getWidth() {
+        return this.width;
+    }
+    /**.
+     * setSymbol.
+     * @param c the symbol of the block or spacer.
+     */
+    void setSymbol(char c) {
+        this.symbol = c;
+    }
+    /**.
+     * setHeight.
+     * @param h the height of the block.
+     */
+    void setHeight(int h) {
+        this.height = h;
+    }
+    /**.
+     * setWidth.
+     * @param w the width of the block or spacer.
+     */
+    void setWidth(int w) {
+        this.width = w;
+    }
+    /**.
+     * setHitPoints.
+     * @param points the hit points of the block.
+     */
+    void setHitPoints(int points) {
+        this.hitPoints = points;
+    }
+    /**.
+     * setColor.
+     * @param c the fill color of the block.
+     */
+    void setColor(Color c) {
+        this.color = c;
+        this.image = null;
+    }
+    /**.
+     * setImage.
+     * @param img the fill image of the block.
+     */
+    void setImage(Image img) {
+        this.image = img;
+        this.color = null;
+    }
+    /**.
+     * setStroke.
+     * @param c the stroke color of the block.
+     */
+    void setStroke(Color c) {
+        this.stroke = c;
+    }
+    /**.
+     * setColor.
+     * @param points the hit points the color is of.
+     * @param c the fill color of the block when it has those hit points.
+     */
+    void setColor(int points, Color c) {
+        this.colors.put(points, c);
+    }
+    /**.
+     * setImage.
+     * @param points the hit points the image is of.
+     * @param img the fill image of the block when it has those hit points.
+     */
+    void setImage(int points, Image img) {
+        this.images.put(points, img);
+    }
+}
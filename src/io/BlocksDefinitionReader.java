@@ -1,24 +1,26 @@
 package io;
 
-import creators.BlockFactory;
 import creators.BlocksFromSymbolsFactory;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.Arrays;
+import creators.ColorImageParser;
 
 import java.awt.Color;
 import java.awt.Image;
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * BlocksDefinitionReader.
  * In charge of reading a block-definitions file and returning a BlocksFromSymbolsFactory object.
+ * We go over the file once with a DefinitionTokenizer, each line is default, bdef or sdef followed by
+ * Words of key:value, and a wrong line stops the reading with the line and column of the problem.
  */
 public class BlocksDefinitionReader {
+    //The keys fill-k and the values of a fill: color(...) or image(...).
+    private static final Pattern FILLK = Pattern.compile("fill-(\\d+)");
+    private static final Pattern FILL = Pattern.compile("(color|image)\\((.+)\\)");
+    //A positive number.
+    private static final Pattern POSITIVE = Pattern.compile("0*[1-9]\\d*");
     /**.
      * BlocksFromSymbolsFactory.
      * These symbols are then used in the level specification files to define the blocks that need to be created.
@@ -30,129 +32,45 @@ public class BlocksDefinitionReader {
     public static BlocksFromSymbolsFactory fromReader(java.io.Reader reader) {
         //Initializing the factory.
         BlocksFromSymbolsFactory bfsFactory = new BlocksFromSymbolsFactory();
-        BufferedReader linesReader = new BufferedReader(reader);
-        String line = "";
+        DefinitionTokenizer tokenizer = new DefinitionTokenizer(reader);
+        //The matchers are used again for every word.
+        Matcher fillK = FILLK.matcher("");
+        Matcher fill = FILL.matcher("");
+        Matcher positive = POSITIVE.matcher("");
+        BlockSpecification defaults = new BlockSpecification();
         try {
-            //All the block's parameters.
-            int height = 0;
-            int width = 0;
-            int hitPoints = 0;
-            Color color = null;
-            Color stroke = null;
-            Image image = null;
-            String symbol = "";
-            Map<Integer, Color> colorMap;
-            Map<Integer, Image> imageMap;
-            //Default values.
-            int defHeight = 0;
-            int defWidth = 0;
-            int defHitPoints = 0;
-            Color defColor = null;
-            Color defStroke = null;
-            Image defImage = null;
-            Map<Integer, Color> defColorMap = new TreeMap<Integer, Color>();
-            Map<Integer, Image> defImageMap = new TreeMap<Integer, Image>();
-            line = linesReader.readLine();
-            while (line != null) { //Moving on the lines.
-                //The line isn't empty or a definition.
-                if (!ignoredLine(line)) {
-                    BlockFromMap parser = new BlockFromMap(definitions(line, ':'));
-                    if (correctLine(line)) {
-                        //Setting default values.
-                        if (words(line).get(0).equals("default")) {
-                            defHeight = parser.getHeight();
-                            defWidth = parser.getWidth();
-                            defHitPoints = parser.getHitPoints();
-                            defColor = parser.getColor();
-                            defImage = parser.getImage();
-                            defImageMap.putAll(parser.getImages());
-                            defColorMap .putAll(parser.getColors());
-                            defStroke = parser.getStroke();
-                        }
-                        //Symbol.
-                        //BDEF and SDEF has symbol and width..
-                        symbol = parser.getSymbol();
-
-                        //Width.
-                        width = parser.getWidth();
-                        //No width in the line.
-                        if (width < 0) {
-                            width = defWidth;
-                        }
-                        //Block definitions.
-                        if (words(line).get(0).equals("bdef")) {
-                            //Height.
-                            height = parser.getHeight();
-                            //No height in the line.
-                            if (height < 0) {
-                                height = defHeight;
-                            }
-                            //Hit points.
-                            hitPoints = parser.getHitPoints();
-                            //No hit points in the line.
-                            if (hitPoints < 0) {
-                                hitPoints = defHitPoints;
-                            }
-                            //Image.
-                            image = parser.getImage();
-                            //No image in the line.
-                            if (image == null) {
-                                image = defImage;
-                            }
-                            //Stroke.
-                            stroke = parser.getStroke();
-                            //No stroke in the line.
-                            if (stroke == null) {
-                                stroke = defStroke;
-                            }
-                            //Color.
-                            color = parser.getColor();
-                            //No color in the line
-                            if (color == null) {
-                                color = defColor;
-                            }
-                            //Images fill-k
-                            imageMap = parser.getImages();
-                            //No images in the map.
-                            if (imageMap.isEmpty()) {
-                                imageMap.putAll(defImageMap);
-                            }
-                            //Colors fill - k
-                            colorMap = parser.getColors();
-                            //No colors in the map.
-                            if (colorMap.isEmpty()) {
-                                colorMap.putAll(defColorMap);
-                            }
-                            //No null or empty values.
-                            if ((height < 0 || hitPoints < 0 || width < 0 || symbol.length() == 0)
-                                    && (image == null || color == null
-                                    || imageMap.isEmpty() || colorMap.isEmpty())) {
-                                throw new RuntimeException("Block definition problem.");
-                            } else {
-                                //New block factory.
-                                BlockFactory blockFactory = new BlockFactory(height, width, hitPoints);
-                                //Setting the image and color.
-                                blockFactory.setDefaultColor(color);
-                                blockFactory.setDefaultImage(image);
-                                //Setting the maps.
-                                blockFactory.setColors(colorMap);
-                                blockFactory.setImages(imageMap);
-                                //Has stroke.
-                                if (stroke != null) {
-                                    blockFactory.setStroke(stroke);
-                                }
-                                //Adding the block creator.
-                                bfsFactory.addBlockCreator(symbol, blockFactory);
-                            }
-                        }
-                        //Space definitions.
-                        if (words(line).get(0).equals("sdef")) {
-                            //Add the spacer to the factory.
-                            bfsFactory.addSpacer(symbol, width);
-                        }
+            while (tokenizer.nextLine()) { //Moving on the lines.
+                //The line is empty or a comment.
+                if (tokenizer.isIgnored()) {
+                    continue;
+                }
+                int start = tokenizer.skipSpaces(tokenizer.getStart());
+                int end = tokenizer.wordEnd(start);
+                BlockSpecification line = new BlockSpecification();
+                readValues(tokenizer, end, line, fillK, fill, positive);
+                if (tokenizer.regionEquals(start, "default") && end - start == "default".length()) {
+                    //Setting default values.
+                    defaults = line;
+                } else if (tokenizer.regionEquals(start, "bdef") && end - start == "bdef".length()) {
+                    //Block definitions.
+                    line.inherit(defaults);
+                    String missing = line.missing(true);
+                    if (missing != null) {
+                        throw tokenizer.error("Block definition problem: no " + missing, start);
                     }
+                    //Adding the block creator.
+                    bfsFactory.addBlockCreator(line.getSymbol(), line.createFactory());
+                } else if (tokenizer.regionEquals(start, "sdef") && end - start == "sdef".length()) {
+                    //Space definitions.
+                    line.inherit(defaults);
+                    String missing = line.missing(false);
+                    if (missing != null) {
+                        throw tokenizer.error("Space definition problem: no " + missing, start);
+                    }
+                    bfsFactory.addSpacer(line.getSymbol(), line.getWidth());
+                } else {
+                    throw tokenizer.error("expected default, bdef or sdef", start);
                 }
-                line = linesReader.readLine();
             }
         } catch (IOException e) {
             throw new RuntimeException("Problems reading the file");
@@ -160,156 +78,128 @@ public class BlocksDefinitionReader {
         return bfsFactory;
     }
     /**.
-     * correctLine.
-     * @param line a line in the file.
-     * @return true if the line is correct by the instructions, false otherwise.
+     * readValues.
+     * Reading the key:value words of the current line into the specification.
+     *
+     * @param tokenizer the tokenizer of the file.
+     * @param from the index after the first word of the line.
+     * @param line the specification of the line.
+     * @param fillK a matcher of the fill-k keys.
+     * @param fill a matcher of the fill values.
+     * @param positive a matcher of positive numbers.
      */
-    private static boolean correctLine(String line) {
-        //Checking it if the line isnt an ignored line.
-        if (!ignoredLine(line)) {
-            //Has unwanted keys.
-            if (unwantedKeys(line)) {
-                return false;
+    private static void readValues(DefinitionTokenizer tokenizer, int from, BlockSpecification line
+            , Matcher fillK, Matcher fill, Matcher positive) {
+        int start = tokenizer.skipSpaces(from);
+        while (start < tokenizer.getEnd()) {
+            int end = tokenizer.wordEnd(start);
+            int colon = tokenizer.indexOf(':', start, end);
+            if (colon < 0) {
+                throw tokenizer.error("expected key:value", start);
             }
-            List<String> list = words(line);
-            //Each key and value are ok.
-            for (String word : list) {
-                if (!BlockDefinitionHelper.correctFirstWord(word)) {
-                    if (!BlockDefinitionHelper.keyValue(word)) {
-                        return false;
-                    }
+            int value = colon + 1;
+            if (isKey(tokenizer, start, colon, "symbol")) {
+                if (end - value != 1) {
+                    throw tokenizer.error("the symbol should be one char", value);
+                }
+                line.setSymbol(tokenizer.charAt(value));
+            } else if (isKey(tokenizer, start, colon, "height")) {
+                line.setHeight(positiveValue(tokenizer, positive, value, end));
+            } else if (isKey(tokenizer, start, colon, "width")) {
+                line.setWidth(positiveValue(tokenizer, positive, value, end));
+            } else if (isKey(tokenizer, start, colon, "hit_points")) {
+                line.setHitPoints(positiveValue(tokenizer, positive, value, end));
+            } else if (isKey(tokenizer, start, colon, "stroke")) {
+                line.setStroke(colorValue(tokenizer, fill, value, end));
+            } else if (isKey(tokenizer, start, colon, "fill")) {
+                if (isImage(tokenizer, fill, value, end)) {
+                    line.setImage(imageValue(tokenizer, fill, value, end));
+                } else {
+                    line.setColor(colorValue(tokenizer, fill, value, end));
                 }
+            } else if (tokenizer.matches(fillK, start, colon)) {
+                int points = tokenizer.parseInt(fillK.start(1), fillK.end(1));
+                if (isImage(tokenizer, fill, value, end)) {
+                    line.setImage(points, imageValue(tokenizer, fill, value, end));
+                } else {
+                    line.setColor(points, colorValue(tokenizer, fill, value, end));
+                }
+            } else {
+                throw tokenizer.error("unknown key", start);
             }
+            start = tokenizer.skipSpaces(end);
         }
-        return true;
     }
     /**.
-     * ignoredLine.
-     * Line we have to ignore is line starts with '#' or empty line.
-     *
-     * @param line our line in the text.
-     * @return true if we have to ignore the line, false otherwise.
+     * isKey.
+     * @param tokenizer the tokenizer of the file.
+     * @param start the index of the key.
+     * @param colon the index of the ':' after it.
+     * @param key a key.
+     * @return true if the key in the line is the given key, false otherwise.
      */
-    private static boolean ignoredLine(String line) {
-        int x = line.length();
-
-        if (x == 0) {
-            return true;
-        } else { //There is a char in the first position.
-            //A definition.
-            if (line.charAt(0) == '#') {
-                return true;
-            }
-        }
-        return false;
+    private static boolean isKey(DefinitionTokenizer tokenizer, int start, int colon, String key) {
+        return colon - start == key.length() && tokenizer.regionEquals(start, key);
     }
-
-
     /**.
-     * unwantedKeys.
-     * Checks if the line contains unwanted keys.
-     * We will check if we have key that isn't in thel ist.
-     *
-     * @param line our line in the text.
-     * @return true if there are unwanted keys, false otherwise.
+     * positiveValue.
+     * @param tokenizer the tokenizer of the file.
+     * @param positive a matcher of positive numbers.
+     * @param start the index of the value.
+     * @param end the index after it.
+     * @return the number of the value.
      */
-    private static boolean unwantedKeys(String line) {
-        //True because we ignore this line.
-        if (ignoredLine(line)) {
-            return true;
+    private static int positiveValue(DefinitionTokenizer tokenizer, Matcher positive, int start, int end) {
+        if (!tokenizer.matches(positive, start, end)) {
+            throw tokenizer.error("expected a positive number", start);
         }
-        //Cases we don't ignore the line.
-        List<String> list = words(line);
-        String word = list.get(0);
-        Map<String, String> map = definitions(line, ':');
-        List<String> keys = new ArrayList<String>(map.keySet());
-        //First word isn't bdef or default or sdef
-        if (!BlockDefinitionHelper.correctFirstWord(word)) {
-            return true;
-        }
-        String [] arr = {"symbol", "height", "width", "hit_points", "fill", "stroke", "symbol", "width"};
-        //Showing the keys as list.
-        List wantedKeys = new ArrayList<>(Arrays.asList(arr));
-
-        for (String key : keys) {
-            if (!wantedKeys.contains(key) && !BlockDefinitionHelper.isFillK(key)) {
-                return true;
-            }
+        return tokenizer.parseInt(start, end);
+    }
+    /**.
+     * isImage.
+     * @param tokenizer the tokenizer of the file.
+     * @param fill a matcher of the fill values.
+     * @param start the index of the value.
+     * @param end the index after it.
+     * @return true if the value is image(...), false if it is color(...).
+     */
+    private static boolean isImage(DefinitionTokenizer tokenizer, Matcher fill, int start, int end) {
+        if (!tokenizer.matches(fill, start, end)) {
+            throw tokenizer.error("expected color(...) or image(...)", start);
         }
-
-        return false;
+        return tokenizer.charAt(fill.start(1)) == 'i';
     }
     /**.
-     * words.
-     * Separates string to list of words by spaces.
-     *
-     * @param line a line of words.
-     * @return list of the words separated by spaces.
+     * colorValue.
+     * @param tokenizer the tokenizer of the file.
+     * @param fill a matcher of the fill values.
+     * @param start the index of the value.
+     * @param end the index after it.
+     * @return the color of the value color(...).
      */
-    public static List<String> words(String line) {
-        List<String> words = new ArrayList<String>();
-        //A string builder.
-        StringBuilder stringBuilder = new StringBuilder();
-        //Moving on the characters.
-        for (int i = 0; i < line.length(); i++) {
-            //Spaces.
-            if (line.charAt(i) == ' ') {
-                words.add(stringBuilder.toString());
-                //Reset string builder.
-                stringBuilder = new StringBuilder();
-            } else { //Regular characters.
-                //Adding the char to the string.
-                stringBuilder.append(line.charAt(i));
-            }
+    private static Color colorValue(DefinitionTokenizer tokenizer, Matcher fill, int start, int end) {
+        if (isImage(tokenizer, fill, start, end)) {
+            throw tokenizer.error("expected color(...)", start);
         }
-        //Adding the last word.
-        if (stringBuilder.toString().length() != 0) {
-            words.add(stringBuilder.toString());
+        Color color = ColorImageParser.colorFromString(tokenizer.getText(), fill.start(2), fill.end(2));
+        if (color == null) {
+            throw tokenizer.error("unknown color", fill.start(2));
         }
-        return words;
+        return color;
     }
-    /**
-     * definitions.
-     * Separates a list of string of words of each line in struct of block definition file.
-     * We wil seperate it to map with key and value of block properties.
-     *
-     * @param line a line of words.
-     * @param delimeter the char we separate the strings.
-     * @return map with key and value of block's properties.
+    /**.
+     * imageValue.
+     * @param tokenizer the tokenizer of the file.
+     * @param fill a matcher of the fill values (after it matched an image).
+     * @param start the index of the value.
+     * @param end the index after it.
+     * @return the image of the value image(...).
      */
-    public static Map<String, String> definitions(String line, Character delimeter) {
-        List<String> words = words(line);
-        Map<String, String> definitions = new TreeMap<String, String>();
-        String key = "";
-        String value = "";
-        StringBuilder stringBuilder = new StringBuilder();
-        //Moving on the characters.
-        for (String word: words) {
-            key = "";
-            value = "";
-            stringBuilder = new StringBuilder();
-            //Not block or spacer definitions or default definition.
-            if (!BlockDefinitionHelper.correctFirstWord(word)) {
-                for (int i = 0; i < word.length(); i++) {
-                    //Spaces.
-                    if (word.charAt(i) == delimeter) {
-                        key = stringBuilder.toString();
-                        //Reset string builder.
-                        stringBuilder = new StringBuilder();
-                    } else { //Regular characters.
-                        //Adding the char to the string.
-                        stringBuilder.append(word.charAt(i));
-                    }
-                }
-                //Adding the last word.
-                if (stringBuilder.toString().length() != 0) {
-                    value = stringBuilder.toString();
-                }
-                //Putting the key and value to the map.
-                definitions.put(key, value);
-            }
+    private static Image imageValue(DefinitionTokenizer tokenizer, Matcher fill, int start, int end) {
+        Image image = ColorImageParser.blockImageFromText(tokenizer.text(fill.start(2), fill.end(2)));
+        if (image == null) {
+            throw tokenizer.error("can't read the image", fill.start(2));
         }
-        return  definitions;
+        return image;
     }
-
 }
@@ -0,0 +1,33 @@
+package io;
+
+/**.
+ * CompiledLevelSet.
+ * A level set of a compiled levels file, its levels are read from the file instead of the level definitions.
+ */
+class CompiledLevelSet extends LevelSet {
+    private CompiledLevelsReader reader;
+    //The number of levels and the offset of the first one in the file.
+    private int count;
+    private int offset;
+    /**.
+     * Creates new instance of CompiledLevelSet.
+     * The constructor of our class.
+     *
+     * @param key the key of the level set in the menu.
+     * @param name the name of the level set.
+     * @param path the path of the level definitions the set was compiled from.
+     * @param reader the reader of the compiled file.
+     * @param count the number of levels.
+     * @param offset the offset of the first level in the file.
+     */
+    CompiledLevelSet(String key, String name, String path, CompiledLevelsReader reader, int count, int offset) {
+        super(key, name, path);
+        this.reader = reader;
+        this.count = count;
+        this.offset = offset;
+    }
+    @Override
+    protected void readLevels(LevelListener listener) {
+        this.reader.readLevels(this.offset, this.count, listener);
+    }
+}
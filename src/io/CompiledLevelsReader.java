@@ -0,0 +1,261 @@
+package io;
+
+import creators.BlockFactory;
+import creators.ColorImageParser;
+import creators.ColorRegistry;
+import game.Block;
+import game.Velocity;
+import levels.Level;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**.
+ * CompiledLevelsReader.
+ * Reads the level sets that LevelCompiler wrote, straight from a memory mapped file.
+ * The file has (all numbers are big endian ints unless said otherwise):
+ * A header: MAGIC and VERSION.
+ * The string table: the number of strings, and for each string its UTF-8 length and bytes.
+ * The color table: the number of colors and the rgb of each color.
+ * The block type table: the number of types, and for each type its width, height, hit points,
+ * Fill color, fill image, stroke color (indexes in the tables, -1 for none), the number of colors by hit points
+ * And (hit points, color) pairs, the number of images by hit points and (hit points, image) pairs.
+ * The level set table: the number of sets, and for each set its key, name and path, the number of levels
+ * And the offset of its first level from the end of the table.
+ * The levels one after the other: name, paddle speed, paddle width, number of blocks to remove,
+ * The number of velocities and (dx, dy) pairs of doubles, background color and image,
+ * The number of blocks n and then n x values, n y values and n block types.
+ * The tables are read when the file is opened, the levels of a set are read when the set needs them.
+ */
+public class CompiledLevelsReader {
+    //The first int of the file ("ARKL") and the version of the format.
+    static final int MAGIC = 0x41524B4C;
+    static final int VERSION = 1;
+    //The file.
+    private ByteBuffer buffer;
+    //The tables.
+    private String[] strings;
+    private Color[] colors;
+    private int[] typeOffsets;
+    //The factories of the block types we already created.
+    private BlockFactory[] types;
+    //Where the levels start.
+    private int levelsStart;
+    /**.
+     * Creates new instance of CompiledLevelsReader.
+     * The constructor of our class, reading the tables of the file.
+     *
+     * @param buffer the file.
+     * @throws IOException if it isn't a compiled levels file.
+     */
+    private CompiledLevelsReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a compiled levels file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Compiled levels version " + version + " (we read version " + VERSION + ")");
+        }
+        this.strings = new String[buffer.getInt()];
+        for (int i = 0; i < this.strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            this.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        this.colors = new Color[buffer.getInt()];
+        for (int i = 0; i < this.colors.length; i++) {
+            this.colors[i] = ColorRegistry.intern(buffer.getInt());
+        }
+        //The types are created when a level uses them, now we only skip them.
+        this.typeOffsets = new int[buffer.getInt()];
+        this.types = new BlockFactory[this.typeOffsets.length];
+        for (int i = 0; i < this.typeOffsets.length; i++) {
+            this.typeOffsets[i] = buffer.position();
+            buffer.position(buffer.position() + 6 * 4);
+            int colorPairs = buffer.getInt();
+            buffer.position(buffer.position() + colorPairs * 2 * 4);
+            int imagePairs = buffer.getInt();
+            buffer.position(buffer.position() + imagePairs * 2 * 4);
+        }
+    }
+    /**.
+     * read.
+     * @param file a compiled levels file.
+     * @return the level sets of the file (their levels are read when they are needed).
+     * @throws IOException if we can't read the file.
+     */
+    public static List<LevelSet> read(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            //The mapping stays valid after the channel is closed.
+            FileChannel channel = raf.getChannel();
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            raf.close();
+        }
+    }
+    /**.
+     * read.
+     * A file is mapped, other urls (like a file in a jar) are read into memory.
+     *
+     * @param url the url of a compiled levels file.
+     * @return the level sets of the file (their levels are read when they are needed).
+     * @throws IOException if we can't read the file.
+     */
+    public static List<LevelSet> read(URL url) throws IOException {
+        if (url.getProtocol().equals("file")) {
+            try {
+                return read(new File(url.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException("Bad path " + url);
+            }
+        }
+        InputStream is = url.openStream();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] chunk = new byte[1 << 16];
+            for (int n = is.read(chunk); n >= 0; n = is.read(chunk)) {
+                bytes.write(chunk, 0, n);
+            }
+            return read(ByteBuffer.wrap(bytes.toByteArray()));
+        } finally {
+            is.close();
+        }
+    }
+    /**.
+     * read.
+     * @param buffer the bytes of a compiled levels file.
+     * @return the level sets of the file (their levels are read when they are needed).
+     * @throws IOException if it isn't a compiled levels file.
+     */
+    private static List<LevelSet> read(ByteBuffer buffer) throws IOException {
+        CompiledLevelsReader reader = new CompiledLevelsReader(buffer);
+        int count = buffer.getInt();
+        int[] sets = new int[count * 5];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = buffer.getInt();
+        }
+        reader.levelsStart = buffer.position();
+        List<LevelSet> levelSets = new ArrayList<LevelSet>();
+        for (int i = 0; i < sets.length; i += 5) {
+            levelSets.add(new CompiledLevelSet(reader.strings[sets[i]], reader.strings[sets[i + 1]]
+                    , reader.strings[sets[i + 2]], reader, sets[i + 3], reader.levelsStart + sets[i + 4]));
+        }
+        return levelSets;
+    }
+    /**.
+     * readLevels.
+     * Reading levels one after the other, each thread reads with its own view of the file.
+     *
+     * @param offset the offset of the first level.
+     * @param count the number of levels.
+     * @param listener gets each level when it is read.
+     */
+    void readLevels(int offset, int count, LevelListener listener) {
+        ByteBuffer b = this.buffer.duplicate();
+        b.position(offset);
+        for (int i = 0; i < count; i++) {
+            listener.levelRead(readLevel(b));
+        }
+    }
+    /**.
+     * readLevel.
+     * @param b the file, at the start of a level (it is moved to the end of the level).
+     * @return the level.
+     */
+    private LevelSpecification readLevel(ByteBuffer b) {
+        LevelSpecification level = new LevelSpecification();
+        level.setLevelName(this.strings[b.getInt()]);
+        level.setPaddleSpeed(b.getInt());
+        level.setPaddleWidth(b.getInt());
+        level.setNumBlocks(b.getInt());
+        List<Velocity> velocities = new ArrayList<Velocity>();
+        for (int n = b.getInt(); n > 0; n--) {
+            velocities.add(new Velocity(b.getDouble(), b.getDouble()));
+        }
+        level.setBallVelocities(velocities);
+        int color = b.getInt();
+        int image = b.getInt();
+        if (image >= 0) {
+            level.setBackground(new Block(Level.gameRectangle(), ColorImageParser.imageFromText(this.strings[image])));
+        } else {
+            level.setBackground(new Block(Level.gameRectangle(), color(color)));
+        }
+        //The x values, y values and types of the blocks are packed int arrays.
+        int n = b.getInt();
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        int[] blockTypes = new int[n];
+        b.asIntBuffer().get(xs).get(ys).get(blockTypes);
+        b.position(b.position() + 3 * 4 * n);
+        List<Block> blocks = level.blocks();
+        for (int i = 0; i < n; i++) {
+            blocks.add(type(blockTypes[i]).create(xs[i], ys[i]));
+        }
+        return level;
+    }
+    /**.
+     * type.
+     * @param index the index of a block type.
+     * @return the factory of the blocks of the type (created the first time).
+     */
+    private synchronized BlockFactory type(int index) {
+        if (this.types[index] != null) {
+            return this.types[index];
+        }
+        ByteBuffer b = this.buffer.duplicate();
+        b.position(this.typeOffsets[index]);
+        int width = b.getInt();
+        int height = b.getInt();
+        BlockFactory factory = new BlockFactory(height, width, b.getInt());
+        factory.setDefaultColor(color(b.getInt()));
+        factory.setDefaultImage(image(b.getInt()));
+        int stroke = b.getInt();
+        if (stroke >= 0) {
+            factory.setStroke(this.colors[stroke]);
+        }
+        Map<Integer, Color> colorMap = new TreeMap<Integer, Color>();
+        for (int n = b.getInt(); n > 0; n--) {
+            colorMap.put(b.getInt(), this.colors[b.getInt()]);
+        }
+        factory.setColors(colorMap);
+        Map<Integer, Image> imageMap = new TreeMap<Integer, Image>();
+        for (int n = b.getInt(); n > 0; n--) {
+            imageMap.put(b.getInt(), image(b.getInt()));
+        }
+        factory.setImages(imageMap);
+        this.types[index] = factory;
+        return factory;
+    }
+    /**.
+     * color.
+     * @param index the index of a color, -1 for none.
+     * @return the color, null for none.
+     */
+    private Color color(int index) {
+        return index < 0 ? null : this.colors[index];
+    }
+    /**.
+     * image.
+     * @param index the index of the path of a block image, -1 for none.
+     * @return the image, null for none.
+     */
+    private Image image(int index) {
+        return index < 0 ? null : ColorImageParser.blockImageFromText(this.strings[index]);
+    }
+}
@@ -0,0 +1,39 @@
+package io;
+
+/**.
+ * DefinitionException.
+ * A problem in a level or block definitions file, with the line and the column where we found it.
+ */
+public class DefinitionException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    //The line (from 1) and the column (from 1) of the problem.
+    private int line;
+    private int column;
+    /**.
+     * Creates new instance of DefinitionException.
+     * The constructor of our class.
+     *
+     * @param message what the problem is.
+     * @param line the line of the problem (from 1).
+     * @param column the column of the problem (from 1).
+     */
+    public DefinitionException(String message, int line, int column) {
+        super("line " + line + ", column " + column + ": " + message);
+        this.line = line;
+        this.column = column;
+    }
+    /**.
+     * getLine.
+     * @return the line of the problem (from 1).
+     */
+    public int getLine() {
+        return this.line;
+    }
+    /**.
+     * getColumn.
+     * @return the column of the problem (from 1).
+     */
+    public int getColumn() {
+        return this.column;
+    }
+}
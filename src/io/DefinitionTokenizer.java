@@ -0,0 +1,274 @@
+package io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.regex.Matcher;
+
+/**.
+ * DefinitionTokenizer.
+ * Reads a definitions file line after line into a buffer of chars that is used again and again,
+ * So we can read big files without keeping them (or a string of each line) in the memory.
+ * The current line is the part of getText() from getStart() to getEnd(), and the readers find the words,
+ * Keys and values in it by their indexes. A line is valid only until the next call of nextLine().
+ */
+public class DefinitionTokenizer {
+    //The chars we read at once.
+    private static final int BUFFERSIZE = 1 << 16;
+    //The reader of the file.
+    private Reader reader;
+    //The chars we read and haven't used yet, and a char buffer over them.
+    private char[] chars;
+    private CharBuffer text;
+    //The number of chars in the array we read from the file.
+    private int filled;
+    //Determines if we got to the end of the file.
+    private boolean endOfFile;
+    //The current line (the end is without the line break) and the start of the next one.
+    private int start;
+    private int end;
+    private int next;
+    //The number of the current line (from 1).
+    private int lineNumber;
+    /**.
+     * Creates new instance of DefinitionTokenizer.
+     * The constructor of our class.
+     *
+     * @param reader the reader of the file.
+     */
+    public DefinitionTokenizer(Reader reader) {
+        this.reader = reader;
+        this.chars = new char[BUFFERSIZE];
+        this.text = CharBuffer.wrap(this.chars);
+        this.filled = 0;
+        this.endOfFile = false;
+        this.lineNumber = 0;
+    }
+    /**.
+     * nextLine.
+     * Moving to the next line of the file.
+     *
+     * @return true if there is a next line, false in the end of the file.
+     * @throws IOException if we can't read the file.
+     */
+    public boolean nextLine() throws IOException {
+        int i = this.next;
+        while (true) {
+            while (i < this.filled && this.chars[i] != '\n') {
+                i++;
+            }
+            if (i < this.filled || this.endOfFile) {
+                break;
+            }
+            //The line continues after the chars we have, reading more.
+            i -= this.next;
+            fill();
+        }
+        //The end of the file (the last line can be without a line break).
+        if (this.next >= this.filled) {
+            return false;
+        }
+        this.start = this.next;
+        this.end = i;
+        this.next = i < this.filled ? i + 1 : i;
+        //Windows line breaks.
+        if (this.end > this.start && this.chars[this.end - 1] == '\r') {
+            this.end--;
+        }
+        this.lineNumber++;
+        return true;
+    }
+    /**.
+     * fill.
+     * Moving the chars we haven't used to the start of the array (or to a bigger array if it is full)
+     * And reading more chars after them.
+     *
+     * @throws IOException if we can't read the file.
+     */
+    private void fill() throws IOException {
+        int left = this.filled - this.next;
+        if (left == this.chars.length) {
+            //A line longer than the array.
+            char[] bigger = new char[this.chars.length * 2];
+            System.arraycopy(this.chars, this.next, bigger, 0, left);
+            this.chars = bigger;
+            this.text = CharBuffer.wrap(this.chars);
+        } else {
+            System.arraycopy(this.chars, this.next, this.chars, 0, left);
+        }
+        this.next = 0;
+        this.filled = left;
+        int read = this.reader.read(this.chars, this.filled, this.chars.length - this.filled);
+        if (read < 0) {
+            this.endOfFile = true;
+        } else {
+            this.filled += read;
+        }
+    }
+    /**.
+     * getText.
+     * @return the chars the current line is in (valid until the next line).
+     */
+    public CharSequence getText() {
+        return this.text;
+    }
+    /**.
+     * getStart.
+     * @return the index of the first char of the current line in getText().
+     */
+    public int getStart() {
+        return this.start;
+    }
+    /**.
+     * getEnd.
+     * @return the index after the last char of the current line in getText().
+     */
+    public int getEnd() {
+        return this.end;
+    }
+    /**.
+     * getLineNumber.
+     * @return the number of the current line (from 1).
+     */
+    public int getLineNumber() {
+        return this.lineNumber;
+    }
+    /**.
+     * charAt.
+     * @param i an index in getText().
+     * @return the char in that index.
+     */
+    public char charAt(int i) {
+        return this.chars[i];
+    }
+    /**.
+     * isIgnored.
+     * @return true if the current line is empty or a comment (starts with '#'), false otherwise.
+     */
+    public boolean isIgnored() {
+        return this.start == this.end || this.chars[this.start] == '#';
+    }
+    /**.
+     * lineEquals.
+     * @param s a string.
+     * @return true if the current line is the string, false otherwise.
+     */
+    public boolean lineEquals(String s) {
+        return this.end - this.start == s.length() && regionEquals(this.start, s);
+    }
+    /**.
+     * regionEquals.
+     * @param from an index in the current line.
+     * @param s a string.
+     * @return true if the chars from the index are the string, false otherwise.
+     */
+    public boolean regionEquals(int from, String s) {
+        if (this.end - from < s.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (this.chars[from + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    /**.
+     * indexOf.
+     * @param c a char.
+     * @param from an index in the current line.
+     * @param to an index after it in the current line.
+     * @return the index of the first c between them, -1 if there isn't.
+     */
+    public int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (this.chars[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    /**.
+     * skipSpaces.
+     * @param from an index in the current line.
+     * @return the index of the first char from it that isn't a space (the end of the line if there isn't).
+     */
+    public int skipSpaces(int from) {
+        int i = from;
+        while (i < this.end && this.chars[i] == ' ') {
+            i++;
+        }
+        return i;
+    }
+    /**.
+     * wordEnd.
+     * @param from the index of the start of a word in the current line.
+     * @return the index after the last char of the word (the next space or the end of the line).
+     */
+    public int wordEnd(int from) {
+        int i = from;
+        while (i < this.end && this.chars[i] != ' ') {
+            i++;
+        }
+        return i;
+    }
+    /**.
+     * matches.
+     * @param matcher a matcher of a pattern (we use it again and again).
+     * @param from an index in the current line.
+     * @param to an index after it in the current line.
+     * @return true if the chars between them match the pattern (and the matcher has its groups), false otherwise.
+     */
+    public boolean matches(Matcher matcher, int from, int to) {
+        matcher.reset(this.text);
+        matcher.region(from, to);
+        return matcher.matches();
+    }
+    /**.
+     * text.
+     * @param from an index in the current line.
+     * @param to an index after it in the current line.
+     * @return the chars between them as a string.
+     */
+    public String text(int from, int to) {
+        return new String(this.chars, from, to - from);
+    }
+    /**.
+     * parseInt.
+     * @param from an index in the current line.
+     * @param to an index after it in the current line.
+     * @return the number written between them (can be negative).
+     * @throws DefinitionException if it isn't a number.
+     */
+    public int parseInt(int from, int to) {
+        int i = from;
+        boolean negative = i < to && this.chars[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == to) {
+            throw error("expected a number", from);
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            char c = this.chars[i];
+            if (c < '0' || c > '9') {
+                throw error("expected a number", i);
+            }
+            value = value * 10 + c - '0';
+            if (value > Integer.MAX_VALUE) {
+                throw error("the number is too big", from);
+            }
+        }
+        return (int) (negative ? -value : value);
+    }
+    /**.
+     * error.
+     * @param message what the problem is.
+     * @param index the index in getText() of the problem in the current line.
+     * @return an exception with the line and column of the problem.
+     */
+    public DefinitionException error(String message, int index) {
+        return new DefinitionException(message, this.lineNumber, index - this.start + 1);
+    }
+}
@@ -0,0 +1,404 @@
+package io;
+
+import creators.ColorImageParser;
+import game.Block;
+import game.BlockType;
+import game.Velocity;
+import geometry.Rectangle;
+import levels.LevelInformation;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**.
+ * LevelCompiler.
+ * Reads a level sets file with its level and block definitions (by the text readers) and writes all of it
+ * To one compiled levels file, that CompiledLevelsReader reads much faster.
+ * After writing, the file is read back and each level is compared to the level of the text readers.
+ * Usage: java io.LevelCompiler [level sets file] [compiled file]
+ * (the default is level_sets.txt in the resources and level_sets.bin).
+ */
+public class LevelCompiler {
+    //The string table.
+    private List<String> strings;
+    private Map<String, Integer> stringIndexes;
+    //The color table.
+    private List<Color> colors;
+    private Map<Color, Integer> colorIndexes;
+    //The block type table, a block of each type and the types by their values.
+    private List<Block> types;
+    private Map<String, Integer> typeIndexes;
+    /**.
+     * Creates new instance of LevelCompiler.
+     * The constructor of our class, the tables are empty.
+     */
+    public LevelCompiler() {
+        this.strings = new ArrayList<String>();
+        this.stringIndexes = new HashMap<String, Integer>();
+        this.colors = new ArrayList<Color>();
+        this.colorIndexes = new HashMap<Color, Integer>();
+        this.types = new ArrayList<Block>();
+        this.typeIndexes = new HashMap<String, Integer>();
+    }
+    /**.
+     * main.
+     * @param args the level sets file and the compiled file.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        String setsPath = args.length > 0 ? args[0] : "level_sets.txt";
+        File out = new File(args.length > 1 ? args[1] : "level_sets.bin");
+        try {
+            long start = System.nanoTime();
+            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(setsPath);
+            if (is == null) {
+                throw new IOException("Can't find " + setsPath);
+            }
+            List<LevelSet> textSets = LevelSetsReader.getLevelSets(new InputStreamReader(is));
+            List<List<LevelInformation>> textLevels = new ArrayList<List<LevelInformation>>();
+            for (LevelSet set : textSets) {
+                textLevels.add(set.getLevels());
+            }
+            long textTime = System.nanoTime() - start;
+            LevelCompiler compiler = new LevelCompiler();
+            byte[] bytes = compiler.compile(textSets, textLevels);
+            OutputStream os = new FileOutputStream(out);
+            try {
+                os.write(bytes);
+            } finally {
+                os.close();
+            }
+            //Reading the file back and comparing.
+            start = System.nanoTime();
+            List<LevelSet> compiledSets = CompiledLevelsReader.read(out);
+            List<List<LevelInformation>> compiledLevels = new ArrayList<List<LevelInformation>>();
+            for (LevelSet set : compiledSets) {
+                compiledLevels.add(set.getLevels());
+            }
+            long compiledTime = System.nanoTime() - start;
+            String difference = difference(textSets, textLevels, compiledSets, compiledLevels);
+            System.out.println(out + ": " + textSets.size() + " level sets, " + compiler.types.size()
+                    + " block types, " + bytes.length + " bytes");
+            System.out.printf("text read in %.1f ms, compiled read in %.1f ms%n", textTime / 1e6, compiledTime / 1e6);
+            if (difference != null) {
+                System.out.println("The compiled levels are different: " + difference);
+                System.exit(1);
+            }
+            System.out.println("The compiled levels are the same as the text levels.");
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(2);
+        }
+    }
+    /**.
+     * compile.
+     * @param sets the level sets.
+     * @param levels the levels of each set.
+     * @return the bytes of the compiled file.
+     * @throws IOException if a level has something we can't write (like an image we didn't read).
+     */
+    public byte[] compile(List<LevelSet> sets, List<List<LevelInformation>> levels) throws IOException {
+        //The levels are written first, so the tables have all the values when we write them.
+        ByteArrayOutputStream levelBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(levelBytes);
+        int[] setTable = new int[sets.size() * 5];
+        for (int i = 0; i < sets.size(); i++) {
+            LevelSet set = sets.get(i);
+            setTable[5 * i] = string(set.getKey());
+            setTable[5 * i + 1] = string(set.getName());
+            setTable[5 * i + 2] = string(set.getPath());
+            setTable[5 * i + 3] = levels.get(i).size();
+            setTable[5 * i + 4] = out.size();
+            for (LevelInformation level : levels.get(i)) {
+                writeLevel(out, (LevelSpecification) level);
+            }
+        }
+        ByteArrayOutputStream fileBytes = new ByteArrayOutputStream();
+        DataOutputStream file = new DataOutputStream(fileBytes);
+        file.writeInt(CompiledLevelsReader.MAGIC);
+        file.writeInt(CompiledLevelsReader.VERSION);
+        file.writeInt(this.strings.size());
+        for (String s : this.strings) {
+            byte[] utf = s.getBytes(StandardCharsets.UTF_8);
+            file.writeInt(utf.length);
+            file.write(utf);
+        }
+        file.writeInt(this.colors.size());
+        for (Color c : this.colors) {
+            file.writeInt(c.getRGB() & 0xffffff);
+        }
+        file.writeInt(this.types.size());
+        for (Block type : this.types) {
+            writeType(file, type);
+        }
+        file.writeInt(sets.size());
+        for (int value : setTable) {
+            file.writeInt(value);
+        }
+        levelBytes.writeTo(file);
+        file.flush();
+        return fileBytes.toByteArray();
+    }
+    /**.
+     * writeLevel.
+     * @param out the levels.
+     * @param level a level.
+     * @throws IOException if the level has something we can't write.
+     */
+    private void writeLevel(DataOutputStream out, LevelSpecification level) throws IOException {
+        out.writeInt(string(level.levelName()));
+        out.writeInt(level.paddleSpeed());
+        out.writeInt(level.paddleWidth());
+        out.writeInt(level.numberOfBlocksToRemove());
+        out.writeInt(level.initialBallVelocities().size());
+        for (Velocity v : level.initialBallVelocities()) {
+            out.writeDouble(v.getDx());
+            out.writeDouble(v.getDy());
+        }
+        Block fill = level.getBackgroundFill();
+        out.writeInt(color(fill.getColor()));
+        out.writeInt(image(fill.getImage()));
+        List<Block> blocks = level.blocks();
+        int[] blockTypes = new int[blocks.size()];
+        out.writeInt(blocks.size());
+        for (Block block : blocks) {
+            out.writeInt(position(block.getCollisionRectangle().getUpperLeft().getX()));
+        }
+        for (Block block : blocks) {
+            out.writeInt(position(block.getCollisionRectangle().getUpperLeft().getY()));
+        }
+        for (int i = 0; i < blocks.size(); i++) {
+            blockTypes[i] = type(blocks.get(i));
+        }
+        for (int blockType : blockTypes) {
+            out.writeInt(blockType);
+        }
+    }
+    /**.
+     * writeType.
+     * @param out the file.
+     * @param block a block of the type.
+     * @throws IOException if the block has something we can't write.
+     */
+    private void writeType(DataOutputStream out, Block block) throws IOException {
+        Rectangle rect = block.getCollisionRectangle();
+        BlockType type = block.getType();
+        out.writeInt(position(rect.getWidth()));
+        out.writeInt(position(rect.getHeight()));
+        out.writeInt(block.getHitPoints());
+        out.writeInt(color(type.getColor()));
+        out.writeInt(image(type.getImage()));
+        out.writeInt(color(type.getStroke()));
+        Map<Integer, Color> colorMap = type.getColorMap();
+        out.writeInt(colorMap.size());
+        for (Map.Entry<Integer, Color> e : colorMap.entrySet()) {
+            out.writeInt(e.getKey());
+            out.writeInt(color(e.getValue()));
+        }
+        Map<Integer, Image> imageMap = type.getImageMap();
+        out.writeInt(imageMap.size());
+        for (Map.Entry<Integer, Image> e : imageMap.entrySet()) {
+            out.writeInt(e.getKey());
+            out.writeInt(image(e.getValue()));
+        }
+    }
+    /**.
+     * type.
+     * Blocks with the same size, hit points, fill and stroke are of the same type.
+     *
+     * @param block a block.
+     * @return the index of its type.
+     * @throws IOException if the block has something we can't write.
+     */
+    private int type(Block block) throws IOException {
+        Rectangle rect = block.getCollisionRectangle();
+        StringBuilder key = new StringBuilder();
+        key.append(position(rect.getWidth())).append(' ').append(position(rect.getHeight()))
+                .append(' ').append(block.getHitPoints()).append(' ').append(color(block.getColor()))
+                .append(' ').append(image(block.getImage())).append(' ').append(color(block.getStrokeColor()));
+        for (Map.Entry<Integer, Color> e : block.getType().getColorMap().entrySet()) {
+            key.append(" c").append(e.getKey()).append('=').append(color(e.getValue()));
+        }
+        for (Map.Entry<Integer, Image> e : block.getType().getImageMap().entrySet()) {
+            key.append(" i").append(e.getKey()).append('=').append(image(e.getValue()));
+        }
+        Integer index = this.typeIndexes.get(key.toString());
+        if (index == null) {
+            index = this.types.size();
+            this.types.add(block);
+            this.typeIndexes.put(key.toString(), index);
+        }
+        return index;
+    }
+    /**.
+     * string.
+     * @param s a string.
+     * @return its index in the string table.
+     */
+    private int string(String s) {
+        Integer index = this.stringIndexes.get(s);
+        if (index == null) {
+            index = this.strings.size();
+            this.strings.add(s);
+            this.stringIndexes.put(s, index);
+        }
+        return index;
+    }
+    /**.
+     * color.
+     * @param c a color or null.
+     * @return its index in the color table, -1 for null.
+     */
+    private int color(Color c) {
+        if (c == null) {
+            return -1;
+        }
+        Integer index = this.colorIndexes.get(c);
+        if (index == null) {
+            index = this.colors.size();
+            this.colors.add(c);
+            this.colorIndexes.put(c, index);
+        }
+        return index;
+    }
+    /**.
+     * image.
+     * @param img an image or null.
+     * @return the index of its path in the string table, -1 for null.
+     * @throws IOException if we don't know where the image was read from.
+     */
+    private int image(Image img) throws IOException {
+        if (img == null) {
+            return -1;
+        }
+        String path = ColorImageParser.pathOf(img);
+        if (path == null) {
+            throw new IOException("An image that wasn't read from a file");
+        }
+        return string(path);
+    }
+    /**.
+     * position.
+     * @param value a position or size of a block.
+     * @return the value as an int.
+     * @throws IOException if it isn't a whole number.
+     */
+    private static int position(double value) throws IOException {
+        if (value != (int) value) {
+            throw new IOException("The value " + value + " isn't a whole number");
+        }
+        return (int) value;
+    }
+    /**.
+     * difference.
+     * @param sets the level sets of the text readers.
+     * @param levels their levels.
+     * @param compiledSets the level sets of the compiled file.
+     * @param compiledLevels their levels.
+     * @return the first difference between them, null if they are the same.
+     */
+    public static String difference(List<LevelSet> sets, List<List<LevelInformation>> levels
+            , List<LevelSet> compiledSets, List<List<LevelInformation>> compiledLevels) {
+        if (sets.size() != compiledSets.size()) {
+            return "number of level sets";
+        }
+        for (int i = 0; i < sets.size(); i++) {
+            LevelSet a = sets.get(i);
+            LevelSet b = compiledSets.get(i);
+            if (!a.getKey().equals(b.getKey()) || !a.getName().equals(b.getName())
+                    || !a.getPath().equals(b.getPath())) {
+                return "level set " + a.getKey();
+            }
+            if (levels.get(i).size() != compiledLevels.get(i).size()) {
+                return "number of levels of " + a.getKey();
+            }
+            for (int j = 0; j < levels.get(i).size(); j++) {
+                String d = difference((LevelSpecification) levels.get(i).get(j)
+                        , (LevelSpecification) compiledLevels.get(i).get(j));
+                if (d != null) {
+                    return a.getKey() + " level " + j + ": " + d;
+                }
+            }
+        }
+        return null;
+    }
+    /**.
+     * difference.
+     * @param a a level.
+     * @param b another level.
+     * @return the first difference between them, null if they are the same.
+     */
+    static String difference(LevelSpecification a, LevelSpecification b) {
+        if (!a.levelName().equals(b.levelName())) {
+            return "name";
+        }
+        if (a.paddleSpeed() != b.paddleSpeed() || a.paddleWidth() != b.paddleWidth()) {
+            return "paddle";
+        }
+        if (a.numberOfBlocksToRemove() != b.numberOfBlocksToRemove()) {
+            return "number of blocks to remove";
+        }
+        List<Velocity> va = a.initialBallVelocities();
+        List<Velocity> vb = b.initialBallVelocities();
+        if (va.size() != vb.size()) {
+            return "number of balls";
+        }
+        for (int i = 0; i < va.size(); i++) {
+            if (va.get(i).getDx() != vb.get(i).getDx() || va.get(i).getDy() != vb.get(i).getDy()) {
+                return "velocity " + i;
+            }
+        }
+        if (!sameBlock(a.getBackgroundFill(), b.getBackgroundFill())) {
+            return "background";
+        }
+        if (a.blocks().size() != b.blocks().size()) {
+            return "number of blocks";
+        }
+        for (int i = 0; i < a.blocks().size(); i++) {
+            if (!sameBlock(a.blocks().get(i), b.blocks().get(i))) {
+                return "block " + i;
+            }
+        }
+        return null;
+    }
+    /**.
+     * sameBlock.
+     * @param a a block.
+     * @param b another block.
+     * @return true if they have the same place, size, hit points, fill and stroke (images are the same object).
+     */
+    private static boolean sameBlock(Block a, Block b) {
+        Rectangle ra = a.getCollisionRectangle();
+        Rectangle rb = b.getCollisionRectangle();
+        return ra.getUpperLeft().getX() == rb.getUpperLeft().getX()
+                && ra.getUpperLeft().getY() == rb.getUpperLeft().getY()
+                && ra.getWidth() == rb.getWidth() && ra.getHeight() == rb.getHeight()
+                && a.getHitPoints() == b.getHitPoints()
+                && same(a.getColor(), b.getColor()) && a.getImage() == b.getImage()
+                && same(a.getStrokeColor(), b.getStrokeColor())
+                && a.getType().getColorMap().equals(b.getType().getColorMap())
+                && a.getType().getImageMap().equals(b.getType().getImageMap());
+    }
+    /**.
+     * same.
+     * @param a an object or null.
+     * @param b an object or null.
+     * @return true if both are null or equal.
+     */
+    private static boolean same(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,18 @@
+package io;
+
+import levels.LevelInformation;
+
+/**.
+ * LevelListener.
+ * Gets the levels of a level definitions file one by one while the file is read,
+ * So a big file doesn't have to be kept in a list.
+ */
+public interface LevelListener {
+    /**.
+     * levelRead.
+     * Called when the reader finished reading a level.
+     *
+     * @param level the level we read.
+     */
+    void levelRead(LevelInformation level);
+}
@@ -0,0 +1,175 @@
+package io;
+
+import levels.LevelInformation;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**.
+ * LevelSet.
+ * A level set of the level sets file: its key, its name and the path of its level definitions.
+ * The levels are read only when they are needed, the first time the set is selected.
+ * With prefetch() they are read on a worker thread: the first level can be played as soon as it is read,
+ * And the next levels are read while it is played.
+ */
+public class LevelSet {
+    private String key;
+    private String name;
+    //The path of the level definitions file in the resources.
+    private String path;
+    //The levels we already read.
+    private List<LevelInformation> levels;
+    //Determines if we started reading the levels and if we finished.
+    private boolean started;
+    private boolean done;
+    //The problem we had reading the levels, null if there is no problem.
+    private RuntimeException error;
+    /**.
+     * Creates new instance of LevelSet.
+     * The constructor of our class.
+     *
+     * @param key the key of the level set in the menu.
+     * @param name the name of the level set.
+     * @param path the path of the level definitions file in the resources.
+     */
+    public LevelSet(String key, String name, String path) {
+        this.key = key;
+        this.name = name;
+        this.path = path;
+        this.levels = new ArrayList<LevelInformation>();
+    }
+    /**.
+     * getKey.
+     * @return the key of the level set in the menu.
+     */
+    public String getKey() {
+        return this.key;
+    }
+    /**.
+     * getName.
+     * @return the name of the level set.
+     */
+    public String getName() {
+        return this.name;
+    }
+    /**.
+     * getPath.
+     * @return the path of the level definitions file in the resources.
+     */
+    public String getPath() {
+        return this.path;
+    }
+    /**.
+     * prefetch.
+     * Starting to read the levels on a worker thread (if we didn't start already).
+     */
+    public void prefetch() {
+        synchronized (this) {
+            if (this.started) {
+                return;
+            }
+            this.started = true;
+        }
+        Thread loader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                read();
+            }
+        }, "level-set-" + this.key);
+        //The loader shouldn't keep the game running after it was closed.
+        loader.setDaemon(true);
+        loader.start();
+    }
+    /**.
+     * getLevel.
+     * Reading the levels on this thread if we didn't start yet, otherwise waiting for the level to be read.
+     *
+     * @param index the index of a level in the set.
+     * @return the level, null if the set has no such level.
+     */
+    public LevelInformation getLevel(int index) {
+        boolean readHere = false;
+        synchronized (this) {
+            if (!this.started) {
+                this.started = true;
+                readHere = true;
+            }
+        }
+        if (readHere) {
+            read();
+        }
+        synchronized (this) {
+            try {
+                while (this.levels.size() <= index && !this.done) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Stopped waiting for the levels of " + this.path);
+            }
+            if (index < this.levels.size()) {
+                return this.levels.get(index);
+            }
+            if (this.error != null) {
+                throw this.error;
+            }
+            return null;
+        }
+    }
+    /**.
+     * getLevels.
+     * @return all the levels of the set (reading them if we didn't yet).
+     */
+    public List<LevelInformation> getLevels() {
+        //Waiting for the end of the file.
+        getLevel(Integer.MAX_VALUE);
+        synchronized (this) {
+            return new ArrayList<LevelInformation>(this.levels);
+        }
+    }
+    /**.
+     * readLevels.
+     * Reading the levels of the set from the level definitions file.
+     *
+     * @param listener gets each level when it is read.
+     */
+    protected void readLevels(LevelListener listener) {
+        InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(this.path);
+        if (is == null) {
+            throw new RuntimeException("Can't find the level definitions " + this.path);
+        }
+        new LevelSpecificationReader().fromReader(new InputStreamReader(is), listener);
+    }
+    /**.
+     * read.
+     * Reading the levels, each level is added (and the waiting threads are woken) when it is read.
+     */
+    private void read() {
+        RuntimeException problem = null;
+        try {
+            readLevels(new LevelListener() {
+                @Override
+                public void levelRead(LevelInformation level) {
+                    addLevel(level);
+                }
+            });
+        } catch (RuntimeException e) {
+            problem = e;
+        }
+        synchronized (this) {
+            this.error = problem;
+            this.done = true;
+            notifyAll();
+        }
+    }
+    /**.
+     * addLevel.
+     * @param level a level we read.
+     */
+    private synchronized void addLevel(LevelInformation level) {
+        this.levels.add(level);
+        notifyAll();
+    }
+}
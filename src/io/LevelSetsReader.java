@@ -1,7 +1,6 @@
 package io;
 import levels.LevelInformation;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.io.Reader;
 import java.util.ArrayList;
@@ -22,23 +21,35 @@ public class LevelSetsReader {
      */
     public static List<List<LevelInformation>> getLevels(Reader reader) {
         List<List<LevelInformation>> listLevelSets = new ArrayList<List<LevelInformation>>();
+        for (LevelSet levelSet : getLevelSets(reader)) {
+            //Reading the current level set.
+            listLevelSets.add(levelSet.getLevels());
+        }
+        return listLevelSets;
+    }
+    /**
+     * getLevelSets.
+     * Reading only the keys, names and paths of the level sets, the levels are read when they are needed.
+     *
+     * @param reader a reader of the level sets file.
+     * @return the level sets in the order of the file.
+     */
+    public static List<LevelSet> getLevelSets(Reader reader) {
+        List<LevelSet> levelSets = new ArrayList<LevelSet>();
         LineNumberReader linesReader = new LineNumberReader(reader);
-        String line = "";
+        String[] keyAndName = null;
         try {
-            //Reading the first line.
-            line = linesReader.readLine();
+            String line = linesReader.readLine();
             while (line != null) {
-                //The lel set files.
-                if (linesReader.getLineNumber() % 2 == 0) {
-                    //Reading the current level set.
-                    LevelSpecificationReader levelSpecificationReader = new LevelSpecificationReader();
-                    InputStreamReader streamReader
-                            = new InputStreamReader(ClassLoader.getSystemClassLoader().getResourceAsStream(line));
-                    listLevelSets.add(levelSpecificationReader.fromReader(streamReader));
+                //The key and name are in the odd line and the path of the levels is in the next line.
+                if (linesReader.getLineNumber() % 2 == 1) {
+                    keyAndName = line.split(":");
+                } else if (keyAndName != null) {
+                    levelSets.add(new LevelSet(keyAndName[0], keyAndName[1], line));
                 }
                 line = linesReader.readLine();
             }
-            return listLevelSets;
+            return levelSets;
         } catch (IOException e) {
             throw new RuntimeException("Problem with reading the file.");
         }
@@ -69,4 +80,29 @@ public class LevelSetsReader {
             throw new RuntimeException("Problem with reading the file.");
         }
     }
+    /**
+     * getLevelSetPaths.
+     * @param reader a reader of the level sets file.
+     * @return map with keys of level set key and value of the path of the level definitions of the set.
+     */
+    public static Map<String, String> getLevelSetPaths(Reader reader) {
+        Map<String, String> map = new TreeMap<String, String>();
+        LineNumberReader linesReader = new LineNumberReader(reader);
+        String key = null;
+        try {
+            String line = linesReader.readLine();
+            while (line != null) {
+                //The key is in the odd line and the path of its levels is in the next line.
+                if (linesReader.getLineNumber() % 2 == 1) {
+                    key = line.split(":")[0];
+                } else if (key != null) {
+                    map.put(key, line);
+                }
+                line = linesReader.readLine();
+            }
+            return map;
+        } catch (IOException e) {
+            throw new RuntimeException("Problem with reading the file.");
+        }
+    }
 }
@@ -0,0 +1,209 @@
+package io;
+
+import creators.BlocksFromSymbolsFactory;
+import game.Block;
+import game.Sprite;
+import game.Velocity;
+import levels.Background;
+import levels.LevelInformation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**.
+ * LevelSpecification.
+ * The level we read from a level definitions file, the reader sets its values line after line.
+ */
+class LevelSpecification implements LevelInformation {
+    //Each level information.
+    private String levelName;
+    private List<Velocity> ballVelocities;
+    private Sprite background;
+    //The block that fills the background.
+    private Block backgroundFill;
+    private int paddleSpeed;
+    private int paddleWidth;
+    private BlocksFromSymbolsFactory blocksFromSymbolsFactory;
+    private int blocksStartX;
+    private int blocksStartY;
+    private int rowHeight;
+    private int numBlocks;
+    private List<Block> blocks;
+    /**.
+     * Creates new instance of LevelSpecification.
+     * The constructor of our class, the level has no values yet.
+     */
+    LevelSpecification() {
+        this.levelName = "";
+        this.blocks = new ArrayList<Block>();
+    }
+    /**.
+     * missing.
+     * Valid parameters are for example a name and ball velocities.
+     * @return the key of a value the level must have and doesn't, null if it has them all.
+     */
+    String missing() {
+        if (this.levelName.length() == 0) {
+            return "level_name";
+        }
+        if (this.ballVelocities == null) {
+            return "ball_velocities";
+        }
+        if (this.background == null) {
+            return "background";
+        }
+        if (this.blocksFromSymbolsFactory == null) {
+            return "block_definitions";
+        }
+        return null;
+    }
+    //Gets the number of the balls.
+    @Override
+    public int numberOfBalls() {
+        //The ball numbers eqials to number in ball velocity list.
+        return this.ballVelocities.size();
+    }
+    //Gets a list of balls' velocities.
+    @Override
+    public List<Velocity> initialBallVelocities() {
+        return this.ballVelocities;
+    }
+    //Gets the speed of the paddle.
+    @Override
+    public int paddleSpeed() {
+        return this.paddleSpeed;
+    }
+    //Gets the width of the paddle.
+    @Override
+    public int paddleWidth() {
+        return this.paddleWidth;
+    }
+    //Gets the name of the level.
+    @Override
+    public String levelName() {
+        return this.levelName;
+    }
+    //Gets the background of the level.
+    @Override
+    public Sprite getBackground() {
+        return this.background;
+    }
+    //Gets a list of the blocks in this level.
+    @Override
+    public List<Block> blocks() {
+        return this.blocks;
+    }
+    //Gets the number of blocks we want to remove.
+    @Override
+    public int numberOfBlocksToRemove() {
+        return this.numBlocks;
+    }
+    /**.
+     * getBlocksFromSymbolsFactory.
+     * @return the factory of the blocks of the level.
+     */
+    BlocksFromSymbolsFactory getBlocksFromSymbolsFactory() {
+        return this.blocksFromSymbolsFactory;
+    }
+    /**.
+     * getBlocksStartX.
+     * @return the x cordinate of the first block of each row.
+     */
+    int getBlocksStartX() {
+        return this.blocksStartX;
+    }
+    /**.
+     * getBlocksStartY.
+     * @return the y cordinate of the first row.
+     */
+    int getBlocksStartY() {
+        return this.blocksStartY;
+    }
+    /**.
+     * getRowHeight.
+     * @return the height of each row of blocks.
+     */
+    int getRowHeight() {
+        return this.rowHeight;
+    }
+    /**.
+     * setLevelName.
+     * @param name the name of the level.
+     */
+    void setLevelName(String name) {
+        this.levelName = name;
+    }
+    /**.
+     * setBallVelocities.
+     * @param velocities the velocities of the balls.
+     */
+    void setBallVelocities(List<Velocity> velocities) {
+        this.ballVelocities = velocities;
+    }
+    /**.
+     * getBackgroundFill.
+     * @return the block that fills the background (a color or an image).
+     */
+    Block getBackgroundFill() {
+        return this.backgroundFill;
+    }
+    /**.
+     * setBackground.
+     * @param fill the block that fills the background of the level.
+     */
+    void setBackground(Block fill) {
+        this.backgroundFill = fill;
+        Background b = new Background();
+        b.addSprite(fill);
+        this.background = b;
+    }
+    /**.
+     * setPaddleSpeed.
+     * @param speed the speed of the paddle.
+     */
+    void setPaddleSpeed(int speed) {
+        this.paddleSpeed = speed;
+    }
+    /**.
+     * setPaddleWidth.
+     * @param width the width of the paddle.
+     */
+    void setPaddleWidth(int width) {
+        this.paddleWidth = width;
+    }
+    /**.
+     * setBlocksFromSymbolsFactory.
+     * @param factory the factory of the blocks of the level.
+     */
+    void setBlocksFromSymbolsFactory(BlocksFromSymbolsFactory factory) {
+        this.blocksFromSymbolsFactory = factory;
+    }
+    /**.
+     * setBlocksStartX.
+     * @param x the x cordinate of the first block of each row.
+     */
+    void setBlocksStartX(int x) {
+        this.blocksStartX = x;
+    }
+    /**.
+     * setBlocksStartY.
+     * @param y the y cordinate of the first row.
+     */
+    void setBlocksStartY(int y) {
+        this.blocksStartY = y;
+    }
+    /**.
+     * setRowHeight.
+     * @param height the height of each row of blocks.
+     */
+    void setRowHeight(int height) {
+        this.rowHeight = height;
+    }
+    /**.
+     * setNumBlocks.
+     * @param number the number of blocks we need to remove.
+     */
+    void setNumBlocks(int number) {
+        this.numBlocks = number;
+    }
+}
@@ -1,282 +1,264 @@
 package io;
 
 import creators.BlocksFromSymbolsFactory;
+import creators.ColorImageParser;
 import game.Block;
-import game.Sprite;
 import game.Velocity;
-import levels.Background;
+import levels.Level;
 import levels.LevelInformation;
 
-import java.io.BufferedReader;
+import java.awt.Color;
+import java.awt.Image;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 /**.
  * LevelSpecificationReader.
  * This class helps us reading level definitions form file.
+ * We go over the file once with a DefinitionTokenizer: each level is between START_LEVEL and END_LEVEL,
+ * Its key:value lines come first and its rows of block symbols are between START_BLOCKS and END_BLOCKS.
+ * A wrong line stops the reading with the line and column of the problem.
  */
 public class LevelSpecificationReader {
-    //Each level information.
-    private String line = "";
-    private String levelName = "";
-    private List<Velocity> ballVelocities = null;
-    private Background background = null;
-    private int paddleSpeed = 0;
-    private int paddleWidth = 0;
-    private BlocksFromSymbolsFactory blocksFromSymbolsFactory = null;
-    private int blocksStartX = 0;
-    private int blocksStartY = 0;
-    private int rowHeight = 0;
-    private int numBlocks = 0;
-    private List<Block> blocks = null;
-    //Current x and y values of block upper point.
-    private int x = 0;
-    private int y = 0;
+    //The values of a background: color(...) or image(...).
+    private static final Pattern FILL = Pattern.compile("(color|image)\\((.+)\\)");
+    //Where we are in the file.
+    private static final int OUTSIDE = 0;
+    private static final int LEVEL = 1;
+    private static final int BLOCKS = 2;
+    private static final int AFTERBLOCKS = 3;
     /**.
      * fromReader.
      * @param reader a reader to file that has the definitions of the levels.
      * @return list of level informations that describes in the file.
      */
     public List<LevelInformation> fromReader(java.io.Reader reader) {
-        //Initializing the factory.
-        List<LevelInformation> levelInformationList = new ArrayList<LevelInformation>();
-        BufferedReader linesReader = new BufferedReader(reader);
-        boolean levelReading = false;
-        boolean blockReading = false;
+        final List<LevelInformation> levelInformationList = new ArrayList<LevelInformation>();
+        fromReader(reader, new LevelListener() {
+            @Override
+            public void levelRead(LevelInformation level) {
+                //Adding the new level into the list.
+                levelInformationList.add(level);
+            }
+        });
+        return levelInformationList;
+    }
+    /**.
+     * fromReader.
+     * Reading the levels of the file and giving each of them to the listener when we finish reading it.
+     * Levels that use the same block definitions file share the block factory of the BlockDefinitionsCache.
+     *
+     * @param reader a reader to file that has the definitions of the levels.
+     * @param listener gets the levels we read.
+     */
+    public void fromReader(java.io.Reader reader, LevelListener listener) {
+        DefinitionTokenizer tokenizer = new DefinitionTokenizer(reader);
+        Matcher fill = FILL.matcher("");
+        int state = OUTSIDE;
+        LevelSpecification level = null;
+        //Current y value of the upper point of the blocks row.
+        int y = 0;
         try {
-            //Reading the first line.
-            line = linesReader.readLine();
-            while (line != null) { //Moving on the lines.
-                //The line isn't empty or a definition.
-                if (!ignoredLine(line)) {
+            while (tokenizer.nextLine()) { //Moving on the lines.
+                //The line is empty or a comment.
+                if (tokenizer.isIgnored()) {
+                    continue;
+                }
+                if (state == OUTSIDE) {
                     //Starting reading level.
-                    if (line.equals("START_LEVEL")) {
-                        //Reset the level parameters.
-                        resetParameters();
-                        levelReading = true;
+                    if (!tokenizer.lineEquals("START_LEVEL")) {
+                        throw tokenizer.error("expected START_LEVEL", tokenizer.getStart());
                     }
+                    level = new LevelSpecification();
+                    state = LEVEL;
+                } else if (tokenizer.lineEquals("END_LEVEL") && state != LEVEL) {
                     //Finished reading the level.
-                    if (line.equals("END_LEVEL")) {
-                        levelReading = false;
-                        //All parameters are valid
-                        if (allParametersValid()) {
-                            //Adding the level to the levels list.
-                            LevelInformation level = createLevel(ballVelocities, paddleSpeed, paddleWidth
-                                    , levelName, background, blocks, numBlocks);
-                            levelInformationList.add(level);
-                        } else { //Problem with definitions.
-                            throw new RuntimeException("Problem with definitions of level parameters.");
-                        }
-                        }
-                        //Adding the new level into the list.
-                    }
-                    //Getting the block positions.
-                    if (line.equals("START_BLOCKS")) {
-                        if (!allParametersValid()) {
-                        throw new RuntimeException("Problem with level's arguments.");
-                       }
-                        blockReading = true;
-                        //If we read blocks so we finished to reading level.
-                        levelReading = false;
-                        //Initializing the block list.
-                        blocks = new ArrayList<Block>();
-                    }
-                    //End of reading the block positions.
-                    if (line.equals("END_BLOCKS")) {
-                        blockReading = false;
+                    listener.levelRead(level);
+                    level = null;
+                    state = OUTSIDE;
+                } else if (state == LEVEL && tokenizer.lineEquals("START_BLOCKS")) {
+                    //Getting the block positions, all the level's arguments should be known.
+                    String missing = level.missing();
+                    if (missing != null) {
+                        throw tokenizer.error("Problem with level's arguments: no " + missing, tokenizer.getStart());
                     }
-                    //Reading level definitions.
-                    if (levelReading) {
+                    //The levels were made when the START_BLOCKS line was read as an empty row too,
+                    //So the first row is one row under blocks_start_y.
+                    y = level.getBlocksStartY() + level.getRowHeight();
+                    state = BLOCKS;
+                } else if (state == LEVEL) {
                     //Setting the level definitions by this line.
-                        setLevelByLine(line);
-                    }
-                    //Adding the blocks to the list.
-                    if (blockReading) {
-                    //Reset the x point.
-                        x = blocksStartX;
-                         for (int i = 0; i < line.length(); i++) {
-                             //Block from symbols factory is valid because we finished reading the level.
-                             //Block symbol
-                             String symbol = line.charAt(i) + "";
-                             if (blocksFromSymbolsFactory.isBlockSymbol(symbol)) {
-                                 Block block = blocksFromSymbolsFactory.getBlock(symbol, x, y);
-                                 blocks.add(block);
-                                 //Adding the width of the block.
-                                 x += block.getWidth();
-                             }
-                             if (blocksFromSymbolsFactory.isSpaceSymbol(symbol)) {
-                                 //Adding the space width.
-                                 x += blocksFromSymbolsFactory.getSpaceWidth(symbol);
-                             }
-
-                         }
-                         //Adding row height to y.
-                        y += rowHeight;
-                    }
-                //Reading the next line.
-                line = linesReader.readLine();
+                    setLevelByLine(tokenizer, level, fill);
+                } else if (state == BLOCKS && tokenizer.lineEquals("END_BLOCKS")) {
+                    state = AFTERBLOCKS;
+                } else if (state == BLOCKS) {
+                    //Adding the blocks of the row to the list.
+                    addRow(tokenizer, level, y);
+                    //Adding row height to y.
+                    y += level.getRowHeight();
+                } else {
+                    throw tokenizer.error("expected END_LEVEL", tokenizer.getStart());
                 }
-            }  catch (IOException e) {
-                   throw new RuntimeException("Problems reading the file");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Problems reading the file");
+        }
+        if (state != OUTSIDE) {
+            throw tokenizer.error("the file ended before END_LEVEL", tokenizer.getEnd());
         }
-        return levelInformationList;
     }
     /**.
-     * createLevel.
-     * Creates level information by it's variables.
+     * addRow.
+     * Adding the blocks of the symbols of the current line.
      *
-     * @param velocities the ball's velocities.
-     * @param speed the speed of the paddle.
-     * @param width the width of the paddle.
-     * @param name the name of the level.
-     * @param b the backgrounnd of the level.
-     * @param blockList a list of the blocks in this level.
-     * @param number the number of the blocks in this level.
-     * @return level information object with those variables.
+     * @param tokenizer the tokenizer of the file.
+     * @param level the level we read.
+     * @param y the y cordinate of the row.
      */
-    private LevelInformation createLevel(List<Velocity> velocities, int speed, int width
-            , String name, Sprite b, List<Block> blockList, int number) {
-        //An annonymous class of level information.
-        LevelInformation level = new LevelInformation() {
-            //Getting the number of the balls.
-            @Override
-            public int numberOfBalls() {
-                //The ball numbers eqials to number in ball velocity list.
-                return velocities.size();
-            }
-            //Gets a list of balls' velocities.
-            @Override
-            public List<Velocity> initialBallVelocities() {
-                return velocities;
-            }
-            //Gets the speed of the paddle.
-            @Override
-            public int paddleSpeed() {
-                return speed;
-            }
-            //Gets the width of the paddle.
-            @Override
-            public int paddleWidth() {
-                return width;
-            }
-            //Gets the name of the level.
-            @Override
-            public String levelName() {
-                return name;
-            }
-            //Gets the background of the level.
-            @Override
-            public Sprite getBackground() {
-                return b;
-            }
-            //Gets a list of the blocks in this level.
-            @Override
-            public List<Block> blocks() {
-                return blockList;
+    private void addRow(DefinitionTokenizer tokenizer, LevelSpecification level, int y) {
+        BlocksFromSymbolsFactory factory = level.getBlocksFromSymbolsFactory();
+        List<Block> blocks = level.blocks();
+        //Reset the x point.
+        int x = level.getBlocksStartX();
+        for (int i = tokenizer.getStart(); i < tokenizer.getEnd(); i++) {
+            char symbol = tokenizer.charAt(i);
+            if (factory.isBlockSymbol(symbol)) {
+                Block block = factory.getBlock(symbol, x, y);
+                blocks.add(block);
+                //Adding the width of the block.
+                x += block.getWidth();
+            } else if (factory.isSpaceSymbol(symbol)) {
+                //Adding the space width.
+                x += factory.getSpaceWidth(symbol);
+            } else {
+                throw tokenizer.error("unknown block symbol '" + symbol + "'", i);
             }
-            //Gets the number of blocks we want to remove.
-            @Override
-            public int numberOfBlocksToRemove() {
-                return number;
-            }
-        };
-
-        return level;
+        }
     }
     /**.
-     * allParametersValid.
-     * Valid parameters are for example width that bigger than 0, and ball velocities list that isn't null.
-     * @return true if all the parameters of this level valid, false otherwise.
+     * setLevelByLine.
+     * Setting the level parameters by the current line.
+     * For example setting the level name by the line : level_name:Square Moon.
+     *
+     * @param tokenizer the tokenizer of the file.
+     * @param level the level we read.
+     * @param fill a matcher of the background values.
      */
-    private boolean allParametersValid() {
-        return levelName.length() > 0 && background != null && ballVelocities != null
-                && paddleSpeed >= 0 && paddleWidth >= 0 && blocksFromSymbolsFactory != null
-                && blocksStartX >= 0 && blocksStartY >= 0 && rowHeight >= 0 && numBlocks >= 0;
+    private void setLevelByLine(DefinitionTokenizer tokenizer, LevelSpecification level, Matcher fill) {
+        int start = tokenizer.getStart();
+        int end = tokenizer.getEnd();
+        int colon = tokenizer.indexOf(':', start, end);
+        if (colon < 0) {
+            throw tokenizer.error("expected key:value", start);
+        }
+        int value = colon + 1;
+        if (isKey(tokenizer, start, colon, "level_name")) {
+            //The name can have spaces, it is all the rest of the line.
+            level.setLevelName(tokenizer.text(value, end));
+        } else if (isKey(tokenizer, start, colon, "ball_velocities")) {
+            level.setBallVelocities(velocities(tokenizer, value));
+        } else if (isKey(tokenizer, start, colon, "background")) {
+            level.setBackground(background(tokenizer, fill, value));
+        } else if (isKey(tokenizer, start, colon, "paddle_speed")) {
+            level.setPaddleSpeed(tokenizer.parseInt(value, end));
+        } else if (isKey(tokenizer, start, colon, "paddle_width")) {
+            level.setPaddleWidth(tokenizer.parseInt(value, end));
+        } else if (isKey(tokenizer, start, colon, "block_definitions")) {
+            level.setBlocksFromSymbolsFactory(readBlockDefinitions(tokenizer, tokenizer.text(value, end), value));
+        } else if (isKey(tokenizer, start, colon, "blocks_start_x")) {
+            level.setBlocksStartX(tokenizer.parseInt(value, end));
+        } else if (isKey(tokenizer, start, colon, "blocks_start_y")) {
+            level.setBlocksStartY(tokenizer.parseInt(value, end));
+        } else if (isKey(tokenizer, start, colon, "row_height")) {
+            level.setRowHeight(tokenizer.parseInt(value, end));
+        } else if (isKey(tokenizer, start, colon, "num_blocks")) {
+            level.setNumBlocks(tokenizer.parseInt(value, end));
+        } else {
+            throw tokenizer.error("unknown key", start);
+        }
     }
     /**.
-     * resetParameters.
-     * Resets the level parameters for the next level.
+     * isKey.
+     * @param tokenizer the tokenizer of the file.
+     * @param start the index of the key.
+     * @param colon the index of the ':' after it.
+     * @param key a key.
+     * @return true if the key in the line is the given key, false otherwise.
      */
-    private void resetParameters() {
-        levelName = "";
-        ballVelocities = null;
-        background = null;
-        paddleSpeed = 0;
-        paddleWidth = 0;
-        blocksFromSymbolsFactory = null;
-        blocksStartX = 0;
-        blocksStartY = 0;
-        rowHeight = 0;
-        numBlocks = 0;
-        blocks = null;
+    private static boolean isKey(DefinitionTokenizer tokenizer, int start, int colon, String key) {
+        return colon - start == key.length() && tokenizer.regionEquals(start, key);
     }
     /**.
-     * setLevelByLine.
-     * Setting the level parameters by the current line.
-     * For example setting the level name by the line : level_name:Square Moon.
-     * @param l a line in the text file.
+     * velocities.
+     * Reading the velocities angle,speed separated by spaces until the end of the line.
+     *
+     * @param tokenizer the tokenizer of the file.
+     * @param from the index of the first velocity.
+     * @return list of the velocities of the balls.
      */
-    private void setLevelByLine(String l) {
-        Map<String, String> definitions = BlocksDefinitionReader.definitions(l, ':');
-        LevelFromMap levelFromMap = new LevelFromMap(definitions);
-        //Level name.
-        if (levelFromMap.getLevelName(l).length() > 0) {
-            levelName = levelFromMap.getLevelName(l);
-        }
-        //Background.
-        if (levelFromMap.getBackground() != null) {
-            background = levelFromMap.getBackground();
-        }
-        //Ball velocities
-        if (levelFromMap.getVelocities(l) != null) {
-            ballVelocities = levelFromMap.getVelocities(l);
-        }
-        //Paddle speed.
-        if (levelFromMap.getPaddleSpeed() >= 0) {
-            paddleSpeed = levelFromMap.getPaddleSpeed();
-        }
-        //Paddle width
-        if (levelFromMap.getPaddleWidth() >= 0) {
-            paddleWidth = levelFromMap.getPaddleWidth();
-        }
-        //Block symbols factory.
-        if (levelFromMap.getBlockDefinitions() != null) {
-                blocksFromSymbolsFactory = levelFromMap.getBlockDefinitions();
-        }
-        //Block start x cordinate
-        if (levelFromMap.getBlockStartX() >= 0) {
-            blocksStartX = levelFromMap.getBlockStartX();
-            //Setting the first x to be it.
-            x = blocksStartX;
-        }
-        //Block start y cordinate
-        if (levelFromMap.getBlockStartY() >= 0) {
-            blocksStartY = levelFromMap.getBlockStartY();
-            //Setting the first y to be it.
-            y = blocksStartY;
+    private List<Velocity> velocities(DefinitionTokenizer tokenizer, int from) {
+        List<Velocity> ballVelocities = new ArrayList<Velocity>();
+        int start = tokenizer.skipSpaces(from);
+        while (start < tokenizer.getEnd()) {
+            int end = tokenizer.wordEnd(start);
+            int comma = tokenizer.indexOf(',', start, end);
+            if (comma < 0) {
+                throw tokenizer.error("expected angle,speed", start);
+            }
+            //Fixing angle.
+            ballVelocities.add(Velocity.fromAngleAndSpeed(180 - tokenizer.parseInt(start, comma)
+                    , tokenizer.parseInt(comma + 1, end)));
+            start = tokenizer.skipSpaces(end);
         }
-        //The row height
-        if (levelFromMap.getRowHeight() >= 0) {
-            rowHeight = levelFromMap.getRowHeight();
+        return ballVelocities;
+    }
+    /**.
+     * background.
+     * @param tokenizer the tokenizer of the file.
+     * @param fill a matcher of the background values.
+     * @param from the index of the value.
+     * @return the block that fills the background by the value color(...) or image(...).
+     */
+    private Block background(DefinitionTokenizer tokenizer, Matcher fill, int from) {
+        if (!tokenizer.matches(fill, from, tokenizer.getEnd())) {
+            throw tokenizer.error("expected color(...) or image(...)", from);
         }
-        //The number of blocks.
-        if (levelFromMap.getNumBlocks() >= 0) {
-            numBlocks = levelFromMap.getNumBlocks();
+        if (tokenizer.charAt(fill.start(1)) == 'c') {
+            Color color = ColorImageParser.colorFromString(tokenizer.getText(), fill.start(2), fill.end(2));
+            if (color == null) {
+                throw tokenizer.error("unknown color", fill.start(2));
+            }
+            //The background color.
+            return new Block(Level.gameRectangle(), color);
+        } else {
+            Image image = ColorImageParser.imageFromText(tokenizer.text(fill.start(2), fill.end(2)));
+            if (image == null) {
+                throw tokenizer.error("can't read the image", fill.start(2));
+            }
+            //The background image.
+            return new Block(Level.gameRectangle(), image);
         }
     }
     /**.
-     * ignoredLine.
-     * Ignored line is an empty line or line starts with '#'.
-     *
-     * @param l a line in the text file.
-     * @return true if this line is ignored, else otherwise.
+     * readBlockDefinitions.
+     * @param tokenizer the tokenizer of the file.
+     * @param path the path of the block definitions file in the resources.
+     * @param from the index of the path in the line.
+     * @return the block and spaces definitions of the file.
      */
-    private boolean ignoredLine(String l) {
-        //Type of lines we ignore.
-        if (l.equals("") || l.startsWith("#")) {
-            return true;
+    private BlocksFromSymbolsFactory readBlockDefinitions(DefinitionTokenizer tokenizer, String path, int from) {
+        BlocksFromSymbolsFactory factory;
+        try {
+            //Getting the block definitinos from the cache (it reads the file the first time).
+            factory = BlockDefinitionsCache.getShared().get(path);
+        } catch (DefinitionException e) { //A problem in the block definitions file.
+            throw tokenizer.error("in " + path + " " + e.getMessage(), from);
+        }
+        if (factory == null) {
+            throw tokenizer.error("can't find the block definitions", from);
         }
-        return false;
+        return factory;
     }
-}
\ No newline at end of file
+}
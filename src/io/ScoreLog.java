@@ -0,0 +1,349 @@
+package io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**.
+ * ScoreLog.
+ * Keeps the high scores in two files, so a crash while saving doesn't lose them:
+ * A log we only append to ("name.log"), and a snapshot of the top scores ("name.snapshot").
+ * Both files start with MAGIC and VERSION (the snapshot then has the sequence number of the last score in it),
+ * And then records: the length of the data, the data and the CRC32 of the data (ints).
+ * The data of a record is its sequence number (long), the score (int), the UTF-8 length of the name (int)
+ * And the name.
+ * A record that was cut by a crash (or is broken) ends the log, the next append writes over it.
+ * After DEFAULTCOMPACT records the top scores are written to a temporary file that is renamed to the snapshot,
+ * And the log starts again. The log records up to the sequence number of the snapshot are skipped, so a crash
+ * Between writing the snapshot and clearing the log doesn't count scores twice.
+ * Reading goes over the records one by one into a table of the top scores, so the log can have millions
+ * Of scores without keeping them in the memory (only the names of the scores that enter the table are decoded).
+ */
+public class ScoreLog {
+    //The first int of the files ("ARKH") and the version of the format.
+    static final int MAGIC = 0x41524B48;
+    static final int VERSION = 1;
+    //The number of log records after which we write a snapshot.
+    public static final int DEFAULTCOMPACT = 1000;
+    //The size of the header of the log, and of the data of a record without the name.
+    private static final int HEADER = 8;
+    private static final int DATA = 16;
+    //A longer record is a broken length.
+    private static final int MAXRECORD = 1 << 16;
+    //The files.
+    private File log;
+    private File snapshot;
+    //The number of top scores the snapshot keeps, and the number of log records after which we compact.
+    private int keep;
+    private int compactAfter;
+    //Determines if we read the files already.
+    private boolean scanned;
+    //The sequence number of the last score in the snapshot and of the next score.
+    private long snapshotSequence;
+    private long nextSequence;
+    //The records of the log after the snapshot, and the length of the good part of the log.
+    private long logRecords;
+    private long logEnd;
+    /**.
+     * Creates new instance of ScoreLog.
+     * The constructor of our class, compacting after DEFAULTCOMPACT records.
+     *
+     * @param base the path of the files without ".log" and ".snapshot".
+     * @param keep the number of top scores the snapshot keeps (at least the size of the table).
+     */
+    public ScoreLog(File base, int keep) {
+        this(base, keep, DEFAULTCOMPACT);
+    }
+    /**.
+     * Creates new instance of ScoreLog.
+     * The constructor of our class.
+     *
+     * @param base the path of the files without ".log" and ".snapshot".
+     * @param keep the number of top scores the snapshot keeps (at least the size of the table).
+     * @param compactAfter the number of log records after which we write a snapshot.
+     */
+    public ScoreLog(File base, int keep, int compactAfter) {
+        this.log = new File(base.getPath() + ".log");
+        this.snapshot = new File(base.getPath() + ".snapshot");
+        this.keep = keep;
+        this.compactAfter = compactAfter;
+        this.scanned = false;
+    }
+    /**.
+     * load.
+     * Reading the snapshot and the log into the table (it is cleared first).
+     *
+     * @param table the table, it gets the top table.size() scores.
+     * @throws IOException if we can't read the files.
+     */
+    public void load(HighScoresTable table) throws IOException {
+        scan(table);
+    }
+    /**.
+     * append.
+     * Adding a score to the end of the log, and compacting if the log has enough records.
+     *
+     * @param score the score.
+     * @throws IOException if we can't write the log.
+     */
+    public void append(ScoreInfo score) throws IOException {
+        append(Collections.singletonList(score));
+    }
+    /**.
+     * append.
+     * Adding scores to the end of the log with one write, and compacting if the log has enough records.
+     *
+     * @param scores the scores in their order.
+     * @throws IOException if we can't write the log.
+     */
+    public void append(List<ScoreInfo> scores) throws IOException {
+        if (!this.scanned) {
+            scan(new HighScoresTable(this.keep));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (this.logEnd == 0) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+        }
+        long sequence = this.nextSequence;
+        for (ScoreInfo score : scores) {
+            writeRecord(out, sequence, score);
+            sequence++;
+        }
+        FileOutputStream file = new FileOutputStream(this.log, true);
+        try {
+            bytes.writeTo(file);
+            //The scores are saved only when they are on the disk.
+            file.getFD().sync();
+        } finally {
+            file.close();
+        }
+        this.logEnd += bytes.size();
+        this.logRecords += sequence - this.nextSequence;
+        this.nextSequence = sequence;
+        if (this.logRecords >= this.compactAfter) {
+            compact();
+        }
+    }
+    /**.
+     * compact.
+     * Writing the top scores to a new snapshot (a temporary file renamed to it) and clearing the log.
+     *
+     * @throws IOException if we can't write the files.
+     */
+    public void compact() throws IOException {
+        HighScoresTable table = new HighScoresTable(this.keep);
+        scan(table);
+        File temp = new File(this.snapshot.getPath() + ".tmp");
+        FileOutputStream file = new FileOutputStream(temp);
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(this.nextSequence - 1);
+            //The scores in the order of the table, so reading them gives the same table.
+            List<ScoreInfo> scores = table.getHighScores();
+            for (int i = 0; i < scores.size(); i++) {
+                writeRecord(out, i + 1, scores.get(i));
+            }
+            out.flush();
+            file.getFD().sync();
+        } finally {
+            file.close();
+        }
+        try {
+            Files.move(temp.toPath(), this.snapshot.toPath(), StandardCopyOption.ATOMIC_MOVE
+                    , StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), this.snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.snapshotSequence = this.nextSequence - 1;
+        //The log records are in the snapshot now (and skipped if clearing the log doesn't happen).
+        truncateLog(0);
+        this.logRecords = 0;
+    }
+    /**.
+     * exists.
+     * @return true if the log or the snapshot exists.
+     */
+    public boolean exists() {
+        return this.log.exists() || this.snapshot.exists();
+    }
+    /**.
+     * getLogRecords.
+     * @return the number of records in the log after the snapshot.
+     */
+    public long getLogRecords() {
+        return this.logRecords;
+    }
+    /**.
+     * writeRecord.
+     * @param out the stream we write to.
+     * @param sequence the sequence number of the score.
+     * @param score the score.
+     * @throws IOException if we can't write.
+     */
+    private static void writeRecord(DataOutputStream out, long sequence, ScoreInfo score) throws IOException {
+        byte[] name = score.getName() == null ? new byte[0] : score.getName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer data = ByteBuffer.allocate(DATA + name.length);
+        data.putLong(sequence).putInt(score.getScore()).putInt(name.length).put(name);
+        CRC32 crc = new CRC32();
+        crc.update(data.array(), 0, data.capacity());
+        out.writeInt(data.capacity());
+        out.write(data.array());
+        out.writeInt((int) crc.getValue());
+    }
+    /**.
+     * scan.
+     * Reading the snapshot and then the log records after it into the table, and cutting a broken end of the log.
+     *
+     * @param table the table that gets the top scores.
+     * @throws IOException if we can't read the files.
+     */
+    private void scan(HighScoresTable table) throws IOException {
+        table.clear();
+        this.snapshotSequence = 0;
+        this.nextSequence = 1;
+        this.logRecords = 0;
+        this.logEnd = 0;
+        if (this.snapshot.exists()) {
+            DataInputStream in = open(this.snapshot);
+            try {
+                if (readHeader(in)) {
+                    this.snapshotSequence = in.readLong();
+                    readRecords(in, table, 0, false);
+                }
+            } catch (EOFException e) { //A snapshot without its sequence number, we don't use it.
+                table.clear();
+            } finally {
+                in.close();
+            }
+            this.nextSequence = Math.max(this.nextSequence, this.snapshotSequence + 1);
+        }
+        if (this.log.exists()) {
+            DataInputStream in = open(this.log);
+            try {
+                if (readHeader(in)) {
+                    this.logEnd = HEADER + readRecords(in, table, this.snapshotSequence, true);
+                }
+            } finally {
+                in.close();
+            }
+            if (this.log.length() != this.logEnd) {
+                truncateLog(this.logEnd);
+            }
+        }
+        this.scanned = true;
+    }
+    /**.
+     * open.
+     * @param file a file.
+     * @return a buffered stream of the file.
+     * @throws IOException if we can't open it.
+     */
+    private static DataInputStream open(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+    }
+    /**.
+     * readHeader.
+     * @param in the stream of a file.
+     * @return true if the file starts with our MAGIC and VERSION.
+     * @throws IOException if we can't read the file.
+     */
+    private static boolean readHeader(DataInputStream in) throws IOException {
+        try {
+            return in.readInt() == MAGIC && in.readInt() == VERSION;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+    /**.
+     * readRecords.
+     * Adding the scores of the good records to the table, until the end or a broken record.
+     *
+     * @param in the stream, after the header.
+     * @param table the table that gets the top scores.
+     * @param skipTo records with this sequence number or smaller are skipped (they are in the snapshot).
+     * @param isLog true if we read the log (to count its records).
+     * @return the number of bytes of the good records.
+     * @throws IOException if we can't read the file.
+     */
+    private long readRecords(DataInputStream in, HighScoresTable table, long skipTo, boolean isLog)
+            throws IOException {
+        byte[] data = new byte[256];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        CRC32 crc = new CRC32();
+        long bytes = 0;
+        while (true) {
+            int length;
+            int stored;
+            try {
+                length = in.readInt();
+                if (length < DATA || length > MAXRECORD) {
+                    break;
+                }
+                if (data.length < length) {
+                    data = new byte[Math.max(length, 2 * data.length)];
+                    buffer = ByteBuffer.wrap(data);
+                }
+                in.readFully(data, 0, length);
+                stored = in.readInt();
+            } catch (EOFException e) { //Cut by a crash.
+                break;
+            }
+            crc.reset();
+            crc.update(data, 0, length);
+            int nameLength = buffer.getInt(12);
+            if ((int) crc.getValue() != stored || nameLength != length - DATA) {
+                break;
+            }
+            bytes += 8 + length;
+            long sequence = buffer.getLong(0);
+            if (sequence <= skipTo) {
+                continue;
+            }
+            this.nextSequence = Math.max(this.nextSequence, sequence + 1);
+            if (isLog) {
+                this.logRecords++;
+            }
+            int score = buffer.getInt(8);
+            //Decoding the name only if the score enters the table.
+            if (table.getRank(score) <= table.size()) {
+                table.add(new ScoreInfo(new String(data, DATA, nameLength, StandardCharsets.UTF_8), score));
+            }
+        }
+        return bytes;
+    }
+    /**.
+     * truncateLog.
+     * @param length the length the log is cut to (0 clears it, the next append writes the header).
+     * @throws IOException if we can't change the log.
+     */
+    private void truncateLog(long length) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(this.log, "rw");
+        try {
+            file.setLength(length);
+            file.getFD().sync();
+        } finally {
+            file.close();
+        }
+        this.logEnd = length;
+    }
+}
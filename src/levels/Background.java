@@ -43,7 +43,7 @@ public class Background implements Sprite {
      * @param g the game we want to add the sprite to.
      */
     public void addToGame(GameLevel g) {
-        g.addSprite(this);
+        g.addSprite(this, SpriteCollection.BACKGROUND);
     }
 
     /**.
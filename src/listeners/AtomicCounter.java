@@ -0,0 +1,93 @@
+package listeners;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**.
+ * AtomicCounter.
+ * A counter many threads can change at once, like the lives or the remaining blocks and balls.
+ * The number is changed atomically, so each change sees the number before it and the one after it,
+ * And the listeners of a threshold are told when a change reaches it (instead of checking the number every frame).
+ */
+public class AtomicCounter extends Counter {
+    private AtomicInteger count;
+    //The listeners and their thresholds, arrays that adding a listener replaces (the listeners are written last).
+    private volatile int[] thresholds;
+    private volatile ThresholdListener[] listeners;
+    /**.
+     * Creates new instance of AtomicCounter.
+     *
+     * The constructor of our class.
+     * @param startValue the start value of this counter.
+     */
+    public AtomicCounter(int startValue) {
+        super(0);
+        this.count = new AtomicInteger(startValue);
+        this.thresholds = new int[0];
+        this.listeners = new ThresholdListener[0];
+    }
+    /**.
+     * addThresholdListener.
+     * Telling l each time a change of the counter reaches the threshold or passes it (from any side).
+     * A change that starts at the threshold doesn't reach it.
+     *
+     * @param threshold the threshold.
+     * @param l the listener.
+     */
+    public synchronized void addThresholdListener(int threshold, ThresholdListener l) {
+        int n = this.listeners.length;
+        int[] newThresholds = new int[n + 1];
+        ThresholdListener[] newListeners = new ThresholdListener[n + 1];
+        System.arraycopy(this.thresholds, 0, newThresholds, 0, n);
+        System.arraycopy(this.listeners, 0, newListeners, 0, n);
+        newThresholds[n] = threshold;
+        newListeners[n] = l;
+        this.thresholds = newThresholds;
+        this.listeners = newListeners;
+    }
+    /**.
+     * increase.
+     * Add number to current count.
+     *
+     * @param number the number we want to increase our count in.
+     */
+    @Override
+    public void increase(int number) {
+        change(number);
+    }
+    /**.
+     * decrease.
+     * Subtract number from current count.
+     *
+     * @param number the number we want to decrease our count in.
+     */
+    @Override
+    public void decrease(int number) {
+        change(-number);
+    }
+    /**.
+     * change.
+     * Adding to the count and telling the listeners of the thresholds the change reached.
+     *
+     * @param number the number we add.
+     */
+    private void change(int number) {
+        int before = this.count.getAndAdd(number);
+        int after = before + number;
+        //The listeners first, their thresholds were written before them.
+        ThresholdListener[] l = this.listeners;
+        int[] t = this.thresholds;
+        for (int i = 0; i < l.length; i++) {
+            if (before != t[i] && Math.min(before, after) <= t[i] && t[i] <= Math.max(before, after)) {
+                l[i].thresholdReached(this, t[i]);
+            }
+        }
+    }
+    /**.
+     * getValue.
+     * @return  current count.
+     */
+    @Override
+    public int getValue() {
+        return this.count.get();
+    }
+}
@@ -9,6 +9,7 @@ import game.GameLevel;
  *
  * A BallRemover is in charge of removing balls from the gameLevel.
  * As well as keeping count of the number of balls that remain.
+ * Both are done by the events of the gameLevel, at the end of the frame.
  */
 public class BallRemover implements HitListener {
     private GameLevel gameLevel;
@@ -33,7 +34,7 @@ public class BallRemover implements HitListener {
      * @param hitter the Ball that's doing the hitting.
      */
     public void hitEvent(Block beingHit, Ball hitter) {
-        hitter.removeFromGame(this.gameLevel);
-        this.remainingBalls.decrease(1);
+        this.gameLevel.getEvents().removeBall(hitter);
+        this.gameLevel.getEvents().count(this.remainingBalls, -1);
     }
 }
@@ -9,6 +9,7 @@ import game.GameLevel;
  *
  * A BlockRemover is in charge of removing blocks from the gameLevel.
  * As well as keeping count of the number of blocks that remain.
+ * Both are done by the events of the gameLevel, at the end of the frame.
  */
 public class BlockRemover implements HitListener {
     private GameLevel gameLevel;
@@ -38,11 +39,11 @@ public class BlockRemover implements HitListener {
         //We have one hit points until remove.
         if (beingHit.getHitPoints() == 1) {
             //Remove the block from the gameLevel.
-            beingHit.removeFromGame(this.gameLevel);
+            this.gameLevel.getEvents().removeBlock(beingHit);
             //Remove this listener from the block that is being removed from the gameLevel.
             beingHit.removeHitListener(this);
             //Updating the remaining blocks.
-            this.remainingBlocks.decrease(1);
+            this.gameLevel.getEvents().count(this.remainingBlocks, -1);
         }
 
 
@@ -6,6 +6,7 @@ package listeners;
  * Counter is a simple class that is used for counting things.
  * Why to create such class? Becasuse we want to pass counter reference and we can't do it with regular int for
    example.
+ * Only one thread can change it, StripedCounter and AtomicCounter can be changed by many threads.
  */
 public class Counter {
     private int count;
@@ -43,4 +44,4 @@ public class Counter {
     public int getValue() {
         return this.count;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
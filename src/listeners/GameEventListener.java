@@ -0,0 +1,18 @@
+package listeners;
+
+import game.GameEventQueue;
+
+/**.
+ * GameEventListener.
+ * Objects that want the events of each frame (for example to count the hits for the stats).
+ */
+public interface GameEventListener {
+    /**.
+     * eventsOccurred.
+     * Called at the end of each frame that had events, after they were applied to the game.
+     * The events are cleared after it returns, so keep what you need and don't add events.
+     *
+     * @param events the events of the frame.
+     */
+    void eventsOccurred(GameEventQueue events);
+}
@@ -0,0 +1,73 @@
+package listeners;
+import game.Ball;
+import game.Block;
+import game.BlockField;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+/**.
+ * HitCountingListener.
+ *
+ * Counts the hits of each block of a level, so we can see which blocks are hard to hit.
+ */
+public class HitCountingListener implements HitListener {
+    //The index of each block.
+    private Map<Block, Integer> indexes;
+    //The field of the blocks, null if we got a list of blocks.
+    private BlockField field;
+    //The number of hits of each block.
+    private int[] hits;
+    /**.
+     * Creates new instance of HitCountingListener.
+     * The constructor of our class, it adds itself to the blocks.
+     *
+     * @param blocks the blocks we count the hits of.
+     */
+    public HitCountingListener(List<Block> blocks) {
+        this.indexes = new IdentityHashMap<Block, Integer>();
+        this.hits = new int[blocks.size()];
+        for (int i = 0; i < blocks.size(); i++) {
+            this.indexes.put(blocks.get(i), i);
+            blocks.get(i).addHitListener(this);
+        }
+    }
+    /**.
+     * Creates new instance of HitCountingListener.
+     * The constructor of our class, it adds itself to the field.
+     *
+     * @param field the field of the blocks we count the hits of.
+     */
+    public HitCountingListener(BlockField field) {
+        this.field = field;
+        this.hits = new int[field.getHitPoints().length];
+        field.addHitListener(this);
+    }
+    /**
+     * hitEvent.
+     * This method is called whenever the beingHit object is hit.
+     *
+     * @param beingHit the block hitted.
+     * @param hitter the Ball that's doing the hitting.
+     */
+    public void hitEvent(Block beingHit, Ball hitter) {
+        if (this.field != null) {
+            int index = this.field.indexOf(beingHit);
+            if (index >= 0) {
+                this.hits[index]++;
+            }
+            return;
+        }
+        Integer index = this.indexes.get(beingHit);
+        if (index != null) {
+            this.hits[index]++;
+        }
+    }
+    /**.
+     * getHits.
+     * @return the number of hits of each block (in the order of the blocks we got).
+     */
+    public int[] getHits() {
+        return this.hits.clone();
+    }
+}
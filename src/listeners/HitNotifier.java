@@ -13,6 +13,14 @@ public interface HitNotifier {
      * @param hl an HitListener.
      */
     void addHitListener(HitListener hl);
+    /**
+     * addHitListener
+     * Add hl as a listener to hit events, listeners with a higher priority are notified first.
+     *
+     * @param hl an HitListener.
+     * @param priority the priority of the listener (like ListenerRegistry.NORMAL).
+     */
+    void addHitListener(HitListener hl, int priority);
     /**
      * addHitListener
      * Remove hl from the list of listeners to hit events.
@@ -20,4 +28,4 @@ public interface HitNotifier {
      * @param hl an HitListener.
      */
     void removeHitListener(HitListener hl);
-}
\ No newline at end of file
+}
\ No newline at end of file
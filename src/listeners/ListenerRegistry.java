@@ -0,0 +1,134 @@
+package listeners;
+
+import java.lang.reflect.Array;
+
+/**.
+ * ListenerRegistry.
+ * The listeners of a notifier in an array that is never changed: adding or removing a listener makes a new array.
+ * So notifying goes over the array we got without copying it, and a listener can add or remove listeners
+ * (itself too) while we notify, it changes only the next notifications (like the copy we made before).
+ * Each listener has a priority, listeners with a higher priority are notified first,
+ * And listeners with the same priority in the order they were added.
+ *
+ * @param <T> the type of the listeners.
+ */
+public class ListenerRegistry<T> {
+    //Priorities for listeners that should be notified before or after the others.
+    public static final int FIRST = 100;
+    public static final int NORMAL = 0;
+    public static final int LAST = -100;
+    //The type of the listeners (to create the arrays).
+    private Class<T> type;
+    //The listeners by their order and their priorities.
+    private T[] listeners;
+    private int[] priorities;
+    /**.
+     * Creates new instance of ListenerRegistry.
+     * The constructor of our class, without listeners.
+     *
+     * @param type the type of the listeners.
+     */
+    public ListenerRegistry(Class<T> type) {
+        this.type = type;
+        this.listeners = newArray(0);
+        this.priorities = new int[0];
+    }
+    /**.
+     * add.
+     * Adding a listener with the normal priority.
+     *
+     * @param listener the listener.
+     */
+    public void add(T listener) {
+        add(listener, NORMAL);
+    }
+    /**.
+     * add.
+     * Adding a listener after the listeners with the same or higher priority.
+     *
+     * @param listener the listener.
+     * @param priority the priority of the listener.
+     */
+    public void add(T listener, int priority) {
+        int n = this.listeners.length;
+        int index = 0;
+        while (index < n && this.priorities[index] >= priority) {
+            index++;
+        }
+        T[] newListeners = newArray(n + 1);
+        int[] newPriorities = new int[n + 1];
+        System.arraycopy(this.listeners, 0, newListeners, 0, index);
+        System.arraycopy(this.priorities, 0, newPriorities, 0, index);
+        newListeners[index] = listener;
+        newPriorities[index] = priority;
+        System.arraycopy(this.listeners, index, newListeners, index + 1, n - index);
+        System.arraycopy(this.priorities, index, newPriorities, index + 1, n - index);
+        this.listeners = newListeners;
+        this.priorities = newPriorities;
+    }
+    /**.
+     * addAll.
+     * Adding the listeners of another registry with their priorities.
+     *
+     * @param other the other registry.
+     */
+    public void addAll(ListenerRegistry<T> other) {
+        T[] otherListeners = other.listeners;
+        int[] otherPriorities = other.priorities;
+        for (int i = 0; i < otherListeners.length; i++) {
+            add(otherListeners[i], otherPriorities[i]);
+        }
+    }
+    /**.
+     * remove.
+     * Removing the first time the listener was added.
+     *
+     * @param listener the listener.
+     * @return true if the listener was removed, false if it wasn't in the registry.
+     */
+    public boolean remove(T listener) {
+        int n = this.listeners.length;
+        int index = 0;
+        while (index < n && this.listeners[index] != listener) {
+            index++;
+        }
+        if (index == n) {
+            return false;
+        }
+        T[] newListeners = newArray(n - 1);
+        int[] newPriorities = new int[n - 1];
+        System.arraycopy(this.listeners, 0, newListeners, 0, index);
+        System.arraycopy(this.priorities, 0, newPriorities, 0, index);
+        System.arraycopy(this.listeners, index + 1, newListeners, index, n - index - 1);
+        System.arraycopy(this.priorities, index + 1, newPriorities, index, n - index - 1);
+        this.listeners = newListeners;
+        this.priorities = newPriorities;
+        return true;
+    }
+    /**.
+     * getListeners.
+     * The array isn't changed when listeners are added or removed, so it can be notified without copying it.
+     * Don't change it.
+     *
+     * @return the listeners in the order they should be notified.
+     */
+    public T[] getListeners() {
+        return this.listeners;
+    }
+    /**.
+     * size.
+     * @return the number of listeners.
+     */
+    public int size() {
+        return this.listeners.length;
+    }
+    /**.
+     * newArray.
+     * @param length the length of the array.
+     * @return a new array of listeners.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] newArray(int length) {
+        return (T[]) Array.newInstance(this.type, length);
+    }
+}
@@ -1,6 +1,7 @@
 package listeners;
 import game.Ball;
 import game.Block;
+import game.GameEventQueue;
 /**.
  * ScoreTrackingListener.
  *
@@ -8,6 +9,8 @@ import game.Block;
  */
 public class ScoreTrackingListener implements HitListener {
     private Counter currentScore;
+    //The events the score is added by, null to add it right away.
+    private GameEventQueue events;
     /**.
      * Creates new instance of ScoreTrackingListener.
      * The constructor of our class.
@@ -15,6 +18,17 @@ public class ScoreTrackingListener implements HitListener {
      * @param scoreCounter a reference to the counter to the scores in the game.
      */
     public ScoreTrackingListener(Counter scoreCounter) {
+        this(null, scoreCounter);
+    }
+    /**.
+     * Creates new instance of ScoreTrackingListener.
+     * The score is added at the end of the frame, by the events of the game.
+     *
+     * @param events the events of the game.
+     * @param scoreCounter a reference to the counter to the scores in the game.
+     */
+    public ScoreTrackingListener(GameEventQueue events, Counter scoreCounter) {
+        this.events = events;
         this.currentScore = scoreCounter;
     }
     /**
@@ -25,14 +39,26 @@ public class ScoreTrackingListener implements HitListener {
      * @param hitter the Ball that's doing the hitting.
      */
     public void hitEvent(Block beingHit, Ball hitter) {
+        //Hitting a block is worth 5 points
+        int points = 5;
         //We have one hit points until remove.
         if (beingHit.getHitPoints() == 1) {
             //Destroying a block is worth and additional 10 points
-            this.currentScore.increase(10);
+            points += 10;
             //Removing the score hit listener from that block that removed.
             beingHit.removeHitListener(this);
         }
-        //Hitting a block is worth 5 points
-        this.currentScore.increase(5);
+        add(points);
+    }
+    /**.
+     * add.
+     * @param points points we add to the score (now, or at the end of the frame if we have events).
+     */
+    private void add(int points) {
+        if (this.events == null) {
+            this.currentScore.increase(points);
+        } else {
+            this.events.count(this.currentScore, points);
+        }
     }
 }
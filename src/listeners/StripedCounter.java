@@ -0,0 +1,52 @@
+package listeners;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**.
+ * StripedCounter.
+ * A counter many threads can add to at once, like the score: the number is kept in a LongAdder,
+ * So threads that add at the same time add to different cells and don't wait for each other.
+ * Getting the value sums the cells, so it is slower than adding (the score is read once a frame).
+ */
+public class StripedCounter extends Counter {
+    private LongAdder count;
+    /**.
+     * Creates new instance of StripedCounter.
+     *
+     * The constructor of our class.
+     * @param startValue the start value of this counter.
+     */
+    public StripedCounter(int startValue) {
+        super(0);
+        this.count = new LongAdder();
+        this.count.add(startValue);
+    }
+    /**.
+     * increase.
+     * Add number to current count.
+     *
+     * @param number the number we want to increase our count in.
+     */
+    @Override
+    public void increase(int number) {
+        this.count.add(number);
+    }
+    /**.
+     * decrease.
+     * Subtract number from current count.
+     *
+     * @param number the number we want to decrease our count in.
+     */
+    @Override
+    public void decrease(int number) {
+        this.count.add(-number);
+    }
+    /**.
+     * getValue.
+     * @return  current count (without the numbers other threads are adding right now).
+     */
+    @Override
+    public int getValue() {
+        return this.count.intValue();
+    }
+}
@@ -0,0 +1,16 @@
+package listeners;
+
+/**.
+ * ThresholdListener.
+ * Objects that want to know when an AtomicCounter reaches a number (like no more blocks).
+ */
+public interface ThresholdListener {
+    /**.
+     * thresholdReached.
+     * Called by the thread that changed the counter, once each time a change reaches or passes the threshold.
+     *
+     * @param counter the counter.
+     * @param threshold the number it reached.
+     */
+    void thresholdReached(Counter counter, int threshold);
+}
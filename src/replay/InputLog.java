@@ -0,0 +1,317 @@
+package replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**.
+ * InputLog.
+ * The keys of the paddle in each step of one level, with what we need to play the level again:
+ * Which level it was, the steps per second and the lives and score at the start.
+ * At the end of the level we save the score, lives and hit points of the blocks, so a replay can check it got
+ * Exactly the same game.
+ * The keys are saved as runs (the keys and the number of steps they stayed the same), so a level is a few kilobytes.
+ */
+public class InputLog {
+    //The bits of the keys.
+    public static final int LEFT = 1;
+    public static final int RIGHT = 2;
+    //Which level it is.
+    private String levelSetKey;
+    private String levelSetName;
+    private int levelIndex;
+    private String levelName;
+    //The number of logic steps in one second.
+    private int stepsPerSecond;
+    //The lives and score at the start of the level.
+    private int startLives;
+    private int startScore;
+    //The runs of keys.
+    private byte[] runKeys;
+    private int[] runLengths;
+    private int runs;
+    //The number of steps.
+    private long steps;
+    //What happened at the end, if the level ended.
+    private boolean finished;
+    private int endScore;
+    private int endLives;
+    private int[] hitPoints;
+    /**.
+     * Creates new instance of InputLog.
+     * The constructor of our class, a log of a level without steps.
+     *
+     * @param levelSetKey the key of the level set.
+     * @param levelSetName the name of the level set.
+     * @param levelIndex the index of the level in the level set.
+     * @param levelName the name of the level.
+     * @param stepsPerSecond the number of logic steps in one second.
+     * @param startLives the lives at the start of the level.
+     * @param startScore the score at the start of the level.
+     */
+    public InputLog(String levelSetKey, String levelSetName, int levelIndex, String levelName, int stepsPerSecond
+            , int startLives, int startScore) {
+        this.levelSetKey = levelSetKey;
+        this.levelSetName = levelSetName;
+        this.levelIndex = levelIndex;
+        this.levelName = levelName;
+        this.stepsPerSecond = stepsPerSecond;
+        this.startLives = startLives;
+        this.startScore = startScore;
+        this.runKeys = new byte[16];
+        this.runLengths = new int[16];
+        this.runs = 0;
+        this.steps = 0;
+        this.finished = false;
+        this.hitPoints = new int[0];
+    }
+    /**.
+     * addStep.
+     * Adding the keys of the next step.
+     *
+     * @param keys the bits of the keys that are pressed in the step.
+     */
+    public void addStep(int keys) {
+        addRun(keys, 1);
+    }
+    /**.
+     * addRun.
+     * Adding steps with the same keys.
+     *
+     * @param keys the bits of the keys that are pressed in the steps.
+     * @param length the number of steps.
+     */
+    private void addRun(int keys, int length) {
+        this.steps += length;
+        if (this.runs > 0 && this.runKeys[this.runs - 1] == keys
+                && this.runLengths[this.runs - 1] <= Integer.MAX_VALUE - length) {
+            this.runLengths[this.runs - 1] += length;
+            return;
+        }
+        if (this.runs == this.runKeys.length) {
+            this.runKeys = Arrays.copyOf(this.runKeys, this.runs * 2);
+            this.runLengths = Arrays.copyOf(this.runLengths, this.runs * 2);
+        }
+        this.runKeys[this.runs] = (byte) keys;
+        this.runLengths[this.runs] = length;
+        this.runs++;
+    }
+    /**.
+     * finish.
+     * Saving what happened at the end of the level.
+     *
+     * @param score the score at the end.
+     * @param lives the lives at the end.
+     * @param blocksHitPoints the hit points of each block at the end.
+     */
+    public void finish(int score, int lives, int[] blocksHitPoints) {
+        this.finished = true;
+        this.endScore = score;
+        this.endLives = lives;
+        this.hitPoints = blocksHitPoints.clone();
+    }
+    /**.
+     * writeTo.
+     * Writing the log.
+     *
+     * @param out the stream we write to.
+     * @throws IOException if we can't write.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(this.levelSetKey);
+        out.writeUTF(this.levelSetName);
+        writeVarInt(out, this.levelIndex);
+        out.writeUTF(this.levelName);
+        writeVarInt(out, this.stepsPerSecond);
+        writeVarInt(out, this.startLives);
+        writeVarInt(out, this.startScore);
+        writeVarInt(out, this.runs);
+        for (int i = 0; i < this.runs; i++) {
+            out.writeByte(this.runKeys[i]);
+            writeVarInt(out, this.runLengths[i]);
+        }
+        out.writeBoolean(this.finished);
+        if (this.finished) {
+            writeVarInt(out, this.endScore);
+            writeVarInt(out, this.endLives);
+            writeVarInt(out, this.hitPoints.length);
+            for (int hitPoint : this.hitPoints) {
+                writeVarInt(out, hitPoint);
+            }
+        }
+    }
+    /**.
+     * readFrom.
+     * Reading a log.
+     *
+     * @param in the stream we read from.
+     * @return the log.
+     * @throws IOException if we can't read or the log is broken.
+     */
+    public static InputLog readFrom(DataInputStream in) throws IOException {
+        InputLog log = new InputLog(in.readUTF(), in.readUTF(), readVarInt(in), in.readUTF(), readVarInt(in)
+                , readVarInt(in), readVarInt(in));
+        int runs = readVarInt(in);
+        for (int i = 0; i < runs; i++) {
+            int keys = in.readByte();
+            int length = readVarInt(in);
+            if (length <= 0) {
+                throw new IOException("Broken input log: a run of " + length + " steps.");
+            }
+            log.addRun(keys, length);
+        }
+        if (in.readBoolean()) {
+            int score = readVarInt(in);
+            int lives = readVarInt(in);
+            int[] blocksHitPoints = new int[readVarInt(in)];
+            for (int i = 0; i < blocksHitPoints.length; i++) {
+                blocksHitPoints[i] = readVarInt(in);
+            }
+            log.finish(score, lives, blocksHitPoints);
+        }
+        return log;
+    }
+    /**.
+     * writeVarInt.
+     * Writing a number that isn't negative in 7 bits a byte, so small numbers take one byte.
+     *
+     * @param out the stream we write to.
+     * @param value the number.
+     * @throws IOException if we can't write.
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        if (value < 0) {
+            throw new IOException("Can't write the negative number " + value);
+        }
+        while (value >= 0x80) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+    /**.
+     * readVarInt.
+     * @param in the stream we read from.
+     * @return the number written by writeVarInt.
+     * @throws IOException if we can't read.
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Broken input log: a number is too long.");
+    }
+    /**.
+     * getLevelSetKey.
+     * @return the key of the level set.
+     */
+    public String getLevelSetKey() {
+        return this.levelSetKey;
+    }
+    /**.
+     * getLevelSetName.
+     * @return the name of the level set.
+     */
+    public String getLevelSetName() {
+        return this.levelSetName;
+    }
+    /**.
+     * getLevelIndex.
+     * @return the index of the level in the level set.
+     */
+    public int getLevelIndex() {
+        return this.levelIndex;
+    }
+    /**.
+     * getLevelName.
+     * @return the name of the level.
+     */
+    public String getLevelName() {
+        return this.levelName;
+    }
+    /**.
+     * getStepsPerSecond.
+     * @return the number of logic steps in one second.
+     */
+    public int getStepsPerSecond() {
+        return this.stepsPerSecond;
+    }
+    /**.
+     * getStartLives.
+     * @return the lives at the start of the level.
+     */
+    public int getStartLives() {
+        return this.startLives;
+    }
+    /**.
+     * getStartScore.
+     * @return the score at the start of the level.
+     */
+    public int getStartScore() {
+        return this.startScore;
+    }
+    /**.
+     * getRuns.
+     * @return the number of runs of keys.
+     */
+    public int getRuns() {
+        return this.runs;
+    }
+    /**.
+     * getRunKeys.
+     * @param run the index of the run.
+     * @return the bits of the keys of the run.
+     */
+    public int getRunKeys(int run) {
+        return this.runKeys[run];
+    }
+    /**.
+     * getRunLength.
+     * @param run the index of the run.
+     * @return the number of steps of the run.
+     */
+    public int getRunLength(int run) {
+        return this.runLengths[run];
+    }
+    /**.
+     * getSteps.
+     * @return the number of steps.
+     */
+    public long getSteps() {
+        return this.steps;
+    }
+    /**.
+     * isFinished.
+     * @return true if the level ended while recording, false otherwise.
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+    /**.
+     * getEndScore.
+     * @return the score at the end of the level.
+     */
+    public int getEndScore() {
+        return this.endScore;
+    }
+    /**.
+     * getEndLives.
+     * @return the lives at the end of the level.
+     */
+    public int getEndLives() {
+        return this.endLives;
+    }
+    /**.
+     * getHitPoints.
+     * @return the hit points of each block at the end of the level.
+     */
+    public int[] getHitPoints() {
+        return this.hitPoints.clone();
+    }
+}
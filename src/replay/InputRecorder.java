@@ -0,0 +1,78 @@
+package replay;
+
+import biuoop.KeyboardSensor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**.
+ * InputRecorder.
+ * Records the levels of a game to a replay file. The file is saved again after every level,
+ * So a game that was closed in the middle keeps the levels that ended.
+ */
+public class InputRecorder {
+    //The file we save to.
+    private File file;
+    //The logs of the levels.
+    private List<InputLog> logs;
+    //The log of the current level.
+    private InputLog current;
+    /**.
+     * Creates new instance of InputRecorder.
+     * The constructor of our class.
+     *
+     * @param file the file we save to.
+     */
+    public InputRecorder(File file) {
+        this.file = file;
+        this.logs = new ArrayList<InputLog>();
+        this.current = null;
+    }
+    /**.
+     * fromSystemProperties.
+     * @return a recorder to the file in the property "record", null if it isn't set.
+     */
+    public static InputRecorder fromSystemProperties() {
+        String path = System.getProperty("record");
+        if (path == null) {
+            return null;
+        }
+        return new InputRecorder(new File(path));
+    }
+    /**.
+     * startLevel.
+     * Starting to record a level.
+     *
+     * @param keyboard the real keyboard.
+     * @param log the log of the level, without steps.
+     * @return the keyboard the level should read.
+     */
+    public KeyboardSensor startLevel(KeyboardSensor keyboard, InputLog log) {
+        this.current = log;
+        return new RecordingKeyboard(keyboard, log);
+    }
+    /**.
+     * endLevel.
+     * Saving what happened at the end of the level and saving the file.
+     *
+     * @param score the score at the end.
+     * @param lives the lives at the end.
+     * @param hitPoints the hit points of each block at the end.
+     */
+    public void endLevel(int score, int lives, int[] hitPoints) {
+        if (this.current == null) {
+            return;
+        }
+        this.current.finish(score, lives, hitPoints);
+        this.logs.add(this.current);
+        this.current = null;
+        try {
+            ReplayFile.save(this.logs, this.file);
+        } catch (IOException e) {
+            //The game goes on without recording.
+            System.err.println("Can't save the replay to " + this.file);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package replay;
+
+import biuoop.KeyboardSensor;
+
+/**.
+ * RecordingKeyboard.
+ * Reads the keys of the paddle from the real keyboard once each step and adds them to an input log.
+ * The paddle sees the keys of the start of the step, like a replay will. Other keys (like pause) are live.
+ */
+public class RecordingKeyboard implements SteppedKeyboard {
+    //The real keyboard.
+    private KeyboardSensor keyboard;
+    //The log we add the steps to.
+    private InputLog log;
+    //The keys of the paddle in this step.
+    private int keys;
+    /**.
+     * Creates new instance of RecordingKeyboard.
+     * The constructor of our class.
+     *
+     * @param keyboard the real keyboard.
+     * @param log the log we add the steps to.
+     */
+    public RecordingKeyboard(KeyboardSensor keyboard, InputLog log) {
+        this.keyboard = keyboard;
+        this.log = log;
+        this.keys = 0;
+    }
+    /**.
+     * nextStep.
+     * Reading the keys of the paddle for the new step and recording them.
+     */
+    public void nextStep() {
+        this.keys = 0;
+        if (this.keyboard.isPressed(KeyboardSensor.LEFT_KEY)) {
+            this.keys |= InputLog.LEFT;
+        }
+        if (this.keyboard.isPressed(KeyboardSensor.RIGHT_KEY)) {
+            this.keys |= InputLog.RIGHT;
+        }
+        this.log.addStep(this.keys);
+    }
+    /**.
+     * isPressed.
+     * @param key the key we check.
+     * @return true if the key is pressed, false otherwise.
+     */
+    public boolean isPressed(String key) {
+        if (KeyboardSensor.LEFT_KEY.equals(key)) {
+            return (this.keys & InputLog.LEFT) != 0;
+        } else if (KeyboardSensor.RIGHT_KEY.equals(key)) {
+            return (this.keys & InputLog.RIGHT) != 0;
+        }
+        return this.keyboard.isPressed(key);
+    }
+}
@@ -0,0 +1,67 @@
+package replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**.
+ * ReplayFile.
+ * Saves and loads the input logs of the levels of one game.
+ */
+public class ReplayFile {
+    //The first bytes of a replay file ("ARKR") and the version of the format.
+    static final int MAGIC = 0x41524B52;
+    static final int VERSION = 1;
+    /**.
+     * save.
+     * @param logs the logs of the levels.
+     * @param file the file we save to.
+     * @throws IOException if we can't write the file.
+     */
+    public static void save(List<InputLog> logs, File file) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(logs.size());
+            for (InputLog log : logs) {
+                log.writeTo(out);
+            }
+        } finally {
+            out.close();
+        }
+    }
+    /**.
+     * load.
+     * @param file the file we load.
+     * @return the logs of the levels.
+     * @throws IOException if we can't read the file or it isn't a replay file.
+     */
+    public static List<InputLog> load(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " isn't a replay file.");
+            }
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unknown replay version " + version);
+            }
+            int count = in.readInt();
+            List<InputLog> logs = new ArrayList<InputLog>();
+            for (int i = 0; i < count; i++) {
+                logs.add(InputLog.readFrom(in));
+            }
+            return logs;
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package replay;
+
+import biuoop.KeyboardSensor;
+import game.GameLevel;
+import simulation.PaddleScript;
+import simulation.ScriptedKeyboard;
+
+/**.
+ * ReplayScript.
+ * Presses the keys of the paddle that were recorded in an input log, step after step.
+ * After the last step no key is pressed.
+ */
+public class ReplayScript implements PaddleScript {
+    private InputLog log;
+    //The run we are in and the steps we already did in it.
+    private int run;
+    private int stepInRun;
+    /**.
+     * Creates new instance of ReplayScript.
+     * The constructor of our class.
+     *
+     * @param log the log we replay.
+     */
+    public ReplayScript(InputLog log) {
+        this.log = log;
+        this.run = 0;
+        this.stepInRun = 0;
+    }
+    /**.
+     * nextStep.
+     * Pressing the keys of the next recorded step.
+     *
+     * @param gameLevel the game that runs.
+     * @param keyboard the keyboard the paddle reads.
+     * @param step the number of the step from the start of the level.
+     */
+    public void nextStep(GameLevel gameLevel, ScriptedKeyboard keyboard, long step) {
+        keyboard.releaseAll();
+        if (this.run >= this.log.getRuns()) {
+            return;
+        }
+        int keys = this.log.getRunKeys(this.run);
+        if ((keys & InputLog.LEFT) != 0) {
+            keyboard.press(KeyboardSensor.LEFT_KEY);
+        }
+        if ((keys & InputLog.RIGHT) != 0) {
+            keyboard.press(KeyboardSensor.RIGHT_KEY);
+        }
+        this.stepInRun++;
+        if (this.stepInRun == this.log.getRunLength(this.run)) {
+            this.run++;
+            this.stepInRun = 0;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package replay;
+
+import io.LevelSetsReader;
+import levels.LevelInformation;
+import listeners.Counter;
+import simulation.HeadlessEngine;
+import simulation.SimulationResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**.
+ * Replayer.
+ * Plays the levels of a replay file again without a screen, as fast as it can, and checks that the score,
+ * The lives and the hit points of every block are exactly what they were in the recorded game.
+ * Usage: java replay.Replayer replay file [-repeat n]
+ * With -repeat the levels are played n times and the best time is printed, so a replay can be used to measure
+ * The speed of the game.
+ */
+public class Replayer {
+    /**.
+     * main.
+     * @param args the replay file and the options.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length == 0) {
+            System.err.println("Usage: java replay.Replayer replay file [-repeat n]");
+            return;
+        }
+        int repeat = 1;
+        if (args.length >= 3 && args[1].equals("-repeat")) {
+            repeat = Integer.parseInt(args[2]);
+        }
+        try {
+            List<InputLog> logs = ReplayFile.load(new File(args[0]));
+            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream("level_sets.txt");
+            Map<String, String> paths = LevelSetsReader.getLevelSetPaths(new InputStreamReader(is));
+            boolean same = true;
+            for (InputLog log : logs) {
+                same &= replay(log, paths, repeat);
+            }
+            if (!same) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(2);
+        }
+    }
+    /**.
+     * replay.
+     * Playing one level of the replay again and comparing it to the recorded game.
+     *
+     * @param log the log of the level.
+     * @param paths the level definitions of each level set.
+     * @param repeat the number of times we play the level.
+     * @return true if the level ended exactly like in the recorded game, false otherwise.
+     * @throws IOException if we can't read the level.
+     */
+    public static boolean replay(InputLog log, Map<String, String> paths, int repeat) throws IOException {
+        String path = paths.get(log.getLevelSetKey());
+        if (path == null) {
+            throw new IOException("Unknown level set " + log.getLevelSetKey());
+        }
+        List<LevelInformation> levels = HeadlessEngine.loadLevels(path);
+        if (log.getLevelIndex() >= levels.size()
+                || !levels.get(log.getLevelIndex()).levelName().equals(log.getLevelName())) {
+            throw new IOException("The level " + log.getLevelName() + " isn't in " + path + " any more.");
+        }
+        LevelInformation level = levels.get(log.getLevelIndex());
+        //The replay stops where the recording stopped.
+        HeadlessEngine engine = new HeadlessEngine(1.0 / log.getStepsPerSecond(), Math.max(1, log.getSteps()));
+        SimulationResult result = null;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < repeat; i++) {
+            long start = System.nanoTime();
+            result = engine.runLevel(level, new ReplayScript(log), new Counter(log.getStartLives())
+                    , new Counter(log.getStartScore()));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double gameSeconds = (double) log.getSteps() / log.getStepsPerSecond();
+        String speed = String.format("%d steps in %.2fms (%.0fx real time)", log.getSteps(), best / 1e6
+                , gameSeconds / (best / 1e9));
+        if (!log.isFinished()) {
+            System.out.println(log.getLevelName() + ": not finished in the recording, " + speed);
+            return true;
+        }
+        boolean same = result.getScore() == log.getEndScore() && result.getLives() == log.getEndLives()
+                && Arrays.equals(result.getHitPoints(), log.getHitPoints());
+        if (same) {
+            System.out.println(log.getLevelName() + ": same game, score " + result.getScore() + ", lives "
+                    + result.getLives() + ", " + speed);
+        } else {
+            System.out.println(log.getLevelName() + ": DIFFERENT game, score " + result.getScore() + " (recorded "
+                    + log.getEndScore() + "), lives " + result.getLives() + " (recorded " + log.getEndLives()
+                    + "), hit points " + Arrays.toString(result.getHitPoints()) + " (recorded "
+                    + Arrays.toString(log.getHitPoints()) + ")");
+        }
+        return same;
+    }
+}
@@ -0,0 +1,16 @@
+package replay;
+
+import biuoop.KeyboardSensor;
+
+/**.
+ * SteppedKeyboard.
+ * A keyboard whose keys of the paddle change only between logic steps.
+ * The game level tells it when a step starts, so the keys of each step can be recorded or replayed.
+ */
+public interface SteppedKeyboard extends KeyboardSensor {
+    /**.
+     * nextStep.
+     * A new logic step starts.
+     */
+    void nextStep();
+}
@@ -0,0 +1,104 @@
+package simulation;
+
+import biuoop.KeyboardSensor;
+import game.Ball;
+import game.GameLevel;
+import game.Paddle;
+import geometry.Rectangle;
+
+import java.util.Random;
+
+/**.
+ * AutopilotScript.
+ * Moves the paddle under the lowest ball (the ball that is going to fall first).
+ * The offset moves the point of the paddle that meets the ball, so different offsets play different games.
+ * With a seed the offset is chosen again randomly each time the ball goes back up, so every seed plays
+ * Another game (but the same game every time).
+ */
+public class AutopilotScript implements PaddleScript {
+    //How far from the middle of the paddle we want to meet the ball.
+    private double offset;
+    //We don't move when the ball is that close to the target, so the paddle doesn't shake.
+    private double deadZone;
+    //Chooses the offsets, null if the offset doesn't change.
+    private Random random;
+    //The biggest offset we choose.
+    private double maxOffset;
+    //Determines if the lowest ball was falling in the last step.
+    private boolean falling;
+    /**.
+     * Creates new instance of AutopilotScript.
+     * The constructor of our class, meets the balls with the middle of the paddle.
+     */
+    public AutopilotScript() {
+        this(0, 5);
+    }
+    /**.
+     * Creates new instance of AutopilotScript.
+     * The constructor of our class.
+     *
+     * @param offset how far from the middle of the paddle we want to meet the ball (negative is left).
+     * @param deadZone we don't move when the ball is that close to the target.
+     */
+    public AutopilotScript(double offset, double deadZone) {
+        this.offset = offset;
+        this.deadZone = deadZone;
+        this.random = null;
+        this.falling = false;
+    }
+    /**.
+     * Creates new instance of AutopilotScript.
+     * The constructor of our class, the offset is chosen randomly by the seed.
+     *
+     * @param seed the seed of the random offsets.
+     * @param maxOffset the biggest offset we choose (to the left or to the right).
+     * @param deadZone we don't move when the ball is that close to the target.
+     */
+    public AutopilotScript(long seed, double maxOffset, double deadZone) {
+        this(0, deadZone);
+        this.random = new Random(seed);
+        this.maxOffset = maxOffset;
+        this.offset = nextOffset();
+    }
+    /**.
+     * nextOffset.
+     * @return a random offset between -maxOffset and maxOffset.
+     */
+    private double nextOffset() {
+        return (2 * this.random.nextDouble() - 1) * this.maxOffset;
+    }
+    /**.
+     * nextStep.
+     * Pressing left or right to get to the lowest ball.
+     *
+     * @param gameLevel the game that runs.
+     * @param keyboard the keyboard the paddle reads.
+     * @param step the number of the step from the start of the level.
+     */
+    public void nextStep(GameLevel gameLevel, ScriptedKeyboard keyboard, long step) {
+        keyboard.releaseAll();
+        Paddle paddle = gameLevel.getPaddle();
+        Ball lowest = null;
+        for (Ball ball : gameLevel.getBalls()) {
+            if (lowest == null || ball.getY() > lowest.getY()) {
+                lowest = ball;
+            }
+        }
+        if (paddle == null || lowest == null) {
+            return;
+        }
+        //The ball went back up so we choose where the paddle will meet it the next time.
+        boolean nowFalling = lowest.getDy() > 0;
+        if (this.random != null && this.falling && !nowFalling) {
+            this.offset = nextOffset();
+        }
+        this.falling = nowFalling;
+        Rectangle rectangle = paddle.getCollisionRectangle();
+        double target = rectangle.getUpperLeft().getX() + rectangle.getWidth() / 2 + this.offset;
+        if (lowest.getX() < target - this.deadZone) {
+            keyboard.press(KeyboardSensor.LEFT_KEY);
+        } else if (lowest.getX() > target + this.deadZone) {
+            keyboard.press(KeyboardSensor.RIGHT_KEY);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package simulation;
+
+import game.Velocity;
+import levels.LevelInformation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**.
+ * BatchRunner.
+ * Runs many independent simulations of levels at the same time on a fork join pool, for each level
+ * With many seeds of the autopilot and many sets of ball velocities, and collects statistics of each level.
+ * The simulations don't share anything they change, so the runner scales with the number of cores.
+ */
+public class BatchRunner {
+    //The number of seeds we run by default.
+    public static final int DEFAULTSEEDS = 100;
+    //Runs one level.
+    private HeadlessEngine engine;
+    //Runs the simulations.
+    private ForkJoinPool pool;
+    //The lives at the start of each simulation.
+    private int lives;
+    /**.
+     * Creates new instance of BatchRunner.
+     * The constructor of our class.
+     *
+     * @param engine runs one level.
+     * @param threads the number of simulations that run at the same time.
+     * @param lives the lives at the start of each simulation.
+     */
+    public BatchRunner(HeadlessEngine engine, int threads, int lives) {
+        this.engine = engine;
+        this.pool = new ForkJoinPool(threads);
+        this.lives = lives;
+    }
+    /**.
+     * run.
+     * Running every level with every set of velocities and every seed.
+     *
+     * @param levels the levels.
+     * @param velocitySets sets of ball velocities, if it is empty we use the velocities of each level.
+     * @param firstSeed the first seed.
+     * @param seeds the number of seeds (firstSeed, firstSeed + 1 ...).
+     * @return the statistics of each level in the order of the levels.
+     */
+    public List<LevelStatistics> run(List<LevelInformation> levels, List<List<Velocity>> velocitySets
+            , long firstSeed, int seeds) {
+        List<Callable<SimulationResult>> tasks = new ArrayList<Callable<SimulationResult>>();
+        //The index of the level of each task.
+        List<Integer> levelOfTask = new ArrayList<Integer>();
+        for (int i = 0; i < levels.size(); i++) {
+            List<LevelInformation> versions = new ArrayList<LevelInformation>();
+            if (velocitySets.isEmpty()) {
+                versions.add(levels.get(i));
+            }
+            for (List<Velocity> velocities : velocitySets) {
+                versions.add(new VelocitySetLevel(levels.get(i), velocities));
+            }
+            for (LevelInformation version : versions) {
+                for (int seed = 0; seed < seeds; seed++) {
+                    tasks.add(new SimulationTask(this.engine, version, firstSeed + seed, this.lives));
+                    levelOfTask.add(i);
+                }
+            }
+        }
+        List<LevelStatistics> statistics = new ArrayList<LevelStatistics>();
+        for (LevelInformation level : levels) {
+            statistics.add(new LevelStatistics(level.levelName(), level.blocks().size()));
+        }
+        List<Future<SimulationResult>> futures = this.pool.invokeAll(tasks);
+        //Adding the results on this thread so the statistics are changed by one thread only.
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                statistics.get(levelOfTask.get(i)).add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("The simulations were interrupted.", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("A simulation failed.", e.getCause());
+            }
+        }
+        return statistics;
+    }
+    /**.
+     * shutdown.
+     * Stopping the threads of the runner.
+     */
+    public void shutdown() {
+        this.pool.shutdown();
+    }
+    /**.
+     * parseVelocities.
+     * Reading sets of velocities written like in the level definitions, "angle,speed angle,speed"
+     * With ';' between the sets.
+     *
+     * @param text the sets of velocities.
+     * @return the sets of velocities.
+     */
+    public static List<List<Velocity>> parseVelocities(String text) {
+        List<List<Velocity>> sets = new ArrayList<List<Velocity>>();
+        for (String set : text.split(";")) {
+            List<Velocity> velocities = new ArrayList<Velocity>();
+            for (String velocity : set.trim().split("\\s+")) {
+                String[] parts = velocity.split(",");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Bad velocity " + velocity);
+                }
+                //Fixing the angle like the level reader does.
+                velocities.add(Velocity.fromAngleAndSpeed(180 - Double.parseDouble(parts[0])
+                        , Double.parseDouble(parts[1])));
+            }
+            sets.add(velocities);
+        }
+        return sets;
+    }
+    /**.
+     * main.
+     * Running the levels of level definitions files with many seeds and printing the statistics of each level.
+     * Usage: java simulation.BatchRunner [levels files] [-seeds n] [-threads n] [-lives n] [-steps n] [-dt seconds]
+     * [-velocities "angle,speed angle,speed;angle,speed"]
+     *
+     * @param args the options of the run.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        List<String> paths = new ArrayList<String>();
+        int seeds = DEFAULTSEEDS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int lives = HeadlessEngine.STARTLIVES;
+        long maxSteps = HeadlessEngine.DEFAULTMAXSTEPS;
+        double dt = HeadlessEngine.DEFAULTDT;
+        List<List<Velocity>> velocitySets = new ArrayList<List<Velocity>>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("-")) {
+                paths.add(args[i]);
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                System.err.println("Missing value of " + args[i]);
+                return;
+            }
+            String value = args[++i];
+            if (args[i - 1].equals("-seeds")) {
+                seeds = Integer.parseInt(value);
+            } else if (args[i - 1].equals("-threads")) {
+                threads = Integer.parseInt(value);
+            } else if (args[i - 1].equals("-lives")) {
+                lives = Integer.parseInt(value);
+            } else if (args[i - 1].equals("-steps")) {
+                maxSteps = Long.parseLong(value);
+            } else if (args[i - 1].equals("-dt")) {
+                dt = Double.parseDouble(value);
+            } else if (args[i - 1].equals("-velocities")) {
+                velocitySets = parseVelocities(value);
+            } else {
+                System.err.println("Unknown option " + args[i - 1]);
+                return;
+            }
+        }
+        if (paths.isEmpty()) {
+            paths.add("definitions/level_definitions.txt");
+        }
+        BatchRunner runner = new BatchRunner(new HeadlessEngine(dt, maxSteps), threads, lives);
+        try {
+            for (String path : paths) {
+                List<LevelInformation> levels = HeadlessEngine.loadLevels(path);
+                long start = System.nanoTime();
+                List<LevelStatistics> statistics = runner.run(levels, velocitySets, 0, seeds);
+                long millis = (System.nanoTime() - start) / 1000000;
+                System.out.println(path);
+                int simulations = 0;
+                for (LevelStatistics levelStatistics : statistics) {
+                    System.out.println("  " + levelStatistics);
+                    simulations += levelStatistics.getRuns();
+                }
+                System.out.println("  " + simulations + " simulations on " + threads + " threads in " + millis + "ms");
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            runner.shutdown();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package simulation;
+
+import game.GameLevel;
+import io.LevelSpecificationReader;
+import levels.LevelInformation;
+import listeners.Counter;
+import listeners.HitCountingListener;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**.
+ * HeadlessEngine.
+ * Runs levels without a screen: the logic of the game steps with a fixed dt as fast as it can, with no sleeping
+ * And no drawing, and a script presses the keys of the paddle.
+ */
+public class HeadlessEngine {
+    //The seconds of one step, like 60 frames per second.
+    public static final double DEFAULTDT = 1.0 / 60;
+    //The maximum steps of one level (ten minutes of game) so a ball that never hits blocks doesn't run forever.
+    public static final long DEFAULTMAXSTEPS = 60 * 60 * 10;
+    //The lives at the start of the game like in the game flow.
+    public static final int STARTLIVES = 7;
+    //The seconds of one step.
+    private double dt;
+    //The maximum steps of one level.
+    private long maxSteps;
+    /**.
+     * Creates new instance of HeadlessEngine.
+     * The constructor of our class with the default dt and maximum steps.
+     */
+    public HeadlessEngine() {
+        this(DEFAULTDT, DEFAULTMAXSTEPS);
+    }
+    /**.
+     * Creates new instance of HeadlessEngine.
+     * The constructor of our class.
+     *
+     * @param dt the seconds of one step.
+     * @param maxSteps the maximum steps of one level.
+     */
+    public HeadlessEngine(double dt, long maxSteps) {
+        if (dt <= 0 || maxSteps <= 0) {
+            throw new IllegalArgumentException("The dt and the maximum steps must be positive.");
+        }
+        this.dt = dt;
+        this.maxSteps = maxSteps;
+    }
+    /**.
+     * runLevel.
+     * Running one level turn after turn until the blocks are removed, the lives are over
+     * Or the maximum steps passed.
+     *
+     * @param levelInformation the level.
+     * @param script presses the keys of the paddle.
+     * @param lives the counter of lives (we decrease it when a turn is lost).
+     * @param scores the counter of scores.
+     * @return what happened in the level.
+     */
+    public SimulationResult runLevel(LevelInformation levelInformation, PaddleScript script
+            , Counter lives, Counter scores) {
+        ScriptedKeyboard keyboard = new ScriptedKeyboard();
+        //There is no animation runner because we don't show anything (and nobody pauses).
+        GameLevel level = new GameLevel(levelInformation, keyboard, null, lives, scores);
+        level.initialize();
+        HitCountingListener hitCounter;
+        if (level.getBlockField() != null) {
+            hitCounter = new HitCountingListener(level.getBlockField());
+        } else {
+            hitCounter = new HitCountingListener(level.getBlocks());
+        }
+        long step = 0;
+        long clearStep = -1;
+        while (!level.noMoreBlocks() && lives.getValue() != 0 && step < this.maxSteps) {
+            level.startTurn();
+            while (!level.shouldStop() && step < this.maxSteps) {
+                script.nextStep(level, keyboard, step);
+                level.doOneStep(this.dt);
+                step++;
+                if (clearStep < 0 && level.noMoreBlocks()) {
+                    clearStep = step;
+                }
+            }
+            level.endTurn();
+        }
+        return new SimulationResult(levelInformation.levelName(), scores.getValue(), lives.getValue()
+                , step, clearStep, this.dt, hitCounter.getHits()
+                , level.getHitPoints());
+    }
+    /**.
+     * runLevels.
+     * Running levels one after the other like the game flow, until the lives are over.
+     *
+     * @param levels the levels.
+     * @param script presses the keys of the paddle.
+     * @param startLives the lives at the start.
+     * @return what happened in each level that ran.
+     */
+    public List<SimulationResult> runLevels(List<LevelInformation> levels, PaddleScript script, int startLives) {
+        Counter lives = new Counter(startLives);
+        Counter scores = new Counter(0);
+        List<SimulationResult> results = new ArrayList<SimulationResult>();
+        for (LevelInformation levelInformation : levels) {
+            SimulationResult result = runLevel(levelInformation, script, lives, scores);
+            results.add(result);
+            //No more lives or the level wasn't finished.
+            if (lives.getValue() == 0 || !result.isCleared()) {
+                break;
+            }
+        }
+        return results;
+    }
+    /**.
+     * loadLevels.
+     * Reading levels from a level definitions file with the level specification reader.
+     * We look for the file in the resources first and then in the file system.
+     *
+     * @param path the path of the level definitions file.
+     * @return the levels in the file.
+     * @throws IOException if we can't read the file.
+     */
+    public static List<LevelInformation> loadLevels(String path) throws IOException {
+        InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+        if (is == null) {
+            File file = new File(path);
+            if (!file.exists()) {
+                throw new IOException("Can't find the level definitions " + path);
+            }
+            is = new FileInputStream(file);
+        }
+        InputStreamReader reader = new InputStreamReader(is);
+        try {
+            return new LevelSpecificationReader().fromReader(reader);
+        } finally {
+            reader.close();
+        }
+    }
+    /**.
+     * main.
+     * Running the levels of a level definitions file without a screen and printing the results.
+     * Usage: java simulation.HeadlessEngine [levels file] [-dt seconds] [-lives n] [-steps n] [-offset pixels]
+     *
+     * @param args the options of the run.
+     */
+    public static void main(String[] args) {
+        //We never open a window.
+        System.setProperty("java.awt.headless", "true");
+        String path = "definitions/level_definitions.txt";
+        double dt = DEFAULTDT;
+        long maxSteps = DEFAULTMAXSTEPS;
+        int lives = STARTLIVES;
+        double offset = 0;
+        int i = 0;
+        if (args.length % 2 == 1) {
+            path = args[0];
+            i = 1;
+        }
+        for (; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            if (args[i].equals("-dt")) {
+                dt = Double.parseDouble(value);
+            } else if (args[i].equals("-lives")) {
+                lives = Integer.parseInt(value);
+            } else if (args[i].equals("-steps")) {
+                maxSteps = Long.parseLong(value);
+            } else if (args[i].equals("-offset")) {
+                offset = Double.parseDouble(value);
+            } else {
+                System.err.println("Unknown option " + args[i]);
+                return;
+            }
+        }
+        try {
+            List<LevelInformation> levels = loadLevels(path);
+            HeadlessEngine engine = new HeadlessEngine(dt, maxSteps);
+            long start = System.nanoTime();
+            List<SimulationResult> results = engine.runLevels(levels, new AutopilotScript(offset, 5), lives);
+            long millis = (System.nanoTime() - start) / 1000000;
+            for (SimulationResult result : results) {
+                System.out.println(result);
+            }
+            System.out.println("Ran in " + millis + "ms");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package simulation;
+
+/**.
+ * LevelStatistics.
+ * The statistics of many simulations of one level: how often it was cleared, how long it took
+ * And how many times each block was hit.
+ */
+public class LevelStatistics {
+    //The name of the level.
+    private String levelName;
+    //The number of simulations and the number of simulations that cleared the level.
+    private int runs;
+    private int cleared;
+    //The sum of the steps to clear the level in the simulations that cleared it.
+    private long clearSteps;
+    //The sum of the hits of each block in all the simulations.
+    private long[] blockHits;
+    /**.
+     * Creates new instance of LevelStatistics.
+     * The constructor of our class.
+     *
+     * @param levelName the name of the level.
+     * @param numberOfBlocks the number of blocks of the level.
+     */
+    public LevelStatistics(String levelName, int numberOfBlocks) {
+        this.levelName = levelName;
+        this.blockHits = new long[numberOfBlocks];
+    }
+    /**.
+     * add.
+     * Adding the result of one simulation of the level.
+     *
+     * @param result the result of the simulation.
+     */
+    public void add(SimulationResult result) {
+        this.runs++;
+        if (result.isCleared()) {
+            this.cleared++;
+            this.clearSteps += result.getClearStep();
+        }
+        int[] hits = result.getBlockHits();
+        for (int i = 0; i < hits.length && i < this.blockHits.length; i++) {
+            this.blockHits[i] += hits[i];
+        }
+    }
+    /**.
+     * getLevelName.
+     * @return the name of the level.
+     */
+    public String getLevelName() {
+        return this.levelName;
+    }
+    /**.
+     * getRuns.
+     * @return the number of simulations of the level.
+     */
+    public int getRuns() {
+        return this.runs;
+    }
+    /**.
+     * getClearRate.
+     * @return the part of the simulations that cleared the level (between 0 and 1).
+     */
+    public double getClearRate() {
+        if (this.runs == 0) {
+            return 0;
+        }
+        return (double) this.cleared / this.runs;
+    }
+    /**.
+     * getMeanFramesToClear.
+     * @return the mean number of frames to clear the level in the simulations that cleared it, -1 if none did.
+     */
+    public double getMeanFramesToClear() {
+        if (this.cleared == 0) {
+            return -1;
+        }
+        return (double) this.clearSteps / this.cleared;
+    }
+    /**.
+     * getHitsPerBlock.
+     * @return the mean number of hits of each block in one simulation.
+     */
+    public double[] getHitsPerBlock() {
+        double[] mean = new double[this.blockHits.length];
+        for (int i = 0; i < mean.length; i++) {
+            mean[i] = this.runs == 0 ? 0 : (double) this.blockHits[i] / this.runs;
+        }
+        return mean;
+    }
+    /**.
+     * getMeanHitsPerBlock.
+     * @return the mean number of hits of one block in one simulation.
+     */
+    public double getMeanHitsPerBlock() {
+        if (this.runs == 0 || this.blockHits.length == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (long hits : this.blockHits) {
+            sum += hits;
+        }
+        return (double) sum / this.blockHits.length / this.runs;
+    }
+    /**.
+     * toString.
+     * @return the statistics as one line of text.
+     */
+    public String toString() {
+        return String.format("%s: %d runs, clear rate %.1f%%, mean frames to clear %.1f, hits per block %.2f"
+                , this.levelName, this.runs, 100 * getClearRate(), getMeanFramesToClear(), getMeanHitsPerBlock());
+    }
+}
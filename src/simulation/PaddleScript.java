@@ -0,0 +1,19 @@
+package simulation;
+
+import game.GameLevel;
+
+/**.
+ * PaddleScript.
+ * Decides which keys are pressed in each step of a game that runs without a person.
+ */
+public interface PaddleScript {
+    /**.
+     * nextStep.
+     * Called before each step of the game to press and release keys.
+     *
+     * @param gameLevel the game that runs.
+     * @param keyboard the keyboard the paddle reads.
+     * @param step the number of the step from the start of the level.
+     */
+    void nextStep(GameLevel gameLevel, ScriptedKeyboard keyboard, long step);
+}
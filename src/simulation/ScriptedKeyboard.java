@@ -0,0 +1,51 @@
+package simulation;
+
+import biuoop.KeyboardSensor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**.
+ * ScriptedKeyboard.
+ * A keyboard sensor that a script presses instead of a person, so the game can run without a screen.
+ */
+public class ScriptedKeyboard implements KeyboardSensor {
+    //The keys that are pressed now.
+    private Set<String> pressed;
+    /**.
+     * Creates new instance of ScriptedKeyboard.
+     * The constructor of our class, no key is pressed.
+     */
+    public ScriptedKeyboard() {
+        this.pressed = new HashSet<String>();
+    }
+    /**.
+     * press.
+     * @param key the key we want to press.
+     */
+    public void press(String key) {
+        this.pressed.add(key);
+    }
+    /**.
+     * release.
+     * @param key the key we want to release.
+     */
+    public void release(String key) {
+        this.pressed.remove(key);
+    }
+    /**.
+     * releaseAll.
+     * Releasing all the keys.
+     */
+    public void releaseAll() {
+        this.pressed.clear();
+    }
+    /**.
+     * isPressed.
+     * @param key the key we check.
+     * @return true if the key is pressed, false otherwise.
+     */
+    public boolean isPressed(String key) {
+        return this.pressed.contains(key);
+    }
+}
@@ -0,0 +1,43 @@
+package simulation;
+
+import biuoop.KeyboardSensor;
+import game.GameLevel;
+
+/**.
+ * SequenceScript.
+ * Presses the keys written in a text, one character for each step: 'L' is left, 'R' is right
+ * And any other character is no key. When the text ends we start it again.
+ */
+public class SequenceScript implements PaddleScript {
+    //The keys of the steps.
+    private String sequence;
+    /**.
+     * Creates new instance of SequenceScript.
+     * The constructor of our class.
+     *
+     * @param sequence the keys of the steps.
+     */
+    public SequenceScript(String sequence) {
+        if (sequence.isEmpty()) {
+            throw new IllegalArgumentException("The sequence of keys is empty.");
+        }
+        this.sequence = sequence;
+    }
+    /**.
+     * nextStep.
+     * Pressing the key of this step.
+     *
+     * @param gameLevel the game that runs.
+     * @param keyboard the keyboard the paddle reads.
+     * @param step the number of the step from the start of the level.
+     */
+    public void nextStep(GameLevel gameLevel, ScriptedKeyboard keyboard, long step) {
+        keyboard.releaseAll();
+        char key = this.sequence.charAt((int) (step % this.sequence.length()));
+        if (key == 'L') {
+            keyboard.press(KeyboardSensor.LEFT_KEY);
+        } else if (key == 'R') {
+            keyboard.press(KeyboardSensor.RIGHT_KEY);
+        }
+    }
+}
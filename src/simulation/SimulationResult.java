@@ -0,0 +1,121 @@
+package simulation;
+
+/**.
+ * SimulationResult.
+ * What happened in one level that ran without a screen.
+ */
+public class SimulationResult {
+    //The name of the level.
+    private String levelName;
+    //The score and the lives at the end of the level.
+    private int score;
+    private int lives;
+    //The number of steps the level ran and the step all the blocks were removed (-1 if they weren't).
+    private long steps;
+    private long clearStep;
+    //The seconds of one step.
+    private double dt;
+    //The number of hits of each block of the level.
+    private int[] blockHits;
+    //The hit points of each block of the level at the end (0 for removed blocks).
+    private int[] hitPoints;
+    /**.
+     * Creates new instance of SimulationResult.
+     * The constructor of our class.
+     *
+     * @param levelName the name of the level.
+     * @param score the score at the end of the level.
+     * @param lives the lives at the end of the level.
+     * @param steps the number of steps the level ran.
+     * @param clearStep the step all the blocks were removed, -1 if they weren't.
+     * @param dt the seconds of one step.
+     * @param blockHits the number of hits of each block of the level.
+     * @param hitPoints the hit points of each block of the level at the end.
+     */
+    public SimulationResult(String levelName, int score, int lives, long steps, long clearStep, double dt
+            , int[] blockHits, int[] hitPoints) {
+        this.levelName = levelName;
+        this.score = score;
+        this.lives = lives;
+        this.steps = steps;
+        this.clearStep = clearStep;
+        this.dt = dt;
+        this.blockHits = blockHits;
+        this.hitPoints = hitPoints;
+    }
+    /**.
+     * getLevelName.
+     * @return the name of the level.
+     */
+    public String getLevelName() {
+        return this.levelName;
+    }
+    /**.
+     * getScore.
+     * @return the score at the end of the level.
+     */
+    public int getScore() {
+        return this.score;
+    }
+    /**.
+     * getLives.
+     * @return the lives at the end of the level.
+     */
+    public int getLives() {
+        return this.lives;
+    }
+    /**.
+     * getSteps.
+     * @return the number of steps the level ran.
+     */
+    public long getSteps() {
+        return this.steps;
+    }
+    /**.
+     * isCleared.
+     * @return true if all the blocks were removed, false otherwise.
+     */
+    public boolean isCleared() {
+        return this.clearStep >= 0;
+    }
+    /**.
+     * getClearStep.
+     * @return the step all the blocks were removed, -1 if they weren't.
+     */
+    public long getClearStep() {
+        return this.clearStep;
+    }
+    /**.
+     * getClearTime.
+     * @return the game seconds until all the blocks were removed, -1 if they weren't.
+     */
+    public double getClearTime() {
+        if (!isCleared()) {
+            return -1;
+        }
+        return this.clearStep * this.dt;
+    }
+    /**.
+     * getBlockHits.
+     * @return the number of hits of each block of the level.
+     */
+    public int[] getBlockHits() {
+        return this.blockHits.clone();
+    }
+    /**.
+     * getHitPoints.
+     * @return the hit points of each block of the level at the end (0 for removed blocks).
+     */
+    public int[] getHitPoints() {
+        return this.hitPoints.clone();
+    }
+    /**.
+     * toString.
+     * @return the result as one line of text.
+     */
+    public String toString() {
+        return this.levelName + ": score " + this.score + ", lives " + this.lives + ", "
+                + (isCleared() ? "cleared in " + String.format("%.2f", getClearTime()) + "s (" + this.clearStep
+                + " steps)" : "not cleared after " + this.steps + " steps");
+    }
+}
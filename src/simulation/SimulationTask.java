@@ -0,0 +1,46 @@
+package simulation;
+
+import levels.LevelInformation;
+import listeners.Counter;
+
+import java.util.concurrent.Callable;
+
+/**.
+ * SimulationTask.
+ * One simulation of one level with one seed, to run on another thread.
+ * Each task has its own game level (so its own game environment and sprite collection), counters and script,
+ * And the level information is only read, so tasks don't share anything they change.
+ */
+public class SimulationTask implements Callable<SimulationResult> {
+    //The part of the paddle width the autopilot can move the meeting point by.
+    static final double OFFSETPART = 0.4;
+    private HeadlessEngine engine;
+    private LevelInformation level;
+    private long seed;
+    private int lives;
+    /**.
+     * Creates new instance of SimulationTask.
+     * The constructor of our class.
+     *
+     * @param engine the engine that runs the level.
+     * @param level the level.
+     * @param seed the seed of the autopilot.
+     * @param lives the lives at the start of the level.
+     */
+    public SimulationTask(HeadlessEngine engine, LevelInformation level, long seed, int lives) {
+        this.engine = engine;
+        this.level = level;
+        this.seed = seed;
+        this.lives = lives;
+    }
+    /**.
+     * call.
+     * Running the simulation.
+     *
+     * @return the result of the simulation.
+     */
+    public SimulationResult call() {
+        PaddleScript script = new AutopilotScript(this.seed, OFFSETPART * this.level.paddleWidth(), 3);
+        return this.engine.runLevel(this.level, script, new Counter(this.lives), new Counter(0));
+    }
+}
@@ -0,0 +1,87 @@
+package simulation;
+
+import game.Block;
+import game.Sprite;
+import game.Velocity;
+import levels.LevelInformation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**.
+ * VelocitySetLevel.
+ * A level that is the same as another level but with other balls, so we can try a level with other velocities.
+ */
+public class VelocitySetLevel implements LevelInformation {
+    //The level we change.
+    private LevelInformation level;
+    //The velocities of the balls.
+    private List<Velocity> velocities;
+    /**.
+     * Creates new instance of VelocitySetLevel.
+     * The constructor of our class.
+     *
+     * @param level the level we change.
+     * @param velocities the velocities of the balls (one ball for each velocity).
+     */
+    public VelocitySetLevel(LevelInformation level, List<Velocity> velocities) {
+        this.level = level;
+        this.velocities = new ArrayList<Velocity>(velocities);
+    }
+    /**.
+     * numberOfBalls.
+     * @return the number of balls in this level.
+     */
+    public int numberOfBalls() {
+        return this.velocities.size();
+    }
+    /**.
+     * initialBallVelocities.
+     * @return list with the initial velocity of each ball.
+     */
+    public List<Velocity> initialBallVelocities() {
+        return this.velocities;
+    }
+    /**.
+     * paddleSpeed.
+     * @return the speed of the paddle.
+     */
+    public int paddleSpeed() {
+        return this.level.paddleSpeed();
+    }
+    /**.
+     * paddleWidth.
+     * @return the width of the paddle.
+     */
+    public int paddleWidth() {
+        return this.level.paddleWidth();
+    }
+    /**.
+     * levelName.
+     * @return the name of the level.
+     */
+    public String levelName() {
+        return this.level.levelName();
+    }
+    /**.
+     * getBackground.
+     * @return the background of the level.
+     */
+    public Sprite getBackground() {
+        return this.level.getBackground();
+    }
+    /**.
+     * blocks.
+     * @return the blocks of the level.
+     */
+    public List<Block> blocks() {
+        return this.level.blocks();
+    }
+    /**.
+     * numberOfBlocksToRemove.
+     * @return the number of blocks we need to remove.
+     */
+    public int numberOfBlocksToRemove() {
+        return this.level.numberOfBlocksToRemove();
+    }
+}
@@ -0,0 +1,133 @@
+package stats;
+
+import game.GameEventQueue;
+import listeners.GameEventListener;
+
+/**.
+ * FrameStats.
+ * The timings of the last frames: how many nanoseconds each part of a frame took, and how many collision
+ * Queries and hits of blocks the frame had (it gets the hits from the events of the game).
+ * The game thread adds to the current frame and ends it, and the values of each frame
+ * Are kept in a ring buffer of each metric, so the overlay and the dumper can read them.
+ * When the stats are disabled nobody has a FrameStats, so it costs only checking for null.
+ */
+public class FrameStats implements GameEventListener {
+    //The metrics.
+    public static final int INPUT = 0;
+    public static final int UPDATE = 1;
+    public static final int DRAW = 2;
+    public static final int SHOW = 3;
+    public static final int FRAME = 4;
+    public static final int QUERIES = 5;
+    public static final int HITS = 6;
+    //The names of the metrics.
+    static final String[] NAMES = {"input", "update", "draw", "show", "frame", "queries", "hits"};
+    //The number of frames we keep by default (about 17 seconds in 60 frames per second).
+    public static final int DEFAULTCAPACITY = 1024;
+    //The values of the metrics in the frames.
+    private RingBuffer[] frames;
+    //The values of the metrics in the current frame (only the game thread uses them).
+    private long[] current;
+    //Determines if to show the overlay in the game.
+    private boolean overlay;
+    /**.
+     * Creates new instance of FrameStats.
+     * The constructor of our class.
+     *
+     * @param capacity the number of frames we keep.
+     * @param overlay true if to show the overlay in the game.
+     */
+    public FrameStats(int capacity, boolean overlay) {
+        this.frames = new RingBuffer[NAMES.length];
+        for (int i = 0; i < this.frames.length; i++) {
+            this.frames[i] = new RingBuffer(capacity);
+        }
+        this.current = new long[NAMES.length];
+        this.overlay = overlay;
+    }
+    /**.
+     * fromSystemProperties.
+     * Creating the stats by the system properties: "stats" enables them and "stats.overlay" shows the overlay.
+     *
+     * @return the stats, null if they are disabled.
+     */
+    public static FrameStats fromSystemProperties() {
+        if (!Boolean.getBoolean("stats")) {
+            return null;
+        }
+        return new FrameStats(DEFAULTCAPACITY, Boolean.getBoolean("stats.overlay"));
+    }
+    /**.
+     * add.
+     * Adding to a metric of the current frame (a frame can run some steps so the update adds up).
+     *
+     * @param metric the metric.
+     * @param value the nanoseconds or the number of queries.
+     */
+    public void add(int metric, long value) {
+        this.current[metric] += value;
+    }
+    /**.
+     * eventsOccurred.
+     * Adding the hits of the blocks in the events to the current frame.
+     *
+     * @param events the events of a frame of the game.
+     */
+    public void eventsOccurred(GameEventQueue events) {
+        add(HITS, events.count(GameEventQueue.HIT));
+    }
+    /**.
+     * endFrame.
+     * Saving the current frame and starting a new one.
+     */
+    public void endFrame() {
+        for (int i = 0; i < this.current.length; i++) {
+            this.frames[i].add(this.current[i]);
+            this.current[i] = 0;
+        }
+    }
+    /**.
+     * summary.
+     * @param metric the metric.
+     * @return the percentiles of the metric in the frames we keep.
+     */
+    public Summary summary(int metric) {
+        return this.frames[metric].summary();
+    }
+    /**.
+     * name.
+     * @param metric the metric.
+     * @return the name of the metric.
+     */
+    public static String name(int metric) {
+        return NAMES[metric];
+    }
+    /**.
+     * metrics.
+     * @return the number of metrics.
+     */
+    public static int metrics() {
+        return NAMES.length;
+    }
+    /**.
+     * isOverlay.
+     * @return true if to show the overlay in the game.
+     */
+    public boolean isOverlay() {
+        return this.overlay;
+    }
+    /**.
+     * describe.
+     * @param metric the metric.
+     * @return one line of text with the percentiles of the metric (times in milliseconds).
+     */
+    public String describe(int metric) {
+        Summary s = summary(metric);
+        if (metric == QUERIES || metric == HITS) {
+            return String.format("%-8s p50 %6d  p99 %6d  max %6d", name(metric), s.getP50(), s.getP99()
+                    , s.getMax());
+        }
+        return String.format("%-8s p50 %6.3fms  p99 %6.3fms  max %6.3fms", name(metric), s.getP50() / 1e6
+                , s.getP99() / 1e6, s.getMax() / 1e6);
+    }
+}
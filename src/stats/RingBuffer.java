@@ -0,0 +1,64 @@
+package stats;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**.
+ * RingBuffer.
+ * Keeps the last values that were added (the newest value replaces the oldest one).
+ * One thread adds values and other threads can read them at the same time without locks:
+ * The writer saves the value and only then moves the head, so a reader sees whole values.
+ */
+public class RingBuffer {
+    //The values, the size is a power of 2 so the place of a value is its number and a mask.
+    private AtomicLongArray values;
+    private int mask;
+    //The number of values that were ever added.
+    private AtomicLong head;
+    /**.
+     * Creates new instance of RingBuffer.
+     * The constructor of our class.
+     *
+     * @param capacity the number of values we keep (rounded up to a power of 2).
+     */
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.values = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.head = new AtomicLong(0);
+    }
+    /**.
+     * add.
+     * Adding a value (only one thread may add values).
+     *
+     * @param value the value.
+     */
+    public void add(long value) {
+        long index = this.head.get();
+        this.values.lazySet((int) (index & this.mask), value);
+        this.head.lazySet(index + 1);
+    }
+    /**.
+     * snapshot.
+     * @return a copy of the values we keep, from the oldest to the newest.
+     */
+    public long[] snapshot() {
+        long end = this.head.get();
+        int count = (int) Math.min(end, this.mask + 1);
+        long[] copy = new long[count];
+        for (int i = 0; i < count; i++) {
+            copy[i] = this.values.get((int) ((end - count + i) & this.mask));
+        }
+        return copy;
+    }
+    /**.
+     * summary.
+     * @return the percentiles of the values we keep.
+     */
+    public Summary summary() {
+        long[] sorted = snapshot();
+        Arrays.sort(sorted);
+        return new Summary(sorted);
+    }
+}
@@ -0,0 +1,85 @@
+package stats;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**.
+ * StatsDumper.
+ * Writes the frame stats to a file every some seconds on a thread of its own.
+ * The ring buffers can be read while the game adds frames, so the game never waits for the dumper.
+ */
+public class StatsDumper implements Runnable {
+    private FrameStats stats;
+    //The file we add the stats to.
+    private String path;
+    //The milliseconds between dumps.
+    private long periodMillis;
+    private Thread thread;
+    /**.
+     * Creates new instance of StatsDumper.
+     * The constructor of our class.
+     *
+     * @param stats the stats we write.
+     * @param path the file we add the stats to.
+     * @param periodMillis the milliseconds between dumps.
+     */
+    public StatsDumper(FrameStats stats, String path, long periodMillis) {
+        this.stats = stats;
+        this.path = path;
+        this.periodMillis = periodMillis;
+    }
+    /**.
+     * start.
+     * Starting to write the stats. The thread doesn't keep the program running.
+     */
+    public void start() {
+        this.thread = new Thread(this, "stats-dumper");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+    /**.
+     * stop.
+     * Stopping to write the stats.
+     */
+    public void stop() {
+        if (this.thread != null) {
+            this.thread.interrupt();
+        }
+    }
+    /**.
+     * run.
+     * Writing the stats until we are stopped.
+     */
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(this.periodMillis);
+                dump();
+            }
+        } catch (InterruptedException e) {
+            //Stopped.
+            return;
+        } catch (IOException e) {
+            System.err.println("Can't write the stats to " + this.path);
+        }
+    }
+    /**.
+     * dump.
+     * Adding the stats of the frames we keep to the file.
+     *
+     * @throws IOException if we can't write the file.
+     */
+    public void dump() throws IOException {
+        PrintWriter writer = new PrintWriter(new FileWriter(this.path, true));
+        try {
+            writer.println("# " + new java.util.Date() + " (" + this.stats.summary(FrameStats.FRAME).getCount()
+                    + " frames)");
+            for (int i = 0; i < FrameStats.metrics(); i++) {
+                writer.println(this.stats.describe(i));
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package stats;
+
+import biuoop.DrawSurface;
+import game.GameLevel;
+import game.Sprite;
+import game.SpriteCollection;
+
+import java.awt.Color;
+
+/**.
+ * StatsOverlay.
+ * Shows the frame stats on the screen.
+ * Sorting the frames to find the percentiles takes time, so we do it only once in some frames.
+ */
+public class StatsOverlay implements Sprite {
+    //The number of frames between updates of the text.
+    static final int REFRESHFRAMES = 30;
+    //Where we write the text.
+    static final int LEFT = 30;
+    static final int TOP = 45;
+    static final int LINEHEIGHT = 14;
+    private FrameStats stats;
+    //The lines we show.
+    private String[] lines;
+    //The frames since the last update of the text.
+    private int frames;
+    /**.
+     * Creates new instance of StatsOverlay.
+     * The constructor of our class.
+     *
+     * @param stats the stats we show.
+     */
+    public StatsOverlay(FrameStats stats) {
+        this.stats = stats;
+        this.lines = new String[FrameStats.metrics()];
+        this.frames = REFRESHFRAMES;
+    }
+    /**.
+     * drawOn.
+     * Draw the stats to the screen.
+     * @param d the drawsurface we will draw the sprite on.
+     */
+    public void drawOn(DrawSurface d) {
+        if (this.frames >= REFRESHFRAMES) {
+            for (int i = 0; i < this.lines.length; i++) {
+                this.lines[i] = this.stats.describe(i);
+            }
+            this.frames = 0;
+        }
+        this.frames++;
+        d.setColor(Color.black);
+        for (int i = 0; i < this.lines.length; i++) {
+            d.drawText(LEFT, TOP + i * LINEHEIGHT, this.lines[i], 12);
+        }
+    }
+    /**
+     * timePassed.
+     * notify the sprite that time has passed.
+     *
+     * @param dt do nothing on this class.
+     */
+    public void timePassed(double dt) {
+        //Do nothing on this.
+        return;
+    }
+    /**
+     * addToGame.
+     * Adding the overlay to the game as a sprite.
+     * @param g the game we want to add the sprite to.
+     */
+    public void addToGame(GameLevel g) {
+        g.addSprite(this, SpriteCollection.INDICATORS);
+    }
+}
@@ -0,0 +1,67 @@
+package stats;
+
+/**.
+ * Summary.
+ * The percentiles of values of one metric: the median (p50), p99 and the maximum.
+ */
+public class Summary {
+    //The number of values.
+    private int count;
+    private long p50;
+    private long p99;
+    private long max;
+    /**.
+     * Creates new instance of Summary.
+     * The constructor of our class.
+     *
+     * @param sorted the values sorted from the smallest.
+     */
+    public Summary(long[] sorted) {
+        this.count = sorted.length;
+        if (this.count > 0) {
+            this.p50 = percentile(sorted, 50);
+            this.p99 = percentile(sorted, 99);
+            this.max = sorted[this.count - 1];
+        }
+    }
+    /**.
+     * percentile.
+     * The nearest rank percentile.
+     *
+     * @param sorted the values sorted from the smallest.
+     * @param percent the percentile we want.
+     * @return the value that percent of the values are smaller or equal to.
+     */
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+    /**.
+     * getCount.
+     * @return the number of values.
+     */
+    public int getCount() {
+        return this.count;
+    }
+    /**.
+     * getP50.
+     * @return the median.
+     */
+    public long getP50() {
+        return this.p50;
+    }
+    /**.
+     * getP99.
+     * @return the value 99 percent of the values are smaller or equal to.
+     */
+    public long getP99() {
+        return this.p99;
+    }
+    /**.
+     * getMax.
+     * @return the biggest value.
+     */
+    public long getMax() {
+        return this.max;
+    }
+}